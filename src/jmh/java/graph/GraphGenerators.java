@@ -0,0 +1,163 @@
+package graph;
+
+import graph.maze.Cell;
+import graph.maze.RectangularMaze;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic graphs for the benchmarks. All generators are seeded, so that every fork of a benchmark measures the same
+ * graph. Nodes are the integers 0 to n - 1; edges are first generated as (from, to) pairs and then loaded into the
+ * graph implementation under test.
+ */
+public class GraphGenerators {
+
+    public enum Topology {
+        /**
+         * n * {@link GraphGenerators#AVERAGE_DEGREE} directed edges between uniformly chosen nodes
+         */
+        RANDOM,
+        /**
+         * undirected preferential attachment (Barabasi-Albert): few hubs with a very high degree
+         */
+        POWER_LAW,
+        /**
+         * undirected square grid built by {@link RectangularMaze} with a quarter of the cells blocked
+         */
+        GRID,
+        /**
+         * directed acyclic: every edge goes from a smaller to a larger node id
+         */
+        DAG
+    }
+
+    public static final int AVERAGE_DEGREE = 4;
+    public static final int MAX_WEIGHT = 10;
+    private static final double BLOCKED_CELL_RATIO = 0.25;
+
+    private GraphGenerators() {
+    }
+
+    /**
+     * For {@link Topology#GRID}, n is rounded down to the next square number.
+     */
+    public static int numberNodes(Topology topology, int n) {
+        if (topology == Topology.GRID) {
+            final int side = (int) Math.sqrt(n);
+            return side * side;
+        }
+        return n;
+    }
+
+    public static List<int[]> edges(Topology topology, int n, long seed) {
+        final Random random = new Random(seed);
+        return switch (topology) {
+            case RANDOM -> randomEdges(n, random);
+            case POWER_LAW -> powerLawEdges(n, random);
+            case GRID -> gridEdges((int) Math.sqrt(n), random);
+            case DAG -> dagEdges(n, random);
+        };
+    }
+
+    public static UnweightedGraph<Integer> unweighted(Topology topology, int n, long seed) {
+        final UnweightedGraph<Integer> graph = new UnweightedGraph<>();
+        for (int node = 0; node < numberNodes(topology, n); node++) {
+            graph.addNode(node);
+        }
+        for (int[] edge : edges(topology, n, seed)) {
+            graph.addDirectedEdge(edge[0], edge[1]);
+        }
+        return graph;
+    }
+
+    /**
+     * Every edge gets a weight from 1 to {@link GraphGenerators#MAX_WEIGHT}; both directions of undirected topologies
+     * get the same weight.
+     */
+    public static WeightedGraph<Integer> weighted(Topology topology, int n, long seed) {
+        final Random random = new Random(seed + 1);
+        final WeightedGraph<Integer> graph = new WeightedGraph<>();
+        for (int node = 0; node < numberNodes(topology, n); node++) {
+            graph.addNode(node);
+        }
+        for (int[] edge : edges(topology, n, seed)) {
+            final boolean undirected = topology == Topology.POWER_LAW || topology == Topology.GRID;
+            if (!undirected) {
+                graph.addDirectedEdge(edge[0], edge[1], 1 + random.nextInt(MAX_WEIGHT));
+            } else if (edge[0] < edge[1]) {
+                graph.addUndirectedEdge(edge[0], edge[1], 1 + random.nextInt(MAX_WEIGHT));
+            }
+        }
+        return graph;
+    }
+
+    public static OffHeapGraph offHeap(Topology topology, int n, long seed) {
+        return OffHeapGraph.of(weighted(topology, n, seed));
+    }
+
+    private static List<int[]> randomEdges(int n, Random random) {
+        final List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < n * AVERAGE_DEGREE; i++) {
+            final int from = random.nextInt(n);
+            final int to = random.nextInt(n);
+            if (from != to) {
+                edges.add(new int[]{from, to});
+            }
+        }
+        return edges;
+    }
+
+    // every new node connects to AVERAGE_DEGREE / 2 existing nodes, chosen with a probability proportional to their
+    // degree: picking a uniform entry of the list of all edge endpoints does exactly that
+    private static List<int[]> powerLawEdges(int n, Random random) {
+        final int edgesPerNode = AVERAGE_DEGREE / 2;
+        final List<int[]> edges = new ArrayList<>();
+        final List<Integer> endpoints = new ArrayList<>();
+        for (int node = 1; node < n; node++) {
+            for (int k = 0; k < Math.min(edgesPerNode, node); k++) {
+                final int target = endpoints.isEmpty() ? 0 : endpoints.get(random.nextInt(endpoints.size()));
+                if (target == node) {
+                    continue;
+                }
+                edges.add(new int[]{node, target});
+                edges.add(new int[]{target, node});
+                endpoints.add(node);
+                endpoints.add(target);
+            }
+        }
+        return edges;
+    }
+
+    private static List<int[]> gridEdges(int side, Random random) {
+        final int[][] maze = new int[side][side];
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                final boolean corner = (row == 0 && col == 0) || (row == side - 1 && col == side - 1);
+                maze[row][col] = !corner && random.nextDouble() < BLOCKED_CELL_RATIO ? 1 : RectangularMaze.FREE_SLOT;
+            }
+        }
+        final List<int[]> edges = new ArrayList<>();
+        for (Edge<Cell> edge : RectangularMaze.createGraph(maze).edges()) {
+            edges.add(new int[]{id(edge.from(), side), id(edge.to(), side)});
+        }
+        return edges;
+    }
+
+    private static int id(Cell cell, int side) {
+        return cell.row() * side + cell.col();
+    }
+
+    private static List<int[]> dagEdges(int n, Random random) {
+        final List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < n * AVERAGE_DEGREE; i++) {
+            final int a = random.nextInt(n);
+            final int b = random.nextInt(n);
+            if (a != b) {
+                edges.add(new int[]{Math.min(a, b), Math.max(a, b)});
+            }
+        }
+        return edges;
+    }
+}
@@ -0,0 +1,36 @@
+package graph;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MaximumFlow#computeMaxFlow(int, int)} between the first and the last node; every invocation works on its own
+ * residual copy of the graph, so the graph itself is never modified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MaximumFlowBenchmark {
+
+    @Param({"RANDOM", "GRID", "DAG"})
+    public GraphGenerators.Topology topology;
+
+    @Param({"100", "1000"})
+    public int n;
+
+    private MaximumFlow maximumFlow;
+    private int sink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final WeightedGraph<Integer> graph = GraphGenerators.weighted(topology, n, 42);
+        maximumFlow = new MaximumFlow(graph);
+        sink = graph.size() - 1;
+    }
+
+    @Benchmark
+    public int computeMaxFlow() {
+        return maximumFlow.computeMaxFlow(0, sink);
+    }
+}
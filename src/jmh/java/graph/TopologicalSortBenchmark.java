@@ -0,0 +1,44 @@
+package graph;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Graph#topologicalSort()} on random DAGs (the only topology on which it does not throw).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TopologicalSortBenchmark {
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    private UnweightedGraph<Integer> unweightedGraph;
+    private WeightedGraph<Integer> weightedGraph;
+    private OffHeapGraph offHeapGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        unweightedGraph = GraphGenerators.unweighted(GraphGenerators.Topology.DAG, n, 42);
+        weightedGraph = GraphGenerators.weighted(GraphGenerators.Topology.DAG, n, 42);
+        offHeapGraph = OffHeapGraph.of(weightedGraph);
+    }
+
+    @Benchmark
+    public List<Integer> unweighted() {
+        return unweightedGraph.topologicalSort();
+    }
+
+    @Benchmark
+    public List<Integer> weighted() {
+        return weightedGraph.topologicalSort();
+    }
+
+    @Benchmark
+    public List<Integer> offHeap() {
+        return offHeapGraph.topologicalSort();
+    }
+}
@@ -0,0 +1,133 @@
+package graph;
+
+import graph.adjacencylist.IntegerGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The traversal and structure algorithms of {@link Graph} on an {@link UnweightedGraph}, compared with the same
+ * algorithms on an {@link OffHeapGraph} and an {@link IntegerGraph} built from the same edges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UnweightedGraphBenchmark {
+
+    @Param({"RANDOM", "POWER_LAW", "GRID", "DAG"})
+    public GraphGenerators.Topology topology;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    private UnweightedGraph<Integer> graph;
+    private UnweightedGraph<Integer> undirected;
+    private OffHeapGraph offHeapGraph;
+    private IntegerGraph integerGraph;
+    private int source;
+    private int target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final long seed = 42;
+        graph = GraphGenerators.unweighted(topology, n, seed);
+        undirected = graph.copyWithoutEdges();
+        undirected.addUndirectedEdges(graph.edges());
+        offHeapGraph = GraphGenerators.offHeap(topology, n, seed);
+        final List<int[]> edges = GraphGenerators.edges(topology, n, seed);
+        integerGraph = IntegerGraph.fromEdges(
+            graph.size(),
+            edges.stream().mapToInt(edge -> edge[0]).toArray(),
+            edges.stream().mapToInt(edge -> edge[1]).toArray(),
+            edges.size());
+        source = 0;
+        target = graph.size() - 1;
+    }
+
+    @Benchmark
+    public List<Integer> bfsPath() {
+        return graph.bfsPath(source, target);
+    }
+
+    @Benchmark
+    public List<Integer> bfsPathOffHeap() {
+        return offHeapGraph.bfsPath(source, target);
+    }
+
+    @Benchmark
+    public List<Integer> shortestPath() {
+        return graph.shortestPath(source, target);
+    }
+
+    @Benchmark
+    public Set<Integer> dfsTraversal() {
+        return Graph.dfsTraversal(source, graph);
+    }
+
+    @Benchmark
+    public List<Integer> integerGraphDfs() {
+        return integerGraph.dfs();
+    }
+
+    @Benchmark
+    public boolean dfsIsConnected() {
+        return graph.dfsIsConnected(source, target);
+    }
+
+    @Benchmark
+    public boolean hasCycle() {
+        return graph.hasCycle();
+    }
+
+    @Benchmark
+    public boolean hasNonTrivialCycle() {
+        return graph.hasNonTrivialCycle();
+    }
+
+    @Benchmark
+    public boolean isDirected() {
+        return graph.isDirected();
+    }
+
+    @Benchmark
+    public boolean isTree() {
+        return graph.isTree();
+    }
+
+    @Benchmark
+    public boolean isStronglyConnected() {
+        return graph.isStronglyConnected();
+    }
+
+    @Benchmark
+    public Set<Set<Integer>> stronglyConnectedComponents() {
+        return graph.stronglyConnectedComponents();
+    }
+
+    @Benchmark
+    public Set<Set<Integer>> stronglyConnectedComponentsOffHeap() {
+        return offHeapGraph.stronglyConnectedComponents();
+    }
+
+    @Benchmark
+    public Set<Set<Integer>> weaklyConnectedComponents() {
+        return undirected.weaklyConnectedComponents();
+    }
+
+    @Benchmark
+    public Graph<Integer> transpose() {
+        return graph.transpose();
+    }
+
+    @Benchmark
+    public Set<Integer> findAllConnected() {
+        return graph.findAllConnected(source);
+    }
+
+    @Benchmark
+    public Set<Set<Integer>> findAllCliques() {
+        return graph.findAllCliques(source);
+    }
+}
@@ -0,0 +1,62 @@
+package graph;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The O(n^2) {@link WeightedGraph#shortestPath(Object, Object)} against the priority queue variant
+ * {@link WeightedGraph#shortestPathUsingMinQueue(Object, Object)} and the off-heap Dijkstra of {@link OffHeapGraph}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WeightedGraphBenchmark {
+
+    @Param({"RANDOM", "POWER_LAW", "GRID"})
+    public GraphGenerators.Topology topology;
+
+    @Param({"100", "1000"})
+    public int n;
+
+    private WeightedGraph<Integer> graph;
+    private OffHeapGraph offHeapGraph;
+    private LongestPathComputer<Integer> longestPathComputer;
+    private int source;
+    private int target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerators.weighted(topology, n, 42);
+        offHeapGraph = OffHeapGraph.of(graph);
+        longestPathComputer = new LongestPathComputer<>(graph);
+        source = 0;
+        target = graph.size() - 1;
+    }
+
+    @Benchmark
+    public List<Integer> shortestPath() {
+        return graph.shortestPath(source, target);
+    }
+
+    @Benchmark
+    public List<Integer> shortestPathUsingMinQueue() {
+        return graph.shortestPathUsingMinQueue(source, target);
+    }
+
+    @Benchmark
+    public List<Integer> shortestPathOffHeap() {
+        return offHeapGraph.shortestPath(source, target);
+    }
+
+    @Benchmark
+    public List<Integer> bfsPath() {
+        return graph.bfsPath(source, target);
+    }
+
+    @Benchmark
+    public List<Integer> longestPath() {
+        return longestPathComputer.longestPath(source, target);
+    }
+}
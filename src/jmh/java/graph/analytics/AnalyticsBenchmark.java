@@ -0,0 +1,53 @@
+package graph.analytics;
+
+import graph.GraphGenerators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageRank (double and float precision) and the centralities on the common fork-join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnalyticsBenchmark {
+
+    @Param({"RANDOM", "POWER_LAW"})
+    public GraphGenerators.Topology topology;
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    private PageRank<Integer> pageRank;
+    private Centrality<Integer> centrality;
+    private final PageRank.Settings floatSettings = PageRank.Settings.DEFAULT.withPrecision(PageRank.Precision.FLOAT);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final IndexedGraph<Integer> graph = IndexedGraph.of(GraphGenerators.unweighted(topology, n, 42));
+        pageRank = new PageRank<>(graph, ForkJoinPool.commonPool());
+        centrality = new Centrality<>(graph, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public Scores<Integer> pageRankDouble() {
+        return pageRank.compute();
+    }
+
+    @Benchmark
+    public Scores<Integer> pageRankFloat() {
+        return pageRank.compute(floatSettings);
+    }
+
+    @Benchmark
+    public Scores<Integer> closeness() {
+        return centrality.closeness();
+    }
+
+    @Benchmark
+    public Scores<Integer> betweenness() {
+        return centrality.betweenness();
+    }
+}
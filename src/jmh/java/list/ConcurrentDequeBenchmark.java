@@ -0,0 +1,119 @@
+package list;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConcurrentDeque} against {@link ConcurrentLinkedDeque} under contention: producer/consumer handoff, with
+ * two threads adding at the back while two poll the front, and work stealing, with one owner pushing and popping at
+ * the back while three thieves poll the front. Each deque starts with {@code n} elements, so that the consumers rarely
+ * find it empty.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentDequeBenchmark {
+
+    public enum Implementation {LOCK_FREE_LINKED, JDK}
+
+    private static final Integer ELEMENT = 42;
+
+    /**
+     * The common API of the deques under test.
+     */
+    private interface DequeUnderTest {
+        void addLast(Integer value);
+
+        Integer pollFirst();
+
+        Integer pollLast();
+    }
+
+    @State(Scope.Group)
+    public static class Shared {
+
+        @Param({"LOCK_FREE_LINKED", "JDK"})
+        public Implementation implementation;
+
+        @Param({"1000"})
+        public int n;
+
+        private DequeUnderTest deque;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            deque = create(implementation);
+            for (int i = 0; i < n; i++) {
+                deque.addLast(i);
+            }
+        }
+    }
+
+    static DequeUnderTest create(Implementation implementation) {
+        return switch (implementation) {
+            case LOCK_FREE_LINKED -> {
+                final ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+                yield new DequeUnderTest() {
+                    public void addLast(Integer value) {
+                        deque.addLast(value);
+                    }
+
+                    public Integer pollFirst() {
+                        return deque.pollFirst().orElse(null);
+                    }
+
+                    public Integer pollLast() {
+                        return deque.pollLast().orElse(null);
+                    }
+                };
+            }
+            case JDK -> {
+                final ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+                yield new DequeUnderTest() {
+                    public void addLast(Integer value) {
+                        deque.addLast(value);
+                    }
+
+                    public Integer pollFirst() {
+                        return deque.pollFirst();
+                    }
+
+                    public Integer pollLast() {
+                        return deque.pollLast();
+                    }
+                };
+            }
+        };
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(2)
+    public void produce(Shared shared) {
+        shared.deque.addLast(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(2)
+    public Integer consume(Shared shared) {
+        return shared.deque.pollFirst();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public Integer own(Shared shared) {
+        shared.deque.addLast(ELEMENT);
+        shared.deque.addLast(ELEMENT);
+        return shared.deque.pollLast();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(3)
+    public Integer steal(Shared shared) {
+        return shared.deque.pollFirst();
+    }
+}
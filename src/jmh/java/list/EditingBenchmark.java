@@ -0,0 +1,149 @@
+package list;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Editing in the middle of a sequence, as a text editor does: {@link ResizingArray}, which shifts the tail on every
+ * insert and removal, against {@link GapBuffer} and {@link PieceTable}, which make edits near a cursor cheap. The
+ * edits replace one element each (an insert and a removal), so the size stays at n; the cursor either moves on by one
+ * like typing or jumps to a random position every {@code JUMP_INTERVAL} edits. The sequences are rebuilt before
+ * every iteration, because a piece table keeps the pieces of all edit sites.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EditingBenchmark {
+
+    public enum Structure {RESIZING_ARRAY, GAP_BUFFER, PIECE_TABLE}
+
+    private static final int JUMP_INTERVAL = 64;
+
+    /**
+     * The common API of the sequences under test.
+     */
+    private interface SequenceUnderTest {
+        Integer get(int index);
+
+        void insert(int index, Integer value);
+
+        void removeAt(int index);
+    }
+
+    @Param({"RESIZING_ARRAY", "GAP_BUFFER", "PIECE_TABLE"})
+    public Structure structure;
+
+    @Param({"1000", "1000000"})
+    public int n;
+
+    private int[] positions;
+    private SequenceUnderTest sequence;
+    private int cursor;
+    private int next;
+    private int edits;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        final Random random = new Random(42);
+        positions = new int[1 << 16];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextInt(n - 1);
+        }
+        final Integer[] initial = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            initial[i] = i;
+        }
+        sequence = create(structure, initial);
+        cursor = n / 2;
+    }
+
+    static SequenceUnderTest create(Structure structure, Integer[] initial) {
+        return switch (structure) {
+            case RESIZING_ARRAY -> {
+                final ResizingArray<Integer> array = new ResizingArray<>(Integer.class, initial.length + 1);
+                array.addAll(initial);
+                yield new SequenceUnderTest() {
+                    public Integer get(int index) {
+                        return array.get(index);
+                    }
+
+                    public void insert(int index, Integer value) {
+                        array.insertAll(index, new Integer[]{value});
+                    }
+
+                    public void removeAt(int index) {
+                        array.removeAt(index);
+                    }
+                };
+            }
+            case GAP_BUFFER -> {
+                final GapBuffer<Integer> buffer = new GapBuffer<>(initial.length + 1);
+                for (Integer value : initial) {
+                    buffer.add(value);
+                }
+                yield new SequenceUnderTest() {
+                    public Integer get(int index) {
+                        return buffer.get(index);
+                    }
+
+                    public void insert(int index, Integer value) {
+                        buffer.insert(index, value);
+                    }
+
+                    public void removeAt(int index) {
+                        buffer.removeAt(index);
+                    }
+                };
+            }
+            case PIECE_TABLE -> {
+                final PieceTable<Integer> table = new PieceTable<>(initial);
+                yield new SequenceUnderTest() {
+                    public Integer get(int index) {
+                        return table.get(index);
+                    }
+
+                    public void insert(int index, Integer value) {
+                        table.insert(index, value);
+                    }
+
+                    public void removeAt(int index) {
+                        table.removeAt(index);
+                    }
+                };
+            }
+        };
+    }
+
+    private int nextPosition() {
+        next = (next + 1) & (positions.length - 1);
+        return positions[next];
+    }
+
+    /**
+     * Inserts at the cursor and removes the element after it, like typing in overwrite mode.
+     */
+    @Benchmark
+    public void typeAtCursor() {
+        sequence.insert(cursor, cursor);
+        sequence.removeAt(cursor + 1);
+        cursor = cursor + 2 >= n ? 0 : cursor + 1;
+    }
+
+    /**
+     * As {@link EditingBenchmark#typeAtCursor()}, but the cursor jumps to a random position now and then.
+     */
+    @Benchmark
+    public void typeWithJumps() {
+        if (++edits % JUMP_INTERVAL == 0) {
+            cursor = nextPosition();
+        }
+        typeAtCursor();
+    }
+
+    @Benchmark
+    public Integer getRandom() {
+        return sequence.get(nextPosition());
+    }
+}
@@ -0,0 +1,64 @@
+package list;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UnrolledLinkedList} against the node-per-element {@link DoublyLinkedList}: a queue-like churn at the two ends
+ * and a full iteration. The doubly-linked list has no iterator, so the iteration uses {@link LinkedList} instead, which
+ * has the same layout of one node with two links per element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LinkedListBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int n;
+
+    private DoublyLinkedList<Integer> doublyLinked;
+    private LinkedList<Integer> jdkLinked;
+    private UnrolledLinkedList<Integer> unrolled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        doublyLinked = new DoublyLinkedList<>();
+        jdkLinked = new LinkedList<>();
+        unrolled = new UnrolledLinkedList<>();
+        for (int i = 0; i < n; i++) {
+            doublyLinked.addLast(i);
+            jdkLinked.addLast(i);
+            unrolled.addLast(i);
+        }
+    }
+
+    @Benchmark
+    public void churnDoublyLinked() {
+        doublyLinked.addLast(doublyLinked.removeFirst());
+    }
+
+    @Benchmark
+    public void churnUnrolled() {
+        unrolled.addLast(unrolled.removeFirst());
+    }
+
+    @Benchmark
+    public long iterateNodePerElement() {
+        long sum = 0;
+        for (Integer value : jdkLinked) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateUnrolled() {
+        long sum = 0;
+        for (Integer value : unrolled) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,82 @@
+package list;
+
+import heap.HeapNodeBased;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state churn on the node-based structures with and without a node pool: every operation removes one element
+ * and adds one, so the size stays at n and, with a pool, every add reuses the node of the preceding removal. The
+ * {@code gc} profiler, which the build enables for all benchmarks, reports the effect as {@code gc.alloc.rate.norm}
+ * (bytes allocated per operation) and as the number and time of collections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NodePoolBenchmark {
+
+    public enum Structure {SINGLY_LINKED_LIST, DOUBLY_LINKED_LIST, NODE_HEAP}
+
+    /**
+     * One remove and one add on the structure under test.
+     */
+    private interface Churn {
+        void run(int round);
+    }
+
+    @Param({"SINGLY_LINKED_LIST", "DOUBLY_LINKED_LIST", "NODE_HEAP"})
+    public Structure structure;
+
+    @Param({"0", "1024"})
+    public int nodePoolCapacity;
+
+    @Param({"1000"})
+    public int n;
+
+    private Integer[] values;
+    private Churn churn;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // boxed up front, so that only the nodes allocate
+        values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        churn = switch (structure) {
+            case SINGLY_LINKED_LIST -> {
+                final SinglyLinkedList<Integer> queue = new SinglyLinkedList<>(nodePoolCapacity);
+                for (Integer value : values) {
+                    queue.addLast(value);
+                }
+                yield round -> queue.addLast(queue.removeFirst());
+            }
+            case DOUBLY_LINKED_LIST -> {
+                final DoublyLinkedList<Integer> queue = new DoublyLinkedList<>(nodePoolCapacity);
+                for (Integer value : values) {
+                    queue.addLast(value);
+                }
+                yield round -> queue.addLast(queue.removeFirst());
+            }
+            case NODE_HEAP -> {
+                final HeapNodeBased<Integer> heap = new HeapNodeBased<>(nodePoolCapacity);
+                for (Integer value : values) {
+                    heap.add(value);
+                }
+                // re-adds the values in a cycle, so that they sift to varying depths
+                yield round -> {
+                    heap.pop();
+                    heap.add(values[round]);
+                };
+            }
+        };
+    }
+
+    @Benchmark
+    public void churn() {
+        round = round + 1 == n ? 0 : round + 1;
+        churn.run(round);
+    }
+}
@@ -0,0 +1,163 @@
+package map;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hash map layouts of this package compared with each other and with {@link HashMap}: lookups of contained and
+ * missing keys, building a map from scratch and a steady remove/add churn. The keys are Integers in random order, so
+ * that the measurements include the cache misses of a realistically spread table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HashMapBenchmark {
+
+    public enum Layout {LINEAR_PROBING, CUCKOO, SWISS, JDK}
+
+    /**
+     * The common API of the maps under test.
+     */
+    private interface MapUnderTest {
+        void add(Integer key, Integer value);
+
+        Optional<Integer> get(Integer key);
+
+        void remove(Integer key);
+    }
+
+    @Param({"LINEAR_PROBING", "CUCKOO", "SWISS", "JDK"})
+    public Layout layout;
+
+    @Param({"1000", "1000000"})
+    public int n;
+
+    private Integer[] keys;
+    private Integer[] missingKeys;
+    private MapUnderTest map;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random random = new Random(42);
+        keys = new Integer[n];
+        missingKeys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt() | 1;
+            missingKeys[i] = random.nextInt() & ~1;
+        }
+        map = create(layout);
+        for (Integer key : keys) {
+            map.add(key, key);
+        }
+    }
+
+    static MapUnderTest create(Layout layout) {
+        return switch (layout) {
+            case LINEAR_PROBING -> {
+                final HashMapArrayBased<Integer, Integer> map = new HashMapArrayBased<>();
+                yield new MapUnderTest() {
+                    public void add(Integer key, Integer value) {
+                        map.add(key, value);
+                    }
+
+                    public Optional<Integer> get(Integer key) {
+                        return map.get(key);
+                    }
+
+                    public void remove(Integer key) {
+                        map.remove(key);
+                    }
+                };
+            }
+            case CUCKOO -> {
+                final CuckooHashMap<Integer, Integer> map = new CuckooHashMap<>();
+                yield new MapUnderTest() {
+                    public void add(Integer key, Integer value) {
+                        map.add(key, value);
+                    }
+
+                    public Optional<Integer> get(Integer key) {
+                        return map.get(key);
+                    }
+
+                    public void remove(Integer key) {
+                        map.remove(key);
+                    }
+                };
+            }
+            case SWISS -> {
+                final SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+                yield new MapUnderTest() {
+                    public void add(Integer key, Integer value) {
+                        map.add(key, value);
+                    }
+
+                    public Optional<Integer> get(Integer key) {
+                        return map.get(key);
+                    }
+
+                    public void remove(Integer key) {
+                        map.remove(key);
+                    }
+                };
+            }
+            case JDK -> {
+                final HashMap<Integer, Integer> map = new HashMap<>();
+                yield new MapUnderTest() {
+                    public void add(Integer key, Integer value) {
+                        map.put(key, value);
+                    }
+
+                    public Optional<Integer> get(Integer key) {
+                        return Optional.ofNullable(map.get(key));
+                    }
+
+                    public void remove(Integer key) {
+                        map.remove(key);
+                    }
+                };
+            }
+        };
+    }
+
+    private int nextIndex() {
+        next = next + 1 == n ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public Optional<Integer> getHit() {
+        return map.get(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<Integer> getMiss() {
+        return map.get(missingKeys[nextIndex()]);
+    }
+
+    /**
+     * Removes a key and adds it again, so the size stays the same (and so do the tombstones of the Swiss table).
+     */
+    @Benchmark
+    public void removeAndAdd() {
+        final Integer key = keys[nextIndex()];
+        map.remove(key);
+        map.add(key, key);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public void build(Blackhole blackhole) {
+        final MapUnderTest fresh = create(layout);
+        for (int i = 0; i < 1000; i++) {
+            fresh.add(keys[i], keys[i]);
+        }
+        blackhole.consume(fresh);
+    }
+}
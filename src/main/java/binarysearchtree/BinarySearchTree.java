@@ -142,7 +142,7 @@ public class BinarySearchTree<K extends Comparable<K>, V> {
         if (isEmpty()) {
             return null;
         }
-        Node<K, V> parentOfMatch = root.findParentNode(new Node<>(new Node.KeyValuePair<>(key, null)));
+        Node<K, V> parentOfMatch = root.findParentNode(key);
         if (parentOfMatch == null) {
             if (root.key().compareTo(key) != 0) {
                 return null;
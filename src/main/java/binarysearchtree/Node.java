@@ -52,7 +52,11 @@ class Node<K extends Comparable<K>, V> {
 
     // returns null if candidate is not the parent of the match but the match or if no match in candidate's can be found
     Node<K, V> findParentNode(Node<K, V> target) {
-        K searchKey = target.key();
+        return findParentNode(target.key());
+    }
+
+    // as findParentNode(Node), but searches by key, so that callers need not allocate a node to search for
+    Node<K, V> findParentNode(K searchKey) {
         int compareResult = key().compareTo(searchKey);
         if (compareResult == 0) {
             return null; // this can only happen if in the first-non recursive call target is the match
@@ -61,14 +65,14 @@ class Node<K extends Comparable<K>, V> {
                 return null;
             } else {
                 boolean rightChildIsMatch = right.key().compareTo(searchKey) == 0;
-                return rightChildIsMatch ? this : right.findParentNode(target);
+                return rightChildIsMatch ? this : right.findParentNode(searchKey);
             }
         } else {
             if (left == null) {
                 return null;
             } else {
                 boolean leftChildIsMatch = left.key().compareTo(searchKey) == 0;
-                return leftChildIsMatch ? this : left.findParentNode(target);
+                return leftChildIsMatch ? this : left.findParentNode(searchKey);
             }
         }
     }
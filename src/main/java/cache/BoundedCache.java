@@ -0,0 +1,225 @@
+package cache;
+
+import map.HashMapArrayBased;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * A map with a maximum number of entries: adding to a full cache evicts an entry chosen by the
+ * {@link EvictionPolicy}. Entries can additionally expire a fixed time after they were written or last accessed.
+ * <br><br>
+ * The entries are found through a {@link HashMapArrayBased} from key to entry node; the nodes link themselves into the
+ * queues of the eviction policy and of the expiry orders, so every operation is O(1):
+ * <ul>
+ *     <li>{@link EvictionPolicy#LRU}: a single queue in access order.</li>
+ *     <li>{@link EvictionPolicy#LFU}: buckets of equal access count, see {@link LfuPolicy}.</li>
+ *     <li>{@link EvictionPolicy#WINDOW_TINY_LFU}: a small LRU window in front of a main space that only admits entries
+ *     that are used more often than the one they replace, estimated by a count-min sketch; see
+ *     {@link WindowTinyLfuPolicy}. Usually the best hit rate for skewed (e.g. hot key) workloads.</li>
+ * </ul>
+ * Since the timeouts are the same for all entries, the entries expire in write order (respectively access order):
+ * each operation first removes the expired entries from the front of these queues, so no timer thread is needed.
+ * <br><br>
+ * Like the maps of this project, the cache is not thread-safe. Null keys and values are not allowed.
+ */
+public class BoundedCache<K, V> {
+
+    public enum EvictionPolicy {LRU, LFU, WINDOW_TINY_LFU}
+
+    /**
+     * @param expireAfterWrite  entries are removed this long after they were added or last replaced; null for never
+     * @param expireAfterAccess entries are removed this long after they were last read or written; null for never
+     */
+    public record Settings(int maximumSize, EvictionPolicy policy, Duration expireAfterWrite,
+                           Duration expireAfterAccess) {
+
+        public Settings {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("The maximum size must be positive - %s.".formatted(maximumSize));
+            }
+            Objects.requireNonNull(policy);
+            for (Duration duration : new Duration[]{expireAfterWrite, expireAfterAccess}) {
+                if (duration != null && (duration.isNegative() || duration.isZero())) {
+                    throw new IllegalArgumentException("Expiry durations must be positive - %s.".formatted(duration));
+                }
+            }
+        }
+
+        public static Settings of(int maximumSize, EvictionPolicy policy) {
+            return new Settings(maximumSize, policy, null, null);
+        }
+
+        public Settings withExpireAfterWrite(Duration duration) {
+            return new Settings(maximumSize, policy, duration, expireAfterAccess);
+        }
+
+        public Settings withExpireAfterAccess(Duration duration) {
+            return new Settings(maximumSize, policy, expireAfterWrite, duration);
+        }
+    }
+
+    private final HashMapArrayBased<K, Node<K, V>> index;
+    private final Policy<K, V> policy;
+    private final LongSupplier nanoTicker;
+    // null if entries do not expire for that reason
+    private final LinkedDeque<K, V> writeOrder;
+    private final LinkedDeque<K, V> accessOrder;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    public BoundedCache(Settings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    /**
+     * @param nanoTicker the clock used for expiry, in nanoseconds; to be replaced in tests
+     */
+    public BoundedCache(Settings settings, LongSupplier nanoTicker) {
+        this.index = new HashMapArrayBased<>(settings.maximumSize());
+        this.policy = switch (settings.policy()) {
+            case LRU -> new LruPolicy<>(settings.maximumSize());
+            case LFU -> new LfuPolicy<>(settings.maximumSize());
+            case WINDOW_TINY_LFU -> new WindowTinyLfuPolicy<>(settings.maximumSize());
+        };
+        this.nanoTicker = nanoTicker;
+        this.writeOrder = settings.expireAfterWrite() == null ? null : LinkedDeque.writeOrder();
+        this.accessOrder = settings.expireAfterAccess() == null ? null : LinkedDeque.accessOrder();
+        this.expireAfterWriteNanos = writeOrder == null ? Long.MAX_VALUE : settings.expireAfterWrite().toNanos();
+        this.expireAfterAccessNanos = accessOrder == null ? Long.MAX_VALUE : settings.expireAfterAccess().toNanos();
+    }
+
+    /**
+     * The number of entries; may include expired entries that were not yet cleaned up, see
+     * {@link BoundedCache#cleanUp()}.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount, expirationCount);
+    }
+
+    /**
+     * A lookup counts as a hit or a miss and as an access for eviction and expiry.
+     */
+    public Optional<V> get(K key) {
+        final long now = nanoTicker.getAsLong();
+        expireEntries(now);
+        final Optional<Node<K, V>> node = index.get(key);
+        if (node.isEmpty()) {
+            ++missCount;
+            return Optional.empty();
+        }
+        ++hitCount;
+        recordAccess(node.get(), now);
+        return Optional.of(node.get().value);
+    }
+
+    /**
+     * Unlike {@link BoundedCache#get(Object)}, this neither counts as a hit or miss nor as an access.
+     */
+    public boolean contains(K key) {
+        expireEntries(nanoTicker.getAsLong());
+        return index.contains(key);
+    }
+
+    /**
+     * if the key is already contained, its value is replaced; otherwise a full cache evicts an entry, which may be the
+     * new one if the policy does not admit it
+     */
+    public void add(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        final long now = nanoTicker.getAsLong();
+        expireEntries(now);
+        final Optional<Node<K, V>> existing = index.get(key);
+        if (existing.isPresent()) {
+            final Node<K, V> node = existing.get();
+            node.value = value;
+            node.writeTime = now;
+            if (writeOrder != null) {
+                writeOrder.moveToLast(node);
+            }
+            recordAccess(node, now);
+            return;
+        }
+        final Node<K, V> node = new Node<>(key, value, now);
+        index.add(key, node);
+        if (writeOrder != null) {
+            writeOrder.addLast(node);
+        }
+        if (accessOrder != null) {
+            accessOrder.addLast(node);
+        }
+        final Node<K, V> victim = policy.onAdd(node);
+        if (victim != null) {
+            unlink(victim);
+            ++evictionCount;
+        }
+    }
+
+    /**
+     * if the key is not contained, nothing is done
+     */
+    public void remove(K key) {
+        final Optional<Node<K, V>> node = index.get(key);
+        if (node.isPresent()) {
+            policy.onRemove(node.get());
+            unlink(node.get());
+        }
+    }
+
+    /**
+     * Removes all expired entries now instead of during the next operation.
+     */
+    public void cleanUp() {
+        expireEntries(nanoTicker.getAsLong());
+    }
+
+    private void recordAccess(Node<K, V> node, long now) {
+        node.accessTime = now;
+        if (accessOrder != null) {
+            accessOrder.moveToLast(node);
+        }
+        policy.onAccess(node);
+    }
+
+    private void expireEntries(long now) {
+        while (writeOrder != null && !writeOrder.isEmpty()
+            && now - writeOrder.peekFirst().writeTime >= expireAfterWriteNanos) {
+            expire(writeOrder.peekFirst());
+        }
+        while (accessOrder != null && !accessOrder.isEmpty()
+            && now - accessOrder.peekFirst().accessTime >= expireAfterAccessNanos) {
+            expire(accessOrder.peekFirst());
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        policy.onRemove(node);
+        unlink(node);
+        ++expirationCount;
+    }
+
+    /**
+     * Removes the node from the index and the expiry orders (but not from the policy).
+     */
+    private void unlink(Node<K, V> node) {
+        index.remove(node.key);
+        if (writeOrder != null) {
+            writeOrder.remove(node);
+        }
+        if (accessOrder != null) {
+            accessOrder.remove(node);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package cache;
+
+/**
+ * Counters of a {@link BoundedCache} since its creation. Evictions are removals because of the maximum size,
+ * expirations those because of a timeout; explicit removals are not counted.
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return the share of lookups that found their key, or 1 if there were none
+     */
+    public double hitRate() {
+        return requestCount() == 0 ? 1 : (double) hitCount / requestCount();
+    }
+}
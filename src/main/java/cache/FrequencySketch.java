@@ -0,0 +1,80 @@
+package cache;
+
+/**
+ * A count-min sketch that estimates how often keys were seen recently, in a fixed amount of memory. Each key maps to
+ * one counter in each of {@link FrequencySketch#DEPTH} rows (with different hash functions); incrementing raises all
+ * of them, the estimate is their minimum, so collisions can only make estimates too high.
+ * <br>
+ * The counters have 4 bits (16 per long) and saturate at 15: admission only needs to compare frequencies, not to know
+ * them exactly. After {@code 10 * maximumSize} increments all counters are halved, so that the sketch forgets old
+ * popularity ("aging").
+ */
+final class FrequencySketch {
+
+    static final int MAX_FREQUENCY = 15;
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x97CB3127, 0xB4F06A5B, 0x8F3D21C9, 0xE2C5B96B};
+    private static final long HALF_MASK = 0x7777777777777777L;
+    private static final int MAX_WIDTH = 1 << 30;
+
+    // rows of 'width' 4-bit counters
+    private final long[][] table;
+    private final int width;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        // four counters per entry and row keep collisions rare, at DEPTH * 4 * 4 bits = 8 bytes per entry
+        final long entries = (long) Integer.highestOneBit(Math.max(2, maximumSize) - 1) << 1;
+        this.width = (int) Math.min(MAX_WIDTH, Math.max(64, 4 * entries));
+        this.table = new long[DEPTH][width / 16];
+        // computed in long, since 10 * maximumSize overflows int for caches of more than 214 million entries
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(1, maximumSize));
+    }
+
+    private int counterIndex(int hashCode, int row) {
+        final int h = (hashCode ^ SEEDS[row]) * SEEDS[row];
+        return (h ^ (h >>> 15)) & (width - 1);
+    }
+
+    private static int spread(Object key) {
+        final int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    void increment(Object key) {
+        final int hashCode = spread(key);
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            final int index = counterIndex(hashCode, row);
+            final int shift = (index & 15) << 2;
+            final long word = table[row][index >>> 4];
+            if (((word >>> shift) & 0xF) < MAX_FREQUENCY) {
+                table[row][index >>> 4] = word + (1L << shift);
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            halve();
+        }
+    }
+
+    int frequency(Object key) {
+        final int hashCode = spread(key);
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < DEPTH; row++) {
+            final int index = counterIndex(hashCode, row);
+            frequency = Math.min(frequency, (int) ((table[row][index >>> 4] >>> ((index & 15) << 2)) & 0xF));
+        }
+        return frequency;
+    }
+
+    private void halve() {
+        for (long[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (row[i] >>> 1) & HALF_MASK;
+            }
+        }
+        additions /= 2;
+    }
+}
@@ -0,0 +1,92 @@
+package cache;
+
+/**
+ * Least frequently used, in O(1) per operation: nodes with the same access count share a bucket, and the buckets form
+ * a list sorted by count. An access moves a node into the neighboring bucket (created if needed), the victim is the
+ * least recently used node of the first bucket. Empty buckets are unlinked right away.
+ * <br>
+ * Counts never decay, so entries that were popular long ago stay; {@link WindowTinyLfuPolicy} does not have this
+ * problem.
+ */
+final class LfuPolicy<K, V> implements Policy<K, V> {
+
+    static final class Bucket<K, V> {
+        final long frequency;
+        final LinkedDeque<K, V> nodes = LinkedDeque.policyOrder();
+        Bucket<K, V> previous;
+        Bucket<K, V> next;
+
+        Bucket(long frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+    private final int maximumSize;
+    // the buckets form a cyclic list around this sentinel, in increasing order of frequency
+    private final Bucket<K, V> sentinel = new Bucket<>(0);
+    private int size;
+
+    LfuPolicy(int maximumSize) {
+        this.maximumSize = maximumSize;
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+    }
+
+    @Override
+    public void onAccess(Node<K, V> node) {
+        final Bucket<K, V> bucket = node.bucket;
+        final Bucket<K, V> target = bucketAfter(bucket, bucket.frequency + 1);
+        bucket.nodes.remove(node);
+        target.nodes.addLast(node);
+        node.bucket = target;
+        unlinkIfEmpty(bucket);
+    }
+
+    /**
+     * Evicts before inserting; otherwise the new node, having the lowest count, would always be the victim.
+     */
+    @Override
+    public Node<K, V> onAdd(Node<K, V> node) {
+        Node<K, V> victim = null;
+        if (size >= maximumSize) {
+            final Bucket<K, V> lowest = sentinel.next;
+            victim = lowest.nodes.pollFirst();
+            unlinkIfEmpty(lowest);
+            --size;
+        }
+        final Bucket<K, V> target = bucketAfter(sentinel, 1);
+        target.nodes.addLast(node);
+        node.bucket = target;
+        ++size;
+        return victim;
+    }
+
+    @Override
+    public void onRemove(Node<K, V> node) {
+        node.bucket.nodes.remove(node);
+        unlinkIfEmpty(node.bucket);
+        --size;
+    }
+
+    /**
+     * Returns the bucket with the given frequency directly after the given one, creating it if needed.
+     */
+    private Bucket<K, V> bucketAfter(Bucket<K, V> bucket, long frequency) {
+        if (bucket.next != sentinel && bucket.next.frequency == frequency) {
+            return bucket.next;
+        }
+        final Bucket<K, V> created = new Bucket<>(frequency);
+        created.previous = bucket;
+        created.next = bucket.next;
+        bucket.next.previous = created;
+        bucket.next = created;
+        return created;
+    }
+
+    private void unlinkIfEmpty(Bucket<K, V> bucket) {
+        if (bucket != sentinel && bucket.nodes.isEmpty()) {
+            bucket.previous.next = bucket.next;
+            bucket.next.previous = bucket.previous;
+        }
+    }
+}
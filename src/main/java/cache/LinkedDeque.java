@@ -0,0 +1,144 @@
+package cache;
+
+/**
+ * A doubly linked queue of {@link Node}s that uses the links stored in the nodes themselves. A node has one pair of
+ * links per kind of queue, so it can be in one queue of each kind at the same time; the subclasses returned by the
+ * factory methods select the pair.
+ */
+abstract class LinkedDeque<K, V> {
+
+    private Node<K, V> first;
+    private Node<K, V> last;
+    private int size;
+
+    abstract Node<K, V> previous(Node<K, V> node);
+
+    abstract Node<K, V> next(Node<K, V> node);
+
+    abstract void setPrevious(Node<K, V> node, Node<K, V> previous);
+
+    abstract void setNext(Node<K, V> node, Node<K, V> next);
+
+    static <K, V> LinkedDeque<K, V> policyOrder() {
+        return new LinkedDeque<>() {
+            Node<K, V> previous(Node<K, V> node) {
+                return node.previous;
+            }
+
+            Node<K, V> next(Node<K, V> node) {
+                return node.next;
+            }
+
+            void setPrevious(Node<K, V> node, Node<K, V> previous) {
+                node.previous = previous;
+            }
+
+            void setNext(Node<K, V> node, Node<K, V> next) {
+                node.next = next;
+            }
+        };
+    }
+
+    static <K, V> LinkedDeque<K, V> accessOrder() {
+        return new LinkedDeque<>() {
+            Node<K, V> previous(Node<K, V> node) {
+                return node.previousInAccessOrder;
+            }
+
+            Node<K, V> next(Node<K, V> node) {
+                return node.nextInAccessOrder;
+            }
+
+            void setPrevious(Node<K, V> node, Node<K, V> previous) {
+                node.previousInAccessOrder = previous;
+            }
+
+            void setNext(Node<K, V> node, Node<K, V> next) {
+                node.nextInAccessOrder = next;
+            }
+        };
+    }
+
+    static <K, V> LinkedDeque<K, V> writeOrder() {
+        return new LinkedDeque<>() {
+            Node<K, V> previous(Node<K, V> node) {
+                return node.previousInWriteOrder;
+            }
+
+            Node<K, V> next(Node<K, V> node) {
+                return node.nextInWriteOrder;
+            }
+
+            void setPrevious(Node<K, V> node, Node<K, V> previous) {
+                node.previousInWriteOrder = previous;
+            }
+
+            void setNext(Node<K, V> node, Node<K, V> next) {
+                node.nextInWriteOrder = next;
+            }
+        };
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    Node<K, V> peekFirst() {
+        return first;
+    }
+
+    void addLast(Node<K, V> node) {
+        setPrevious(node, last);
+        setNext(node, null);
+        if (last == null) {
+            first = node;
+        } else {
+            setNext(last, node);
+        }
+        last = node;
+        ++size;
+    }
+
+    /**
+     * @return the removed first node, or null if empty
+     */
+    Node<K, V> pollFirst() {
+        final Node<K, V> node = first;
+        if (node != null) {
+            remove(node);
+        }
+        return node;
+    }
+
+    /**
+     * The node must be contained in this queue.
+     */
+    void remove(Node<K, V> node) {
+        final Node<K, V> previous = previous(node);
+        final Node<K, V> next = next(node);
+        if (previous == null) {
+            first = next;
+        } else {
+            setNext(previous, next);
+        }
+        if (next == null) {
+            last = previous;
+        } else {
+            setPrevious(next, previous);
+        }
+        setPrevious(node, null);
+        setNext(node, null);
+        --size;
+    }
+
+    void moveToLast(Node<K, V> node) {
+        if (node != last) {
+            remove(node);
+            addLast(node);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package cache;
+
+/**
+ * Least recently used: all nodes are in one queue ordered by their last access; the first one is evicted.
+ */
+final class LruPolicy<K, V> implements Policy<K, V> {
+
+    private final int maximumSize;
+    private final LinkedDeque<K, V> queue = LinkedDeque.policyOrder();
+
+    LruPolicy(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public void onAccess(Node<K, V> node) {
+        queue.moveToLast(node);
+    }
+
+    @Override
+    public Node<K, V> onAdd(Node<K, V> node) {
+        queue.addLast(node);
+        return queue.size() > maximumSize ? queue.pollFirst() : null;
+    }
+
+    @Override
+    public void onRemove(Node<K, V> node) {
+        queue.remove(node);
+    }
+}
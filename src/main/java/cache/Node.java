@@ -0,0 +1,33 @@
+package cache;
+
+/**
+ * A cache entry. Besides key and value it carries the links of all queues it is part of ("intrusive" lists), so that
+ * moving an entry within a queue or unlinking it is O(1) and allocates nothing.
+ */
+final class Node<K, V> {
+
+    final K key;
+    V value;
+    long writeTime;
+    long accessTime;
+
+    // the queue of the eviction policy
+    Node<K, V> previous;
+    Node<K, V> next;
+    // only used if entries expire
+    Node<K, V> previousInAccessOrder;
+    Node<K, V> nextInAccessOrder;
+    Node<K, V> previousInWriteOrder;
+    Node<K, V> nextInWriteOrder;
+
+    // policy specific state
+    LfuPolicy.Bucket<K, V> bucket;
+    WindowTinyLfuPolicy.Segment segment;
+
+    Node(K key, V value, long now) {
+        this.key = key;
+        this.value = value;
+        this.writeTime = now;
+        this.accessTime = now;
+    }
+}
@@ -0,0 +1,20 @@
+package cache;
+
+/**
+ * Decides which entry leaves a full {@link BoundedCache}. The cache reports every access, insert and removal; all of
+ * them must be O(1).
+ */
+interface Policy<K, V> {
+
+    void onAccess(Node<K, V> node);
+
+    /**
+     * Takes in a new node and, if the cache is now over its maximum size, picks the node to evict (which may be the new
+     * one). The returned node has already been removed from the policy's own structures.
+     *
+     * @return the node to evict, or null
+     */
+    Node<K, V> onAdd(Node<K, V> node);
+
+    void onRemove(Node<K, V> node);
+}
@@ -0,0 +1,86 @@
+package cache;
+
+/**
+ * Window TinyLFU: new nodes enter a small LRU "window" (1% of the capacity). A node pushed out of the window only gets
+ * into the main space if the {@link FrequencySketch} says it is used more often than the node it would replace;
+ * otherwise it is evicted itself. This keeps one-hit wonders, e.g. from a scan, from flushing popular entries, while
+ * the window still gives new entries a chance to build up frequency.
+ * <br>
+ * The main space is a segmented LRU: nodes admitted from the window are on probation; a hit there promotes them to
+ * the protected segment (80% of the main space), whose overflow is demoted back to probation. Admission compares with
+ * the least recently used node on probation.
+ */
+final class WindowTinyLfuPolicy<K, V> implements Policy<K, V> {
+
+    enum Segment {WINDOW, PROBATION, PROTECTED}
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final int maximumWindowSize;
+    private final int maximumMainSize;
+    private final int maximumProtectedSize;
+    private final LinkedDeque<K, V> window = LinkedDeque.policyOrder();
+    private final LinkedDeque<K, V> probation = LinkedDeque.policyOrder();
+    private final LinkedDeque<K, V> protectedSegment = LinkedDeque.policyOrder();
+    private final FrequencySketch sketch;
+
+    WindowTinyLfuPolicy(int maximumSize) {
+        this.maximumWindowSize = Math.max(1, (int) (maximumSize * WINDOW_RATIO));
+        this.maximumMainSize = maximumSize - maximumWindowSize;
+        this.maximumProtectedSize = (int) (maximumMainSize * PROTECTED_RATIO);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        switch (node.segment) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                protectedSegment.addLast(node);
+                node.segment = Segment.PROTECTED;
+                if (protectedSegment.size() > maximumProtectedSize) {
+                    final Node<K, V> demoted = protectedSegment.pollFirst();
+                    probation.addLast(demoted);
+                    demoted.segment = Segment.PROBATION;
+                }
+            }
+            case PROTECTED -> protectedSegment.moveToLast(node);
+        }
+    }
+
+    @Override
+    public Node<K, V> onAdd(Node<K, V> node) {
+        sketch.increment(node.key);
+        window.addLast(node);
+        node.segment = Segment.WINDOW;
+        if (window.size() <= maximumWindowSize) {
+            return null;
+        }
+        final Node<K, V> candidate = window.pollFirst();
+        if (probation.size() + protectedSegment.size() < maximumMainSize) {
+            probation.addLast(candidate);
+            candidate.segment = Segment.PROBATION;
+            return null;
+        }
+        final Node<K, V> victim = probation.isEmpty() ? protectedSegment.peekFirst() : probation.peekFirst();
+        if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+            return candidate;
+        }
+        onRemove(victim);
+        probation.addLast(candidate);
+        candidate.segment = Segment.PROBATION;
+        return victim;
+    }
+
+    @Override
+    public void onRemove(Node<K, V> node) {
+        switch (node.segment) {
+            case WINDOW -> window.remove(node);
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> protectedSegment.remove(node);
+        }
+    }
+}
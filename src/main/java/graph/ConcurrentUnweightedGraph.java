@@ -0,0 +1,234 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A thread-safe counterpart of {@link UnweightedGraph}: nodes and edges may be added by several threads while other
+ * threads run queries such as {@link Graph#bfsPath(Object, Object)} on the same instance.
+ * <br><br>
+ * The neighbors of each node are kept in an immutable snapshot (an array and a size). Writers replace the snapshot of
+ * a node inside {@link ConcurrentHashMap#compute}, which locks only the hash bin of that node, so writers to different
+ * nodes rarely contend; readers just fetch the current snapshot and never take a lock.
+ * <br>
+ * Adding a neighbor appends to the snapshot's array in place if it has room and publishes a new snapshot with a larger
+ * size; older snapshots share the array but only see their own prefix, so they never change. Removing a neighbor
+ * copies the array.
+ * <br><br>
+ * Consistency: {@link ConcurrentUnweightedGraph#neighbors(Object)} returns a snapshot that is never modified
+ * afterwards. {@link ConcurrentUnweightedGraph#nodes()} is a weakly consistent view that never throws a
+ * {@link ConcurrentModificationException} but may or may not reflect nodes added during the iteration. Nodes cannot be
+ * removed, so a node that was seen once stays valid.
+ * <br><br>
+ * Caveat: adding an edge is O(degree) because of the duplicate check.
+ */
+public class ConcurrentUnweightedGraph<T> extends Graph<T> {
+
+    private final ConcurrentHashMap<T, Neighbors<T>> nodeToNeighbors = new ConcurrentHashMap<>();
+
+    @Override
+    public int size() {
+        return nodeToNeighbors.size();
+    }
+
+    @Override
+    public Set<T> nodes() {
+        return Collections.unmodifiableSet(nodeToNeighbors.keySet());
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return value != null && nodeToNeighbors.containsKey(value);
+    }
+
+    /**
+     * Atomic: if several threads add the same node, exactly one succeeds and the others throw.
+     */
+    @Override
+    public void addNode(T value) {
+        if (nodeToNeighbors.putIfAbsent(value, Neighbors.empty()) != null) {
+            throwIfFound(value);
+        }
+    }
+
+    /**
+     * If the edge already exists, this method will not complain.
+     */
+    public void addDirectedEdge(T from, T to) {
+        throwIfNotFound(to);
+        if (nodeToNeighbors.computeIfPresent(from, (node, neighbors) -> neighbors.with(to)) == null) {
+            throwIfNotFound(from);
+        }
+    }
+
+    /**
+     * If the edge already exists, this method will not complain. The two directions are added one after the other, so
+     * a concurrent reader may briefly see only one of them.
+     */
+    public void addUndirectedEdge(T from, T to) {
+        throwIfNotFound(from);
+        throwIfNotFound(to);
+        addDirectedEdge(from, to);
+        addDirectedEdge(to, from);
+    }
+
+    /**
+     * If the edge does not exist, this method has no effect.
+     */
+    public void removeDirectedEdge(T from, T to) {
+        throwIfNotFound(from);
+        nodeToNeighbors.computeIfPresent(from, (node, neighbors) -> neighbors.without(to));
+    }
+
+    @Override
+    public void addDirectedEdge(Edge<T> edge) {
+        if (edge instanceof Edge.UnweightedEdge<T> e) {
+            addDirectedEdge(e.from(), e.to());
+        } else {
+            throw new IllegalArgumentException("Can only add unweighted edges to unweighted graph.");
+        }
+    }
+
+    /**
+     * An immutable snapshot of the current neighbors; lock-free.
+     */
+    @Override
+    public Set<T> neighbors(T value) {
+        final Neighbors<T> neighbors = nodeToNeighbors.get(value);
+        if (neighbors == null) {
+            throwIfNotFound(value);
+        }
+        return neighbors;
+    }
+
+    @Override
+    public Set<T> allUpstreamNeighbors(T value) {
+        return nodeToNeighbors
+            .entrySet()
+            .stream()
+            .filter(e -> e.getValue().contains(value))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<Edge<T>> edges() {
+        return nodeToNeighbors.entrySet()
+            .stream()
+            .flatMap(e -> e.getValue().stream().map(neighbor -> new Edge.UnweightedEdge<>(e.getKey(), neighbor)))
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<T> shortestPath(T from, T to) {
+        throwIfNotFound(from);
+        throwIfNotFound(to);
+        return bfsPath(from, to);
+    }
+
+    @Override
+    public ConcurrentUnweightedGraph<T> copyWithoutEdges() {
+        final ConcurrentUnweightedGraph<T> copy = new ConcurrentUnweightedGraph<>();
+        copy.addNodes(nodes());
+        return copy;
+    }
+
+    /**
+     * A single-threaded copy made of the current neighbor snapshot of every node. Each node's neighbors are consistent
+     * in themselves, but edges added concurrently to different nodes may or may not be included.
+     */
+    public UnweightedGraph<T> snapshot() {
+        final Map<T, Neighbors<T>> current = new HashMap<>(nodeToNeighbors);
+        final UnweightedGraph<T> copy = new UnweightedGraph<>();
+        copy.addNodes(current.keySet());
+        current.forEach((node, neighbors) -> {
+            for (T neighbor : neighbors) {
+                copy.addDirectedEdge(node, neighbor);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * An immutable set of the first {@code size} elements of an array. The array may be shared with newer snapshots
+     * which append behind {@code size}, which is invisible to this one.
+     */
+    private static final class Neighbors<T> extends AbstractSet<T> {
+
+        private static final Neighbors<?> EMPTY = new Neighbors<>(new Object[0], 0);
+
+        private final Object[] elements;
+        private final int size;
+
+        private Neighbors(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Neighbors<T> empty() {
+            return (Neighbors<T>) EMPTY;
+        }
+
+        // only ever called on the newest snapshot of a node, under the lock of its hash bin
+        private Neighbors<T> with(T neighbor) {
+            if (contains(neighbor)) {
+                return this;
+            }
+            final Object[] target = size < elements.length
+                ? elements
+                : Arrays.copyOf(elements, Math.max(4, elements.length * 2));
+            target[size] = neighbor;
+            return new Neighbors<>(target, size + 1);
+        }
+
+        private Neighbors<T> without(Object neighbor) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i].equals(neighbor)) {
+                    final Object[] copy = new Object[Math.max(size - 1, 1)];
+                    System.arraycopy(elements, 0, copy, 0, i);
+                    System.arraycopy(elements, i + 1, copy, i, size - i - 1);
+                    return new Neighbors<>(copy, size - 1);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i].equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T) elements[next++];
+                }
+            };
+        }
+    }
+}
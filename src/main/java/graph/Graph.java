@@ -1,5 +1,7 @@
 package graph;
 
+import map.HashSetArrayBased;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -88,7 +90,7 @@ public abstract class Graph<T> {
 
     public boolean hasCycle() {
         for (T node : nodes()) {
-            if (dfsHasCycle(node, new HashSet<>(), new LinkedList<>())) {
+            if (dfsHasCycle(node, new HashSetArrayBased<>(), new LinkedList<>())) {
                 return true;
             }
         }
@@ -119,7 +121,7 @@ public abstract class Graph<T> {
     // non-trivial means there is a cycle which involves at least three distinct nodes
     public boolean hasNonTrivialCycle() {
         for (T node : nodes()) {
-            if (dfsHasNonTrivialCycle(node, new HashSet<>(), new LinkedList<>())) {
+            if (dfsHasNonTrivialCycle(node, new HashSetArrayBased<>(), new LinkedList<>())) {
                 return true;
             }
         }
@@ -262,7 +264,7 @@ public abstract class Graph<T> {
             return emptySet();
         }
         final Set<V> result = new HashSet<>();
-        dfsRecurse(startNode, g, new HashSet<>(), result);
+        dfsRecurse(startNode, g, new HashSetArrayBased<>(), result);
         return result;
     }
 
@@ -283,10 +285,10 @@ public abstract class Graph<T> {
     public boolean dfsIsConnected(T from, T to) {
         throwIfNotFound(from);
         throwIfNotFound(to);
-        return dfsUntilEqualNodes(from, to, new HashSet<>());
+        return dfsUntilEqualNodes(from, to, new HashSetArrayBased<>());
     }
 
-    private boolean dfsUntilEqualNodes(T candidate, T target, HashSet<T> visited) {
+    private boolean dfsUntilEqualNodes(T candidate, T target, Set<T> visited) {
         if (candidate.equals(target)) {
             return true;
         }
@@ -323,7 +325,7 @@ public abstract class Graph<T> {
         // nodes, other nodes can become dependency-free; if the q is empty but we have not yet visited the whole graph
         // it means there must be a cyclic dependency in the graph, so we have to stop and throw an error
         final Queue<T> q = new LinkedList<>(sources);
-        final Set<T> visited = new HashSet<>();
+        final Set<T> visited = new HashSetArrayBased<>(size());
         final List<T> result = new ArrayList<>();
         while (!q.isEmpty()) {
             final T node = q.remove();
@@ -362,7 +364,7 @@ public abstract class Graph<T> {
             throw new IllegalStateException("Turn your graph to the equivalent undirected graph to use this API.");
         }
         final Set<Set<T>> components = new HashSet<>();
-        final Set<T> visited = new HashSet<>();
+        final Set<T> visited = new HashSetArrayBased<>(size());
         for (T node : nodes()) {
             if (!visited.contains(node)) {
                 final Set<T> newComponent = dfsTraversal(node, this);
@@ -388,7 +390,7 @@ public abstract class Graph<T> {
     public Set<Set<T>> stronglyConnectedComponents() {
         final Set<Set<T>> result = new HashSet<>();
 
-        final Set<T> alreadyInComponents = new HashSet<>();
+        final Set<T> alreadyInComponents = new HashSetArrayBased<>(size());
         final List<T> byDFSFinishingTime = sortByDFSFinishingTime();
         final Graph<T> transposed = transpose();
 
@@ -408,7 +410,7 @@ public abstract class Graph<T> {
      */
     private List<T> sortByDFSFinishingTime() {
         final List<T> sorted = new LinkedList<>();
-        final HashSet<T> visited = new HashSet<>();
+        final Set<T> visited = new HashSetArrayBased<>(size());
         for (T node : nodes()) {
             dfsStoreByFinishTime(node, visited, sorted);
         }
@@ -0,0 +1,615 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * An immutable, weighted graph whose nodes are the integers from 0 to n - 1 and whose adjacency is stored outside the
+ * Java heap in direct {@link ByteBuffer}s, so that the garbage collector never has to trace (or copy) the edges.
+ * <br><br>
+ * The layout is "compressed sparse row" (CSR): three int buffers
+ * <ul>
+ *     <li>offsets (n + 1 entries): the neighbors of node i are at the positions offsets[i] to offsets[i + 1] - 1</li>
+ *     <li>targets (m entries): the neighbor ids, sorted ascending within each node</li>
+ *     <li>weights (m entries): the weight of the edge to the neighbor at the same position</li>
+ * </ul>
+ * Since the neighbors of a node are sorted, looking up a single edge is a binary search in O(log(degree)).
+ * <br><br>
+ * The {@link Graph} read API is supported through light-weight views (no copy of the adjacency is made on the heap).
+ * BFS, Dijkstra, strongly connected components and topological sort are implemented directly on the buffers and only
+ * allocate primitive scratch arrays of size n for the duration of the call. Mutating methods throw an
+ * {@link UnsupportedOperationException}; {@link OffHeapGraph#copyWithoutEdges()} returns a mutable on-heap
+ * {@link WeightedGraph}.
+ * <br><br>
+ * Caveats: a single direct buffer is limited to 2^31 - 1 bytes, so this graph holds at most ~536 million edges; the
+ * direct memory available to the JVM is limited by {@code -XX:MaxDirectMemorySize}, and it is only released once the
+ * graph itself has been garbage collected.
+ */
+public class OffHeapGraph extends Graph<Integer> {
+
+    private static final long INFINITY = Long.MAX_VALUE;
+
+    private final int nNodes;
+    private final int nEdges;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    private OffHeapGraph(int nNodes, int nEdges, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        this.nNodes = nNodes;
+        this.nEdges = nEdges;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the graph from the first {@code nEdges} entries of three parallel arrays, where edge i goes from
+     * {@code from[i]} to {@code to[i]} with weight {@code weights[i]}. If an edge occurs several times, the weight of
+     * the last occurrence wins (as for {@link WeightedGraph#addDirectedEdge(Object, Object, int)}).
+     */
+    public static OffHeapGraph fromEdges(int numberNodes, int[] from, int[] to, int[] weights, int nEdges) {
+        final int[] outDegree = new int[numberNodes];
+        for (int i = 0; i < nEdges; i++) {
+            throwIfOutOfRange(from[i], numberNodes);
+            throwIfOutOfRange(to[i], numberNodes);
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Negative weights are not allowed - %s.".formatted(weights[i]));
+            }
+            ++outDegree[from[i]];
+        }
+        // counting sort of the edges by source node; the insertion position of each row is tracked in 'fill'
+        final int[] rowStart = new int[numberNodes + 1];
+        for (int node = 0; node < numberNodes; node++) {
+            rowStart[node + 1] = rowStart[node] + outDegree[node];
+        }
+        final int[] fill = Arrays.copyOf(rowStart, numberNodes);
+        final int[] sortedTargets = new int[nEdges];
+        final int[] sortedWeights = new int[nEdges];
+        for (int i = 0; i < nEdges; i++) {
+            final int position = fill[from[i]]++;
+            sortedTargets[position] = to[i];
+            sortedWeights[position] = weights[i];
+        }
+        return fromRows(numberNodes, rowStart, sortedTargets, sortedWeights);
+    }
+
+    /**
+     * Copies a weighted graph of integer nodes 0 to n - 1 into off-heap memory.
+     */
+    public static OffHeapGraph of(WeightedGraph<Integer> graph) {
+        final int numberNodes = graph.size();
+        final List<int[]> edgeList = new ArrayList<>();
+        for (int node = 0; node < numberNodes; node++) {
+            if (!graph.contains(node)) {
+                throw new IllegalArgumentException("Nodes must be the integers 0 to %s.".formatted(numberNodes - 1));
+            }
+            for (Map.Entry<Integer, Integer> edge : graph.allEdges(node).entrySet()) {
+                edgeList.add(new int[]{node, edge.getKey(), edge.getValue()});
+            }
+        }
+        final int nEdges = edgeList.size();
+        final int[] from = new int[nEdges];
+        final int[] to = new int[nEdges];
+        final int[] weights = new int[nEdges];
+        for (int i = 0; i < nEdges; i++) {
+            from[i] = edgeList.get(i)[0];
+            to[i] = edgeList.get(i)[1];
+            weights[i] = edgeList.get(i)[2];
+        }
+        return fromEdges(numberNodes, from, to, weights, nEdges);
+    }
+
+    /**
+     * Sorts every row by target (keeping the last weight of duplicate targets) and moves the result off-heap.
+     */
+    private static OffHeapGraph fromRows(int numberNodes, int[] rowStart, int[] rowTargets, int[] rowWeights) {
+        final IntBuffer offsets = allocate(numberNodes + 1);
+        final IntBuffer targets = allocate(rowTargets.length);
+        final IntBuffer weights = allocate(rowTargets.length);
+        int nEdges = 0;
+        for (int node = 0; node < numberNodes; node++) {
+            offsets.put(node, nEdges);
+            final int start = rowStart[node];
+            final int length = rowStart[node + 1] - start;
+            // sort by target, then by position in the input, so that the last duplicate comes last
+            final long[] keys = new long[length];
+            for (int k = 0; k < length; k++) {
+                keys[k] = ((long) rowTargets[start + k] << 32) | k;
+            }
+            Arrays.sort(keys);
+            for (int k = 0; k < length; k++) {
+                final int target = (int) (keys[k] >>> 32);
+                final boolean lastOfDuplicates = k == length - 1 || (int) (keys[k + 1] >>> 32) != target;
+                if (lastOfDuplicates) {
+                    targets.put(nEdges, target);
+                    weights.put(nEdges, rowWeights[start + (int) keys[k]]);
+                    ++nEdges;
+                }
+            }
+        }
+        offsets.put(numberNodes, nEdges);
+        return new OffHeapGraph(numberNodes, nEdges, offsets, targets, weights);
+    }
+
+    private static IntBuffer allocate(int nInts) {
+        return ByteBuffer.allocateDirect(Math.multiplyExact(Math.max(nInts, 1), Integer.BYTES))
+            .order(ByteOrder.nativeOrder())
+            .asIntBuffer();
+    }
+
+    private static void throwIfOutOfRange(int nodeId, int numberNodes) {
+        if (nodeId < 0 || nodeId >= numberNodes) {
+            throw new IllegalArgumentException("Node %s is not in range [0, %s).".formatted(nodeId, numberNodes));
+        }
+    }
+
+    /**
+     * The number of bytes allocated outside the heap for the adjacency of this graph.
+     */
+    public long memoryFootprint() {
+        return ((long) offsets.capacity() + targets.capacity() + weights.capacity()) * Integer.BYTES;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return value != null && value >= 0 && value < nNodes;
+    }
+
+    @Override
+    public int size() {
+        return nNodes;
+    }
+
+    public int numberEdges() {
+        return nEdges;
+    }
+
+    public int degree(int node) {
+        throwIfNotFound(node);
+        return offsets.get(node + 1) - offsets.get(node);
+    }
+
+    /**
+     * A view of the nodes 0 to n - 1; nothing is materialised.
+     */
+    @Override
+    public Set<Integer> nodes() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new RangeIterator(0, nNodes, i -> i);
+            }
+
+            @Override
+            public int size() {
+                return nNodes;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Integer node && OffHeapGraph.this.contains(node);
+            }
+        };
+    }
+
+    /**
+     * A view of the neighbors of the node, backed by the off-heap buffer.
+     */
+    @Override
+    public Set<Integer> neighbors(Integer value) {
+        throwIfNotFound(value);
+        final int start = offsets.get(value);
+        final int end = offsets.get(value + 1);
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new RangeIterator(start, end, targets::get);
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Integer node && indexOfEdge(value, node) >= 0;
+            }
+        };
+    }
+
+    @Override
+    public Set<Integer> allUpstreamNeighbors(Integer value) {
+        throwIfNotFound(value);
+        final Set<Integer> result = new HashSet<>();
+        for (int node = 0; node < nNodes; node++) {
+            if (indexOfEdge(node, value) >= 0) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    public boolean hasEdge(int from, int to) {
+        throwIfNotFound(from);
+        return indexOfEdge(from, to) >= 0;
+    }
+
+    /**
+     * Throws an {@link IllegalArgumentException} if there is no edge from {@code from} to {@code to}.
+     */
+    public int weight(int from, int to) {
+        throwIfNotFound(from);
+        final int index = indexOfEdge(from, to);
+        if (index < 0) {
+            throw new IllegalArgumentException("There is no edge from %s to %s.".formatted(from, to));
+        }
+        return weights.get(index);
+    }
+
+    // binary search within the sorted row of 'from'; returns the position in the targets buffer or -1
+    private int indexOfEdge(int from, int to) {
+        int low = offsets.get(from);
+        int high = offsets.get(from + 1) - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int target = targets.get(mid);
+            if (target < to) {
+                low = mid + 1;
+            } else if (target > to) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Materialises all edges on the heap - avoid on large graphs.
+     */
+    @Override
+    public Set<Edge<Integer>> edges() {
+        final Set<Edge<Integer>> result = new HashSet<>();
+        for (int node = 0; node < nNodes; node++) {
+            for (int i = offsets.get(node); i < offsets.get(node + 1); i++) {
+                result.add(new Edge.WeightedEdge<>(node, targets.get(i), weights.get(i)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void addNode(Integer value) {
+        throw new UnsupportedOperationException("An off-heap graph is immutable.");
+    }
+
+    @Override
+    public void addDirectedEdge(Edge<Integer> edge) {
+        throw new UnsupportedOperationException("An off-heap graph is immutable.");
+    }
+
+    @Override
+    public WeightedGraph<Integer> copyWithoutEdges() {
+        final WeightedGraph<Integer> copy = new WeightedGraph<>();
+        copy.addNodes(nodes());
+        return copy;
+    }
+
+    @Override
+    public OffHeapGraph transpose() {
+        final int[] rowStart = new int[nNodes + 1];
+        for (int i = 0; i < nEdges; i++) {
+            ++rowStart[targets.get(i) + 1];
+        }
+        for (int node = 0; node < nNodes; node++) {
+            rowStart[node + 1] += rowStart[node];
+        }
+        final int[] fill = Arrays.copyOf(rowStart, nNodes);
+        final int[] transposedTargets = new int[nEdges];
+        final int[] transposedWeights = new int[nEdges];
+        for (int node = 0; node < nNodes; node++) {
+            for (int i = offsets.get(node); i < offsets.get(node + 1); i++) {
+                final int position = fill[targets.get(i)]++;
+                transposedTargets[position] = node;
+                transposedWeights[position] = weights.get(i);
+            }
+        }
+        return fromRows(nNodes, rowStart, transposedTargets, transposedWeights);
+    }
+
+    @Override
+    public boolean isUndirected() {
+        for (int node = 0; node < nNodes; node++) {
+            for (int i = offsets.get(node); i < offsets.get(node + 1); i++) {
+                if (indexOfEdge(targets.get(i), node) < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return nEdges > 0 && !isUndirected();
+    }
+
+    @Override
+    public List<Integer> bfsPath(Integer from, Integer to) {
+        throwIfNotFound(from);
+        throwIfNotFound(to);
+        final int[] parent = new int[nNodes];
+        Arrays.fill(parent, -1);
+        parent[from] = from;
+        final int[] queue = new int[nNodes];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+        while (head < tail && parent[to] == -1) {
+            final int current = queue[head++];
+            for (int i = offsets.get(current); i < offsets.get(current + 1); i++) {
+                final int neighbor = targets.get(i);
+                if (parent[neighbor] == -1) {
+                    parent[neighbor] = current;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return parent[to] == -1 ? new ArrayList<>() : reconstructPath(from, to, parent);
+    }
+
+    /**
+     * Dijkstra's algorithm with a binary min heap of primitive (distance, node) entries, O((n+m) * log(m)).
+     */
+    @Override
+    public List<Integer> shortestPath(Integer from, Integer to) {
+        throwIfNotFound(from);
+        throwIfNotFound(to);
+        final long[] distance = new long[nNodes];
+        Arrays.fill(distance, INFINITY);
+        final int[] parent = new int[nNodes];
+        Arrays.fill(parent, -1);
+        final boolean[] visited = new boolean[nNodes];
+        distance[from] = 0;
+        parent[from] = from;
+        final MinHeap heap = new MinHeap(Math.max(nNodes, 1));
+        heap.add(0, from);
+        while (!heap.isEmpty()) {
+            final int current = heap.pollNode();
+            if (visited[current]) {
+                continue; // a stale entry; instead of decreasing keys, we add the node again with a lower distance
+            }
+            if (current == to) {
+                break;
+            }
+            visited[current] = true;
+            for (int i = offsets.get(current); i < offsets.get(current + 1); i++) {
+                final int neighbor = targets.get(i);
+                final long newDistance = distance[current] + weights.get(i);
+                if (!visited[neighbor] && newDistance < distance[neighbor]) {
+                    distance[neighbor] = newDistance;
+                    parent[neighbor] = current;
+                    heap.add(newDistance, neighbor);
+                }
+            }
+        }
+        return parent[to] == -1 ? new ArrayList<>() : reconstructPath(from, to, parent);
+    }
+
+    private static List<Integer> reconstructPath(int from, int to, int[] parent) {
+        final List<Integer> path = new ArrayList<>();
+        int current = to;
+        path.add(current);
+        while (current != from) {
+            current = parent[current];
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Kahn's algorithm on in-degree counters; see {@link Graph#topologicalSort()}.
+     */
+    @Override
+    public List<Integer> topologicalSort() {
+        if (isUndirected()) {
+            throw new IllegalStateException("Topological sort can only be applied on a directed graph.");
+        }
+        final int[] inDegree = new int[nNodes];
+        for (int i = 0; i < nEdges; i++) {
+            ++inDegree[targets.get(i)];
+        }
+        final int[] queue = new int[nNodes];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < nNodes; node++) {
+            if (inDegree[node] == 0) {
+                queue[tail++] = node;
+            }
+        }
+        while (head < tail) {
+            final int node = queue[head++];
+            for (int i = offsets.get(node); i < offsets.get(node + 1); i++) {
+                if (--inDegree[targets.get(i)] == 0) {
+                    queue[tail++] = targets.get(i);
+                }
+            }
+        }
+        if (tail != nNodes) {
+            throw new IllegalStateException(
+                "The graph has cyclic dependencies, topological sort impossible. First find SCCs, then condense SCCs " +
+                    "to supernodes, then use this API.");
+        }
+        final List<Integer> result = new ArrayList<>(nNodes);
+        for (int node : queue) {
+            result.add(node);
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Set<Integer>> stronglyConnectedComponents() {
+        final int[] componentIds = stronglyConnectedComponentIds();
+        final Map<Integer, Set<Integer>> components = new HashMap<>();
+        for (int node = 0; node < nNodes; node++) {
+            components.computeIfAbsent(componentIds[node], id -> new HashSet<>()).add(node);
+        }
+        return new HashSet<>(components.values());
+    }
+
+    /**
+     * Tarjan's algorithm, O(n + m), with an explicit stack instead of recursion so that long paths cannot overflow
+     * the call stack.
+     *
+     * @return for each node the id of its strongly connected component; ids are 0, 1, ... in the order in which the
+     * components are completed (which is a reverse topological order of the condensed graph)
+     */
+    public int[] stronglyConnectedComponentIds() {
+        final int[] index = new int[nNodes];
+        Arrays.fill(index, -1);
+        final int[] lowLink = new int[nNodes];
+        final int[] componentIds = new int[nNodes];
+        final boolean[] onStack = new boolean[nNodes];
+        final int[] sccStack = new int[nNodes];
+        int sccStackSize = 0;
+        // the explicit call stack: the node and the position of the next edge to explore
+        final int[] callNodes = new int[nNodes];
+        final int[] callEdges = new int[nNodes];
+        int nextIndex = 0;
+        int nextComponent = 0;
+
+        for (int root = 0; root < nNodes; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callNodes[0] = root;
+            callEdges[0] = offsets.get(root);
+            index[root] = lowLink[root] = nextIndex++;
+            sccStack[sccStackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                final int node = callNodes[depth];
+                if (callEdges[depth] < offsets.get(node + 1)) {
+                    final int neighbor = targets.get(callEdges[depth]++);
+                    if (index[neighbor] == -1) {
+                        index[neighbor] = lowLink[neighbor] = nextIndex++;
+                        sccStack[sccStackSize++] = neighbor;
+                        onStack[neighbor] = true;
+                        ++depth;
+                        callNodes[depth] = neighbor;
+                        callEdges[depth] = offsets.get(neighbor);
+                    } else if (onStack[neighbor]) {
+                        lowLink[node] = Math.min(lowLink[node], index[neighbor]);
+                    }
+                } else {
+                    if (lowLink[node] == index[node]) {
+                        int member;
+                        do {
+                            member = sccStack[--sccStackSize];
+                            onStack[member] = false;
+                            componentIds[member] = nextComponent;
+                        } while (member != node);
+                        ++nextComponent;
+                    }
+                    --depth;
+                    if (depth >= 0) {
+                        final int parent = callNodes[depth];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                    }
+                }
+            }
+        }
+        return componentIds;
+    }
+
+    private interface IntToIntFunction {
+        int apply(int i);
+    }
+
+    private static class RangeIterator implements Iterator<Integer> {
+        private final int end;
+        private final IntToIntFunction valueAt;
+        private int current;
+
+        private RangeIterator(int start, int end, IntToIntFunction valueAt) {
+            this.current = start;
+            this.end = end;
+            this.valueAt = valueAt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < end;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return valueAt.apply(current++);
+        }
+    }
+
+    /**
+     * A binary min heap of (priority, node) pairs kept in two parallel primitive arrays.
+     */
+    private static class MinHeap {
+        private long[] priorities;
+        private int[] nodes;
+        private int size;
+
+        private MinHeap(int initialCapacity) {
+            this.priorities = new long[initialCapacity];
+            this.nodes = new int[initialCapacity];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void add(long priority, int node) {
+            if (size == nodes.length) {
+                priorities = Arrays.copyOf(priorities, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int child = size++;
+            while (child > 0 && priorities[(child - 1) / 2] > priority) {
+                final int parent = (child - 1) / 2;
+                priorities[child] = priorities[parent];
+                nodes[child] = nodes[parent];
+                child = parent;
+            }
+            priorities[child] = priority;
+            nodes[child] = node;
+        }
+
+        private int pollNode() {
+            final int result = nodes[0];
+            final long lastPriority = priorities[--size];
+            final int lastNode = nodes[size];
+            int parent = 0;
+            while (2 * parent + 1 < size) {
+                int child = 2 * parent + 1;
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                    ++child;
+                }
+                if (priorities[child] >= lastPriority) {
+                    break;
+                }
+                priorities[parent] = priorities[child];
+                nodes[parent] = nodes[child];
+                parent = child;
+            }
+            priorities[parent] = lastPriority;
+            nodes[parent] = lastNode;
+            return result;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package graph;
 
+import map.HashSetArrayBased;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -119,7 +121,7 @@ public class UnweightedGraph<T> extends Graph<T> {
         }
         Set<T> connectedNodes = new HashSet<>();
         connectedNodes.add(node);
-        findAllConnected(node, new HashSet<>(), connectedNodes);
+        findAllConnected(node, new HashSetArrayBased<>(), connectedNodes);
         return connectedNodes;
     }
 
@@ -1,5 +1,7 @@
 package graph;
 
+import map.IntIntMap;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -21,6 +23,10 @@ public class WeightedGraph<T> extends Graph<T> {
 
     private final Map<T, Map<T, Integer>> nodesToEdges = new HashMap<>();
 
+    // every node gets an int id when it is added, so that algorithms can keep per-node state in primitive maps
+    private final Map<T, Integer> nodeToId = new HashMap<>();
+    private final List<T> idToNode = new ArrayList<>();
+
     private Integer weight(T from, T to) {
         return nodesToEdges.get(from).get(to);
     }
@@ -44,6 +50,8 @@ public class WeightedGraph<T> extends Graph<T> {
     public void addNode(T value) {
         throwIfFound(value);
         nodesToEdges.put(value, new HashMap<>());
+        nodeToId.put(value, idToNode.size());
+        idToNode.add(value);
     }
 
     /**
@@ -206,28 +214,47 @@ public class WeightedGraph<T> extends Graph<T> {
         return dijkstraUsingMinQueue(from, to);
     }
 
+    /**
+     * Distances and parents are kept in primitive maps keyed by node id; a node without a distance entry has not been
+     * reached yet (i.e. its distance is infinite), so only the explored part of the graph is ever touched.
+     */
     private List<T> dijkstraUsingMinQueue(T from, T to) {
         Set<T> visited = new HashSet<>();
-        Map<T, Integer> nodeToDistance = initialNodeToDistanceMap(from);
-        Map<T, T> nodeToParent = new HashMap<>();
+        IntIntMap idToDistance = new IntIntMap();
+        IntIntMap idToParentId = new IntIntMap();
+        idToDistance.add(nodeToId.get(from), 0);
         PriorityQueue<NodeWithPriority<T>> searchQueue = new PriorityQueue<>();
         searchQueue.add(new NodeWithPriority<>(from, 0));
 
         while (!searchQueue.isEmpty() && !searchQueue.peek().node().equals(to)) {
             T current = searchQueue.poll().node();
+            int currentId = nodeToId.get(current);
             for (T neighbor : unvisitedNeighbors(current, visited)) {
-                int oldDistanceToNeighbor = nodeToDistance.get(neighbor);
-                int newDistanceToNeighbor = nodeToDistance.get(current) + weight(current, neighbor);
+                int neighborId = nodeToId.get(neighbor);
+                int oldDistanceToNeighbor = idToDistance.getOrDefault(neighborId, INFINITY);
+                int newDistanceToNeighbor = idToDistance.getOrDefault(currentId, INFINITY) + weight(current, neighbor);
                 if (newDistanceToNeighbor < oldDistanceToNeighbor) {
-                    nodeToDistance.put(neighbor, newDistanceToNeighbor);
-                    nodeToParent.put(neighbor, current);
+                    idToDistance.add(neighborId, newDistanceToNeighbor);
+                    idToParentId.add(neighborId, currentId);
                 }
                 searchQueue.remove(new NodeWithPriority<>(neighbor, oldDistanceToNeighbor)); // O(log(n))
                 searchQueue.add(new NodeWithPriority<>(neighbor, newDistanceToNeighbor)); // O(log(n))
             }
             visited.add(current);
         }
-        return searchQueue.isEmpty() ? new LinkedList<>() : reconstructPath(to, nodeToParent);
+        return searchQueue.isEmpty() ? new LinkedList<>() : reconstructPath(nodeToId.get(to), idToParentId);
+    }
+
+    private List<T> reconstructPath(int endId, IntIntMap idToParentId) {
+        List<T> path = new LinkedList<>();
+        path.add(idToNode.get(endId));
+        int currentId = endId;
+        while (idToParentId.contains(currentId)) {
+            currentId = idToParentId.getOrDefault(currentId, -1);
+            path.add(idToNode.get(currentId));
+        }
+        Collections.reverse(path);
+        return path;
     }
 
     private record NodeWithPriority<V>(V node, int priority) implements Comparable<NodeWithPriority<V>> {
@@ -19,6 +19,34 @@ public class IntegerGraph {
         this.adjacencyList = adjacencyList;
     }
 
+    /**
+     * Bulk-builds a graph from the first {@code nEdges} entries of two parallel arrays, where edge i goes from
+     * {@code from[i]} to {@code to[i]}. The out-degree of every node is counted first so that each adjacency list is
+     * allocated exactly once with its final size; the order of neighbors follows the order of the edges.
+     */
+    public static IntegerGraph fromEdges(int numberNodes, int[] from, int[] to, int nEdges) {
+        final int[] outDegree = new int[numberNodes];
+        for (int i = 0; i < nEdges; i++) {
+            throwIfOutOfRange(from[i], numberNodes);
+            throwIfOutOfRange(to[i], numberNodes);
+            ++outDegree[from[i]];
+        }
+        final List<List<Integer>> adjacencyList = new ArrayList<>(numberNodes);
+        for (int nodeId = 0; nodeId < numberNodes; nodeId++) {
+            adjacencyList.add(new ArrayList<>(outDegree[nodeId]));
+        }
+        for (int i = 0; i < nEdges; i++) {
+            adjacencyList.get(from[i]).add(to[i]);
+        }
+        return new IntegerGraph(adjacencyList);
+    }
+
+    private static void throwIfOutOfRange(int nodeId, int numberNodes) {
+        if (nodeId < 0 || nodeId >= numberNodes) {
+            throw new IllegalArgumentException("Node %s is not in range [0, %s).".formatted(nodeId, numberNodes));
+        }
+    }
+
     public List<Integer> nodes() {
         return IntStream.range(0, numberNodes()).boxed().toList();
     }
@@ -0,0 +1,139 @@
+package graph.analytics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join helpers that split the id range [0, n) into blocks, process each block sequentially and (except for
+ * {@link Blocks#forEachBlock}) combine the partial results of the blocks. The blocks are disjoint, so a block body may
+ * write to the slots of its own ids without synchronisation.
+ */
+class Blocks {
+
+    interface RangeAction {
+        void apply(int start, int end);
+    }
+
+    interface RangeSum {
+        double apply(int start, int end);
+    }
+
+    interface RangeVector {
+        double[] apply(int start, int end);
+    }
+
+    private Blocks() {
+    }
+
+    /**
+     * A block size that gives every worker of the pool a few blocks to steal, but never less than {@code minimum}.
+     */
+    static int blockSize(ForkJoinPool pool, int n, int minimum) {
+        return Math.max(minimum, n / (pool.getParallelism() * 4));
+    }
+
+    /**
+     * Runs the body on every block, for bodies that only write the slots of their own ids.
+     */
+    static void forEachBlock(ForkJoinPool pool, int n, int blockSize, RangeAction body) {
+        if (n > 0) {
+            pool.invoke(new ActionTask(0, n, blockSize, body));
+        }
+    }
+
+    static double sum(ForkJoinPool pool, int n, int blockSize, RangeSum body) {
+        return n == 0 ? 0 : pool.invoke(new SumTask(0, n, blockSize, body));
+    }
+
+    /**
+     * Element-wise sum of the vectors (all of the same length) returned by the blocks.
+     */
+    static double[] sumVectors(ForkJoinPool pool, int n, int blockSize, RangeVector body) {
+        return pool.invoke(new VectorTask(0, n, blockSize, body));
+    }
+
+    // the tasks are never serialized, so their lambda bodies need not be serializable
+    @SuppressWarnings("serial")
+    private static class ActionTask extends RecursiveAction {
+        private final int start;
+        private final int end;
+        private final int blockSize;
+        private final RangeAction body;
+
+        private ActionTask(int start, int end, int blockSize, RangeAction body) {
+            this.start = start;
+            this.end = end;
+            this.blockSize = blockSize;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= blockSize) {
+                body.apply(start, end);
+                return;
+            }
+            final int middle = (start + end) >>> 1;
+            invokeAll(new ActionTask(start, middle, blockSize, body), new ActionTask(middle, end, blockSize, body));
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class SumTask extends RecursiveTask<Double> {
+        private final int start;
+        private final int end;
+        private final int blockSize;
+        private final RangeSum body;
+
+        private SumTask(int start, int end, int blockSize, RangeSum body) {
+            this.start = start;
+            this.end = end;
+            this.blockSize = blockSize;
+            this.body = body;
+        }
+
+        @Override
+        protected Double compute() {
+            if (end - start <= blockSize) {
+                return body.apply(start, end);
+            }
+            final int middle = (start + end) >>> 1;
+            final SumTask left = new SumTask(start, middle, blockSize, body);
+            left.fork();
+            final double right = new SumTask(middle, end, blockSize, body).compute();
+            return left.join() + right;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class VectorTask extends RecursiveTask<double[]> {
+        private final int start;
+        private final int end;
+        private final int blockSize;
+        private final RangeVector body;
+
+        private VectorTask(int start, int end, int blockSize, RangeVector body) {
+            this.start = start;
+            this.end = end;
+            this.blockSize = blockSize;
+            this.body = body;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (end - start <= blockSize) {
+                return body.apply(start, end);
+            }
+            final int middle = (start + end) >>> 1;
+            final VectorTask left = new VectorTask(start, middle, blockSize, body);
+            left.fork();
+            final double[] right = new VectorTask(middle, end, blockSize, body).compute();
+            final double[] result = left.join();
+            for (int i = 0; i < result.length; i++) {
+                result[i] += right[i];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package graph.analytics;
+
+import graph.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Degree, closeness and betweenness centrality of all nodes of a graph. Distances are counted in hops, i.e. edge
+ * weights are ignored.
+ * <br><br>
+ * Closeness and betweenness need one breadth-first search per node, O(n * (n + m)) in total; the sources are split
+ * into blocks that run in parallel on a {@link ForkJoinPool}, each block with its own scratch arrays.
+ */
+public class Centrality<T> {
+
+    private static final int MIN_SOURCES_PER_BLOCK = 1;
+
+    private final IndexedGraph<T> graph;
+    private final ForkJoinPool pool;
+
+    public Centrality(Graph<T> graph) {
+        this(IndexedGraph.of(graph), ForkJoinPool.commonPool());
+    }
+
+    public Centrality(IndexedGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * The number of outgoing edges of each node divided by n - 1, the maximal possible degree without self loops.
+     */
+    public Scores<T> outDegree() {
+        final int n = graph.size();
+        final double[] scores = new double[n];
+        for (int id = 0; id < n; id++) {
+            scores[id] = n > 1 ? (double) graph.outDegree(id) / (n - 1) : 0;
+        }
+        return new Scores<>(graph, scores, 0, true);
+    }
+
+    /**
+     * The number of incoming edges of each node divided by n - 1.
+     */
+    public Scores<T> inDegree() {
+        final int n = graph.size();
+        final double[] scores = new double[n];
+        for (int id = 0; id < n; id++) {
+            scores[id] = n > 1 ? (double) graph.inDegree(id) / (n - 1) : 0;
+        }
+        return new Scores<>(graph, scores, 0, true);
+    }
+
+    /**
+     * The inverse of the average distance from a node to all nodes reachable from it, scaled by the fraction of nodes
+     * that are reachable (the Wasserman-Faust variant, so that the scores of disconnected graphs remain comparable):
+     * <pre>
+     *     (r - 1) / (n - 1)  *  (r - 1) / (sum of distances to the r - 1 reachable nodes)
+     * </pre>
+     * A node that reaches no other node has a closeness of 0.
+     */
+    public Scores<T> closeness() {
+        final int n = graph.size();
+        final double[] scores = new double[n];
+        Blocks.forEachBlock(pool, n, Blocks.blockSize(pool, n, MIN_SOURCES_PER_BLOCK), (start, end) -> {
+            final int[] distance = new int[n];
+            final int[] queue = new int[n];
+            for (int source = start; source < end; source++) {
+                final int nVisited = bfs(source, distance, queue, null);
+                long distanceSum = 0;
+                for (int i = 1; i < nVisited; i++) {
+                    distanceSum += distance[queue[i]];
+                }
+                final int reached = nVisited - 1;
+                scores[source] = reached == 0 ? 0 : ((double) reached / (n - 1)) * ((double) reached / distanceSum);
+            }
+        });
+        return new Scores<>(graph, scores, 0, true);
+    }
+
+    /**
+     * Brandes' algorithm: the betweenness of a node v is the sum over all pairs of other nodes (s, t) of the fraction
+     * of shortest s-t paths that pass through v. For undirected graphs every pair is counted once (not once per
+     * direction).
+     * <br>
+     * Every block of sources accumulates the dependencies into its own vector; the vectors are summed when the blocks
+     * are joined, so there is no contention between the workers.
+     */
+    public Scores<T> betweenness() {
+        final int n = graph.size();
+        final double[] scores = n == 0 ? new double[0]
+            : Blocks.sumVectors(pool, n, Blocks.blockSize(pool, n, MIN_SOURCES_PER_BLOCK), (start, end) -> {
+                final double[] centrality = new double[n];
+                final int[] distance = new int[n];
+                final int[] order = new int[n];
+                // doubles as in Brandes' paper: the counts grow exponentially on grid-like graphs and overflow longs
+                final double[] pathCount = new double[n];
+                final double[] dependency = new double[n];
+                for (int source = start; source < end; source++) {
+                    final int nVisited = bfs(source, distance, order, pathCount);
+                    // visit the nodes in order of decreasing distance and pass the dependencies back to predecessors
+                    for (int i = nVisited - 1; i >= 0; i--) {
+                        dependency[order[i]] = 0;
+                    }
+                    for (int i = nVisited - 1; i > 0; i--) {
+                        final int w = order[i];
+                        for (int k = graph.inOffsets[w]; k < graph.inOffsets[w + 1]; k++) {
+                            final int v = graph.sources[k];
+                            if (distance[v] == distance[w] - 1) {
+                                dependency[v] += pathCount[v] / pathCount[w] * (1 + dependency[w]);
+                            }
+                        }
+                        centrality[w] += dependency[w];
+                    }
+                }
+                return centrality;
+            });
+        if (graph.isUndirected()) {
+            for (int id = 0; id < n; id++) {
+                scores[id] /= 2;
+            }
+        }
+        return new Scores<>(graph, scores, 0, true);
+    }
+
+    /**
+     * Breadth-first search from the source; fills the distances (-1 for unreachable nodes) and, if given, the number of
+     * shortest paths from the source to every node.
+     *
+     * @return the number of visited nodes; {@code order[0 .. result - 1]} are these nodes in order of visit
+     */
+    private int bfs(int source, int[] distance, int[] order, double[] pathCount) {
+        Arrays.fill(distance, -1);
+        if (pathCount != null) {
+            Arrays.fill(pathCount, 0);
+            pathCount[source] = 1;
+        }
+        distance[source] = 0;
+        int head = 0;
+        int tail = 0;
+        order[tail++] = source;
+        while (head < tail) {
+            final int v = order[head++];
+            for (int i = graph.outOffsets[v]; i < graph.outOffsets[v + 1]; i++) {
+                final int w = graph.targets[i];
+                if (distance[w] < 0) {
+                    distance[w] = distance[v] + 1;
+                    order[tail++] = w;
+                }
+                if (pathCount != null && distance[w] == distance[v] + 1) {
+                    pathCount[w] += pathCount[v];
+                }
+            }
+        }
+        return tail;
+    }
+}
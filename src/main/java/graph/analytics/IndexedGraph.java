@@ -0,0 +1,135 @@
+package graph.analytics;
+
+import graph.Graph;
+import graph.OffHeapGraph;
+import graph.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * An immutable, int-indexed snapshot of a {@link Graph} in "compressed sparse row" (CSR) layout, on which the analytics
+ * algorithms of this package run without hashing or boxing in their inner loops.
+ * <br><br>
+ * Every node gets an id from 0 to n - 1 (in the iteration order of {@link Graph#nodes()}); the out-neighbors of the
+ * node with id i are {@code targets[outOffsets[i]]} to {@code targets[outOffsets[i + 1] - 1]}, sorted ascending. The
+ * in-neighbors are stored the same way in {@code sources}/{@code inOffsets}, which lets algorithms "pull" values along
+ * incoming edges so that parallel workers never write to the same slot.
+ * <br><br>
+ * Edge weights are taken from a {@link WeightedGraph} or an {@link OffHeapGraph}; for all other graphs every edge
+ * has the weight 1.
+ */
+public class IndexedGraph<T> {
+
+    private final List<T> nodesById;
+    private final Map<T, Integer> idsByNode;
+    final int[] outOffsets;
+    final int[] targets;
+    final int[] weights;
+    final int[] inOffsets;
+    final int[] sources;
+
+    private IndexedGraph(List<T> nodesById, Map<T, Integer> idsByNode, int[] outOffsets, int[] targets, int[] weights) {
+        this.nodesById = nodesById;
+        this.idsByNode = idsByNode;
+        this.outOffsets = outOffsets;
+        this.targets = targets;
+        this.weights = weights;
+        final int n = nodesById.size();
+        // counting sort of all edges by target gives the in-neighbors, already sorted by source
+        this.inOffsets = new int[n + 1];
+        for (int target : targets) {
+            ++inOffsets[target + 1];
+        }
+        for (int id = 0; id < n; id++) {
+            inOffsets[id + 1] += inOffsets[id];
+        }
+        this.sources = new int[targets.length];
+        final int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int id = 0; id < n; id++) {
+            for (int i = outOffsets[id]; i < outOffsets[id + 1]; i++) {
+                sources[fill[targets[i]]++] = id;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IndexedGraph<T> of(Graph<T> graph) {
+        final List<T> nodesById = new ArrayList<>(graph.nodes());
+        final Map<T, Integer> idsByNode = new HashMap<>();
+        for (int id = 0; id < nodesById.size(); id++) {
+            idsByNode.put(nodesById.get(id), id);
+        }
+        final int n = nodesById.size();
+        final int[] outOffsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            outOffsets[id + 1] = outOffsets[id] + graph.neighbors(nodesById.get(id)).size();
+        }
+        final int[] targets = new int[outOffsets[n]];
+        final int[] weights = new int[outOffsets[n]];
+        for (int id = 0; id < n; id++) {
+            final T node = nodesById.get(id);
+            int position = outOffsets[id];
+            for (T neighbor : graph.neighbors(node)) {
+                targets[position++] = idsByNode.get(neighbor);
+            }
+            Arrays.sort(targets, outOffsets[id], outOffsets[id + 1]);
+            for (int i = outOffsets[id]; i < outOffsets[id + 1]; i++) {
+                final T neighbor = nodesById.get(targets[i]);
+                if (graph instanceof WeightedGraph<?> weighted) {
+                    weights[i] = ((WeightedGraph<T>) weighted).getEdge(node, neighbor);
+                } else if (graph instanceof OffHeapGraph offHeap) {
+                    weights[i] = offHeap.weight((Integer) node, (Integer) neighbor);
+                } else {
+                    weights[i] = 1;
+                }
+            }
+        }
+        return new IndexedGraph<>(nodesById, idsByNode, outOffsets, targets, weights);
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    public int numberEdges() {
+        return targets.length;
+    }
+
+    public T node(int id) {
+        return nodesById.get(id);
+    }
+
+    /**
+     * Throws an {@link IllegalArgumentException} if the node is not part of the graph.
+     */
+    public int id(T node) {
+        final Integer id = idsByNode.get(node);
+        if (id == null) {
+            throw new IllegalArgumentException("Node %s is not found in graph".formatted(node));
+        }
+        return id;
+    }
+
+    public int outDegree(int id) {
+        return outOffsets[id + 1] - outOffsets[id];
+    }
+
+    public int inDegree(int id) {
+        return inOffsets[id + 1] - inOffsets[id];
+    }
+
+    /**
+     * True if for every edge the opposite edge exists as well (the weights are not compared).
+     */
+    public boolean isUndirected() {
+        for (int id = 0; id < size(); id++) {
+            for (int i = outOffsets[id]; i < outOffsets[id + 1]; i++) {
+                final int target = targets[i];
+                if (Arrays.binarySearch(targets, outOffsets[target], outOffsets[target + 1], id) < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
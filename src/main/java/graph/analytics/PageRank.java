@@ -0,0 +1,155 @@
+package graph.analytics;
+
+import graph.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes the PageRank of every node by power iteration: in each iteration every node distributes its current rank
+ * evenly over its outgoing edges; a node's new rank is
+ * <pre>
+ *     (1 - damping) / n  +  damping * (sum of rank / outDegree over all in-neighbors  +  danglingRank / n)
+ * </pre>
+ * where the rank of "dangling" nodes without outgoing edges is spread over all nodes. Edge weights are ignored.
+ * <br><br>
+ * The iteration stops once the L1 distance between two successive rank vectors is below the tolerance or the maximum
+ * number of iterations is reached ({@link Scores#converged()} tells which).
+ * <br><br>
+ * Each iteration is parallelised on a {@link ForkJoinPool} by blocks of node ids: the new rank of a node is "pulled"
+ * from its in-neighbors, so every block only writes the ranks of its own nodes. With {@link Precision#FLOAT} the rank
+ * vectors take half the memory (and memory bandwidth), at the cost of ~7 significant digits.
+ */
+public class PageRank<T> {
+
+    public enum Precision {DOUBLE, FLOAT}
+
+    public record Settings(double damping, double tolerance, int maxIterations, Precision precision) {
+
+        public static final Settings DEFAULT = new Settings(0.85, 1e-6, 100, Precision.DOUBLE);
+
+        public Settings {
+            if (damping < 0 || damping > 1) {
+                throw new IllegalArgumentException("The damping must be in [0, 1] - %s.".formatted(damping));
+            }
+            if (tolerance < 0 || maxIterations < 1) {
+                throw new IllegalArgumentException("Need a non-negative tolerance and at least one iteration.");
+            }
+        }
+
+        public Settings withPrecision(Precision newPrecision) {
+            return new Settings(damping, tolerance, maxIterations, newPrecision);
+        }
+    }
+
+    private static final int MIN_BLOCK_SIZE = 1024;
+
+    private final IndexedGraph<T> graph;
+    private final ForkJoinPool pool;
+
+    public PageRank(Graph<T> graph) {
+        this(IndexedGraph.of(graph), ForkJoinPool.commonPool());
+    }
+
+    public PageRank(IndexedGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public Scores<T> compute() {
+        return compute(Settings.DEFAULT);
+    }
+
+    public Scores<T> compute(Settings settings) {
+        return settings.precision() == Precision.DOUBLE ? computeDouble(settings) : computeFloat(settings);
+    }
+
+    private Scores<T> computeDouble(Settings settings) {
+        final int n = graph.size();
+        final int blockSize = Blocks.blockSize(pool, n, MIN_BLOCK_SIZE);
+        final double damping = settings.damping();
+        double[] rank = new double[n];
+        double[] newRank = new double[n];
+        final double[] contribution = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+
+        int iteration = 0;
+        boolean converged = n == 0;
+        while (!converged && iteration < settings.maxIterations()) {
+            final double[] currentRank = rank;
+            final double[] nextRank = newRank;
+            final double danglingRank = Blocks.sum(pool, n, blockSize, (start, end) -> {
+                double dangling = 0;
+                for (int u = start; u < end; u++) {
+                    final int outDegree = graph.outDegree(u);
+                    contribution[u] = outDegree == 0 ? 0 : currentRank[u] / outDegree;
+                    dangling += outDegree == 0 ? currentRank[u] : 0;
+                }
+                return dangling;
+            });
+            final double base = (1 - damping) / n + damping * danglingRank / n;
+            final double distance = Blocks.sum(pool, n, blockSize, (start, end) -> {
+                double blockDistance = 0;
+                for (int v = start; v < end; v++) {
+                    double pulled = 0;
+                    for (int i = graph.inOffsets[v]; i < graph.inOffsets[v + 1]; i++) {
+                        pulled += contribution[graph.sources[i]];
+                    }
+                    nextRank[v] = base + damping * pulled;
+                    blockDistance += Math.abs(nextRank[v] - currentRank[v]);
+                }
+                return blockDistance;
+            });
+            rank = nextRank;
+            newRank = currentRank;
+            ++iteration;
+            converged = distance < settings.tolerance();
+        }
+        return new Scores<>(graph, rank, iteration, converged);
+    }
+
+    // the same as computeDouble, on float vectors; partial sums are still accumulated in double
+    private Scores<T> computeFloat(Settings settings) {
+        final int n = graph.size();
+        final int blockSize = Blocks.blockSize(pool, n, MIN_BLOCK_SIZE);
+        final float damping = (float) settings.damping();
+        float[] rank = new float[n];
+        float[] newRank = new float[n];
+        final float[] contribution = new float[n];
+        Arrays.fill(rank, 1.0f / n);
+
+        int iteration = 0;
+        boolean converged = n == 0;
+        while (!converged && iteration < settings.maxIterations()) {
+            final float[] currentRank = rank;
+            final float[] nextRank = newRank;
+            final double danglingRank = Blocks.sum(pool, n, blockSize, (start, end) -> {
+                double dangling = 0;
+                for (int u = start; u < end; u++) {
+                    final int outDegree = graph.outDegree(u);
+                    contribution[u] = outDegree == 0 ? 0 : currentRank[u] / outDegree;
+                    dangling += outDegree == 0 ? currentRank[u] : 0;
+                }
+                return dangling;
+            });
+            final float base = (float) ((1 - damping) / n + damping * danglingRank / n);
+            final double distance = Blocks.sum(pool, n, blockSize, (start, end) -> {
+                double blockDistance = 0;
+                for (int v = start; v < end; v++) {
+                    double pulled = 0;
+                    for (int i = graph.inOffsets[v]; i < graph.inOffsets[v + 1]; i++) {
+                        pulled += contribution[graph.sources[i]];
+                    }
+                    nextRank[v] = (float) (base + damping * pulled);
+                    blockDistance += Math.abs(nextRank[v] - currentRank[v]);
+                }
+                return blockDistance;
+            });
+            rank = nextRank;
+            newRank = currentRank;
+            ++iteration;
+            converged = distance < settings.tolerance();
+        }
+        return new Scores<>(graph, rank, iteration, converged);
+    }
+}
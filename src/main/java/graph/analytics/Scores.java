@@ -0,0 +1,84 @@
+package graph.analytics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The result of a ranking or centrality computation: one score per node, stored in a primitive array indexed by the
+ * ids of the {@link IndexedGraph}. Depending on the requested precision the array holds doubles or floats; the
+ * accessors always return doubles.
+ * <br>
+ * For iterative algorithms (PageRank) the number of iterations and whether the tolerance was reached are reported;
+ * direct algorithms report 0 iterations and are always converged.
+ */
+public class Scores<T> {
+
+    private final IndexedGraph<T> graph;
+    private final double[] doubleScores;
+    private final float[] floatScores;
+    private final int iterations;
+    private final boolean converged;
+
+    Scores(IndexedGraph<T> graph, double[] scores, int iterations, boolean converged) {
+        this(graph, scores, null, iterations, converged);
+    }
+
+    Scores(IndexedGraph<T> graph, float[] scores, int iterations, boolean converged) {
+        this(graph, null, scores, iterations, converged);
+    }
+
+    private Scores(IndexedGraph<T> graph, double[] doubleScores, float[] floatScores, int iterations,
+                   boolean converged) {
+        this.graph = graph;
+        this.doubleScores = doubleScores;
+        this.floatScores = floatScores;
+        this.iterations = iterations;
+        this.converged = converged;
+    }
+
+    public double score(T node) {
+        return scoreById(graph.id(node));
+    }
+
+    public double scoreById(int id) {
+        return doubleScores != null ? doubleScores[id] : floatScores[id];
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    public boolean converged() {
+        return converged;
+    }
+
+    public Map<T, Double> toMap() {
+        final Map<T, Double> result = new HashMap<>();
+        for (int id = 0; id < graph.size(); id++) {
+            result.put(graph.node(id), scoreById(id));
+        }
+        return result;
+    }
+
+    /**
+     * The k nodes with the highest scores in descending order of score (ties in the order of the node ids).
+     */
+    public List<T> top(int k) {
+        return IntStream.range(0, graph.size())
+            .boxed()
+            .sorted(Comparator.comparingDouble((Integer id) -> scoreById(id)).reversed())
+            .limit(k)
+            .map(graph::node)
+            .toList();
+    }
+
+    public double sum() {
+        return doubleScores != null
+            ? Arrays.stream(doubleScores).sum()
+            : IntStream.range(0, floatScores.length).mapToDouble(i -> floatScores[i]).sum();
+    }
+}
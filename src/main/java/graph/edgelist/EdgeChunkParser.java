@@ -0,0 +1,166 @@
+package graph.edgelist;
+
+import java.util.Arrays;
+
+/**
+ * A byte-level state machine that turns the lines of (a contiguous range of) an edge file into edges. Numbers are
+ * accumulated digit by digit directly from the bytes, so no {@link String} is created per line or per token.
+ * <br>
+ * Since all state is kept in fields, the bytes can be fed in arbitrarily sized pieces; a line or a number that is
+ * split across two pieces is simply continued with the next call of {@link EdgeChunkParser#accept(byte[], int, int)}.
+ * <br>
+ * An instance is not thread-safe; for parallel parsing every range of the file gets its own parser.
+ */
+class EdgeChunkParser {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EdgeListParser.Format format;
+
+    // the header line of a matrix market file (rows, columns, entries) has to be skipped; only the parser of the
+    // first range of a file can ever see it
+    private boolean headerPending;
+    private int headerNodes;
+
+    private int[] from = new int[INITIAL_CAPACITY];
+    private int[] to = new int[INITIAL_CAPACITY];
+    private int[] weights = new int[INITIAL_CAPACITY];
+    private int nEdges;
+    private int maxNodeId = -1;
+
+    // state of the current line
+    private long offset;
+    private boolean inComment;
+    private boolean inNumber;
+    private int currentNumber;
+    private int nFields;
+    private final int[] fields = new int[3];
+
+    EdgeChunkParser(EdgeListParser.Format format, long startOffset, boolean firstRange) {
+        this.format = format;
+        this.offset = startOffset;
+        this.headerPending = firstRange && format == EdgeListParser.Format.MATRIX_MARKET;
+    }
+
+    void accept(byte[] bytes, int start, int end) {
+        for (int i = start; i < end; i++, offset++) {
+            final byte b = bytes[i];
+            if (inComment) {
+                if (b == '\n') {
+                    inComment = false;
+                }
+            } else if (b >= '0' && b <= '9') {
+                appendDigit(b - '0');
+            } else if (b == ' ' || b == '\t' || b == ',') {
+                endNumber();
+            } else if (b == '\n' || b == '\r') {
+                endNumber();
+                endLine();
+            } else if ((b == '#' || b == '%') && nFields == 0 && !inNumber) {
+                inComment = true;
+            } else {
+                throw new IllegalArgumentException(
+                    "Unexpected character '%s' at byte offset %s.".formatted((char) b, offset));
+            }
+        }
+    }
+
+    /**
+     * Must be called after the last byte of the range was accepted, to flush a last line without line break.
+     */
+    void finish() {
+        endNumber();
+        endLine();
+    }
+
+    private void appendDigit(int digit) {
+        if (currentNumber > (Integer.MAX_VALUE - digit) / 10) {
+            throw new IllegalArgumentException("Number too large at byte offset %s.".formatted(offset));
+        }
+        currentNumber = currentNumber * 10 + digit;
+        inNumber = true;
+    }
+
+    private void endNumber() {
+        if (!inNumber) {
+            return;
+        }
+        if (format == EdgeListParser.Format.ADJACENCY_LIST) {
+            // the first number on a line is the node, every further number is a neighbor that becomes an edge
+            if (nFields == 0) {
+                fields[0] = currentNumber;
+                maxNodeId = Math.max(maxNodeId, currentNumber);
+            } else {
+                addEdge(fields[0], currentNumber, EdgeList.DEFAULT_WEIGHT);
+            }
+        } else if (nFields < fields.length) {
+            fields[nFields] = currentNumber;
+        } else {
+            throw new IllegalArgumentException("Too many values on line ending at byte offset %s.".formatted(offset));
+        }
+        ++nFields;
+        inNumber = false;
+        currentNumber = 0;
+    }
+
+    private void endLine() {
+        if (nFields == 0 || format == EdgeListParser.Format.ADJACENCY_LIST) {
+            nFields = 0;
+            return;
+        }
+        if (headerPending) {
+            headerPending = false;
+            headerNodes = Math.max(fields[0], nFields > 1 ? fields[1] : 0);
+        } else if (nFields == 2 || nFields == 3) {
+            final int weight = nFields == 3 ? fields[2] : EdgeList.DEFAULT_WEIGHT;
+            addEdge(toNodeId(fields[0]), toNodeId(fields[1]), weight);
+        } else {
+            throw new IllegalArgumentException(
+                "Expected 'from to [weight]' on line ending at byte offset %s.".formatted(offset));
+        }
+        nFields = 0;
+    }
+
+    // matrix market files count rows and columns from 1
+    private int toNodeId(int number) {
+        if (format != EdgeListParser.Format.MATRIX_MARKET) {
+            return number;
+        }
+        if (number == 0) {
+            throw new IllegalArgumentException("Matrix market indices start at 1 (byte offset %s).".formatted(offset));
+        }
+        return number - 1;
+    }
+
+    private void addEdge(int fromId, int toId, int weight) {
+        if (nEdges == from.length) {
+            final int newCapacity = from.length * 2;
+            from = Arrays.copyOf(from, newCapacity);
+            to = Arrays.copyOf(to, newCapacity);
+            weights = Arrays.copyOf(weights, newCapacity);
+        }
+        from[nEdges] = fromId;
+        to[nEdges] = toId;
+        weights[nEdges] = weight;
+        ++nEdges;
+        maxNodeId = Math.max(maxNodeId, Math.max(fromId, toId));
+    }
+
+    int numberEdges() {
+        return nEdges;
+    }
+
+    int numberNodes() {
+        return Math.max(maxNodeId + 1, headerNodes);
+    }
+
+    void copyEdgesInto(int[] allFrom, int[] allTo, int[] allWeights, int destinationIndex) {
+        System.arraycopy(from, 0, allFrom, destinationIndex, nEdges);
+        System.arraycopy(to, 0, allTo, destinationIndex, nEdges);
+        System.arraycopy(weights, 0, allWeights, destinationIndex, nEdges);
+    }
+
+    EdgeList toEdgeList() {
+        return new EdgeList(numberNodes(), nEdges, from, to, weights);
+    }
+}
@@ -0,0 +1,89 @@
+package graph.edgelist;
+
+import graph.OffHeapGraph;
+import graph.WeightedGraph;
+import graph.adjacencylist.IntegerGraph;
+
+/**
+ * The result of parsing an edge file: the edges are kept in three parallel primitive arrays (source, target, weight)
+ * so that no object has to be allocated per edge before the client decides which graph to build from them.
+ * <br>
+ * Nodes are identified by the integers from 0 to {@link EdgeList#numberNodes()} - 1. Edges without an explicit weight
+ * in the file get the weight {@link EdgeList#DEFAULT_WEIGHT}.
+ */
+public class EdgeList {
+
+    public static final int DEFAULT_WEIGHT = 1;
+
+    private final int numberNodes;
+    private final int nEdges;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weights;
+
+    EdgeList(int numberNodes, int nEdges, int[] from, int[] to, int[] weights) {
+        this.numberNodes = numberNodes;
+        this.nEdges = nEdges;
+        this.from = from;
+        this.to = to;
+        this.weights = weights;
+    }
+
+    public int numberNodes() {
+        return numberNodes;
+    }
+
+    public int numberEdges() {
+        return nEdges;
+    }
+
+    public int from(int edgeIndex) {
+        checkIndex(edgeIndex);
+        return from[edgeIndex];
+    }
+
+    public int to(int edgeIndex) {
+        checkIndex(edgeIndex);
+        return to[edgeIndex];
+    }
+
+    public int weight(int edgeIndex) {
+        checkIndex(edgeIndex);
+        return weights[edgeIndex];
+    }
+
+    private void checkIndex(int edgeIndex) {
+        if (edgeIndex < 0 || edgeIndex >= nEdges) {
+            throw new IndexOutOfBoundsException("Edge %s is out of bounds for %s edges.".formatted(edgeIndex, nEdges));
+        }
+    }
+
+    /**
+     * Builds a directed {@link WeightedGraph} with the nodes 0 to n - 1. If an edge occurs several times in the file,
+     * the weight of the last occurrence wins (as for {@link WeightedGraph#addDirectedEdge(Object, Object, int)}).
+     */
+    public WeightedGraph<Integer> toWeightedGraph() {
+        final WeightedGraph<Integer> graph = new WeightedGraph<>();
+        for (int nodeId = 0; nodeId < numberNodes; nodeId++) {
+            graph.addNode(nodeId);
+        }
+        for (int i = 0; i < nEdges; i++) {
+            graph.addDirectedEdge(from[i], to[i], weights[i]);
+        }
+        return graph;
+    }
+
+    /**
+     * Builds a directed {@link IntegerGraph}; weights are dropped since that graph is unweighted.
+     */
+    public IntegerGraph toIntegerGraph() {
+        return IntegerGraph.fromEdges(numberNodes, from, to, nEdges);
+    }
+
+    /**
+     * Builds an immutable {@link OffHeapGraph}, so that large graphs do not have to live on the heap.
+     */
+    public OffHeapGraph toOffHeapGraph() {
+        return OffHeapGraph.fromEdges(numberNodes, from, to, weights, nEdges);
+    }
+}
@@ -0,0 +1,157 @@
+package graph.edgelist;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A streaming parser for text files that describe the edges of a graph with integer node ids, e.g. the edge dumps of
+ * the SNAP collection or the coordinate files of the Matrix Market format. The result is an {@link EdgeList} from which
+ * a {@link graph.WeightedGraph} or a {@link graph.adjacencylist.IntegerGraph} can be built.
+ * <br><br>
+ * The file is read through a {@link FileChannel} in chunks of a fixed number of bytes, and numbers are parsed directly
+ * from the bytes (see {@link EdgeChunkParser}), so in contrast to {@code BufferedReader.readLine} plus
+ * {@code String.split} no objects are created per line.
+ * <br><br>
+ * In parallel mode, the file is cut into byte ranges whose boundaries are moved to the next line break; each range is
+ * parsed independently on the common fork-join pool and the results are concatenated in file order, so the order of
+ * the edges is the same as in sequential mode.
+ * <br><br>
+ * Supported formats:
+ * <ul>
+ *     <li>{@link Format#EDGE_LIST}: one edge per line as {@code from to [weight]}, 0-based ids</li>
+ *     <li>{@link Format#MATRIX_MARKET}: like an edge list but 1-based, with a header line {@code rows cols entries}</li>
+ *     <li>{@link Format#ADJACENCY_LIST}: one node per line followed by all its neighbors, 0-based ids</li>
+ * </ul>
+ * Values may be separated by spaces, tabs or commas; lines starting with '#' or '%' are comments. Only non-negative
+ * integer values are accepted.
+ */
+public class EdgeListParser {
+
+    public enum Format {EDGE_LIST, MATRIX_MARKET, ADJACENCY_LIST}
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    // a range is not worth its own task (and its own result arrays) if it is smaller than this
+    private static final long MIN_RANGE_SIZE = 1 << 16;
+
+    private final Format format;
+    private final int chunkSize;
+    private final boolean parallel;
+
+    public EdgeListParser(Format format) {
+        this(format, DEFAULT_CHUNK_SIZE, false);
+    }
+
+    public EdgeListParser(Format format, int chunkSize, boolean parallel) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive - %s.".formatted(chunkSize));
+        }
+        this.format = format;
+        this.chunkSize = chunkSize;
+        this.parallel = parallel;
+    }
+
+    public EdgeList parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (!parallel || fileSize < 2 * MIN_RANGE_SIZE) {
+                return parseRange(channel, 0, fileSize).toEdgeList();
+            }
+            final long[] boundaries = rangeBoundaries(channel, fileSize);
+            final List<EdgeChunkParser> parsedRanges;
+            try {
+                parsedRanges = IntStream.range(0, boundaries.length - 1)
+                    .parallel()
+                    .mapToObj(i -> parseRangeUnchecked(channel, boundaries[i], boundaries[i + 1]))
+                    .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return concatenate(parsedRanges);
+        }
+    }
+
+    private EdgeChunkParser parseRangeUnchecked(FileChannel channel, long start, long end) {
+        try {
+            return parseRange(channel, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // uses only positional reads, which do not modify the channel's position and are safe for concurrent use
+    private EdgeChunkParser parseRange(FileChannel channel, long start, long end) throws IOException {
+        final EdgeChunkParser parser = new EdgeChunkParser(format, start, start == 0);
+        final byte[] chunk = new byte[(int) Math.min(chunkSize, Math.max(1, end - start))];
+        final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        long position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(chunk.length, end - position));
+            final int nRead = channel.read(buffer, position);
+            if (nRead < 0) {
+                break;
+            }
+            parser.accept(chunk, 0, nRead);
+            position += nRead;
+        }
+        parser.finish();
+        return parser;
+    }
+
+    /**
+     * Splits the file into roughly equal ranges, one per task, and moves every inner boundary to the first byte after
+     * the next line break so that no line is cut in two.
+     */
+    private long[] rangeBoundaries(FileChannel channel, long fileSize) throws IOException {
+        final int nTasks = ForkJoinPool.commonPool().getParallelism() * 4;
+        final int nRanges = (int) Math.max(1, Math.min(nTasks, fileSize / MIN_RANGE_SIZE));
+        final long[] boundaries = new long[nRanges + 1];
+        boundaries[nRanges] = fileSize;
+        for (int i = 1; i < nRanges; i++) {
+            final long nominal = Math.max(fileSize / nRanges * i, boundaries[i - 1]);
+            boundaries[i] = nextLineStart(channel, nominal, fileSize);
+        }
+        return boundaries;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long fileSize) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long current = position;
+        while (current < fileSize) {
+            buffer.clear();
+            final int nRead = channel.read(buffer, current);
+            if (nRead < 0) {
+                break;
+            }
+            for (int i = 0; i < nRead; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += nRead;
+        }
+        return fileSize;
+    }
+
+    private static EdgeList concatenate(List<EdgeChunkParser> parsedRanges) {
+        final int nEdges = Math.toIntExact(parsedRanges.stream().mapToLong(EdgeChunkParser::numberEdges).sum());
+        final int numberNodes = parsedRanges.stream().mapToInt(EdgeChunkParser::numberNodes).max().orElse(0);
+        final int[] from = new int[nEdges];
+        final int[] to = new int[nEdges];
+        final int[] weights = new int[nEdges];
+        int destinationIndex = 0;
+        for (EdgeChunkParser range : parsedRanges) {
+            range.copyEdgesInto(from, to, weights, destinationIndex);
+            destinationIndex += range.numberEdges();
+        }
+        return new EdgeList(numberNodes, nEdges, from, to, weights);
+    }
+}
@@ -9,6 +9,10 @@ package heap;
  *     <li>T pop() in O(log n)</li>
  *     <li>void add(T value) in O(log n)</li>
  * </ul>
+ * <p>
+ * Optionally, the heap keeps up to {@code nodePoolCapacity} nodes of popped elements in a free list and reuses them
+ * for later adds, so that a heap with a steady churn (as a priority queue) stops producing garbage once the pool is
+ * warm.
  */
 public class HeapNodeBased<T extends Comparable<T>> {
 
@@ -16,8 +20,9 @@ public class HeapNodeBased<T extends Comparable<T>> {
     private static record LevelIndices(int level, int offset) {
 
         private static LevelIndices from(int linearSlotIndex) {
-            int level = (int) (Math.log(linearSlotIndex + 1) / Math.log(2));
-            int firstSlotInLevel = (int) (Math.pow(2, level) - 1);
+            // floor(log2(linearSlotIndex + 1)), exact unlike a quotient of floating point logarithms
+            int level = 31 - Integer.numberOfLeadingZeros(linearSlotIndex + 1);
+            int firstSlotInLevel = (1 << level) - 1;
             int offSetToFirstSlot = linearSlotIndex - firstSlotInLevel;
             return new LevelIndices(level, offSetToFirstSlot);
         }
@@ -73,6 +78,67 @@ public class HeapNodeBased<T extends Comparable<T>> {
     private Node<T> root;
     private int nElements;
 
+    private final int nodePoolCapacity;
+    private Node<T> freeNodes; // linked through their left child
+    private int nFreeNodes;
+    private long allocatedNodes;
+    private long reusedNodes;
+
+    public HeapNodeBased() {
+        this(0);
+    }
+
+    /**
+     * @param nodePoolCapacity the maximum number of nodes of popped elements kept for reuse, 0 for no pooling
+     */
+    public HeapNodeBased(int nodePoolCapacity) {
+        if (nodePoolCapacity < 0) {
+            throw new IllegalArgumentException("Illegal node pool capacity - %s.".formatted(nodePoolCapacity));
+        }
+        this.nodePoolCapacity = nodePoolCapacity;
+    }
+
+    /**
+     * @return the number of nodes this heap has allocated, which stops growing under steady churn with a node pool
+     */
+    public long allocatedNodes() {
+        return allocatedNodes;
+    }
+
+    /**
+     * @return the number of adds that reused a pooled node instead of allocating one
+     */
+    public long reusedNodes() {
+        return reusedNodes;
+    }
+
+    private Node<T> newNode(T value) {
+        final Node<T> node = freeNodes;
+        if (node == null) {
+            ++allocatedNodes;
+            return new Node<>(value);
+        }
+        freeNodes = node.left;
+        --nFreeNodes;
+        ++reusedNodes;
+        node.left = null;
+        node.value = value;
+        return node;
+    }
+
+    // the node must be detached from the tree already
+    private void release(Node<T> node) {
+        node.value = null;
+        node.top = null;
+        node.right = null;
+        node.left = null;
+        if (nFreeNodes < nodePoolCapacity) {
+            node.left = freeNodes;
+            freeNodes = node;
+            ++nFreeNodes;
+        }
+    }
+
     public int size() {
         return nElements;
     }
@@ -93,6 +159,7 @@ public class HeapNodeBased<T extends Comparable<T>> {
             throw new HeapUnderflowException("Heap is empty - cannot pop.");
         } else if (size() == 1) {
             T value = root.value;
+            release(root);
             root = null;
             nElements = 0;
             return value;
@@ -104,6 +171,7 @@ public class HeapNodeBased<T extends Comparable<T>> {
         Node<T> removed = removeBottomRightNode();
         root.value = removed.value;
         --nElements;
+        release(removed);
 
         // reinstall heap order (note this involves upwards swaps, that reset root if necessary)
         bubbleDown(root);
@@ -115,6 +183,7 @@ public class HeapNodeBased<T extends Comparable<T>> {
         while (node.hasLargerChildren()) {
             Node<T> largestChild = node.getLargestChild();
             swapUpwards(largestChild);
+            node = largestChild; // the value moved down into the child
         }
     }
 
@@ -131,7 +200,7 @@ public class HeapNodeBased<T extends Comparable<T>> {
     }
 
     public void add(T value) {
-        Node<T> newNode = new Node<>(value);
+        Node<T> newNode = newNode(value);
         addNodeAtBottomRight(newNode);
         ++nElements;
         bubbleUp(newNode);
@@ -140,6 +209,7 @@ public class HeapNodeBased<T extends Comparable<T>> {
     private void bubbleUp(Node<T> node) {
         while (node.top != null && node.top.compareTo(node) < 0) {
             swapUpwards(node);
+            node = node.top; // the value moved up into the parent
         }
     }
 
@@ -180,11 +250,9 @@ public class HeapNodeBased<T extends Comparable<T>> {
         if (slotIndex == 0) {
             throw new IllegalArgumentException("For index 0 there is no parent.");
         }
+        // the parent of the slot at offset o in a level is at offset o / 2 in the level above
         LevelIndices levelIndices = LevelIndices.from(slotIndex);
-        int levelParent = levelIndices.level - 1;
-        int firstSlotInLevelParent = (int) (Math.pow(2, levelParent) - 1);
-        int offSetToFirstSlotParent = firstSlotInLevelParent / 2;
-        LevelIndices levelIndicesParent = new LevelIndices(levelParent, offSetToFirstSlotParent);
+        LevelIndices levelIndicesParent = new LevelIndices(levelIndices.level - 1, levelIndices.offset / 2);
         return levelIndicesParent.toLinearSlotIndex();
     }
 
@@ -194,24 +262,14 @@ public class HeapNodeBased<T extends Comparable<T>> {
     // level 1:             0        1               0       1
     // level 2:         0     1   2     3         00  01  10   11
     // ...
+    // (the bits are read directly from the offset, most significant first, so that no string is built per lookup)
     private Node<T> findNodeAtIndex(int linearSlotIndex) {
         LevelIndices levelIndices = LevelIndices.from(linearSlotIndex);
-        String bigEndianBinary = convertToBigEndianBinary(levelIndices.offset, levelIndices.level);
         Node<T> node = root;
-        for (char c : bigEndianBinary.toCharArray()) {
-            node = c == '0' ? node.left : node.right;
+        for (int bit = levelIndices.level - 1; bit >= 0; bit--) {
+            node = ((levelIndices.offset >>> bit) & 1) == 0 ? node.left : node.right;
         }
         return node;
     }
 
-    private static String convertToBigEndianBinary(int n, int digitsInResult) {
-        StringBuilder sb = new StringBuilder();
-        while (digitsInResult-- > 0) {
-            int modulo = n % 2;
-            n = n / 2;
-            sb.append(modulo == 0 ? "0" : "1");
-        }
-        return sb.reverse().toString();
-    }
-
 }
@@ -0,0 +1,216 @@
+package list;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable array for more than 2^31 elements: the elements live in fixed-size chunks of 2^chunkBits slots, and
+ * element i is at {@code chunks[i >>> chunkBits][i & (chunkSize - 1)]}, so random access stays O(1) with a shift and a
+ * mask. Indices are longs.
+ * <br>
+ * Unlike {@link ResizingArray}, growing never copies elements: it allocates one more chunk and at most doubles the
+ * directory of chunk references, which is smaller than the elements by a factor of the chunk size. So there is no
+ * moment in which the old and the new array coexist, and no allocation is larger than a chunk; with the default of
+ * 2^14 references (64 KB with compressed oops), chunks stay below the size for which G1 allocates "humongous" objects
+ * in their own regions. Chunks that are no longer needed after removals are released.
+ *
+ * <ul>
+ *     <li>get(long index) in O(1)</li>
+ *     <li>set(long index, T value) in O(1)</li>
+ *     <li>add(T value) in O(1), without amortization</li>
+ *     <li>removeLast() in O(1)</li>
+ *     <li>find(T value) and removeAt(long index) in O(n)</li>
+ * </ul>
+ */
+public class BigArray<T> implements Iterable<T> {
+
+    private static final int DEFAULT_CHUNK_BITS = 14;
+    private static final int INITIAL_DIRECTORY_SIZE = 4;
+    // some JVMs reserve header words in an array
+    private static final int MAX_CHUNKS = Integer.MAX_VALUE - 8;
+
+    private final int chunkBits;
+    private final int chunkMask;
+    private Object[][] chunks = new Object[INITIAL_DIRECTORY_SIZE][];
+    private int nChunks;
+    private long nElements;
+    private int modifications;
+
+    public BigArray() {
+        this(DEFAULT_CHUNK_BITS);
+    }
+
+    /**
+     * @param chunkBits the logarithm of the number of elements per chunk, between 1 and 30
+     */
+    public BigArray(int chunkBits) {
+        if (chunkBits < 1 || chunkBits > 30) {
+            throw new IllegalArgumentException("The chunk bits must be between 1 and 30 - %s.".formatted(chunkBits));
+        }
+        this.chunkBits = chunkBits;
+        this.chunkMask = (1 << chunkBits) - 1;
+    }
+
+    public boolean isEmpty() {
+        return nElements == 0;
+    }
+
+    public long size() {
+        return nElements;
+    }
+
+    private long capacity() {
+        return (long) nChunks << chunkBits;
+    }
+
+    private void throwIfOutOfBounds(long index) {
+        if (index < 0 || index >= nElements) {
+            throw new IndexOutOfBoundsException("Index %s is out of bounds for length %s.".formatted(index, nElements));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T at(long index) {
+        return (T) chunks[(int) (index >>> chunkBits)][(int) (index & chunkMask)];
+    }
+
+    private void put(long index, Object value) {
+        chunks[(int) (index >>> chunkBits)][(int) (index & chunkMask)] = value;
+    }
+
+    public T get(long index) {
+        throwIfOutOfBounds(index);
+        return at(index);
+    }
+
+    /**
+     * Throws IndexOutOfBoundsException if the index is less than 0 or beyond the current size.
+     */
+    public void set(long index, T value) {
+        throwIfOutOfBounds(index);
+        put(index, value);
+    }
+
+    public void add(T element) {
+        if (nElements == capacity()) {
+            addChunk();
+        }
+        put(nElements++, element);
+        ++modifications;
+    }
+
+    private void addChunk() {
+        if (nChunks == chunks.length) {
+            if (nChunks == MAX_CHUNKS) {
+                throw new IllegalStateException("Cannot grow beyond %s chunks.".formatted(MAX_CHUNKS));
+            }
+            chunks = Arrays.copyOf(chunks, (int) Math.min(2L * chunks.length, MAX_CHUNKS));
+        }
+        chunks[nChunks++] = new Object[chunkMask + 1];
+    }
+
+    // keeps one spare chunk, so that alternating add and remove at a chunk boundary does not allocate every time
+    private void releaseUnusedChunks() {
+        while (nChunks >= 2 && nElements <= capacity() - 2L * (chunkMask + 1)) {
+            chunks[--nChunks] = null;
+        }
+    }
+
+    /**
+     * Removes and returns the last element.
+     *
+     * @throws NoSuchElementException if the array is empty
+     */
+    public T removeLast() {
+        if (nElements == 0) {
+            throw new NoSuchElementException("The array is empty.");
+        }
+        final T last = at(--nElements);
+        put(nElements, null);
+        ++modifications;
+        releaseUnusedChunks();
+        return last;
+    }
+
+    /**
+     * If the index is less than 0 or beyond the range of elements in the array, this method does nothing. Otherwise
+     * the following elements are moved one to the front, with one {@link System#arraycopy} per chunk.
+     */
+    public void removeAt(long index) {
+        if (index < 0 || index >= nElements) {
+            return;
+        }
+        int chunk = (int) (index >>> chunkBits);
+        int offset = (int) (index & chunkMask);
+        final int lastChunk = (int) ((nElements - 1) >>> chunkBits);
+        for (; chunk < lastChunk; chunk++, offset = 0) {
+            System.arraycopy(chunks[chunk], offset + 1, chunks[chunk], offset, chunkMask - offset);
+            chunks[chunk][chunkMask] = chunks[chunk + 1][0];
+        }
+        final int lastOffset = (int) ((nElements - 1) & chunkMask);
+        System.arraycopy(chunks[chunk], offset + 1, chunks[chunk], offset, lastOffset - offset);
+        chunks[chunk][lastOffset] = null;
+        --nElements;
+        ++modifications;
+        releaseUnusedChunks();
+    }
+
+    public boolean contains(T value) {
+        return find(value) != -1;
+    }
+
+    /**
+     * Returns the index of the first element matching the given value, or, if none matches, returns -1.
+     */
+    public long find(T value) {
+        for (int chunk = 0; (long) chunk << chunkBits < nElements; chunk++) {
+            final Object[] elements = chunks[chunk];
+            final int end = (int) Math.min(chunkMask + 1, nElements - ((long) chunk << chunkBits));
+            for (int offset = 0; offset < end; offset++) {
+                if (elements[offset].equals(value)) {
+                    return ((long) chunk << chunkBits) + offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes all elements and releases all chunks but one.
+     */
+    public void clear() {
+        Arrays.fill(chunks, Math.min(nChunks, 1), nChunks, null);
+        if (nChunks > 0) {
+            Arrays.fill(chunks[0], null);
+            nChunks = 1;
+        }
+        nElements = 0;
+        ++modifications;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final int expectedModifications = modifications;
+            private long index;
+
+            @Override
+            public boolean hasNext() {
+                return index < nElements;
+            }
+
+            @Override
+            public T next() {
+                if (modifications != expectedModifications) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return at(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,564 @@
+package list;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A thread-safe, non-blocking deque with the first/last API of {@link DoublyLinkedList}, for producer/consumer handoff
+ * and work stealing. Null elements are not allowed.
+ * <br><br>
+ * The design is the one of {@link java.util.concurrent.ConcurrentLinkedDeque} (Doug Lea and Martin Buchholz): a doubly
+ * linked list of nodes whose links are updated with compare-and-set, so the two ends proceed independently and no
+ * thread ever waits for another one.
+ * <ul>
+ *     <li>An element is added by a single compare-and-set of the {@code prev} (or {@code next}) link of the first (or
+ *     last) node, from null to the new node; the link in the other direction is set before and only a hint.</li>
+ *     <li>An element is removed by a compare-and-set of its node's item to null ("logical deletion"); the node is
+ *     unlinked afterwards by relinking its live neighbours past it. A node that is no longer reachable from the ends is
+ *     linked to itself (or to a terminator node at the ends), so that a thread traversing it notices and restarts.</li>
+ *     <li>{@code head} and {@code tail} are only hints: they are updated lazily, at most every other hop, and the true
+ *     first (last) node is found by following {@code prev} ({@code next}) links from them.</li>
+ * </ul>
+ * Nodes are never reused, so there is no ABA problem: the garbage collector reclaims a node only when no thread can
+ * still reach it.
+ *
+ * <ul>
+ *     <li>addFirst(T value), addLast(T value) in O(1), lock-free</li>
+ *     <li>pollFirst(), pollLast(), removeFirst(), removeLast() in O(1) amortized, lock-free</li>
+ *     <li>peekFirst(), peekLast(), getFirst(), getLast() in O(1) amortized, lock-free</li>
+ *     <li>size() in O(n), only exact if there are no concurrent updates</li>
+ * </ul>
+ */
+public class ConcurrentDeque<T> {
+
+    // the number of deleted nodes at an end that are tolerated before they are unlinked
+    private static final int HOPS = 2;
+
+    private static final class Node<T> {
+        volatile Node<T> prev;
+        volatile T item;
+        volatile Node<T> next;
+
+        Node() {
+        }
+
+        Node(T item) {
+            ITEM.set(this, item); // plain write, published by the compare-and-set that links the node
+        }
+    }
+
+    // the prev (next) link of a node that was unlinked at the front (back), so that traversals restart
+    private static final Node<Object> PREV_TERMINATOR = new Node<>();
+    private static final Node<Object> NEXT_TERMINATOR = new Node<>();
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle PREV;
+    private static final VarHandle NEXT;
+    private static final VarHandle ITEM;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(ConcurrentDeque.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(ConcurrentDeque.class, "tail", Node.class);
+            PREV = lookup.findVarHandle(Node.class, "prev", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            ITEM = lookup.findVarHandle(Node.class, "item", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        PREV_TERMINATOR.next = PREV_TERMINATOR;
+        NEXT_TERMINATOR.prev = NEXT_TERMINATOR;
+    }
+
+    // a node from which the first node can be reached by following prev links, and that is never gc-unlinked
+    private volatile Node<T> head;
+    // a node from which the last node can be reached by following next links, and that is never gc-unlinked
+    private volatile Node<T> tail;
+
+    public ConcurrentDeque() {
+        head = tail = new Node<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T> prevTerminator() {
+        return (Node<T>) PREV_TERMINATOR;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T> nextTerminator() {
+        return (Node<T>) NEXT_TERMINATOR;
+    }
+
+    public void addFirst(T value) {
+        final Node<T> newNode = new Node<>(Objects.requireNonNull(value, "The deque does not allow null elements."));
+        restartFromHead:
+        while (true) {
+            for (Node<T> h = head, p = h, q; ; ) {
+                if ((q = p.prev) != null && (q = (p = q).prev) != null) {
+                    // check for head updates every other hop; if p == q, p was unlinked, so follow head instead
+                    p = (h != (h = head)) ? h : q;
+                } else if (p.next == p) { // PREV_TERMINATOR
+                    continue restartFromHead;
+                } else {
+                    // p is the first node
+                    NEXT.set(newNode, p);
+                    if (PREV.compareAndSet(p, null, newNode)) {
+                        // the linearization point: the element is in the deque now
+                        if (p != h) {
+                            HEAD.weakCompareAndSet(this, h, newNode); // may fail, head is only a hint
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    public void addLast(T value) {
+        final Node<T> newNode = new Node<>(Objects.requireNonNull(value, "The deque does not allow null elements."));
+        restartFromTail:
+        while (true) {
+            for (Node<T> t = tail, p = t, q; ; ) {
+                if ((q = p.next) != null && (q = (p = q).next) != null) {
+                    p = (t != (t = tail)) ? t : q;
+                } else if (p.prev == p) { // NEXT_TERMINATOR
+                    continue restartFromTail;
+                } else {
+                    PREV.set(newNode, p);
+                    if (NEXT.compareAndSet(p, null, newNode)) {
+                        if (p != t) {
+                            TAIL.weakCompareAndSet(this, t, newNode);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the first element, or returns an empty Optional if the deque is empty at that moment.
+     */
+    public Optional<T> pollFirst() {
+        restart:
+        while (true) {
+            for (Node<T> first = first(), p = first; ; ) {
+                final T item = p.item;
+                if (item != null) {
+                    // an element added at the front in the meantime would have to be removed instead
+                    if (first.prev != null) {
+                        continue restart;
+                    }
+                    if (ITEM.compareAndSet(p, item, null)) {
+                        unlink(p);
+                        return Optional.of(item);
+                    }
+                }
+                if (p == (p = p.next)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    if (first.prev != null) {
+                        continue restart;
+                    }
+                    return Optional.empty();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the last element, or returns an empty Optional if the deque is empty at that moment.
+     */
+    public Optional<T> pollLast() {
+        restart:
+        while (true) {
+            for (Node<T> last = last(), p = last; ; ) {
+                final T item = p.item;
+                if (item != null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    if (ITEM.compareAndSet(p, item, null)) {
+                        unlink(p);
+                        return Optional.of(item);
+                    }
+                }
+                if (p == (p = p.prev)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    return Optional.empty();
+                }
+            }
+        }
+    }
+
+    /**
+     * As {@link ConcurrentDeque#pollFirst()}, but throws IllegalStateException if the deque is empty.
+     */
+    public T removeFirst() {
+        return pollFirst().orElseThrow(() -> new IllegalStateException("Cannot pop from an empty deque."));
+    }
+
+    /**
+     * As {@link ConcurrentDeque#pollLast()}, but throws IllegalStateException if the deque is empty.
+     */
+    public T removeLast() {
+        return pollLast().orElseThrow(() -> new IllegalStateException("Cannot pop from an empty deque."));
+    }
+
+    public Optional<T> peekFirst() {
+        restart:
+        while (true) {
+            final Node<T> first = first();
+            Node<T> p = first;
+            T item;
+            while ((item = p.item) == null) {
+                if (p == (p = p.next)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    break;
+                }
+            }
+            if (first.prev != null) {
+                continue restart;
+            }
+            return Optional.ofNullable(item);
+        }
+    }
+
+    public Optional<T> peekLast() {
+        restart:
+        while (true) {
+            final Node<T> last = last();
+            Node<T> p = last;
+            T item;
+            while ((item = p.item) == null) {
+                if (p == (p = p.prev)) {
+                    continue restart;
+                }
+                if (p == null) {
+                    break;
+                }
+            }
+            if (last.next != null) {
+                continue restart;
+            }
+            return Optional.ofNullable(item);
+        }
+    }
+
+    public T getFirst() {
+        return peekFirst().orElseThrow(() -> new IllegalStateException("Cannot get from an empty deque."));
+    }
+
+    public T getLast() {
+        return peekLast().orElseThrow(() -> new IllegalStateException("Cannot get from an empty deque."));
+    }
+
+    public boolean isEmpty() {
+        return peekFirst().isEmpty();
+    }
+
+    /**
+     * Counts the elements by traversing the deque, so under concurrent updates the result is only an estimate.
+     */
+    public int size() {
+        restart:
+        while (true) {
+            int count = 0;
+            for (Node<T> p = first(); p != null; ) {
+                if (p.item != null && ++count == Integer.MAX_VALUE) {
+                    return count;
+                }
+                if (p == (p = p.next)) {
+                    continue restart;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * @return the first node (whose prev link is null), which may be deleted; updates head on the way
+     */
+    private Node<T> first() {
+        restartFromHead:
+        while (true) {
+            for (Node<T> h = head, p = h, q; ; ) {
+                if ((q = p.prev) != null && (q = (p = q).prev) != null) {
+                    p = (h != (h = head)) ? h : q;
+                } else if (p == h || HEAD.compareAndSet(this, h, p)) {
+                    // p may be PREV_TERMINATOR, but then the compare-and-set fails
+                    return p;
+                } else {
+                    continue restartFromHead;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the last node (whose next link is null), which may be deleted; updates tail on the way
+     */
+    private Node<T> last() {
+        restartFromTail:
+        while (true) {
+            for (Node<T> t = tail, p = t, q; ; ) {
+                if ((q = p.next) != null && (q = (p = q).next) != null) {
+                    p = (t != (t = tail)) ? t : q;
+                } else if (p == t || TAIL.compareAndSet(this, t, p)) {
+                    return p;
+                } else {
+                    continue restartFromTail;
+                }
+            }
+        }
+    }
+
+    /**
+     * Unlinks the deleted node x. Deleted nodes at the ends are tolerated up to {@link ConcurrentDeque#HOPS}; inner
+     * ones are squeezed out by relinking the live neighbours, and then made unreachable ("gc-unlinked") by linking x to
+     * itself, or to a terminator at the ends.
+     */
+    private void unlink(Node<T> x) {
+        final Node<T> prev = x.prev;
+        final Node<T> next = x.next;
+        if (prev == null) {
+            unlinkFirst(x, next);
+        } else if (next == null) {
+            unlinkLast(x, prev);
+        } else {
+            Node<T> activePred;
+            Node<T> activeSucc;
+            boolean isFirst;
+            boolean isLast;
+            int hops = 1;
+
+            // find the nearest live predecessor, or the first node
+            for (Node<T> p = prev; ; ++hops) {
+                if (p.item != null) {
+                    activePred = p;
+                    isFirst = false;
+                    break;
+                }
+                final Node<T> q = p.prev;
+                if (q == null) {
+                    if (p.next == p) {
+                        return;
+                    }
+                    activePred = p;
+                    isFirst = true;
+                    break;
+                } else if (p == q) {
+                    return;
+                } else {
+                    p = q;
+                }
+            }
+
+            // find the nearest live successor, or the last node
+            for (Node<T> p = next; ; ++hops) {
+                if (p.item != null) {
+                    activeSucc = p;
+                    isLast = false;
+                    break;
+                }
+                final Node<T> q = p.next;
+                if (q == null) {
+                    if (p.prev == p) {
+                        return;
+                    }
+                    activeSucc = p;
+                    isLast = true;
+                    break;
+                } else if (p == q) {
+                    return;
+                } else {
+                    p = q;
+                }
+            }
+
+            // few deleted nodes at an end are cheaper to leave than to unlink
+            if (hops < HOPS && (isFirst | isLast)) {
+                return;
+            }
+
+            // squeeze out the deleted nodes between activePred and activeSucc, including x
+            skipDeletedSuccessors(activePred);
+            skipDeletedPredecessors(activeSucc);
+
+            // gc-unlink x if the neighbours are still as expected
+            if ((isFirst | isLast)
+                && activePred.next == activeSucc
+                && activeSucc.prev == activePred
+                && (isFirst ? activePred.prev == null : activePred.item != null)
+                && (isLast ? activeSucc.next == null : activeSucc.item != null)) {
+                updateHead(); // x must not be reachable from head
+                updateTail(); // nor from tail
+                PREV.setRelease(x, isFirst ? prevTerminator() : x);
+                NEXT.setRelease(x, isLast ? nextTerminator() : x);
+            }
+        }
+    }
+
+    /**
+     * Unlinks the deleted nodes after the deleted first node.
+     */
+    private void unlinkFirst(Node<T> first, Node<T> next) {
+        for (Node<T> o = null, p = next, q; ; ) {
+            if (p.item != null || (q = p.next) == null) {
+                if (o != null && p.prev != p && NEXT.compareAndSet(first, next, p)) {
+                    skipDeletedPredecessors(p);
+                    if (first.prev == null && (p.next == null || p.item != null) && p.prev == first) {
+                        updateHead();
+                        updateTail();
+                        // o is the last of the skipped nodes
+                        NEXT.setRelease(o, o);
+                        PREV.setRelease(o, prevTerminator());
+                    }
+                }
+                return;
+            } else if (p == q) {
+                return;
+            } else {
+                o = p;
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * Unlinks the deleted nodes before the deleted last node.
+     */
+    private void unlinkLast(Node<T> last, Node<T> prev) {
+        for (Node<T> o = null, p = prev, q; ; ) {
+            if (p.item != null || (q = p.prev) == null) {
+                if (o != null && p.next != p && PREV.compareAndSet(last, prev, p)) {
+                    skipDeletedSuccessors(p);
+                    if (last.next == null && (p.prev == null || p.item != null) && p.next == last) {
+                        updateHead();
+                        updateTail();
+                        PREV.setRelease(o, o);
+                        NEXT.setRelease(o, nextTerminator());
+                    }
+                }
+                return;
+            } else if (p == q) {
+                return;
+            } else {
+                o = p;
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * Moves head to a live node or the first node, so that it does not point to a node that is about to be unlinked.
+     */
+    private void updateHead() {
+        Node<T> h;
+        Node<T> p;
+        Node<T> q;
+        restartFromHead:
+        while ((h = head).item == null && (p = h.prev) != null) {
+            while (true) {
+                if ((q = p.prev) == null || (q = (p = q).prev) == null) {
+                    // p may be PREV_TERMINATOR, but then the compare-and-set fails
+                    if (HEAD.compareAndSet(this, h, p)) {
+                        return;
+                    }
+                    continue restartFromHead;
+                } else if (h != head) {
+                    continue restartFromHead;
+                } else {
+                    p = q;
+                }
+            }
+        }
+    }
+
+    private void updateTail() {
+        Node<T> t;
+        Node<T> p;
+        Node<T> q;
+        restartFromTail:
+        while ((t = tail).item == null && (p = t.next) != null) {
+            while (true) {
+                if ((q = p.next) == null || (q = (p = q).next) == null) {
+                    if (TAIL.compareAndSet(this, t, p)) {
+                        return;
+                    }
+                    continue restartFromTail;
+                } else if (t != tail) {
+                    continue restartFromTail;
+                } else {
+                    p = q;
+                }
+            }
+        }
+    }
+
+    /**
+     * Links x to its nearest live predecessor (or the first node), as long as x is live or the last node.
+     */
+    private void skipDeletedPredecessors(Node<T> x) {
+        whileActive:
+        do {
+            final Node<T> prev = x.prev;
+            Node<T> p = prev;
+            while (p.item == null) {
+                final Node<T> q = p.prev;
+                if (q == null) {
+                    if (p.next == p) {
+                        continue whileActive;
+                    }
+                    break;
+                } else if (p == q) {
+                    continue whileActive;
+                } else {
+                    p = q;
+                }
+            }
+            if (prev == p || PREV.compareAndSet(x, prev, p)) {
+                return;
+            }
+        } while (x.item != null || x.next == null);
+    }
+
+    /**
+     * Links x to its nearest live successor (or the last node), as long as x is live or the first node.
+     */
+    private void skipDeletedSuccessors(Node<T> x) {
+        whileActive:
+        do {
+            final Node<T> next = x.next;
+            Node<T> p = next;
+            while (p.item == null) {
+                final Node<T> q = p.next;
+                if (q == null) {
+                    if (p.prev == p) {
+                        continue whileActive;
+                    }
+                    break;
+                } else if (p == q) {
+                    continue whileActive;
+                } else {
+                    p = q;
+                }
+            }
+            if (next == p || NEXT.compareAndSet(x, next, p)) {
+                return;
+            }
+        } while (x.item != null || x.prev == null);
+    }
+}
@@ -16,11 +16,27 @@ import java.util.Objects;
  *     <li>popBack() in O(1) </li>
  *     <li>peekFront() in O(1) </li>
  *     <li>peekBack() in O(1) </li>
+ *     <li>remove(Node handle), moveToFront(Node handle), moveToBack(Node handle) in O(1) </li>
+ *     <li>splice(DoublyLinkedList other) in O(1) </li>
+ *     <li>split(Node handle) in O(min(k, n - k)) for a handle at index k </li>
  * </ul>
+ * <p>
+ * The add methods return the node of the new element as a handle, so that an element can be removed or moved later
+ * without searching for it, as LRU caches and schedulers need. A handle stays valid until its element is removed;
+ * after {@link DoublyLinkedList#splice(DoublyLinkedList)} or {@link DoublyLinkedList#split(Node)} it belongs to the
+ * list that now holds its element. Passing the handle of another list is not detected and corrupts both lists.
+ * <p>
+ * Optionally, the list keeps up to {@code nodePoolCapacity} nodes of removed elements in a free list and reuses them
+ * for later adds, so that a list with a steady churn stops producing garbage once the pool is warm. With a pool, the
+ * handle of a removed element may come back as the handle of a new one, so it must not be kept after the removal.
  */
 public class DoublyLinkedList<T> {
 
-    private static class Node<T> {
+    /**
+     * The node of one element, which serves as its handle. Nodes compare by identity: comparing their neighbours
+     * would recurse through the whole list.
+     */
+    public static final class Node<T> {
         @Nullable
         private Node<T> prev;
         @Nullable
@@ -33,20 +49,12 @@ public class DoublyLinkedList<T> {
             this.value = value;
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-            Node<?> node = (Node<?>) o;
-            return Objects.equals(prev, node.prev) && Objects.equals(next, node.next) && Objects.equals(value,
-                                                                                                        node.value);
+        public T getValue() {
+            return value;
         }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(prev, next, value);
+        public void setValue(T value) {
+            this.value = value;
         }
     }
 
@@ -56,32 +64,84 @@ public class DoublyLinkedList<T> {
     private Node<T> tail;
     private int nElements;
 
+    private final int nodePoolCapacity;
+    @Nullable
+    private Node<T> freeNodes;
+    private int nFreeNodes;
+    private long allocatedNodes;
+    private long reusedNodes;
+
+    public DoublyLinkedList() {
+        this(0);
+    }
+
+    /**
+     * @param nodePoolCapacity the maximum number of nodes of removed elements kept for reuse, 0 for no pooling
+     */
+    public DoublyLinkedList(int nodePoolCapacity) {
+        if (nodePoolCapacity < 0) {
+            throw new IllegalArgumentException("Illegal node pool capacity - %s.".formatted(nodePoolCapacity));
+        }
+        this.nodePoolCapacity = nodePoolCapacity;
+    }
+
+    /**
+     * @return the number of nodes this list has allocated, which stops growing under steady churn with a node pool
+     */
+    public long allocatedNodes() {
+        return allocatedNodes;
+    }
+
+    /**
+     * @return the number of adds that reused a pooled node instead of allocating one
+     */
+    public long reusedNodes() {
+        return reusedNodes;
+    }
+
+    private Node<T> newNode(T value) {
+        final Node<T> node = freeNodes;
+        if (node == null) {
+            ++allocatedNodes;
+            return new Node<>(null, null, value);
+        }
+        freeNodes = node.next;
+        --nFreeNodes;
+        ++reusedNodes;
+        node.next = null;
+        node.value = value;
+        return node;
+    }
+
+    // the node must be unlinked already; its value is cleared so that the pool does not retain it
+    private void release(Node<T> node) {
+        node.value = null;
+        if (nFreeNodes < nodePoolCapacity) {
+            node.next = freeNodes;
+            freeNodes = node;
+            ++nFreeNodes;
+        }
+    }
+
     public int size() {
         return nElements;
     }
 
-    public void addFirst(T value) {
-        if (isEmpty()) {
-            Node<T> newNode = new Node<>(null, null, value);
-            head = newNode;
-            tail = newNode;
-        } else {
-            Node<T> newNode = new Node<>(null, head, value);
-            head.prev = newNode;
-            head = newNode;
-        }
+    /**
+     * @return the handle of the new first element
+     */
+    public Node<T> addFirst(T value) {
+        final Node<T> newNode = newNode(value);
+        linkFirst(newNode);
         nElements++;
+        return newNode;
     }
 
     public T removeFirst() {
         if (isEmpty()) {
             throw new IllegalStateException("Cannot pop from an empty linked list.");
         }
-        T valueToPop = head.value;
-        head = head.next;
-        removePrevReference(head);
-        nElements--;
-        return valueToPop;
+        return remove(head);
     }
 
     public T getFirst() {
@@ -91,33 +151,21 @@ public class DoublyLinkedList<T> {
         return head.value;
     }
 
-    public void addLast(T value) {
-        Node<T> oldTail = tail;
-        Node<T> newNode = new Node<>(oldTail, null, value);
-        if (oldTail != null) {
-            oldTail.next = newNode;
-        }
-        tail = newNode;
+    /**
+     * @return the handle of the new last element
+     */
+    public Node<T> addLast(T value) {
+        final Node<T> newNode = newNode(value);
+        linkLast(newNode);
         nElements++;
-        if (head == null) { // list was empty before
-            head = tail;
-        }
+        return newNode;
     }
 
     public T removeLast() {
         if (isEmpty()) {
             throw new IllegalStateException("Cannot pop from an empty linked list.");
         }
-        Node<T> oldTail = tail;
-        T valueToPop = oldTail.value;
-        tail = oldTail.prev; // if list contained only oldTail, list is empty after pop, so tail is set null here
-        removePrevReference(oldTail);
-        removeNextReference(tail);
-        nElements--;
-        if (isEmpty()) {
-            head = null;
-        }
-        return valueToPop;
+        return remove(tail);
     }
 
     public T getLast() {
@@ -127,6 +175,152 @@ public class DoublyLinkedList<T> {
         return tail.value;
     }
 
+    /**
+     * Removes the element of the given handle, which is invalid afterwards.
+     *
+     * @return the removed element
+     */
+    public T remove(Node<T> handle) {
+        throwIfDetached(handle);
+        unlink(handle);
+        nElements--;
+        final T value = handle.value;
+        release(handle);
+        return value;
+    }
+
+    /**
+     * Moves the element of the given handle to the front of the list.
+     */
+    public void moveToFront(Node<T> handle) {
+        throwIfDetached(handle);
+        if (handle != head) {
+            unlink(handle);
+            linkFirst(handle);
+        }
+    }
+
+    /**
+     * Moves the element of the given handle to the back of the list.
+     */
+    public void moveToBack(Node<T> handle) {
+        throwIfDetached(handle);
+        if (handle != tail) {
+            unlink(handle);
+            linkLast(handle);
+        }
+    }
+
+    /**
+     * Appends all elements of the other list to this one by relinking its first node, and leaves the other list
+     * empty. The handles of the moved elements belong to this list afterwards.
+     */
+    public void splice(DoublyLinkedList<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list into itself.");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        if (isEmpty()) {
+            head = other.head;
+        } else {
+            tail.next = other.head;
+            other.head.prev = tail;
+        }
+        tail = other.tail;
+        nElements += other.nElements;
+        other.head = null;
+        other.tail = null;
+        other.nElements = 0;
+    }
+
+    /**
+     * Cuts this list before the element of the given handle: this list keeps the elements before it, and the returned
+     * list holds the element of the handle and all that follow it.
+     * <br>
+     * Relinking is O(1); only the sizes of the two parts are unknown. They are found by counting from the handle
+     * towards both ends at the same time, which stops at whichever end is nearer, so this is O(min(k, n - k)) for a
+     * handle at index k.
+     */
+    public DoublyLinkedList<T> split(Node<T> handle) {
+        throwIfDetached(handle);
+        final DoublyLinkedList<T> suffix = new DoublyLinkedList<>(nodePoolCapacity);
+        suffix.nElements = countFromHandleToTail(handle);
+        suffix.head = handle;
+        suffix.tail = tail;
+        tail = handle.prev;
+        if (tail == null) {
+            head = null;
+        } else {
+            tail.next = null;
+        }
+        handle.prev = null;
+        nElements -= suffix.nElements;
+        return suffix;
+    }
+
+    private int countFromHandleToTail(Node<T> handle) {
+        Node<T> forward = handle;
+        Node<T> backward = handle;
+        int steps = 0;
+        while (true) {
+            // forward is 'steps' nodes after the handle, backward 'steps' nodes before it
+            if (forward.next == null) {
+                return steps + 1;
+            }
+            if (backward.prev == null) {
+                return nElements - steps;
+            }
+            forward = forward.next;
+            backward = backward.prev;
+            steps++;
+        }
+    }
+
+    private void throwIfDetached(Node<T> handle) {
+        if (handle.prev == null && handle != head || handle.next == null && handle != tail) {
+            throw new IllegalArgumentException("The handle is not part of this list - %s.".formatted(handle.value));
+        }
+    }
+
+    private void linkFirst(Node<T> node) {
+        node.prev = null;
+        node.next = head;
+        if (head == null) {
+            tail = node;
+        } else {
+            head.prev = node;
+        }
+        head = node;
+    }
+
+    private void linkLast(Node<T> node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
     public List<T> getAll() {
         List<T> result = new LinkedList<>();
         Node<T> curr = head;
@@ -138,53 +332,26 @@ public class DoublyLinkedList<T> {
     }
 
     public void reverse() {
-        if (nElements <= 1) {
-            return;
-        }
-
-        Node<T> old2ndNode = head.next;
-        Node<T> old2ndLastNode = tail.prev;
-
-        // reverse is easy for all "inner" nodes, that is except the head and the tail
-        Node<T> current = head.next;
-        while (current != null && current != tail) {
+        Node<T> current = head;
+        while (current != null) {
             Node<T> oldNext = current.next;
             current.next = current.prev;
             current.prev = oldNext;
             current = oldNext;
         }
-
-        // care for head and tail
-        Node<T> newHead = tail;
-        newHead.prev = null;
-        newHead.next = old2ndLastNode;
-
-        Node<T> newTail = head;
-        newTail.prev = old2ndNode;
-        newTail.next = null;
-
-        head = newHead;
-        tail = newTail;
+        Node<T> oldHead = head;
+        head = tail;
+        tail = oldHead;
     }
 
     public boolean isEmpty() {
         return nElements == 0;
     }
 
-    private void removePrevReference(Node<T> node) {
-        if (node == null) {
-            return;
-        }
-        node.prev = null;
-    }
-
-    private void removeNextReference(Node<T> node) {
-        if (node == null) {
-            return;
-        }
-        node.next = null;
-    }
-
+    /**
+     * Two lists are equal if they hold equal elements in the same order. Compares iteratively, so that long lists do
+     * not overflow the stack.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -192,11 +359,30 @@ public class DoublyLinkedList<T> {
         if (o == null || getClass() != o.getClass())
             return false;
         DoublyLinkedList<?> that = (DoublyLinkedList<?>) o;
-        return nElements == that.nElements && Objects.equals(head, that.head) && Objects.equals(tail, that.tail);
+        if (nElements != that.nElements) {
+            return false;
+        }
+        Node<?> current = head;
+        Node<?> other = that.head;
+        while (current != null) {
+            if (!Objects.equals(current.value, other.value)) {
+                return false;
+            }
+            current = current.next;
+            other = other.next;
+        }
+        return true;
     }
 
+    /**
+     * As {@link List#hashCode()}, from the elements in order.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(head, tail, nElements);
+        int hash = 1;
+        for (Node<T> current = head; current != null; current = current.next) {
+            hash = 31 * hash + Objects.hashCode(current.value);
+        }
+        return hash;
     }
 }
@@ -0,0 +1,147 @@
+package list;
+
+import java.util.Arrays;
+
+/**
+ * A sequence for edits near a moving cursor, as in a text editor: one array whose free slots form a single "gap" at
+ * the position of the last edit. Elements before the gap are at the front of the array, elements after it at the
+ * back; element i is at slot i if it is before the gap, else at slot i + gap length.
+ * <br>
+ * An insert or removal at the gap is O(1): it only moves a border of the gap. An edit elsewhere first moves the gap
+ * there, which copies the elements between the old and the new position (one {@link System#arraycopy}), so a sequence
+ * of edits costs the distance travelled by the cursor rather than O(n) per edit as in {@link ResizingArray}. A full
+ * buffer doubles its capacity and gets a new gap at the position of the insert.
+ *
+ * <ul>
+ *     <li>get(int index) in O(1)</li>
+ *     <li>set(int index, T value) in O(1)</li>
+ *     <li>insert(int index, T value) in O(1) amortized at the gap, else O(distance to the gap)</li>
+ *     <li>removeAt(int index) in O(1) at the gap, else O(distance to the gap)</li>
+ * </ul>
+ */
+public class GapBuffer<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    // some JVMs reserve header words in an array
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private Object[] memory;
+    private int gapStart;
+    private int gapEnd; // exclusive
+
+    public GapBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Allocates enough memory for {@code initialCapacity} elements, so that no resize happens before that.
+     */
+    public GapBuffer(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal initial capacity - %s.".formatted(initialCapacity));
+        }
+        this.memory = new Object[initialCapacity];
+        this.gapEnd = initialCapacity;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int size() {
+        return memory.length - (gapEnd - gapStart);
+    }
+
+    private int slotOf(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    private void throwIfOutOfBounds(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index %s is out of bounds for length %s.".formatted(index, size()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        throwIfOutOfBounds(index);
+        return (T) memory[slotOf(index)];
+    }
+
+    /**
+     * Throws IndexOutOfBoundsException if the index is less than 0 or beyond the current size.
+     */
+    public void set(int index, T value) {
+        throwIfOutOfBounds(index);
+        memory[slotOf(index)] = value;
+    }
+
+    public void add(T element) {
+        insert(size(), element);
+    }
+
+    /**
+     * Inserts the element before the element at the given index (or at the end if the index is the size).
+     */
+    public void insert(int index, T element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index %s is beyond the current size %s.".formatted(index, size()));
+        }
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGapTo(index);
+        memory[gapStart++] = element;
+    }
+
+    /**
+     * If the index is less than 0 or beyond the range of elements in the sequence, this method does nothing.
+     */
+    public void removeAt(int index) {
+        if (index < 0 || index >= size()) {
+            return;
+        }
+        moveGapTo(index);
+        memory[gapEnd++] = null;
+    }
+
+    /**
+     * Moves the gap so that it starts at the given index, copying the elements in between to the other side of it.
+     */
+    private void moveGapTo(int index) {
+        final int gapLength = gapEnd - gapStart;
+        if (index < gapStart) {
+            final int n = gapStart - index;
+            System.arraycopy(memory, index, memory, gapEnd - n, n);
+            Arrays.fill(memory, index, Math.min(gapStart, gapEnd - n), null);
+        } else if (index > gapStart) {
+            final int n = index - gapStart;
+            System.arraycopy(memory, gapEnd, memory, gapStart, n);
+            Arrays.fill(memory, Math.max(gapEnd, index), index + gapLength, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    private void grow() {
+        if (memory.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s elements.".formatted(MAX_CAPACITY));
+        }
+        final int newCapacity = (int) Math.min(Math.max(2L * memory.length, DEFAULT_CAPACITY), MAX_CAPACITY);
+        final Object[] newMemory = new Object[newCapacity];
+        final int tailLength = memory.length - gapEnd;
+        System.arraycopy(memory, 0, newMemory, 0, gapStart);
+        System.arraycopy(memory, gapEnd, newMemory, newCapacity - tailLength, tailLength);
+        memory = newMemory;
+        gapEnd = newCapacity - tailLength;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size(); i++) {
+            builder.append(i == 0 ? "" : ", ").append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,214 @@
+package list;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A growable array of primitive {@code int}s, as {@link ResizingArray} but without boxing: the elements live in an
+ * {@code int[]} that doubles its capacity when it is full, and {@link IntArrayList#find(int)} compares with
+ * {@code ==} instead of calling {@link Object#equals(Object)} on boxed values.
+ * <br>
+ * Where possible, the array is handed over instead of copied: {@link IntArrayList#wrap(int[])} adopts an array and
+ * {@link IntArrayList#buffer()} exposes the backing one.
+ *
+ * <ul>
+ *     <li>get(int index) in O(1)</li>
+ *     <li>set(int index, int value) in O(1)</li>
+ *     <li>add(int value) in O(1) amortized</li>
+ *     <li>find(int value) in O(n), binarySearch(int value) in O(log n) if sorted</li>
+ * </ul>
+ */
+public class IntArrayList {
+
+    private static final int INITIAL_CAPACITY = 8;
+    // some JVMs reserve header words in an array
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] memory;
+    private int nElements;
+
+    public IntArrayList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Allocates enough memory for {@code initialCapacity} elements, so that no resize happens before that.
+     */
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal initial capacity - %s.".formatted(initialCapacity));
+        }
+        this.memory = new int[initialCapacity];
+    }
+
+    private IntArrayList(int[] memory, int nElements) {
+        this.memory = memory;
+        this.nElements = nElements;
+    }
+
+    /**
+     * @return a list whose elements are the given array, which is not copied: later changes of the array are
+     * visible in the list (until it grows) and vice versa
+     */
+    public static IntArrayList wrap(int[] array) {
+        return new IntArrayList(array, array.length);
+    }
+
+    public static IntArrayList of(int... values) {
+        return new IntArrayList(values.clone(), values.length);
+    }
+
+    public boolean isEmpty() {
+        return nElements == 0;
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    public boolean contains(int value) {
+        return find(value) != -1;
+    }
+
+    /**
+     * Returns the index of the first element equal to the given value, or, if none is, returns -1.
+     */
+    public int find(int value) {
+        for (int i = 0; i < nElements; ++i) {
+            if (memory[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void throwIfOutOfBounds(int index) {
+        if (index < 0 || index >= nElements) {
+            throw new IndexOutOfBoundsException("Index %s is out of bounds for length %s.".formatted(index, nElements));
+        }
+    }
+
+    public int get(int index) {
+        throwIfOutOfBounds(index);
+        return memory[index];
+    }
+
+    /**
+     * Throws IndexOutOfBoundsException if the index is less than 0 or beyond the current size.
+     */
+    public void set(int index, int value) {
+        throwIfOutOfBounds(index);
+        memory[index] = value;
+    }
+
+    public void add(int value) {
+        if (nElements == memory.length) {
+            ensureCapacity(nElements + 1);
+        }
+        memory[nElements++] = value;
+    }
+
+    public void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Appends the values at the indices {@code from} (inclusive) to {@code to} (exclusive) of the array.
+     */
+    public void addAll(int[] values, int from, int to) {
+        final int n = to - from;
+        ensureCapacity((long) nElements + n);
+        System.arraycopy(values, from, memory, nElements, n);
+        nElements += n;
+    }
+
+    public void addAll(IntArrayList other) {
+        addAll(other.memory, 0, other.nElements);
+    }
+
+    /**
+     * Grows the memory to hold at least {@code minCapacity} elements; at least doubles it, so that adding stays O(1)
+     * amortized.
+     */
+    public void ensureCapacity(long minCapacity) {
+        if (minCapacity <= memory.length) {
+            return;
+        }
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s elements.".formatted(MAX_CAPACITY));
+        }
+        final long doubled = Math.max(2L * memory.length, INITIAL_CAPACITY);
+        memory = Arrays.copyOf(memory, (int) Math.min(Math.max(doubled, minCapacity), MAX_CAPACITY));
+    }
+
+    /**
+     * If the index is less than 0 or beyond the range of elements in the List, this method does nothing.
+     */
+    public void removeAt(int index) {
+        if (index >= 0 && index < nElements) {
+            System.arraycopy(memory, index + 1, memory, index, nElements - index - 1);
+            --nElements;
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the value, if present in the array, and otherwise does nothing.
+     */
+    public void removeFirst(int value) {
+        removeAt(find(value));
+    }
+
+    /**
+     * Removes all elements but keeps the memory.
+     */
+    public void clear() {
+        nElements = 0;
+    }
+
+    /**
+     * Sorts the elements in ascending order.
+     */
+    public void sort() {
+        Arrays.sort(memory, 0, nElements);
+    }
+
+    /**
+     * Searches a sorted list, with the contract of {@link Arrays#binarySearch(int[], int)}.
+     *
+     * @return the index of the value, or (-(insertion point) - 1) if it is not contained
+     */
+    public int binarySearch(int value) {
+        return Arrays.binarySearch(memory, 0, nElements, value);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < nElements; i++) {
+            action.accept(memory[i]);
+        }
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(memory, 0, nElements);
+    }
+
+    /**
+     * @return a copy of the elements
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(memory, nElements);
+    }
+
+    /**
+     * @return the backing array without copying it: its first {@link IntArrayList#size()} entries are the elements.
+     * It stops being the backing array when the list grows.
+     */
+    public int[] buffer() {
+        return memory;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
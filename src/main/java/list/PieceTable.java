@@ -0,0 +1,225 @@
+package list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A sequence for edits at arbitrary positions that never moves elements: it keeps the initial elements in one buffer,
+ * appends every inserted element to a second, append-only buffer, and describes the sequence as a list of pieces,
+ * each a range of one of the two buffers. An insert splits at most one piece and adds a new one, a removal shortens or
+ * splits one piece; the elements themselves stay where they are.
+ * <br>
+ * Finding the piece of an index walks the list of pieces, but the walk starts at the piece of the previous access, so
+ * edits and reads near a moving cursor are cheap; consecutive inserts right after each other extend the same piece
+ * instead of adding one each. This makes typing-like workloads O(1) amortized per edit, and the cost of other edits
+ * grows with the number of pieces (that is, of edit sites) rather than with the number of elements.
+ *
+ * <ul>
+ *     <li>get(int index) and set(int index, T value) in O(1) near the previous access, else O(number of pieces)</li>
+ *     <li>insert(int index, T value) in O(1) amortized after the previous insert, else O(number of pieces)</li>
+ *     <li>removeAt(int index) in O(number of pieces)</li>
+ * </ul>
+ */
+public class PieceTable<T> {
+
+    private static final int INITIAL_ADDED_CAPACITY = 16;
+    // some JVMs reserve header words in an array
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The elements at the indices {@code start} (inclusive) to {@code start + length} (exclusive) of the original or
+     * the added buffer.
+     */
+    private static final class Piece {
+        private final boolean added;
+        private int start;
+        private int length;
+
+        private Piece(boolean added, int start, int length) {
+            this.added = added;
+            this.start = start;
+            this.length = length;
+        }
+    }
+
+    private final Object[] original;
+    private Object[] added = new Object[INITIAL_ADDED_CAPACITY];
+    private int nAdded;
+    private final List<Piece> pieces = new ArrayList<>();
+    private int nElements;
+
+    // the piece of the last access and the index of its first element, where the next search starts
+    private int cursorPiece;
+    private int cursorStart;
+
+    public PieceTable() {
+        this.original = new Object[0];
+    }
+
+    /**
+     * Starts with a copy of the given elements as the original buffer.
+     */
+    public PieceTable(T[] initialElements) {
+        this.original = initialElements.clone();
+        if (original.length > 0) {
+            pieces.add(new Piece(false, 0, original.length));
+        }
+        this.nElements = original.length;
+    }
+
+    public boolean isEmpty() {
+        return nElements == 0;
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    /**
+     * @return the number of pieces the sequence consists of, which grows with the number of edit sites
+     */
+    public int pieceCount() {
+        return pieces.size();
+    }
+
+    private void throwIfOutOfBounds(int index) {
+        if (index < 0 || index >= nElements) {
+            throw new IndexOutOfBoundsException("Index %s is out of bounds for length %s.".formatted(index, nElements));
+        }
+    }
+
+    /**
+     * Moves the cursor to the piece that contains the element at the given index, which must be within bounds.
+     */
+    private void seek(int index) {
+        if (cursorPiece >= pieces.size()) {
+            cursorPiece = 0;
+            cursorStart = 0;
+        }
+        while (index < cursorStart) {
+            cursorStart -= pieces.get(--cursorPiece).length;
+        }
+        while (index >= cursorStart + pieces.get(cursorPiece).length) {
+            cursorStart += pieces.get(cursorPiece++).length;
+        }
+    }
+
+    private Object[] bufferOf(Piece piece) {
+        return piece.added ? added : original;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        throwIfOutOfBounds(index);
+        seek(index);
+        final Piece piece = pieces.get(cursorPiece);
+        return (T) bufferOf(piece)[piece.start + index - cursorStart];
+    }
+
+    /**
+     * Overwrites the element in its buffer; no piece ever shares a range with another one, so this is not visible
+     * anywhere else.
+     * Throws IndexOutOfBoundsException if the index is less than 0 or beyond the current size.
+     */
+    public void set(int index, T value) {
+        throwIfOutOfBounds(index);
+        seek(index);
+        final Piece piece = pieces.get(cursorPiece);
+        bufferOf(piece)[piece.start + index - cursorStart] = value;
+    }
+
+    public void add(T element) {
+        insert(nElements, element);
+    }
+
+    /**
+     * Inserts the element before the element at the given index (or at the end if the index is the size).
+     */
+    public void insert(int index, T element) {
+        if (index < 0 || index > nElements) {
+            throw new IndexOutOfBoundsException("Index %s is beyond the current size %s.".formatted(index, nElements));
+        }
+        appendToAdded(element);
+        if (index > 0) {
+            // the piece that holds the element before the insert position
+            seek(index - 1);
+            final Piece before = pieces.get(cursorPiece);
+            final int offset = index - cursorStart;
+            if (offset == before.length && before.added && before.start + before.length == nAdded - 1) {
+                ++before.length;
+            } else if (offset == before.length) {
+                pieces.add(cursorPiece + 1, new Piece(true, nAdded - 1, 1));
+            } else {
+                splitAt(cursorPiece, offset);
+                pieces.add(cursorPiece + 1, new Piece(true, nAdded - 1, 1));
+            }
+        } else {
+            pieces.add(0, new Piece(true, nAdded - 1, 1));
+            cursorPiece = 0;
+            cursorStart = 0;
+        }
+        ++nElements;
+    }
+
+    private void appendToAdded(T element) {
+        if (nAdded == added.length) {
+            if (nAdded == MAX_CAPACITY) {
+                throw new IllegalStateException("Cannot grow beyond %s elements.".formatted(MAX_CAPACITY));
+            }
+            added = Arrays.copyOf(added, (int) Math.min(2L * added.length, MAX_CAPACITY));
+        }
+        added[nAdded++] = element;
+    }
+
+    /**
+     * Splits the piece into one of the first {@code offset} elements and one of the rest, which follows it.
+     */
+    private void splitAt(int pieceIndex, int offset) {
+        final Piece piece = pieces.get(pieceIndex);
+        pieces.add(pieceIndex + 1, new Piece(piece.added, piece.start + offset, piece.length - offset));
+        piece.length = offset;
+    }
+
+    /**
+     * If the index is less than 0 or beyond the range of elements in the sequence, this method does nothing.
+     * The removed element stays in its buffer, but no piece refers to it anymore.
+     */
+    public void removeAt(int index) {
+        if (index < 0 || index >= nElements) {
+            return;
+        }
+        seek(index);
+        final Piece piece = pieces.get(cursorPiece);
+        final int offset = index - cursorStart;
+        bufferOf(piece)[piece.start + offset] = null;
+        if (piece.length == 1) {
+            pieces.remove(cursorPiece);
+        } else if (offset == 0) {
+            ++piece.start;
+            --piece.length;
+        } else if (offset == piece.length - 1) {
+            --piece.length;
+        } else {
+            splitAt(cursorPiece, offset);
+            final Piece rest = pieces.get(cursorPiece + 1);
+            ++rest.start;
+            --rest.length;
+        }
+        --nElements;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        boolean first = true;
+        for (final Piece piece : pieces) {
+            final Object[] buffer = bufferOf(piece);
+            for (int i = piece.start; i < piece.start + piece.length; i++) {
+                builder.append(first ? "" : ", ").append(buffer[i]);
+                first = false;
+            }
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -2,33 +2,101 @@ package list;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * A wrapper for a generic array that automatically doubles its capacity when {@code add} would raise the number
- * of elements beyond the current capacity.
+ * A wrapper for a generic array that automatically grows its capacity when {@code add} would raise the number
+ * of elements beyond the current capacity, by the growth factor (2 by default; 1.5 wastes less memory but copies more
+ * often).
+ * <br>
+ * After removals, the capacity shrinks once less than the shrink threshold (a quarter by default) of it is used. It
+ * shrinks to the size times the growth factor, so that it is never full (or almost empty) right after shrinking;
+ * without this hysteresis, alternating add and remove around the threshold would resize each time. The capacity never
+ * shrinks below the initial capacity. A shrink threshold of 0 disables shrinking.
+ * <br>
+ * Bulk operations move every block of elements with a single {@link System#arraycopy}.
+ * <br>
+ * The array supports streams, also parallel ones: its {@link Spliterator} knows the exact size of every half it splits
+ * off (SIZED and SUBSIZED), so the work is divided evenly among the threads without any buffering. Iterators and
+ * spliterators are fail-fast: they throw a {@link ConcurrentModificationException} after a structural modification,
+ * i.e. one that adds or removes elements or sorts them.
  *
  * <br>
  *
  * <ul>
  *     <li>get(int index) in O(1)</li>
  *     <li>set(int index, T value) in O(1)</li>
+ *     <li>add(T value) in O(1) amortized</li>
  *     <li>contains(T value) in O(n)</li>
+ *     <li>removeIf(Predicate filter) in O(n)</li>
+ *     <li>sort(Comparator comparator) in O(n log n), binarySearch(T key, Comparator comparator) in O(log n)</li>
  * </ul>
  */
-public class ResizingArray<T> {
+public class ResizingArray<T> implements Iterable<T> {
 
-    private static final int INITIAL_CAPACITY = 2;  // made small for testing
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final double DEFAULT_GROWTH_FACTOR = 2;
+    private static final double DEFAULT_SHRINK_THRESHOLD = 0.25;
+    // some JVMs reserve header words in an array
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    // below this size, splitting the search among threads costs more than it saves
+    private static final int PARALLEL_FIND_THRESHOLD = 1 << 13;
 
-    private final Class<? extends T> elementClazz;
+    private final int initialCapacity;
+    private final double growthFactor;
+    private final double shrinkThreshold;
     private T[] memory;
     private int nElements;
+    private int modifications;
 
-    @SuppressWarnings("unchecked")
     public ResizingArray(Class<? extends T> elementClazz) {
-        this.elementClazz = elementClazz;
-        this.memory = (T[]) Array.newInstance(elementClazz, INITIAL_CAPACITY);
+        this(elementClazz, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Allocates enough memory for {@code initialCapacity} elements, so that no resize happens before that.
+     */
+    public ResizingArray(Class<? extends T> elementClazz, int initialCapacity) {
+        this(elementClazz, initialCapacity, DEFAULT_GROWTH_FACTOR, DEFAULT_SHRINK_THRESHOLD);
+    }
+
+    /**
+     * @param growthFactor    the factor by which a full array grows, greater than 1
+     * @param shrinkThreshold the share of the capacity below which the array shrinks, at least 0 and less than
+     *                        1 / growthFactor (so that the shrunk array is not below the threshold again); 0 means that
+     *                        it never shrinks
+     */
+    @SuppressWarnings("unchecked")
+    public ResizingArray(
+        Class<? extends T> elementClazz, int initialCapacity, double growthFactor, double shrinkThreshold
+    ) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal initial capacity - %s.".formatted(initialCapacity));
+        }
+        if (!(growthFactor > 1)) {
+            throw new IllegalArgumentException(
+                "The growth factor must be greater than 1 - %s.".formatted(growthFactor)
+            );
+        }
+        if (!(shrinkThreshold >= 0 && shrinkThreshold < 1 / growthFactor)) {
+            throw new IllegalArgumentException(
+                "The shrink threshold must be at least 0 and below 1 / growth factor - %s.".formatted(shrinkThreshold)
+            );
+        }
+        this.initialCapacity = initialCapacity;
+        this.growthFactor = growthFactor;
+        this.shrinkThreshold = shrinkThreshold;
+        this.memory = (T[]) Array.newInstance(elementClazz, initialCapacity);
     }
 
     public boolean isEmpty() {
@@ -39,6 +107,13 @@ public class ResizingArray<T> {
         return nElements;
     }
 
+    /**
+     * @return the number of elements the array can hold before it has to grow
+     */
+    public int capacity() {
+        return memory.length;
+    }
+
     public boolean contains(T value) {
         return find(value) != -1;
     }
@@ -56,6 +131,48 @@ public class ResizingArray<T> {
         return -1;
     }
 
+    /**
+     * As {@link ResizingArray#find(Object)}, but the array is searched by several threads if it is large. It still
+     * returns the first matching index: a thread that finds a match can only stop the threads searching further right.
+     */
+    public int parallelFind(T value) {
+        if (nElements < PARALLEL_FIND_THRESHOLD) {
+            return find(value);
+        }
+        final T[] searched = memory;
+        return IntStream.range(0, nElements).parallel()
+            .filter(i -> searched[i].equals(value))
+            .findFirst()
+            .orElse(-1);
+    }
+
+    /**
+     * Searches an array that is sorted by the comparator, with the contract of
+     * {@link Arrays#binarySearch(Object[], int, int, Object, Comparator)}; a null comparator means natural ordering.
+     *
+     * @return the index of the key, or (-(insertion point) - 1) if it is not contained
+     */
+    public int binarySearch(T key, Comparator<? super T> comparator) {
+        return Arrays.binarySearch(memory, 0, nElements, key, comparator);
+    }
+
+    /**
+     * Sorts the elements stably with the comparator, or by their natural ordering if it is null.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        Arrays.sort(memory, 0, nElements, comparator);
+        ++modifications;
+    }
+
+    /**
+     * As {@link ResizingArray#sort(Comparator)}, but with a parallel merge sort ({@link Arrays#parallelSort}) that
+     * sorts chunks of the array on the common fork-join pool and merges them; for small arrays it sorts sequentially.
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        Arrays.parallelSort(memory, 0, nElements, comparator);
+        ++modifications;
+    }
+
     /**
      * Throws IndexOutOfBoundsException if the index is less than 0 or beyond the current size.
      */
@@ -76,29 +193,88 @@ public class ResizingArray<T> {
 
     public void add(T element) {
         if (isMemoryFull()) {
-            resizeMemory();
+            ensureCapacity(nElements + 1);
         }
         memory[nElements++] = element;
+        ++modifications;
     }
 
-    @SuppressWarnings("unchecked")
-    private void resizeMemory() {
-        T[] newMemory = (T[]) Array.newInstance(elementClazz, memory.length * 2);
-        System.arraycopy(memory, 0, newMemory, 0, memory.length);
-        memory = newMemory;
+    public void addAll(T[] elements) {
+        insertAll(nElements, elements);
+    }
+
+    public void addAll(ResizingArray<? extends T> other) {
+        insertAll(nElements, other.memory, other.nElements);
+    }
+
+    /**
+     * Inserts the elements before the element at the given index (or at the end if the index is the size), shifting
+     * the following elements once by the number of inserted ones.
+     */
+    public void insertAll(int index, T[] elements) {
+        insertAll(index, elements, elements.length);
+    }
+
+    private void insertAll(int index, Object[] elements, int n) {
+        if (index < 0 || index > nElements) {
+            throw new IndexOutOfBoundsException("Index %s is beyond the current size %s.".formatted(index, size()));
+        }
+        // addAll(this) would otherwise copy from the shifted memory
+        final Object[] source = elements == memory ? Arrays.copyOf(elements, n) : elements;
+        ensureCapacity((long) nElements + n);
+        System.arraycopy(memory, index, memory, index + n, nElements - index);
+        System.arraycopy(source, 0, memory, index, n);
+        nElements += n;
+        ++modifications;
+    }
+
+    /**
+     * Grows the memory to hold at least {@code minCapacity} elements; by at least the growth factor, so that adding
+     * stays O(1) amortized.
+     */
+    public void ensureCapacity(long minCapacity) {
+        if (minCapacity <= memory.length) {
+            return;
+        }
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s elements.".formatted(MAX_CAPACITY));
+        }
+        final long grown = Math.max((long) Math.ceil(memory.length * growthFactor), memory.length + 1L);
+        resizeMemory((int) Math.min(Math.max(grown, minCapacity), MAX_CAPACITY));
+    }
+
+    private void resizeMemory(int newCapacity) {
+        memory = Arrays.copyOf(memory, newCapacity);
     }
 
     private boolean isMemoryFull() {
         return size() == memory.length;
     }
 
+    /**
+     * Shrinks the memory to the number of elements.
+     */
+    public void trimToSize() {
+        if (nElements < memory.length) {
+            resizeMemory(nElements);
+        }
+    }
+
+    private void shrinkIfSparse() {
+        if (memory.length > initialCapacity && nElements < memory.length * shrinkThreshold) {
+            resizeMemory(Math.max(initialCapacity, (int) Math.ceil(nElements * growthFactor)));
+        }
+    }
+
     /**
      * If the index is less than 0 or beyond the range of elements in the List, this method does nothing.
      */
     public final void removeAt(int index) {
         if (index >= 0 && index < size()) {
             System.arraycopy(memory, index + 1, memory, index, size() - index - 1);
-            --nElements;
+            memory[--nElements] = null;
+            ++modifications;
+            shrinkIfSparse();
         }
     }
 
@@ -112,5 +288,154 @@ public class ResizingArray<T> {
         }
     }
 
+    /**
+     * Removes the elements at the indices {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public void removeRange(int from, int to) {
+        Objects.checkFromToIndex(from, to, nElements);
+        System.arraycopy(memory, to, memory, from, nElements - to);
+        final int newSize = nElements - (to - from);
+        Arrays.fill(memory, newSize, nElements, null);
+        nElements = newSize;
+        ++modifications;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Removes all elements matching the filter in one pass, which moves every kept element at most once.
+     *
+     * @return whether any element was removed
+     */
+    public boolean removeIf(Predicate<? super T> filter) {
+        int kept = 0;
+        for (int i = 0; i < nElements; i++) {
+            if (!filter.test(memory[i])) {
+                memory[kept++] = memory[i];
+            }
+        }
+        if (kept == nElements) {
+            return false;
+        }
+        Arrays.fill(memory, kept, nElements, null);
+        nElements = kept;
+        ++modifications;
+        shrinkIfSparse();
+        return true;
+    }
+
+    /**
+     * Removes all elements; the capacity shrinks as after removing them one by one.
+     */
+    public void clear() {
+        removeRange(0, nElements);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final int expectedModifications = modifications;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < nElements;
+            }
+
+            @Override
+            public T next() {
+                if (modifications != expectedModifications) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return memory[index++];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Covers the indices from {@code index} (inclusive) to {@code fence} (exclusive). The fence is bound lazily, on
+     * first use, so that the spliterator sees modifications made between its creation and the start of the stream.
+     */
+    private final class ArraySpliterator implements Spliterator<T> {
+        private int index;
+        private int fence; // -1 until bound
+        private int expectedModifications;
+
+        ArraySpliterator(int index, int fence, int expectedModifications) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModifications = expectedModifications;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                expectedModifications = modifications;
+                fence = nElements;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int high = fence();
+            final int middle = (index + high) >>> 1;
+            if (index >= middle) {
+                return null;
+            }
+            final Spliterator<T> prefix = new ArraySpliterator(index, middle, expectedModifications);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (index >= fence()) {
+                return false;
+            }
+            action.accept(memory[index++]);
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final int high = fence();
+            final T[] elements = memory;
+            for (; index < high; index++) {
+                action.accept(elements[index]);
+            }
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+        }
 
+        @Override
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package list;
 
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -12,7 +13,15 @@ import java.util.List;
  *     <li>addLast in O(1)</li>
  *     <li>removeFirst in O(1)</li>
  *     <li>removeLast in O(n)</li>
+ *     <li>sort in O(n log n), in place</li>
+ *     <li>mergeSorted in O(n + m), in place</li>
+ *     <li>mergeAll of k lists with n elements in total in O(n log k), in place</li>
  * </ul>
+ * The sorting and merging methods relink the existing nodes instead of copying elements, and are stable.
+ * <p>
+ * Optionally, the list keeps up to {@code nodePoolCapacity} nodes of removed elements in a free list and reuses them
+ * for later adds, so that a list with a steady churn (as a queue) stops producing garbage once the pool is warm. The
+ * free list is linked through the nodes themselves, so the pool allocates nothing itself.
  */
 public class SinglyLinkedList<T> {
 
@@ -20,8 +29,14 @@ public class SinglyLinkedList<T> {
     private Node<T> head = null;
     private Node<T> tail = null;
 
+    private final int nodePoolCapacity;
+    private Node<T> freeNodes = null;
+    private int nFreeNodes = 0;
+    private long allocatedNodes = 0;
+    private long reusedNodes = 0;
+
     public static class Node<V> {
-        private final V value;
+        private V value;
         private Node<V> next;
 
         public Node(V value, Node<V> next) {
@@ -30,10 +45,68 @@ public class SinglyLinkedList<T> {
         }
     }
 
+    public SinglyLinkedList() {
+        this(0);
+    }
+
+    /**
+     * @param nodePoolCapacity the maximum number of nodes of removed elements kept for reuse, 0 for no pooling
+     */
+    public SinglyLinkedList(int nodePoolCapacity) {
+        if (nodePoolCapacity < 0) {
+            throw new IllegalArgumentException("Illegal node pool capacity - %s.".formatted(nodePoolCapacity));
+        }
+        this.nodePoolCapacity = nodePoolCapacity;
+    }
+
+    /**
+     * @return the number of nodes this list has allocated, which stops growing under steady churn with a node pool
+     */
+    public long allocatedNodes() {
+        return allocatedNodes;
+    }
+
+    /**
+     * @return the number of adds that reused a pooled node instead of allocating one
+     */
+    public long reusedNodes() {
+        return reusedNodes;
+    }
+
+    private Node<T> newNode(T value, Node<T> next) {
+        final Node<T> node = freeNodes;
+        if (node == null) {
+            ++allocatedNodes;
+            return new Node<>(value, next);
+        }
+        freeNodes = node.next;
+        --nFreeNodes;
+        ++reusedNodes;
+        node.value = value;
+        node.next = next;
+        return node;
+    }
+
+    // the node must be unreachable from the list; its value is cleared so that the pool does not retain it
+    private void release(Node<T> node) {
+        node.value = null;
+        if (nFreeNodes < nodePoolCapacity) {
+            node.next = freeNodes;
+            freeNodes = node;
+            ++nFreeNodes;
+        } else {
+            node.next = null;
+        }
+    }
+
     public boolean isEmpty() {
         return nElements == 0;
     }
 
+    public int size() {
+        return nElements;
+    }
+
     public T getFirst() {
         if (isEmpty()) {
             throw new IllegalStateException("Cannot get an element from an empty list.");
@@ -59,7 +132,7 @@ public class SinglyLinkedList<T> {
     }
 
     public void addFirst(T newValue) {
-        Node<T> newNode = new Node<>(newValue, head);
+        Node<T> newNode = newNode(newValue, head);
         head = newNode;
         if (tail == null) {
             tail = newNode;
@@ -68,7 +141,7 @@ public class SinglyLinkedList<T> {
     }
 
     public void addLast(T newValue) {
-        Node<T> newNode = new Node<>(newValue, null);
+        Node<T> newNode = newNode(newValue, null);
         if (head == null) {
             head = newNode;
         } else {
@@ -83,12 +156,14 @@ public class SinglyLinkedList<T> {
         if (head == null) {
             throw new IllegalStateException("Cannot remove first element from empty list.");
         }
-        T result = head.value;
-        head = head.next;
+        Node<T> oldHead = head;
+        T result = oldHead.value;
+        head = oldHead.next;
         if (head == null) {
             tail = null;
         }
         --nElements;
+        release(oldHead);
         return result;
     }
 
@@ -99,7 +174,8 @@ public class SinglyLinkedList<T> {
         if (tail == null) {
             throw new IllegalStateException("Cannot remove last element from empty list.");
         }
-        T result = tail.value;
+        Node<T> oldTail = tail;
+        T result = oldTail.value;
         if (nElements == 1) {
             head = null;
             tail = null;
@@ -108,6 +184,7 @@ public class SinglyLinkedList<T> {
             tail.next = null;
         }
         --nElements;
+        release(oldTail);
         return result;
     }
 
@@ -149,7 +226,8 @@ public class SinglyLinkedList<T> {
      *
      * <br><br>
      * <bf>Caveat:</bf> this method works in place, i.e. the nodes in BOTH this list and the given other list will be
-     * re-wired to point to different other nodes.
+     * re-wired to point to different other nodes. All nodes belong to this list afterwards, which leaves the other
+     * list empty.
      *
      * <br><br>
      * For example,
@@ -172,16 +250,32 @@ public class SinglyLinkedList<T> {
      *
      */
     public void zipInPlace(SinglyLinkedList<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot zip a list with itself.");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
         if (this.isEmpty()) {
             this.head = other.head;
-            return;
+        } else {
+            interleave(this.head, other.head);
         }
-        Node<T> current1 = this.head;
-        Node<T> current2 = other.head;
+        // the last node is the one of the other list unless this list is longer
+        if (this.nElements <= other.nElements) {
+            this.tail = other.tail;
+        }
+        this.nElements += other.nElements;
+        other.head = null;
+        other.tail = null;
+        other.nElements = 0;
+    }
+
+    private static <V> void interleave(Node<V> current1, Node<V> current2) {
         while (current1 != null && current2 != null) {
             // remember next nodes
-            Node<T> next1 = current1.next;
-            Node<T> next2 = current2.next;
+            Node<V> next1 = current1.next;
+            Node<V> next2 = current2.next;
             // re-wire the links
             current1.next = current2;
             current2.next = next1 != null ? next1 : current2.next;
@@ -190,4 +284,180 @@ public class SinglyLinkedList<T> {
             current2 = next2;
         }
     }
+
+    /**
+     * Sorts the list in place with a bottom-up merge sort: it merges runs of length 1, 2, 4, ... into runs of twice the
+     * length by relinking nodes, so it needs neither recursion nor copies of the elements. The only allocation is one
+     * sentinel node per call. The sort is stable.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        if (nElements <= 1) {
+            return;
+        }
+        final Node<T> sentinel = new Node<>(null, head);
+        Node<T> sortedTail = sentinel;
+        for (int width = 1; width < nElements; width *= 2) {
+            sortedTail = sentinel;
+            Node<T> rest = sentinel.next;
+            while (rest != null) {
+                final Node<T> left = rest;
+                final Node<T> right = cutAfter(left, width);
+                rest = cutAfter(right, width);
+                sortedTail = merge(sortedTail, left, right, comparator);
+            }
+        }
+        head = sentinel.next;
+        tail = sortedTail;
+    }
+
+    /**
+     * Detaches the chain after the first {@code n} nodes starting at the given one.
+     *
+     * @return the first detached node, or null if the chain has at most n nodes
+     */
+    private static <V> Node<V> cutAfter(Node<V> node, int n) {
+        for (int i = 1; node != null && i < n; i++) {
+            node = node.next;
+        }
+        if (node == null) {
+            return null;
+        }
+        final Node<V> rest = node.next;
+        node.next = null;
+        return rest;
+    }
+
+    /**
+     * Links the merge of the two sorted chains after {@code tail}, taking from the left one on ties.
+     *
+     * @return the last node of the merged chain
+     */
+    private static <V> Node<V> merge(Node<V> tail, Node<V> left, Node<V> right, Comparator<? super V> comparator) {
+        while (left != null && right != null) {
+            if (comparator.compare(right.value, left.value) < 0) {
+                tail.next = right;
+                right = right.next;
+            } else {
+                tail.next = left;
+                left = left.next;
+            }
+            tail = tail.next;
+        }
+        tail.next = left != null ? left : right;
+        return lastNode(tail);
+    }
+
+    private static <V> Node<V> lastNode(Node<V> node) {
+        while (node.next != null) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    /**
+     * Merges the other list into this one, both sorted by the comparator, so that this list is sorted afterwards. The
+     * nodes of the other list are relinked into this one, which leaves the other list empty. On ties, the elements of
+     * this list come first.
+     */
+    public void mergeSorted(SinglyLinkedList<T> other, Comparator<? super T> comparator) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a list with itself.");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        if (isEmpty()) {
+            head = other.head;
+            tail = other.tail;
+        } else {
+            final Node<T> sentinel = new Node<>(null, null);
+            tail = merge(sentinel, head, other.head, comparator);
+            head = sentinel.next;
+        }
+        nElements += other.nElements;
+        other.head = null;
+        other.tail = null;
+        other.nElements = 0;
+    }
+
+    /**
+     * Merges k lists, each sorted by the comparator, into one sorted list (a k-way merge). A binary heap holds the
+     * current first node of every list, so each of the n nodes costs O(log k) comparisons. The nodes are relinked,
+     * not copied: all given lists are empty afterwards. On ties, the elements of earlier lists come first.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SinglyLinkedList<T> mergeAll(List<SinglyLinkedList<T>> lists, Comparator<? super T> comparator) {
+        final SinglyLinkedList<T> result = new SinglyLinkedList<>();
+        // the heap of the first remaining nodes, and the index of the list each of them comes from
+        final Node<T>[] heads = (Node<T>[]) new Node<?>[lists.size()];
+        final int[] origins = new int[lists.size()];
+        int heapSize = 0;
+        for (int i = 0; i < lists.size(); i++) {
+            final SinglyLinkedList<T> list = lists.get(i);
+            if (list.isEmpty()) {
+                continue;
+            }
+            heads[heapSize] = list.head;
+            origins[heapSize] = i;
+            result.nElements += list.nElements;
+            heapSize++;
+            list.head = null;
+            list.tail = null;
+            list.nElements = 0;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heads, origins, heapSize, i, comparator);
+        }
+        while (heapSize > 0) {
+            final Node<T> smallest = heads[0];
+            if (result.tail == null) {
+                result.head = smallest;
+            } else {
+                result.tail.next = smallest;
+            }
+            result.tail = smallest;
+            // replace the top by its successor in the same list, or by the last heap entry if that list is exhausted
+            if (smallest.next != null) {
+                heads[0] = smallest.next;
+            } else {
+                --heapSize;
+                heads[0] = heads[heapSize];
+                origins[0] = origins[heapSize];
+                heads[heapSize] = null;
+            }
+            siftDown(heads, origins, heapSize, 0, comparator);
+        }
+        return result;
+    }
+
+    private static <T> void siftDown(Node<T>[] heads, int[] origins, int heapSize, int i,
+                                     Comparator<? super T> comparator) {
+        while (true) {
+            final int left = 2 * i + 1;
+            if (left >= heapSize) {
+                return;
+            }
+            int smaller = left;
+            if (left + 1 < heapSize && isBefore(heads, origins, left + 1, left, comparator)) {
+                smaller = left + 1;
+            }
+            if (!isBefore(heads, origins, smaller, i, comparator)) {
+                return;
+            }
+            final Node<T> swapNode = heads[i];
+            heads[i] = heads[smaller];
+            heads[smaller] = swapNode;
+            final int swapOrigin = origins[i];
+            origins[i] = origins[smaller];
+            origins[smaller] = swapOrigin;
+            i = smaller;
+        }
+    }
+
+    // orders by value, and by the index of the list on ties, which makes the merge stable
+    private static <T> boolean isBefore(Node<T>[] heads, int[] origins, int a, int b,
+                                        Comparator<? super T> comparator) {
+        final int byValue = comparator.compare(heads[a].value, heads[b].value);
+        return byValue < 0 || byValue == 0 && origins[a] < origins[b];
+    }
 }
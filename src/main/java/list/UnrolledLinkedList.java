@@ -0,0 +1,313 @@
+package list;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A double-ended list with the API of {@link DoublyLinkedList}, but whose nodes each hold up to {@code nodeCapacity}
+ * (by default 64) consecutive elements in an array instead of a single one.
+ * <br>
+ * A node-per-element list pays an object header plus three references for every element (about 32 to 40 bytes), and
+ * iterating it chases a pointer to a possibly distant node per element. Here a node's header and links are shared by
+ * a whole block, so an element costs little more than its reference in the block (about 5 bytes with compressed oops
+ * and full blocks), and iteration reads the blocks sequentially.
+ * <br>
+ * The elements of a node are the slots {@code start} (inclusive) to {@code end} (exclusive) of its block: the head
+ * node grows towards the front of its block, the tail node towards the back, so both ends stay O(1) without moving
+ * elements. Only the head and the tail node can be partially filled.
+ * <br>
+ * A node that runs empty is unlinked but kept as a spare in a free list of up to two nodes shared by both ends (so
+ * both spares may come from the same end), and reused for the next node at either end. Alternating adds and removes at
+ * a block boundary, or a queue moving through the list, therefore does not allocate a new block every time.
+ *
+ * <ul>
+ *     <li>addFirst(T value) in O(1) </li>
+ *     <li>addLast(T value) in O(1) </li>
+ *     <li>removeFirst() in O(1) </li>
+ *     <li>removeLast() in O(1) </li>
+ *     <li>getFirst() in O(1) </li>
+ *     <li>getLast() in O(1) </li>
+ *     <li>reverse() in O(n) </li>
+ * </ul>
+ */
+public class UnrolledLinkedList<T> implements Iterable<T> {
+
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+    // enough for churn at both ends at the same time
+    private static final int MAX_SPARE_NODES = 2;
+
+    private static class Node {
+        @Nullable
+        private Node prev;
+        @Nullable
+        private Node next;
+        private final Object[] elements;
+        private int start;
+        private int end; // exclusive
+
+        private Node(int capacity, int position) {
+            this.elements = new Object[capacity];
+            this.start = position;
+            this.end = position;
+        }
+
+        private boolean isEmpty() {
+            return start == end;
+        }
+    }
+
+    private final int nodeCapacity;
+    @Nullable
+    private Node head;
+    @Nullable
+    private Node tail;
+    private int nElements;
+    private int modifications;
+
+    // emptied nodes kept for reuse, linked by their next field
+    @Nullable
+    private Node spareNodes;
+    private int nSpareNodes;
+    private long allocatedNodes;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * @param nodeCapacity the number of elements per node, at least 2
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("The node capacity must be at least 2 - %s.".formatted(nodeCapacity));
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    /**
+     * @return the number of nodes this list has allocated, which stops growing under steady churn at its ends
+     */
+    public long allocatedNodes() {
+        return allocatedNodes;
+    }
+
+    /**
+     * @return a spare node or a new one, empty at the given position of its block
+     */
+    private Node newNode(int position) {
+        final Node node = spareNodes;
+        if (node == null) {
+            ++allocatedNodes;
+            return new Node(nodeCapacity, position);
+        }
+        spareNodes = node.next;
+        --nSpareNodes;
+        node.next = null;
+        node.start = position;
+        node.end = position;
+        return node;
+    }
+
+    // the node must be empty, so its block holds no references anymore
+    private void unlinkAndKeepAsSpare(Node node) {
+        unlink(node);
+        if (nSpareNodes < MAX_SPARE_NODES) {
+            node.next = spareNodes;
+            spareNodes = node;
+            ++nSpareNodes;
+        }
+    }
+
+    public boolean isEmpty() {
+        return nElements == 0;
+    }
+
+    public void addFirst(T value) {
+        if (head == null) {
+            head = tail = newNode(nodeCapacity);
+        } else if (head.start == 0) {
+            final Node newHead = newNode(nodeCapacity);
+            newHead.next = head;
+            head.prev = newHead;
+            head = newHead;
+        }
+        head.elements[--head.start] = value;
+        nElements++;
+        modifications++;
+    }
+
+    public void addLast(T value) {
+        if (tail == null) {
+            head = tail = newNode(0);
+        } else if (tail.end == nodeCapacity) {
+            final Node newTail = newNode(0);
+            newTail.prev = tail;
+            tail.next = newTail;
+            tail = newTail;
+        }
+        tail.elements[tail.end++] = value;
+        nElements++;
+        modifications++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Cannot pop from an empty linked list.");
+        }
+        final T valueToPop = (T) head.elements[head.start];
+        head.elements[head.start++] = null;
+        if (head.isEmpty()) {
+            unlinkAndKeepAsSpare(head);
+        }
+        nElements--;
+        modifications++;
+        return valueToPop;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Cannot pop from an empty linked list.");
+        }
+        final T valueToPop = (T) tail.elements[--tail.end];
+        tail.elements[tail.end] = null;
+        if (tail.isEmpty()) {
+            unlinkAndKeepAsSpare(tail);
+        }
+        nElements--;
+        modifications++;
+        return valueToPop;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getFirst() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Cannot get from an empty linked list.");
+        }
+        return (T) head.elements[head.start];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getLast() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Cannot get from an empty linked list.");
+        }
+        return (T) tail.elements[tail.end - 1];
+    }
+
+    public List<T> getAll() {
+        final List<T> result = new ArrayList<>(nElements);
+        for (T value : this) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * Reverses the order of the nodes and, within every node, of its elements. The former head node, which grew
+     * towards the front of its block, is the tail now, so its elements are moved to the front to make room at the back
+     * (and vice versa for the former tail node).
+     */
+    public void reverse() {
+        Node current = head;
+        while (current != null) {
+            final Node oldNext = current.next;
+            current.next = current.prev;
+            current.prev = oldNext;
+            reverseElements(current);
+            current = oldNext;
+        }
+        final Node oldHead = head;
+        head = tail;
+        tail = oldHead;
+        modifications++;
+        // the new ends must be able to grow outwards; move their elements to the outer side of the block if needed
+        if (head != null && head.start == 0 && head.end < nodeCapacity && head != tail) {
+            shift(head, nodeCapacity - head.end);
+        }
+        if (tail != null && tail.end == nodeCapacity && tail.start > 0 && head != tail) {
+            shift(tail, -tail.start);
+        }
+    }
+
+    private static void reverseElements(Node node) {
+        for (int i = node.start, j = node.end - 1; i < j; i++, j--) {
+            final Object swap = node.elements[i];
+            node.elements[i] = node.elements[j];
+            node.elements[j] = swap;
+        }
+    }
+
+    /**
+     * Moves the elements of the node by {@code distance} slots within its block and clears the vacated slots.
+     */
+    private static void shift(Node node, int distance) {
+        final int length = node.end - node.start;
+        System.arraycopy(node.elements, node.start, node.elements, node.start + distance, length);
+        if (distance > 0) {
+            Arrays.fill(node.elements, node.start, Math.min(node.end, node.start + distance), null);
+        } else {
+            Arrays.fill(node.elements, Math.max(node.start, node.end + distance), node.end, null);
+        }
+        node.start += distance;
+        node.end += distance;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final int expectedModifications = modifications;
+            @Nullable
+            private Node node = head;
+            private int index = head == null ? 0 : head.start;
+
+            @Override
+            public boolean hasNext() {
+                return node != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modifications != expectedModifications) {
+                    throw new ConcurrentModificationException();
+                }
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                final T value = (T) node.elements[index++];
+                if (index == node.end) {
+                    node = node.next;
+                    index = node == null ? 0 : node.start;
+                }
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package map;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns keys or values into bytes and back, for maps that store them outside the Java heap, e.g.
+ * {@link MappedHashMap}. Two keys must be equal if and only if their encodings are.
+ */
+public interface Codec<T> {
+
+    Codec<String> UTF_8 = new Codec<>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Stores byte arrays as they are; note that the encoded array is not copied.
+     */
+    Codec<byte[]> BYTES = new Codec<>() {
+        @Override
+        public byte[] encode(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    byte[] encode(T value);
+
+    T decode(byte[] bytes);
+}
@@ -0,0 +1,370 @@
+package map;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe hash map with the API of {@link HashMapArrayBased}, plus the atomic operations
+ * {@link ConcurrentHashMapArrayBased#computeIfAbsent(Object, Function)} and
+ * {@link ConcurrentHashMapArrayBased#merge(Object, Object, BiFunction)}. Null keys and null values are not allowed.
+ * <br><br>
+ * The design follows the one of {@link java.util.concurrent.ConcurrentHashMap}: the table is an array of bins, each
+ * holding a short linked list of nodes.
+ * <ul>
+ *     <li>Reads never lock: they read the head of a bin (a volatile read) and walk its list; values are volatile.</li>
+ *     <li>Inserting into an empty bin is a single compare-and-set of the bin's head.</li>
+ *     <li>All other writes lock the head node of their bin only ("per-bin locking"), so writers to different bins
+ *     never contend.</li>
+ * </ul>
+ * Resizing is incremental and cooperative: the thread that pushes the size over the load threshold allocates the new
+ * table, and every thread that then writes to the map claims a stride of bins and migrates them. A migrated bin is
+ * marked with a forwarding node, through which readers and writers find the new table, so the map stays fully
+ * usable while it is being resized and no single insert pays for rehashing everything.
+ *
+ * <ul>
+ *     <li>V get(K key) in O(1), lock-free</li>
+ *     <li>boolean contains(K key) in O(1), lock-free</li>
+ *     <li>void add(K key, V value) in O(1) amortized</li>
+ *     <li>void remove(K key) in O(1)</li>
+ * </ul>
+ */
+public class ConcurrentHashMapArrayBased<K, V> {
+
+    private static final double LOAD_THRESHOLD = 0.75;
+    private static final int DEFAULT_EXPECTED_SIZE = 12;
+    private static final int MAX_CAPACITY = 1 << 30;
+    // the number of bins a thread claims at once during a resize
+    private static final int TRANSFER_STRIDE = 16;
+
+    // hashes of the special nodes; the hashes of keys are made non-negative
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Marks a bin that was already migrated to the new table of the resize.
+     */
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Resize<K, V> resize;
+
+        ForwardingNode(Resize<K, V> resize) {
+            super(MOVED, null, null, null);
+            this.resize = resize;
+        }
+    }
+
+    /**
+     * A locked placeholder in an empty bin while a computation for a new key runs.
+     */
+    private static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+    }
+
+    private static final class Resize<K, V> {
+        final AtomicReferenceArray<Node<K, V>> from;
+        final AtomicReferenceArray<Node<K, V>> to;
+        final ForwardingNode<K, V> forwarding;
+        // bins [0, transferIndex) are not yet claimed by any thread
+        final AtomicInteger transferIndex;
+        final AtomicInteger remainingBins;
+
+        Resize(AtomicReferenceArray<Node<K, V>> from) {
+            this.from = from;
+            this.to = new AtomicReferenceArray<>(from.length() * 2);
+            this.forwarding = new ForwardingNode<>(this);
+            this.transferIndex = new AtomicInteger(from.length());
+            this.remainingBins = new AtomicInteger(from.length());
+        }
+    }
+
+    private final AtomicReference<AtomicReferenceArray<Node<K, V>>> table;
+    private final AtomicReference<Resize<K, V>> resize = new AtomicReference<>();
+    private final LongAdder nElements = new LongAdder();
+
+    public ConcurrentHashMapArrayBased() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocates enough bins for {@code expectedSize} entries, so that no resize happens before that.
+     */
+    public ConcurrentHashMapArrayBased(int expectedSize) {
+        this.table = new AtomicReference<>(new AtomicReferenceArray<>(Hashing.capacityFor(expectedSize, LOAD_THRESHOLD)));
+    }
+
+    public int size() {
+        return (int) Math.min(nElements.sum(), Integer.MAX_VALUE);
+    }
+
+    private static int computeHashCode(Object key) {
+        return Hashing.mix(key.hashCode()) & 0x7fffffff;
+    }
+
+    /**
+     * @return the value inside an Optional, or an empty Optional if the key is null or not contained
+     */
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        final int hashCode = computeHashCode(key);
+        AtomicReferenceArray<Node<K, V>> tab = table.get();
+        while (true) {
+            Node<K, V> node = tab.get(hashCode & (tab.length() - 1));
+            if (node instanceof ForwardingNode<K, V> forwarding) {
+                tab = forwarding.resize.to;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hashCode && node.key.equals(key)) {
+                    return Optional.of(node.value);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public boolean contains(K key) {
+        return get(key).isPresent();
+    }
+
+    /**
+     * if the key was previously assigned to another value, that value is replaced
+     */
+    public void add(K key, V value) {
+        Objects.requireNonNull(value);
+        final int hashCode = computeHashCode(key);
+        final AtomicReferenceArray<Node<K, V>> tab = table.get();
+        final int bin = hashCode & (tab.length() - 1);
+        // fast path: a lock-free insert into an empty bin
+        if (tab.get(bin) == null && tab.compareAndSet(bin, null, new Node<>(hashCode, key, value, null))) {
+            nElements.increment();
+            resizeIfNeeded(tab);
+            return;
+        }
+        compute(key, (k, oldValue) -> value);
+    }
+
+    /**
+     * if the key is null or not contained in the hash map, nothing is done
+     */
+    public void remove(K key) {
+        if (key != null && contains(key)) {
+            compute(key, (k, oldValue) -> null);
+        }
+    }
+
+    /**
+     * If the key is not contained, computes its value with the function and adds it, unless it is null. The whole
+     * invocation is atomic: for a given key, the function is called at most once at a time, and only if the key is
+     * absent. The function must not modify this map.
+     *
+     * @return the current (existing or computed) value, or null if the function returned null
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        final Optional<V> existing = get(key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        return compute(key, (k, oldValue) -> oldValue != null ? oldValue : mappingFunction.apply(k));
+    }
+
+    /**
+     * Atomically adds the value if the key is absent, or otherwise replaces the old value by
+     * {@code remappingFunction(oldValue, value)}; if that is null, the key is removed. The function must not modify
+     * this map.
+     *
+     * @return the new value, or null if the key was removed
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        return compute(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * The core of all writes: atomically replaces the value of the key (null if absent) by the result of the
+     * function, where a null result means the key is removed.
+     */
+    private V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        final int hashCode = computeHashCode(key);
+        AtomicReferenceArray<Node<K, V>> tab = table.get();
+        while (true) {
+            final int bin = hashCode & (tab.length() - 1);
+            final Node<K, V> head = tab.get(bin);
+            if (head == null) {
+                final ReservationNode<K, V> reservation = new ReservationNode<>();
+                synchronized (reservation) {
+                    if (tab.compareAndSet(bin, null, reservation)) {
+                        Node<K, V> newNode = null;
+                        try {
+                            final V newValue = remappingFunction.apply(key, null);
+                            if (newValue != null) {
+                                newNode = new Node<>(hashCode, key, newValue, null);
+                            }
+                        } finally {
+                            tab.set(bin, newNode);
+                        }
+                        if (newNode != null) {
+                            nElements.increment();
+                            resizeIfNeeded(tab);
+                            return newNode.value;
+                        }
+                        return null;
+                    }
+                }
+            } else if (head instanceof ForwardingNode<K, V> forwarding) {
+                transfer(forwarding.resize);
+                tab = forwarding.resize.to;
+            } else {
+                V result = null;
+                int sizeChange = 0;
+                boolean done = false;
+                synchronized (head) {
+                    if (tab.get(bin) == head) {
+                        if (head instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update of the same key.");
+                        }
+                        done = true;
+                        Node<K, V> predecessor = null;
+                        Node<K, V> node = head;
+                        while (node != null && !(node.hash == hashCode && node.key.equals(key))) {
+                            predecessor = node;
+                            node = node.next;
+                        }
+                        if (node != null) {
+                            result = remappingFunction.apply(key, node.value);
+                            if (result != null) {
+                                node.value = result;
+                            } else {
+                                sizeChange = -1;
+                                if (predecessor == null) {
+                                    tab.set(bin, node.next);
+                                } else {
+                                    predecessor.next = node.next;
+                                }
+                            }
+                        } else {
+                            result = remappingFunction.apply(key, null);
+                            if (result != null) {
+                                sizeChange = 1;
+                                predecessor.next = new Node<>(hashCode, key, result, null);
+                            }
+                        }
+                    }
+                }
+                if (done) {
+                    if (sizeChange != 0) {
+                        nElements.add(sizeChange);
+                    }
+                    if (sizeChange > 0) {
+                        resizeIfNeeded(tab);
+                    }
+                    return result;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts a resize of the given table if it is too full, or joins a resize that is already running.
+     */
+    private void resizeIfNeeded(AtomicReferenceArray<Node<K, V>> tab) {
+        Resize<K, V> current = resize.get();
+        if (current == null) {
+            if (nElements.sum() <= tab.length() * LOAD_THRESHOLD || tab.length() >= MAX_CAPACITY
+                || table.get() != tab) {
+                return;
+            }
+            final Resize<K, V> newResize = new Resize<>(tab);
+            current = resize.compareAndSet(null, newResize) ? newResize : resize.get();
+            if (current == null) {
+                return;
+            }
+        }
+        transfer(current);
+    }
+
+    /**
+     * Claims strides of bins and migrates them until no unclaimed bins are left. The thread that migrates the last
+     * stride installs the new table.
+     */
+    private void transfer(Resize<K, V> r) {
+        while (true) {
+            final int high = r.transferIndex.get();
+            if (high <= 0) {
+                return;
+            }
+            final int low = Math.max(0, high - TRANSFER_STRIDE);
+            if (!r.transferIndex.compareAndSet(high, low)) {
+                continue;
+            }
+            for (int bin = high - 1; bin >= low; bin--) {
+                transferBin(r, bin);
+            }
+            if (r.remainingBins.addAndGet(low - high) == 0) {
+                // the check protects against a late resize of a table that was already replaced
+                table.compareAndSet(r.from, r.to);
+                resize.compareAndSet(r, null);
+            }
+        }
+    }
+
+    /**
+     * Splits the list of the bin into the nodes that stay at the same index and those that move up by the old
+     * capacity. The nodes are copied, so that readers still walking the old list are not disturbed.
+     */
+    private void transferBin(Resize<K, V> r, int bin) {
+        final int oldCapacity = r.from.length();
+        while (true) {
+            final Node<K, V> head = r.from.get(bin);
+            if (head == null) {
+                if (r.from.compareAndSet(bin, null, r.forwarding)) {
+                    return;
+                }
+                continue;
+            }
+            if (head.hash == MOVED) {
+                return;
+            }
+            synchronized (head) {
+                if (r.from.get(bin) != head) {
+                    continue;
+                }
+                Node<K, V> low = null;
+                Node<K, V> high = null;
+                for (Node<K, V> node = head; node != null; node = node.next) {
+                    if ((node.hash & oldCapacity) == 0) {
+                        low = new Node<>(node.hash, node.key, node.value, low);
+                    } else {
+                        high = new Node<>(node.hash, node.key, node.value, high);
+                    }
+                }
+                r.to.set(bin, low);
+                r.to.set(bin + oldCapacity, high);
+                r.from.set(bin, r.forwarding);
+                return;
+            }
+        }
+    }
+}
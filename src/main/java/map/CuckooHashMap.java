@@ -0,0 +1,247 @@
+package map;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A hash map with the API of {@link HashMapArrayBased} that uses cuckoo hashing: there are two tables with a different
+ * hash function each, and every key lives in one of exactly two slots - its slot in the first or in the second table.
+ * A lookup therefore reads at most two slots (plus a tiny stash), independent of the load or of bad luck, which makes
+ * it the layout with the lowest worst-case lookup latency.
+ * <br>
+ * Inserting into an occupied slot kicks out its entry, which moves to its alternative slot in the other table,
+ * possibly kicking out the next entry, and so on. After {@link CuckooHashMap#MAX_KICKS} steps the homeless entry goes
+ * into the stash; if the stash is full, the tables grow. The price of the worst-case lookups is a low maximal load
+ * (each table at most half full) and inserts that are only O(1) in expectation.
+ * <br>
+ * Keys with equal hash codes compete for the same two slots, so all but two of them end up in the stash, which then
+ * grows beyond {@link CuckooHashMap#STASH_SIZE} and is scanned linearly: the worst-case guarantee needs distinct hash
+ * codes.
+ *
+ * <ul>
+ *     <li>V get(K key) in O(1) worst case</li>
+ *     <li>boolean contains(K key) in O(1) worst case</li>
+ *     <li>void add(K key, V value) in O(1) expected, amortized</li>
+ *     <li>V remove(K key) in O(1) worst case</li>
+ * </ul>
+ */
+public class CuckooHashMap<K, V> {
+
+    private static final double LOAD_THRESHOLD = 0.45;
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+    private static final int MAX_KICKS = 32;
+    private static final int STASH_SIZE = 4;
+    // below this load an overflowing stash is blamed on equal hash codes, which growing would not fix
+    private static final double MIN_LOAD_TO_GROW = 0.125;
+
+    // one table per hash function, each with 'capacity' slots; a slot is free if its key is null
+    private Object[][] keys;
+    private Object[][] values;
+    // the hash codes of the keys, from which both slots are derived
+    private int[][] hashes;
+    private int capacity;
+    private Object[] stashKeys;
+    private Object[] stashValues;
+    private int[] stashHashes;
+    private int stashSize;
+    private int nElements;
+
+    public CuckooHashMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocates enough memory for {@code expectedSize} entries, so that no resize is needed before that (unless the
+     * hashes are unlucky).
+     */
+    public CuckooHashMap(int expectedSize) {
+        allocateNewMemory(Hashing.capacityFor(expectedSize, 2 * LOAD_THRESHOLD));
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    private void allocateNewMemory(int newCapacity) {
+        capacity = newCapacity;
+        keys = new Object[2][newCapacity];
+        values = new Object[2][newCapacity];
+        hashes = new int[2][newCapacity];
+        stashKeys = new Object[STASH_SIZE];
+        stashValues = new Object[STASH_SIZE];
+        stashHashes = new int[STASH_SIZE];
+        stashSize = 0;
+    }
+
+    private int slot(int table, int hashCode) {
+        final int h = table == 0 ? Hashing.mix(hashCode) : secondHash(hashCode);
+        return h & (capacity - 1);
+    }
+
+    // independent of Hashing#mix: keys that collide in the first table should not collide in the second one
+    private static int secondHash(int hashCode) {
+        int h = hashCode * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * if the key was previously assigned to another value, that value is replaced (no duplicates allowed in this map)
+     */
+    public void add(K key, V value) {
+        final int hashCode = key.hashCode();
+        for (int table = 0; table < 2; table++) {
+            final int slot = slot(table, hashCode);
+            if (keys[table][slot] != null && hashes[table][slot] == hashCode && keys[table][slot].equals(key)) {
+                values[table][slot] = value;
+                return;
+            }
+        }
+        final int stashIndex = findInStash(key, hashCode);
+        if (stashIndex >= 0) {
+            stashValues[stashIndex] = value;
+            return;
+        }
+        ++nElements;
+        if (resizeNeeded()) {
+            resizeMemory(capacity * 2);
+        }
+        insertAbsent(key, value, hashCode);
+        while (stashSize > STASH_SIZE && (double) nElements / (2 * capacity) >= MIN_LOAD_TO_GROW) {
+            resizeMemory(capacity * 2);
+        }
+    }
+
+    private boolean resizeNeeded() {
+        return Double.compare((double) nElements / (2 * capacity), LOAD_THRESHOLD) > 0;
+    }
+
+    private void resizeMemory(int newCapacity) {
+        if (newCapacity > Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final Object[][] oldKeys = keys;
+        final Object[][] oldValues = values;
+        final int[][] oldHashes = hashes;
+        final Object[] oldStashKeys = stashKeys;
+        final Object[] oldStashValues = stashValues;
+        final int[] oldStashHashes = stashHashes;
+        final int oldStashSize = stashSize;
+        allocateNewMemory(newCapacity);
+        for (int table = 0; table < 2; table++) {
+            for (int slot = 0; slot < oldKeys[table].length; slot++) {
+                if (oldKeys[table][slot] != null) {
+                    insertAbsent(oldKeys[table][slot], oldValues[table][slot], oldHashes[table][slot]);
+                }
+            }
+        }
+        for (int i = 0; i < oldStashSize; i++) {
+            insertAbsent(oldStashKeys[i], oldStashValues[i], oldStashHashes[i]);
+        }
+    }
+
+    /**
+     * The kick-out loop: the homeless entry takes its slot in the current table, the previous occupant becomes homeless
+     * and tries the other table. What is still homeless after {@link CuckooHashMap#MAX_KICKS} goes into the stash,
+     * even beyond {@link CuckooHashMap#STASH_SIZE}; the caller decides whether to grow.
+     */
+    private void insertAbsent(Object key, Object value, int hashCode) {
+        // kicking out only starts if both slots are taken
+        int table = keys[0][slot(0, hashCode)] != null && keys[1][slot(1, hashCode)] == null ? 1 : 0;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            final int slot = slot(table, hashCode);
+            final Object evictedKey = keys[table][slot];
+            final Object evictedValue = values[table][slot];
+            final int evictedHash = hashes[table][slot];
+            keys[table][slot] = key;
+            values[table][slot] = value;
+            hashes[table][slot] = hashCode;
+            if (evictedKey == null) {
+                return;
+            }
+            key = evictedKey;
+            value = evictedValue;
+            hashCode = evictedHash;
+            // the evicted entry was in its slot of this table, so its alternative is in the other one
+            table = 1 - table;
+        }
+        addToStash(key, value, hashCode);
+    }
+
+    private void addToStash(Object key, Object value, int hashCode) {
+        if (stashSize == stashKeys.length) {
+            stashKeys = Arrays.copyOf(stashKeys, stashSize * 2);
+            stashValues = Arrays.copyOf(stashValues, stashSize * 2);
+            stashHashes = Arrays.copyOf(stashHashes, stashSize * 2);
+        }
+        stashKeys[stashSize] = key;
+        stashValues[stashSize] = value;
+        stashHashes[stashSize] = hashCode;
+        ++stashSize;
+    }
+
+    private int findInStash(Object key, int hashCode) {
+        for (int i = 0; i < stashSize; i++) {
+            if (stashHashes[i] == hashCode && stashKeys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param key if this hash map contains the key, the value is returned  inside an Optional;
+     *           if not, an empty Optional is returned; if the key is null, an empty Optional is returned
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        final int hashCode = key.hashCode();
+        for (int table = 0; table < 2; table++) {
+            final int slot = slot(table, hashCode);
+            if (keys[table][slot] != null && hashes[table][slot] == hashCode && keys[table][slot].equals(key)) {
+                return Optional.of((V) values[table][slot]);
+            }
+        }
+        final int stashIndex = findInStash(key, hashCode);
+        return stashIndex >= 0 ? Optional.of((V) stashValues[stashIndex]) : Optional.empty();
+    }
+
+    public boolean contains(K key) {
+        return get(key).isPresent();
+    }
+
+    /**
+     * if the key is null or not contained in the hash map, nothing is done
+     */
+    public void remove(K key) {
+        if (key == null) {
+            return;
+        }
+        final int hashCode = key.hashCode();
+        for (int table = 0; table < 2; table++) {
+            final int slot = slot(table, hashCode);
+            if (keys[table][slot] != null && hashes[table][slot] == hashCode && keys[table][slot].equals(key)) {
+                keys[table][slot] = null;
+                values[table][slot] = null;
+                --nElements;
+                return;
+            }
+        }
+        final int stashIndex = findInStash(key, hashCode);
+        if (stashIndex >= 0) {
+            // the stash is unordered: the last entry fills the hole
+            --stashSize;
+            stashKeys[stashIndex] = stashKeys[stashSize];
+            stashValues[stashIndex] = stashValues[stashSize];
+            stashHashes[stashIndex] = stashHashes[stashSize];
+            stashKeys[stashSize] = null;
+            stashValues[stashSize] = null;
+            --nElements;
+        }
+    }
+
+}
@@ -1,116 +1,326 @@
 package map;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * An array based hash map, using the {@link Object#hashCode()} method to generate the hash. Duplicates are not allowed.
  * <br>
+ * The map uses open addressing with linear probing: keys, values and the (mixed) hash codes of the keys live in three
+ * parallel arrays, so there is no node object per entry. An entry is stored in the first free slot at or after its
+ * home slot {@code hash & (capacity - 1)}; a lookup walks from the home slot until it finds the key or a free slot.
+ * Since the hash codes are cached, most non-matching slots are skipped without calling {@link Object#equals(Object)},
+ * and resizing never calls {@link Object#hashCode()} again.
+ * <br>
+ * Removal uses backward-shift deletion: the entries behind the removed one are moved back into the hole if that does
+ * not put them before their home slot, so no "deleted" markers (tombstones) are needed and probe sequences stay short.
+ * <br>
+ * Resizing: by default, the insert that exceeds the load factor rehashes all entries into a table of twice the
+ * capacity. With incremental resizing, that insert only allocates the new table; the old one is kept and every
+ * following operation migrates a few of its slots, while lookups consult both tables. This bounds the work per
+ * operation (no latency spike on the unlucky insert) at the price of briefly holding both tables.
+ * <br>
+ * {@link HashMapArrayBased#stats()} reports how well the keys spread over the table (see {@link HashMapStats}). Resizes
+ * are always counted and timed; probe lengths of lookups are only measured for a sample of them, see
+ * {@link HashMapArrayBased#sampleLookups(int)}.
+ * <br>
  *
  * <ul>
  *     <li>V get(K key) in O(1)</li>
  *     <li>boolean contains(K key) in O(1)</li>
- *     <li>void add(K key, V value) in O(1)</li>
- *     <li>V remove(K key)</li>
+ *     <li>void add(K key, V value) in O(1) amortized, or O(1) in the worst case with incremental resizing (apart from
+ *     allocating the new table)</li>
+ *     <li>V remove(K key) in O(1)</li>
  * </ul>
  */
 public class HashMapArrayBased<K, V> {
 
-    private static record KeyValuePair<K, V> (K key, V value) {}
-
     private static final double LOAD_THRESHOLD = 0.5;
     private static final int INITIAL_CAPACITY = 2; // using a low value for testing - change if used productively
 
-    private ArrayList<LinkedList<KeyValuePair<K, V>>> memory;
-    private int capacity;
+    private final double loadFactor;
+    private final boolean incrementalResizing;
+    // the number of old slots migrated per operation; large enough that the migration is over long before the new
+    // table needs to grow again
+    private final int migrationStep;
+    private LinearProbingTable table;
+    // only during an incremental resize: the table that is being migrated, all its slots before migrationIndex are free
+    private LinearProbingTable oldTable;
+    private int migrationIndex;
     private int nElements;
 
+    private long resizeCount;
+    private long resizeNanos;
+    // sampling is off while the mask is negative, else the lookups whose number has no bits outside the mask are
+    // sampled
+    private int samplingMask = -1;
+    private long lookupCount;
+    private long sampledLookupCount;
+    private final long[] sampledProbeLengthCounts = new long[HashMapStats.HISTOGRAM_BUCKETS];
+
     public HashMapArrayBased() {
-        this.capacity = INITIAL_CAPACITY;
-        this.memory = allocateNewMemory(capacity);
+        this.loadFactor = LOAD_THRESHOLD;
+        this.incrementalResizing = false;
+        this.migrationStep = migrationStepFor(LOAD_THRESHOLD);
+        this.table = new LinearProbingTable(INITIAL_CAPACITY, true);
     }
 
-    public int size() {
-        return nElements;
+    /**
+     * Allocates enough memory for {@code expectedSize} entries, so that no resize happens before that.
+     */
+    public HashMapArrayBased(int expectedSize) {
+        this(expectedSize, LOAD_THRESHOLD, false);
+    }
+
+    /**
+     * @param loadFactor          the maximal ratio of entries to slots, between 0 and 1 (exclusive); lower values mean
+     *                            shorter probe sequences and more memory
+     * @param incrementalResizing whether the entries are migrated to a grown table a few slots per operation instead
+     *                            of all at once
+     */
+    public HashMapArrayBased(int expectedSize, double loadFactor, boolean incrementalResizing) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("The load factor must be between 0 and 1 - %s.".formatted(loadFactor));
+        }
+        this.loadFactor = loadFactor;
+        this.incrementalResizing = incrementalResizing;
+        this.migrationStep = migrationStepFor(loadFactor);
+        this.table = new LinearProbingTable(Hashing.capacityFor(expectedSize, loadFactor), true);
     }
 
-    private int computeHashCode(K key) {
-        return (key.hashCode() & 0x7fffffff) % capacity;
+    // after a resize, at least capacity * loadFactor inserts happen before the next one, during which all 'capacity'
+    // old slots must be migrated; twice that rate leaves a margin
+    private static int migrationStepFor(double loadFactor) {
+        return (int) Math.ceil(2 / loadFactor);
     }
 
-    private static <K, V> ArrayList<LinkedList<KeyValuePair<K, V>>> allocateNewMemory(int size) {
-        ArrayList<LinkedList<KeyValuePair<K, V>>> newMemory = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            newMemory.add(new LinkedList<>());
-        }
-        return newMemory;
+    public int size() {
+        return nElements;
+    }
+
+    /**
+     * @return whether an incremental resize is in progress, i.e. whether entries still live in the old table
+     */
+    public boolean isResizing() {
+        return oldTable != null;
     }
 
     /**
-     * if the key was previously assigned to another value, that entry is removed (no duplicates allowed in this map)
+     * if the key was previously assigned to another value, that value is replaced (no duplicates allowed in this map)
      */
     public void add(K key, V value) {
-        remove(key);
-        int hashCode = computeHashCode(key);
-        LinkedList<KeyValuePair<K, V>> existingElements = memory.get(hashCode);
-        existingElements.add(new KeyValuePair<>(key, value));
+        migrateSome();
+        final int hashCode = LinearProbingTable.computeHashCode(key);
+        int slot = table.findSlotWithKey(key, hashCode);
+        if (slot >= 0) {
+            table.values[slot] = value;
+            return;
+        }
+        if (oldTable != null) {
+            slot = oldTable.findSlotWithKey(key, hashCode);
+            if (slot >= 0) {
+                oldTable.values[slot] = value;
+                return;
+            }
+        }
+        // growing before the insert keeps a free slot in every table, which ends all probe sequences
         ++nElements;
         if (resizeNeeded()) {
             resizeMemory();
         }
+        table.insertAbsent(key, value, hashCode);
     }
 
     private boolean resizeNeeded() {
-        return Double.compare((double) size() / capacity, LOAD_THRESHOLD) > 0;
+        return Double.compare((double) size() / table.capacity, loadFactor) > 0;
     }
 
     private void resizeMemory() {
-        int oldCapacity = capacity;
-        capacity *= 2;
-        ArrayList<LinkedList<KeyValuePair<K, V>>> newMemory = allocateNewMemory(capacity);
-        for (int i = 0; i < oldCapacity; ++i) {
-            LinkedList<KeyValuePair<K, V>> fromElements = memory.get(i);
-            for (var element : fromElements) {
-                int newHashCode = computeHashCode(element.key);
-                LinkedList<KeyValuePair<K, V>> toElements = newMemory.get(newHashCode);
-                toElements.add(element);
-            }
+        if (table.capacity >= Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final long start = System.nanoTime();
+        // the migration step makes sure that an incremental resize is over before the next one; finishing it here
+        // just guarantees that there are never more than two tables
+        migrate(Integer.MAX_VALUE);
+        oldTable = table;
+        migrationIndex = 0;
+        table = new LinearProbingTable(table.capacity * 2, true);
+        if (!incrementalResizing) {
+            migrate(Integer.MAX_VALUE);
+        }
+        ++resizeCount;
+        resizeNanos += System.nanoTime() - start;
+    }
+
+    private void migrateSome() {
+        if (oldTable != null) {
+            final long start = System.nanoTime();
+            migrate(migrationStep);
+            resizeNanos += System.nanoTime() - start;
         }
-        memory = newMemory;
     }
 
-    private Optional<KeyValuePair<K, V>> findElementWithKey(K key) {
-        int hashCode = computeHashCode(key);
-        LinkedList<KeyValuePair<K, V>> existingElements = memory.get(hashCode);
-        return existingElements.stream().filter(e -> e.key.equals(key)).findFirst();
+    /**
+     * Moves the entries of up to {@code nSlots} slots of the old table into the new one. Removing an entry from the
+     * old table shifts the following entries of its cluster back, possibly into the same slot, so a slot counts as
+     * migrated only once it is free; all slots before it are then free as well.
+     */
+    private void migrate(int nSlots) {
+        if (oldTable == null) {
+            return;
+        }
+        final int end = (int) Math.min((long) migrationIndex + nSlots, oldTable.capacity);
+        for (; migrationIndex < end; ++migrationIndex) {
+            while (oldTable.keys[migrationIndex] != null) {
+                table.insertAbsent(
+                    oldTable.keys[migrationIndex], oldTable.values[migrationIndex], oldTable.hashes[migrationIndex]
+                );
+                oldTable.shiftBackInto(migrationIndex);
+            }
+        }
+        if (migrationIndex == oldTable.capacity) {
+            oldTable = null;
+        }
     }
 
     /**
      * @param key if this hash map contains the key, the value is returned  inside an Optional;
      *           if not, an empty Optional is returned; if the key is null, an empty Optional is returned
      */
+    @SuppressWarnings("unchecked")
     public Optional<V> get(K key) {
-        return contains(key) ? Optional.of(findElementWithKey(key).orElseThrow().value()) : Optional.empty();
+        if (key == null) {
+            return Optional.empty();
+        }
+        migrateSome();
+        final int hashCode = LinearProbingTable.computeHashCode(key);
+        sampleLookup(key, hashCode);
+        int slot = table.findSlotWithKey(key, hashCode);
+        if (slot >= 0) {
+            return Optional.of((V) table.values[slot]);
+        }
+        if (oldTable != null) {
+            slot = oldTable.findSlotWithKey(key, hashCode);
+            if (slot >= 0) {
+                return Optional.of((V) oldTable.values[slot]);
+            }
+        }
+        return Optional.empty();
     }
 
     public boolean contains(K key) {
         if (key == null) {
             return false;
         }
-        return findElementWithKey(key).isPresent();
+        migrateSome();
+        final int hashCode = LinearProbingTable.computeHashCode(key);
+        sampleLookup(key, hashCode);
+        return table.findSlotWithKey(key, hashCode) >= 0
+            || (oldTable != null && oldTable.findSlotWithKey(key, hashCode) >= 0);
     }
 
     /**
      * if the key is null or not contained in the hash map, nothing is done
      */
     public void remove(K key) {
-        if (contains(key)) {
-            int hashCode = computeHashCode(key);
-            LinkedList<KeyValuePair<K, V>> existingElements = memory.get(hashCode);
-            existingElements.remove(findElementWithKey(key).orElseThrow());
+        if (key == null) {
+            return;
+        }
+        migrateSome();
+        final int hashCode = LinearProbingTable.computeHashCode(key);
+        int slot = table.findSlotWithKey(key, hashCode);
+        if (slot >= 0) {
+            table.shiftBackInto(slot);
             --nElements;
+            return;
+        }
+        if (oldTable != null) {
+            slot = oldTable.findSlotWithKey(key, hashCode);
+            if (slot >= 0) {
+                oldTable.shiftBackInto(slot);
+                --nElements;
+            }
+        }
+    }
+
+    /**
+     * Measures the probe length of every {@code interval}-th lookup ({@link HashMapArrayBased#get(Object)} and
+     * {@link HashMapArrayBased#contains(Object)}), which costs a second probe for the sampled ones and a counter
+     * increment for all others.
+     *
+     * @param interval a power of two; 1 samples every lookup
+     */
+    public void sampleLookups(int interval) {
+        if (interval < 1 || Integer.bitCount(interval) != 1) {
+            throw new IllegalArgumentException(
+                "The sampling interval must be a power of two - %s.".formatted(interval)
+            );
+        }
+        samplingMask = interval - 1;
+    }
+
+    private void sampleLookup(K key, int hashCode) {
+        if (samplingMask < 0 || (++lookupCount & samplingMask) != 0) {
+            return;
+        }
+        int probeLength = table.probeLength(key, hashCode);
+        if (oldTable != null && table.findSlotWithKey(key, hashCode) < 0) {
+            probeLength += oldTable.probeLength(key, hashCode);
+        }
+        ++sampledLookupCount;
+        ++sampledProbeLengthCounts[Math.min(probeLength, HashMapStats.HISTOGRAM_BUCKETS) - 1];
+    }
+
+    /**
+     * Scans the table (both tables during an incremental resize), so this takes O(capacity).
+     */
+    public HashMapStats stats() {
+        final long[] probeLengthCounts = new long[HashMapStats.HISTOGRAM_BUCKETS];
+        long totalProbeLength = 0;
+        int maxProbeLength = 0;
+        int maxClusterLength = 0;
+        for (LinearProbingTable scanned : oldTable == null ? List.of(table) : List.of(table, oldTable)) {
+            for (int slot = 0; slot < scanned.capacity; slot++) {
+                if (scanned.keys[slot] != null) {
+                    final int probeLength = scanned.displacement(slot) + 1;
+                    ++probeLengthCounts[Math.min(probeLength, HashMapStats.HISTOGRAM_BUCKETS) - 1];
+                    totalProbeLength += probeLength;
+                    maxProbeLength = Math.max(maxProbeLength, probeLength);
+                }
+            }
+            maxClusterLength = Math.max(maxClusterLength, longestCluster(scanned));
         }
+        return new HashMapStats(
+            nElements,
+            table.capacity,
+            nElements == 0 ? 0 : (double) totalProbeLength / nElements,
+            maxProbeLength,
+            Arrays.stream(probeLengthCounts).boxed().toList(),
+            maxClusterLength,
+            resizeCount,
+            resizeNanos,
+            sampledLookupCount,
+            Arrays.stream(sampledProbeLengthCounts).boxed().toList()
+        );
     }
 
+    // starts behind a free slot (there always is one), so that a cluster wrapping around the end is counted once
+    private static int longestCluster(LinearProbingTable scanned) {
+        int start = 0;
+        while (scanned.keys[start] != null) {
+            ++start;
+        }
+        int longest = 0;
+        int current = 0;
+        for (int i = 1; i <= scanned.capacity; i++) {
+            if (scanned.keys[(start + i) & (scanned.capacity - 1)] != null) {
+                longest = Math.max(longest, ++current);
+            } else {
+                current = 0;
+            }
+        }
+        return longest;
+    }
 }
@@ -0,0 +1,57 @@
+package map;
+
+import java.util.List;
+
+/**
+ * A snapshot of how well the keys of a {@link HashMapArrayBased} spread over its table.
+ * <br>
+ * The probe length of an entry is the number of slots a successful lookup examines: 1 if the entry sits in its home
+ * slot, one more for every slot it was displaced by collisions. {@code probeLengthCounts.get(i)} is the number of
+ * entries with probe length i + 1; the last bucket also counts all longer ones. These are exact, computed from the
+ * table when the snapshot is taken. A cluster is a run of occupied slots; every insert into a cluster lengthens it.
+ * <br>
+ * The sampled counts are measured instead: the probe lengths of every n-th lookup (hits and misses), if sampling was
+ * enabled with {@link HashMapArrayBased#sampleLookups(int)}.
+ * <br>
+ * A mean probe length well above {@link HashMapStats#idealMeanProbeLength()} means that the hash codes of the keys
+ * collide more often than random ones would, so the key type needs a better {@link Object#hashCode()}.
+ */
+public record HashMapStats(
+    int size,
+    int capacity,
+    double meanProbeLength,
+    int maxProbeLength,
+    List<Long> probeLengthCounts,
+    int maxClusterLength,
+    long resizeCount,
+    long resizeNanos,
+    long sampledLookupCount,
+    List<Long> sampledProbeLengthCounts
+) {
+
+    static final int HISTOGRAM_BUCKETS = 16;
+
+    public HashMapStats {
+        probeLengthCounts = List.copyOf(probeLengthCounts);
+        sampledProbeLengthCounts = List.copyOf(sampledProbeLengthCounts);
+    }
+
+    public double loadFactor() {
+        return (double) size / capacity;
+    }
+
+    /**
+     * @return the share of entries that are not in their home slot, or 0 if there are none
+     */
+    public double collisionRate() {
+        return size == 0 ? 0 : 1 - (double) probeLengthCounts.get(0) / size;
+    }
+
+    /**
+     * @return the expected mean probe length of a successful lookup for uniformly random hash codes at the current
+     * load factor: (1 + 1 / (1 - load factor)) / 2 for linear probing (Knuth)
+     */
+    public double idealMeanProbeLength() {
+        return (1 + 1 / (1 - loadFactor())) / 2;
+    }
+}
@@ -0,0 +1,173 @@
+package map;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * An array based hash set on the open addressing core of {@link HashMapArrayBased} ({@link LinearProbingTable} without
+ * a values array): per element it only needs a key reference and a cached hash code, while a {@link java.util.HashSet}
+ * is a {@link java.util.HashMap} with one node object of 32+ bytes per element and a dummy value.
+ * <br>
+ * It is a {@link java.util.Set}, so it can replace a HashSet wherever one is used. Null elements are not allowed.
+ * Iterators are fail-fast but do not support {@link Iterator#remove()}: backward-shift deletion may move an element
+ * that was not yet visited to a slot that was.
+ *
+ * <ul>
+ *     <li>boolean contains(T element) in O(1)</li>
+ *     <li>boolean add(T element) in O(1) amortized</li>
+ *     <li>boolean remove(T element) in O(1)</li>
+ * </ul>
+ */
+public class HashSetArrayBased<T> extends AbstractSet<T> {
+
+    private static final double LOAD_THRESHOLD = 0.5;
+    private static final int DEFAULT_EXPECTED_SIZE = 1;
+
+    private LinearProbingTable table;
+    private int nElements;
+    private int modifications;
+
+    public HashSetArrayBased() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocates enough memory for {@code expectedSize} elements, so that no resize happens before that.
+     */
+    public HashSetArrayBased(int expectedSize) {
+        table = new LinearProbingTable(Hashing.capacityFor(expectedSize, LOAD_THRESHOLD), false);
+    }
+
+    @Override
+    public int size() {
+        return nElements;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return element != null && table.findSlotWithKey(element, LinearProbingTable.computeHashCode(element)) >= 0;
+    }
+
+    /**
+     * @return whether the element was added, i.e. was not contained before
+     */
+    @Override
+    public boolean add(T element) {
+        final int hashCode = LinearProbingTable.computeHashCode(element);
+        if (table.findSlotWithKey(element, hashCode) >= 0) {
+            return false;
+        }
+        ++nElements;
+        if (Double.compare((double) nElements / table.capacity, LOAD_THRESHOLD) > 0) {
+            resizeMemory();
+        }
+        table.insertAbsent(element, null, hashCode);
+        ++modifications;
+        return true;
+    }
+
+    private void resizeMemory() {
+        if (table.capacity >= Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final LinearProbingTable oldTable = table;
+        table = new LinearProbingTable(oldTable.capacity * 2, false);
+        table.insertAll(oldTable);
+    }
+
+    /**
+     * @return whether the element was removed, i.e. was contained
+     */
+    @Override
+    public boolean remove(Object element) {
+        if (element == null) {
+            return false;
+        }
+        final int slot = table.findSlotWithKey(element, LinearProbingTable.computeHashCode(element));
+        if (slot < 0) {
+            return false;
+        }
+        table.shiftBackInto(slot);
+        --nElements;
+        ++modifications;
+        return true;
+    }
+
+    // the bulk removals of AbstractSet rely on Iterator#remove
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        final List<T> toRemove = new ArrayList<>();
+        for (T element : this) {
+            if (filter.test(element)) {
+                toRemove.add(element);
+            }
+        }
+        toRemove.forEach(this::remove);
+        return !toRemove.isEmpty();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> elements) {
+        boolean changed = false;
+        for (Object element : elements) {
+            changed |= remove(element);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+        return removeIf(element -> !elements.contains(element));
+    }
+
+    /**
+     * Keeps the current capacity.
+     */
+    @Override
+    public void clear() {
+        table = new LinearProbingTable(table.capacity, false);
+        nElements = 0;
+        ++modifications;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final LinearProbingTable iterated = table;
+            private final int expectedModifications = modifications;
+            private int slot = nextUsedSlot(0);
+
+            private int nextUsedSlot(int from) {
+                while (from < iterated.capacity && iterated.keys[from] == null) {
+                    ++from;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < iterated.capacity;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modifications != expectedModifications) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final T element = (T) iterated.keys[slot];
+                slot = nextUsedSlot(slot + 1);
+                return element;
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package map;
+
+/**
+ * Helpers shared by the open addressing tables of this package. Their capacity is always a power of two, so that the
+ * home slot of a hash is {@code hash & (capacity - 1)}, which is much cheaper than {@code %}.
+ */
+final class Hashing {
+
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Spreads the bits of a hash code so that its lowest bits, which select the slot, depend on all bits: multiplying
+     * by the golden ratio ("Fibonacci hashing") moves entropy up, the shift folds it back down. Without this, e.g.
+     * Integer keys that are multiples of the capacity would all collide in slot 0.
+     */
+    static int mix(int hashCode) {
+        final int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        return mix((int) (key ^ (key >>> 32)));
+    }
+
+    /**
+     * The smallest power of two (at least 2) that can hold {@code nElements} without exceeding the load factor.
+     */
+    static int capacityFor(int nElements, double loadFactor) {
+        if (nElements < 0) {
+            throw new IllegalArgumentException("The expected size must not be negative - %s.".formatted(nElements));
+        }
+        final long needed = (long) Math.ceil(nElements / loadFactor) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Cannot hold %s elements.".formatted(nElements));
+        }
+        return Math.max(2, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+}
@@ -0,0 +1,196 @@
+package map;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A hash set of primitive {@code int}s, without boxing: one int array with open addressing, linear probing and
+ * backward-shift deletion, as in {@link IntIntMap}.
+ * <br>
+ * A slot is free if it holds 0. To still allow 0 as an element, whether it is contained is kept in a separate flag.
+ *
+ * <ul>
+ *     <li>boolean contains(int element) in O(1)</li>
+ *     <li>boolean add(int element) in O(1) amortized</li>
+ *     <li>boolean remove(int element) in O(1)</li>
+ * </ul>
+ */
+public class IntHashSet {
+
+    private static final double LOAD_THRESHOLD = 0.5;
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+    private int[] elements;
+    private int capacity;
+    private int nElements; // including the zero element
+
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocates enough memory for {@code expectedSize} elements, so that no resize happens before that.
+     */
+    public IntHashSet(int expectedSize) {
+        allocateNewMemory(Hashing.capacityFor(expectedSize, LOAD_THRESHOLD));
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    public boolean isEmpty() {
+        return nElements == 0;
+    }
+
+    private int homeSlot(int element) {
+        return Hashing.mix(element) & (capacity - 1);
+    }
+
+    private int nextSlot(int slot) {
+        return (slot + 1) & (capacity - 1);
+    }
+
+    private void allocateNewMemory(int newCapacity) {
+        capacity = newCapacity;
+        elements = new int[newCapacity];
+    }
+
+    /**
+     * Returns the slot of the element, or -1 if the element is not contained. Must not be called for 0.
+     */
+    private int findSlot(int element) {
+        for (int slot = homeSlot(element); elements[slot] != 0; slot = nextSlot(slot)) {
+            if (elements[slot] == element) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int element) {
+        return element == 0 ? hasZero : findSlot(element) >= 0;
+    }
+
+    /**
+     * @return whether the element was added, i.e. was not contained before
+     */
+    public boolean add(int element) {
+        if (element == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            ++nElements;
+            return true;
+        }
+        int slot = homeSlot(element);
+        while (elements[slot] != 0) {
+            if (elements[slot] == element) {
+                return false;
+            }
+            slot = nextSlot(slot);
+        }
+        elements[slot] = element;
+        ++nElements;
+        if (resizeNeeded()) {
+            resizeMemory();
+        }
+        return true;
+    }
+
+    private boolean resizeNeeded() {
+        return Double.compare((double) size() / capacity, LOAD_THRESHOLD) > 0;
+    }
+
+    private void resizeMemory() {
+        if (capacity >= Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final int[] oldElements = elements;
+        allocateNewMemory(capacity * 2);
+        for (int element : oldElements) {
+            if (element != 0) {
+                int slot = homeSlot(element);
+                while (elements[slot] != 0) {
+                    slot = nextSlot(slot);
+                }
+                elements[slot] = element;
+            }
+        }
+    }
+
+    /**
+     * @return whether the element was removed, i.e. was contained
+     */
+    public boolean remove(int element) {
+        if (element == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            --nElements;
+            return true;
+        }
+        final int slot = findSlot(element);
+        if (slot < 0) {
+            return false;
+        }
+        shiftBackInto(slot);
+        --nElements;
+        return true;
+    }
+
+    // see LinearProbingTable#shiftBackInto
+    private void shiftBackInto(int hole) {
+        for (int slot = nextSlot(hole); elements[slot] != 0; slot = nextSlot(slot)) {
+            final int distanceFromHome = (slot - homeSlot(elements[slot])) & (capacity - 1);
+            final int distanceFromHole = (slot - hole) & (capacity - 1);
+            if (distanceFromHome >= distanceFromHole) {
+                elements[hole] = elements[slot];
+                hole = slot;
+            }
+        }
+        elements[hole] = 0;
+    }
+
+    public void clear() {
+        Arrays.fill(elements, 0);
+        hasZero = false;
+        nElements = 0;
+    }
+
+    /**
+     * Calls the action for every element, in no particular order, without allocating anything. The set must not be
+     * modified by the action.
+     */
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int element : elements) {
+            if (element != 0) {
+                action.accept(element);
+            }
+        }
+    }
+
+    /**
+     * @return the elements in no particular order
+     */
+    public int[] toArray() {
+        final int[] result = new int[nElements];
+        int i = 0;
+        if (hasZero) {
+            result[i++] = 0;
+        }
+        for (int element : elements) {
+            if (element != 0) {
+                result[i++] = element;
+            }
+        }
+        return result;
+    }
+}
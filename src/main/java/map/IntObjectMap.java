@@ -0,0 +1,213 @@
+package map;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A hash map from primitive {@code int} keys to object values, without boxing the keys and without any object per
+ * entry: keys and values live in two parallel arrays (open addressing with linear probing and backward-shift deletion,
+ * as in {@link HashMapArrayBased}).
+ * <br>
+ * A slot is free if its key is 0. To still allow 0 as a key, the entry for key 0 is kept outside the arrays in two
+ * fields, so clients never have to reserve a sentinel value. Values may be null; {@link IntObjectMap#contains(int)}
+ * distinguishes a null value from an absent key.
+ *
+ * <ul>
+ *     <li>V getOrDefault(int key, V defaultValue) in O(1)</li>
+ *     <li>boolean contains(int key) in O(1)</li>
+ *     <li>void add(int key, V value) in O(1) amortized</li>
+ *     <li>void remove(int key) in O(1)</li>
+ * </ul>
+ */
+public class IntObjectMap<V> {
+
+    @FunctionalInterface
+    public interface IntObjectConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private static final double LOAD_THRESHOLD = 0.5;
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+    private int[] keys;
+    private Object[] values;
+    private int capacity;
+    private int nElements; // including the zero key
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public IntObjectMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocates enough memory for {@code expectedSize} entries, so that no resize happens before that.
+     */
+    public IntObjectMap(int expectedSize) {
+        allocateNewMemory(Hashing.capacityFor(expectedSize, LOAD_THRESHOLD));
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    public boolean isEmpty() {
+        return nElements == 0;
+    }
+
+    private int homeSlot(int key) {
+        return Hashing.mix(key) & (capacity - 1);
+    }
+
+    private int nextSlot(int slot) {
+        return (slot + 1) & (capacity - 1);
+    }
+
+    private void allocateNewMemory(int newCapacity) {
+        capacity = newCapacity;
+        keys = new int[newCapacity];
+        values = new Object[newCapacity];
+    }
+
+    /**
+     * Returns the slot of the key, or -1 if the key is not contained. Must not be called for the key 0.
+     */
+    private int findSlotWithKey(int key) {
+        for (int slot = homeSlot(key); keys[slot] != 0; slot = nextSlot(slot)) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int key) {
+        return key == 0 ? hasZeroKey : findSlotWithKey(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        final int slot = findSlotWithKey(key);
+        return slot >= 0 ? (V) values[slot] : defaultValue;
+    }
+
+    /**
+     * @return the value inside an Optional, or an empty Optional if the key is not contained (or maps to null)
+     */
+    public Optional<V> get(int key) {
+        return Optional.ofNullable(getOrDefault(key, null));
+    }
+
+    /**
+     * if the key was previously assigned to another value, that value is replaced
+     */
+    public void add(int key, V value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++nElements;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = homeSlot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = nextSlot(slot);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        ++nElements;
+        if (resizeNeeded()) {
+            resizeMemory();
+        }
+    }
+
+    private boolean resizeNeeded() {
+        return Double.compare((double) size() / capacity, LOAD_THRESHOLD) > 0;
+    }
+
+    private void resizeMemory() {
+        if (capacity >= Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocateNewMemory(capacity * 2);
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != 0) {
+                int slot = homeSlot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = nextSlot(slot);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * if the key is not contained in the map, nothing is done
+     */
+    public void remove(int key) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                --nElements;
+            }
+            return;
+        }
+        final int slot = findSlotWithKey(key);
+        if (slot >= 0) {
+            shiftBackInto(slot);
+            --nElements;
+        }
+    }
+
+    // see LinearProbingTable#shiftBackInto
+    private void shiftBackInto(int hole) {
+        for (int slot = nextSlot(hole); keys[slot] != 0; slot = nextSlot(slot)) {
+            final int distanceFromHome = (slot - homeSlot(keys[slot])) & (capacity - 1);
+            final int distanceFromHole = (slot - hole) & (capacity - 1);
+            if (distanceFromHome >= distanceFromHole) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        nElements = 0;
+    }
+
+    /**
+     * Calls the action for every entry, in no particular order, without allocating anything. The map must not be
+     * modified by the action.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjectConsumer<V> action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+}
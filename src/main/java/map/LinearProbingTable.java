@@ -0,0 +1,121 @@
+package map;
+
+/**
+ * The open addressing core shared by {@link HashMapArrayBased}, {@link HashSetArrayBased} and
+ * {@link MultimapArrayBased}: keys, values and the (mixed) hash codes of the keys in parallel arrays, linear probing
+ * from the home slot {@code hash & (capacity - 1)} and backward-shift deletion. Sets have no values array.
+ * <br>
+ * A slot is free if its key is null. The table does not resize itself; its owner decides when to move the entries into
+ * a larger one, and must keep at least one slot free so that every probe sequence ends.
+ */
+final class LinearProbingTable {
+
+    final Object[] keys;
+    final Object[] values;
+    final int[] hashes;
+    final int capacity;
+
+    /**
+     * @param capacity a power of two
+     */
+    LinearProbingTable(int capacity, boolean withValues) {
+        this.capacity = capacity;
+        this.keys = new Object[capacity];
+        this.values = withValues ? new Object[capacity] : null;
+        this.hashes = new int[capacity];
+    }
+
+    static int computeHashCode(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    int homeSlot(int hashCode) {
+        return hashCode & (capacity - 1);
+    }
+
+    int nextSlot(int slot) {
+        return (slot + 1) & (capacity - 1);
+    }
+
+    /**
+     * Returns the slot of the key, or -1 if the key is not contained.
+     */
+    int findSlotWithKey(Object key, int hashCode) {
+        for (int slot = homeSlot(hashCode); keys[slot] != null; slot = nextSlot(slot)) {
+            if (hashes[slot] == hashCode && keys[slot].equals(key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of slots a lookup of the key examines, including the free slot that ends an unsuccessful one.
+     */
+    int probeLength(Object key, int hashCode) {
+        int length = 1;
+        for (int slot = homeSlot(hashCode); keys[slot] != null; slot = nextSlot(slot), ++length) {
+            if (hashes[slot] == hashCode && keys[slot].equals(key)) {
+                return length;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the number of slots between the home slot of the entry at the given slot and the slot itself.
+     */
+    int displacement(int slot) {
+        return (slot - homeSlot(hashes[slot])) & (capacity - 1);
+    }
+
+    /**
+     * Stores an entry whose key is known not to be contained and returns its slot. The value is ignored by sets.
+     */
+    int insertAbsent(Object key, Object value, int hashCode) {
+        int slot = homeSlot(hashCode);
+        while (keys[slot] != null) {
+            slot = nextSlot(slot);
+        }
+        keys[slot] = key;
+        if (values != null) {
+            values[slot] = value;
+        }
+        hashes[slot] = hashCode;
+        return slot;
+    }
+
+    /**
+     * Moves all entries of the other table into this one, which must have room for them.
+     */
+    void insertAll(LinearProbingTable other) {
+        for (int slot = 0; slot < other.capacity; slot++) {
+            if (other.keys[slot] != null) {
+                insertAbsent(other.keys[slot], other.values == null ? null : other.values[slot], other.hashes[slot]);
+            }
+        }
+    }
+
+    /**
+     * Closes the hole at the given slot: every following entry of the same cluster is moved back into the hole,
+     * unless its home slot lies cyclically after the hole (then moving it would make it unreachable).
+     */
+    void shiftBackInto(int hole) {
+        for (int slot = nextSlot(hole); keys[slot] != null; slot = nextSlot(slot)) {
+            final int distanceFromHome = displacement(slot);
+            final int distanceFromHole = (slot - hole) & (capacity - 1);
+            if (distanceFromHome >= distanceFromHole) {
+                keys[hole] = keys[slot];
+                if (values != null) {
+                    values[hole] = values[slot];
+                }
+                hashes[hole] = hashes[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = null;
+        if (values != null) {
+            values[hole] = null;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package map;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * A hash map from primitive {@code long} keys to primitive {@code long} values, without boxing and without any object per
+ * entry: keys and values live in two parallel arrays (open addressing with linear probing and backward-shift deletion,
+ * as in {@link HashMapArrayBased}).
+ * <br>
+ * A slot is free if its key is 0. To still allow 0 as a key, the entry for key 0 is kept outside the arrays in two
+ * fields, so clients never have to reserve a sentinel value.
+ *
+ * <ul>
+ *     <li>long getOrDefault(long key, long defaultValue) in O(1)</li>
+ *     <li>boolean contains(long key) in O(1)</li>
+ *     <li>void add(long key, long value) in O(1) amortized</li>
+ *     <li>long addTo(long key, long increment) in O(1) amortized</li>
+ *     <li>void remove(long key) in O(1)</li>
+ * </ul>
+ */
+public class LongLongMap {
+
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+
+    private static final double LOAD_THRESHOLD = 0.5;
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+    private long[] keys;
+    private long[] values;
+    private int capacity;
+    private int nElements; // including the zero key
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocates enough memory for {@code expectedSize} entries, so that no resize happens before that.
+     */
+    public LongLongMap(int expectedSize) {
+        allocateNewMemory(Hashing.capacityFor(expectedSize, LOAD_THRESHOLD));
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    public boolean isEmpty() {
+        return nElements == 0;
+    }
+
+    private int homeSlot(long key) {
+        return Hashing.mix(key) & (capacity - 1);
+    }
+
+    private int nextSlot(int slot) {
+        return (slot + 1) & (capacity - 1);
+    }
+
+    private void allocateNewMemory(int newCapacity) {
+        capacity = newCapacity;
+        keys = new long[newCapacity];
+        values = new long[newCapacity];
+    }
+
+    /**
+     * Returns the slot of the key, or -1 if the key is not contained. Must not be called for the key 0.
+     */
+    private int findSlotWithKey(long key) {
+        for (int slot = homeSlot(key); keys[slot] != 0; slot = nextSlot(slot)) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(long key) {
+        return key == 0 ? hasZeroKey : findSlotWithKey(key) >= 0;
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        final int slot = findSlotWithKey(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Boxes the result - prefer {@link LongLongMap#getOrDefault(long, long)} on hot paths.
+     */
+    public OptionalLong get(long key) {
+        return contains(key) ? OptionalLong.of(getOrDefault(key, 0)) : OptionalLong.empty();
+    }
+
+    /**
+     * if the key was previously assigned to another value, that value is replaced
+     */
+    public void add(long key, long value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++nElements;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = homeSlot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = nextSlot(slot);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        ++nElements;
+        if (resizeNeeded()) {
+            resizeMemory();
+        }
+    }
+
+    /**
+     * Adds the increment to the value of the key; an absent key is treated as having the value 0 (so this is also
+     * the way to count occurrences). Returns the new value.
+     */
+    public long addTo(long key, long increment) {
+        if (key == 0) {
+            add(0, getOrDefault(0, 0) + increment);
+            return zeroValue;
+        }
+        int slot = homeSlot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] += increment;
+                return values[slot];
+            }
+            slot = nextSlot(slot);
+        }
+        keys[slot] = key;
+        values[slot] = increment;
+        ++nElements;
+        if (resizeNeeded()) {
+            resizeMemory();
+        }
+        return increment;
+    }
+
+    private boolean resizeNeeded() {
+        return Double.compare((double) size() / capacity, LOAD_THRESHOLD) > 0;
+    }
+
+    private void resizeMemory() {
+        if (capacity >= Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocateNewMemory(capacity * 2);
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != 0) {
+                int slot = homeSlot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = nextSlot(slot);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * if the key is not contained in the map, nothing is done
+     */
+    public void remove(long key) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = 0;
+                --nElements;
+            }
+            return;
+        }
+        final int slot = findSlotWithKey(key);
+        if (slot >= 0) {
+            shiftBackInto(slot);
+            --nElements;
+        }
+    }
+
+    // see LinearProbingTable#shiftBackInto
+    private void shiftBackInto(int hole) {
+        for (int slot = nextSlot(hole); keys[slot] != 0; slot = nextSlot(slot)) {
+            final int distanceFromHome = (slot - homeSlot(keys[slot])) & (capacity - 1);
+            final int distanceFromHole = (slot - hole) & (capacity - 1);
+            if (distanceFromHome >= distanceFromHole) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        nElements = 0;
+    }
+
+    /**
+     * Calls the action for every entry, in no particular order, without allocating anything. The map must not be
+     * modified by the action.
+     */
+    public void forEach(LongLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package map;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * A hash map that lives in two memory-mapped files of a directory, so that it survives restarts and reopens without
+ * rebuilding anything:
+ * <ul>
+ *     <li>the value log: an append-only sequence of records {crc, key length, value length, key bytes, value bytes};
+ *     a removal appends a record with value length -1 (a tombstone)</li>
+ *     <li>the table: a header followed by fixed-size slots {offset of the record in the log, hash of the key bytes},
+ *     with open addressing, linear probing and backward-shift deletion as in {@link HashMapArrayBased}</li>
+ * </ul>
+ * Keys and values are turned into bytes by {@link Codec}s. A lookup hashes the encoded key, compares the hashes in the
+ * slots and the key bytes in the log, and only decodes the value of the matched record; no other key or value is ever
+ * deserialized. Since the hash is computed from the encoded bytes, it does not depend on {@link Object#hashCode()}.
+ * <br>
+ * Crash safety: the log is the source of truth and the table an index over it. The header exists twice, each copy with
+ * a sequence number and a checksum; an update writes the older copy, so a torn write leaves the newer one intact. The
+ * first modification after a {@link MappedHashMap#flush()} durably marks the header dirty; {@code flush()} (and
+ * {@link MappedHashMap#close()}) forces log and table to disk and then marks it clean. Opening a clean map just maps
+ * the files; opening a dirty one (after a crash) rebuilds the table by replaying the log up to its first record with
+ * a wrong checksum. Updates after the last flush survive a JVM crash (the page cache still holds them) but not
+ * necessarily a power failure.
+ * <br>
+ * Caveats: a mapping is limited to 2^31 - 1 bytes, so the log can hold at most 2 GB of records and the table at most
+ * 2^26 slots; replaced and removed records stay in the log. The map is not thread-safe.
+ *
+ * <ul>
+ *     <li>V get(K key) in O(1)</li>
+ *     <li>boolean contains(K key) in O(1)</li>
+ *     <li>void add(K key, V value) in O(1) amortized</li>
+ *     <li>void remove(K key) in O(1)</li>
+ * </ul>
+ */
+public class MappedHashMap<K, V> implements Closeable {
+
+    private static final double LOAD_THRESHOLD = 0.5;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final int INITIAL_LOG_SIZE = 1 << 16;
+
+    private static final String TABLE_FILE = "table";
+    private static final String LOG_FILE = "log";
+
+    // header copy: magic, version, sequence, capacity, size, log end, dirty, crc of all fields before it
+    private static final int TABLE_MAGIC = 0x4D484D54;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SEQUENCE = 8;
+    private static final int CAPACITY = 16;
+    private static final int SIZE = 20;
+    private static final int LOG_END = 24;
+    private static final int DIRTY = 32;
+    private static final int HEADER_CRC = 56;
+    private static final int SLOTS_START = 2 * HEADER_SIZE;
+    private static final int SLOT_SIZE = 16;
+    private static final int SLOT_HASH = 8;
+
+    private static final long LOG_MAGIC = 0x4D484D4C4F473031L;
+    private static final int LOG_START = 8;
+    private static final int KEY_LENGTH = 4;
+    private static final int VALUE_LENGTH = 8;
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int TOMBSTONE = -1;
+
+    private final Path directory;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+
+    private MappedByteBuffer table;
+    private MappedByteBuffer log;
+    private int capacity;
+    private int nElements;
+    private long logEnd;
+    private long sequence;
+    private boolean dirty;
+    private boolean closed;
+
+    /**
+     * Opens the map stored in the directory, or creates an empty one if the directory holds none.
+     *
+     * @throws UncheckedIOException if the files cannot be read or written
+     */
+    public MappedHashMap(Path directory, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        try {
+            Files.createDirectories(directory);
+            openLog();
+            openTable();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    /**
+     * if the key was previously assigned to another value, that value is replaced (no duplicates allowed in this map)
+     */
+    public void add(K key, V value) {
+        throwIfClosed();
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        final byte[] keyBytes = keyCodec.encode(key);
+        final byte[] valueBytes = valueCodec.encode(value);
+        markDirty();
+        final int hashCode = hash(keyBytes);
+        final int slot = findSlotWithKey(keyBytes, hashCode);
+        final int offset = append(keyBytes, valueBytes);
+        if (slot >= 0) {
+            table.putLong(slotPosition(slot), offset);
+        } else {
+            insert(offset, hashCode);
+        }
+    }
+
+    /**
+     * @param key if this hash map contains the key, the value is returned inside an Optional;
+     *            if not, an empty Optional is returned; if the key is null, an empty Optional is returned
+     */
+    public Optional<V> get(K key) {
+        throwIfClosed();
+        if (key == null) {
+            return Optional.empty();
+        }
+        final byte[] keyBytes = keyCodec.encode(key);
+        final int slot = findSlotWithKey(keyBytes, hash(keyBytes));
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        final int offset = (int) table.getLong(slotPosition(slot));
+        final byte[] valueBytes = new byte[log.getInt(offset + VALUE_LENGTH)];
+        log.get(offset + RECORD_HEADER_SIZE + keyBytes.length, valueBytes);
+        return Optional.of(valueCodec.decode(valueBytes));
+    }
+
+    public boolean contains(K key) {
+        throwIfClosed();
+        if (key == null) {
+            return false;
+        }
+        final byte[] keyBytes = keyCodec.encode(key);
+        return findSlotWithKey(keyBytes, hash(keyBytes)) >= 0;
+    }
+
+    /**
+     * if the key is null or not contained in the hash map, nothing is done
+     */
+    public void remove(K key) {
+        throwIfClosed();
+        if (key == null) {
+            return;
+        }
+        final byte[] keyBytes = keyCodec.encode(key);
+        final int slot = findSlotWithKey(keyBytes, hash(keyBytes));
+        if (slot < 0) {
+            return;
+        }
+        markDirty();
+        append(keyBytes, null);
+        shiftBackInto(table, capacity, slot);
+        --nElements;
+    }
+
+    /**
+     * Forces all updates to disk and marks the map clean, so that the next open does not need to replay the log.
+     */
+    public void flush() {
+        throwIfClosed();
+        if (dirty) {
+            forceAndMarkClean();
+        }
+    }
+
+    // private, since the constructor reaches it through rebuildTable()
+    private void forceAndMarkClean() {
+        log.force();
+        table.force();
+        dirty = false;
+        writeHeader(table);
+        table.force(0, SLOTS_START);
+    }
+
+    /**
+     * Flushes the map; it must not be used afterwards. The mappings are released once the map is garbage collected.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            flush();
+            closed = true;
+        }
+    }
+
+    private void throwIfClosed() {
+        if (closed) {
+            throw new IllegalStateException("The map in %s was already closed.".formatted(directory));
+        }
+    }
+
+    private static int hash(byte[] keyBytes) {
+        return Hashing.mix(Arrays.hashCode(keyBytes));
+    }
+
+    private static int slotPosition(int slot) {
+        return SLOTS_START + slot * SLOT_SIZE;
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    // ---------------------------------------------------------------- value log
+
+    private void openLog() throws IOException {
+        final Path file = directory.resolve(LOG_FILE);
+        final long fileSize = Files.exists(file) ? Files.size(file) : 0;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("%s is not a value log.".formatted(file));
+        }
+        log = map(file, Math.max(fileSize, INITIAL_LOG_SIZE));
+        if (fileSize == 0) {
+            log.putLong(0, LOG_MAGIC);
+        } else if (log.getLong(0) != LOG_MAGIC) {
+            throw new IllegalArgumentException("%s is not a value log.".formatted(file));
+        }
+    }
+
+    /**
+     * Appends a record and returns its offset; a null value appends a tombstone.
+     */
+    private int append(byte[] keyBytes, byte[] valueBytes) {
+        final int valueLength = valueBytes == null ? TOMBSTONE : valueBytes.length;
+        final long recordSize = (long) RECORD_HEADER_SIZE + keyBytes.length + Math.max(valueLength, 0);
+        ensureLogCapacity(logEnd + recordSize);
+        final int offset = (int) logEnd;
+        log.putInt(offset + KEY_LENGTH, keyBytes.length);
+        log.putInt(offset + VALUE_LENGTH, valueLength);
+        log.put(offset + RECORD_HEADER_SIZE, keyBytes);
+        if (valueBytes != null) {
+            log.put(offset + RECORD_HEADER_SIZE + keyBytes.length, valueBytes);
+        }
+        log.putInt(offset, recordChecksum(offset, keyBytes.length, valueLength));
+        logEnd += recordSize;
+        return offset;
+    }
+
+    private int recordChecksum(int offset, int keyLength, int valueLength) {
+        final CRC32 crc = new CRC32();
+        final int checkedLength = RECORD_HEADER_SIZE - KEY_LENGTH + keyLength + Math.max(valueLength, 0);
+        crc.update(log.slice(offset + KEY_LENGTH, checkedLength));
+        return (int) crc.getValue();
+    }
+
+    private void ensureLogCapacity(long needed) {
+        if (needed <= log.capacity()) {
+            return;
+        }
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The value log cannot grow beyond %s bytes.".formatted(Integer.MAX_VALUE));
+        }
+        final long newSize = Math.min(Math.max(2L * log.capacity(), needed), Integer.MAX_VALUE);
+        try {
+            log = map(directory.resolve(LOG_FILE), newSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean keyEquals(int offset, byte[] keyBytes) {
+        return log.getInt(offset + KEY_LENGTH) == keyBytes.length
+            && log.slice(offset + RECORD_HEADER_SIZE, keyBytes.length).mismatch(ByteBuffer.wrap(keyBytes)) == -1;
+    }
+
+    /**
+     * @return the size of the valid record at the offset, or -1 if there is none (end of the log or a torn write)
+     */
+    private int validRecordSize(long offset) {
+        if (offset + RECORD_HEADER_SIZE > log.capacity()) {
+            return -1;
+        }
+        final int position = (int) offset;
+        final int keyLength = log.getInt(position + KEY_LENGTH);
+        final int valueLength = log.getInt(position + VALUE_LENGTH);
+        if (keyLength < 0 || valueLength < TOMBSTONE) {
+            return -1;
+        }
+        final long recordSize = (long) RECORD_HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+        if (offset + recordSize > log.capacity()
+            || log.getInt(position) != recordChecksum(position, keyLength, valueLength)) {
+            return -1;
+        }
+        return (int) recordSize;
+    }
+
+    // ---------------------------------------------------------------- table
+
+    private void openTable() throws IOException {
+        final Path file = directory.resolve(TABLE_FILE);
+        final long fileSize = Files.exists(file) ? Files.size(file) : 0;
+        ByteBuffer header = null;
+        if (fileSize >= SLOTS_START && fileSize <= Integer.MAX_VALUE) {
+            table = map(file, fileSize);
+            header = newestValidHeader(table);
+        }
+        if (header != null && header.getInt(CAPACITY) == (fileSize - SLOTS_START) / SLOT_SIZE) {
+            sequence = header.getLong(SEQUENCE);
+            capacity = header.getInt(CAPACITY);
+            nElements = header.getInt(SIZE);
+            logEnd = header.getLong(LOG_END);
+            dirty = header.getInt(DIRTY) != 0;
+            // a log end beyond the log cannot have been written by flush(), so the header is not trusted
+            if (!dirty && logEnd >= LOG_START && logEnd <= log.capacity()) {
+                return;
+            }
+        } else {
+            // no table yet, or it was lost: the log holds everything that is needed to rebuild it
+            capacity = INITIAL_CAPACITY;
+            dirty = true;
+        }
+        rebuildTable();
+    }
+
+    private static ByteBuffer newestValidHeader(ByteBuffer table) {
+        ByteBuffer newest = null;
+        for (int copy = 0; copy < 2; copy++) {
+            final ByteBuffer header = table.slice(copy * HEADER_SIZE, HEADER_SIZE);
+            final CRC32 crc = new CRC32();
+            crc.update(header.slice(0, HEADER_CRC));
+            if (header.getInt(0) == TABLE_MAGIC && header.getInt(4) == VERSION
+                && header.getLong(HEADER_CRC) == crc.getValue()
+                && (newest == null || header.getLong(SEQUENCE) > newest.getLong(SEQUENCE))) {
+                newest = header;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Writes the current state into the older header copy of the given table, which the caller then forces to disk.
+     */
+    private void writeHeader(ByteBuffer target) {
+        ++sequence;
+        final ByteBuffer header = target.slice((int) (sequence & 1) * HEADER_SIZE, HEADER_SIZE);
+        header.putInt(0, TABLE_MAGIC);
+        header.putInt(4, VERSION);
+        header.putLong(SEQUENCE, sequence);
+        header.putInt(CAPACITY, capacity);
+        header.putInt(SIZE, nElements);
+        header.putLong(LOG_END, logEnd);
+        header.putInt(DIRTY, dirty ? 1 : 0);
+        final CRC32 crc = new CRC32();
+        crc.update(header.slice(0, HEADER_CRC));
+        header.putLong(HEADER_CRC, crc.getValue());
+    }
+
+    // an update must never reach the disk before the header that says that the table may be inconsistent
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            writeHeader(table);
+            table.force(0, SLOTS_START);
+        }
+    }
+
+    /**
+     * Replays the log into an empty table. Everything after the first invalid record is zeroed, so that stale records
+     * behind a torn write can never be replayed later.
+     */
+    private void rebuildTable() throws IOException {
+        replaceTable(null, capacity);
+        nElements = 0;
+        long offset = LOG_START;
+        for (int recordSize = validRecordSize(offset); recordSize >= 0; recordSize = validRecordSize(offset)) {
+            final int position = (int) offset;
+            final byte[] keyBytes = new byte[log.getInt(position + KEY_LENGTH)];
+            log.get(position + RECORD_HEADER_SIZE, keyBytes);
+            final int hashCode = hash(keyBytes);
+            final int slot = findSlotWithKey(keyBytes, hashCode);
+            if (log.getInt(position + VALUE_LENGTH) == TOMBSTONE) {
+                if (slot >= 0) {
+                    shiftBackInto(table, capacity, slot);
+                    --nElements;
+                }
+            } else if (slot >= 0) {
+                table.putLong(slotPosition(slot), position);
+            } else {
+                insert(position, hashCode);
+            }
+            offset += recordSize;
+        }
+        logEnd = offset;
+        for (int i = (int) offset; i < log.capacity(); i++) {
+            log.put(i, (byte) 0);
+        }
+        forceAndMarkClean();
+    }
+
+    private int findSlotWithKey(byte[] keyBytes, int hashCode) {
+        for (int slot = hashCode & (capacity - 1); ; slot = (slot + 1) & (capacity - 1)) {
+            final long offset = table.getLong(slotPosition(slot));
+            if (offset == 0) {
+                return -1;
+            }
+            if (table.getInt(slotPosition(slot) + SLOT_HASH) == hashCode && keyEquals((int) offset, keyBytes)) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(int offset, int hashCode) {
+        // growing before the insert keeps a free slot in the table, which ends all probe sequences
+        ++nElements;
+        if (Double.compare((double) nElements / capacity, LOAD_THRESHOLD) > 0) {
+            resizeTable();
+        }
+        insertAbsent(table, capacity, offset, hashCode);
+    }
+
+    private static void insertAbsent(ByteBuffer table, int capacity, long offset, int hashCode) {
+        int slot = hashCode & (capacity - 1);
+        while (table.getLong(slotPosition(slot)) != 0) {
+            slot = (slot + 1) & (capacity - 1);
+        }
+        table.putLong(slotPosition(slot), offset);
+        table.putInt(slotPosition(slot) + SLOT_HASH, hashCode);
+    }
+
+    // see LinearProbingTable#shiftBackInto
+    private static void shiftBackInto(ByteBuffer table, int capacity, int hole) {
+        for (int slot = (hole + 1) & (capacity - 1);
+             table.getLong(slotPosition(slot)) != 0;
+             slot = (slot + 1) & (capacity - 1)) {
+            final int hashCode = table.getInt(slotPosition(slot) + SLOT_HASH);
+            final int distanceFromHome = (slot - (hashCode & (capacity - 1))) & (capacity - 1);
+            final int distanceFromHole = (slot - hole) & (capacity - 1);
+            if (distanceFromHome >= distanceFromHole) {
+                table.putLong(slotPosition(hole), table.getLong(slotPosition(slot)));
+                table.putInt(slotPosition(hole) + SLOT_HASH, hashCode);
+                hole = slot;
+            }
+        }
+        table.putLong(slotPosition(hole), 0);
+        table.putInt(slotPosition(hole) + SLOT_HASH, 0);
+    }
+
+    private void resizeTable() {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(MAX_CAPACITY));
+        }
+        try {
+            replaceTable(table, capacity * 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds a table of the new capacity with the entries of the old one (if not null) in a temporary file and moves
+     * it over the table file in one atomic step, so that a crash leaves either the old or the new table.
+     */
+    private void replaceTable(ByteBuffer oldTable, int newCapacity) throws IOException {
+        final Path temporaryFile = directory.resolve(TABLE_FILE + ".tmp");
+        Files.deleteIfExists(temporaryFile);
+        final MappedByteBuffer newTable = map(temporaryFile, slotPosition(newCapacity));
+        if (oldTable != null) {
+            for (int slot = 0; slot < capacity; slot++) {
+                final long offset = oldTable.getLong(slotPosition(slot));
+                if (offset != 0) {
+                    insertAbsent(newTable, newCapacity, offset, oldTable.getInt(slotPosition(slot) + SLOT_HASH));
+                }
+            }
+        }
+        capacity = newCapacity;
+        writeHeader(newTable);
+        newTable.force();
+        Files.move(temporaryFile, directory.resolve(TABLE_FILE), StandardCopyOption.ATOMIC_MOVE);
+        table = newTable;
+    }
+}
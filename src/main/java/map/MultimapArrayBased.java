@@ -0,0 +1,211 @@
+package map;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A map from keys to lists of values (duplicates allowed, in insertion order), on the open addressing core of
+ * {@link HashMapArrayBased}. The values of a key live in one growable array, so a key costs a slot and one small
+ * object no matter how many values it has, instead of a map node plus a list plus (for a
+ * {@code Map<K, Set<V>>}) one node per value.
+ *
+ * <ul>
+ *     <li>List&lt;V&gt; get(K key) in O(1)</li>
+ *     <li>void add(K key, V value) in O(1) amortized</li>
+ *     <li>boolean remove(K key, V value) in O(number of values of the key)</li>
+ *     <li>void removeAll(K key) in O(1)</li>
+ * </ul>
+ */
+public class MultimapArrayBased<K, V> {
+
+    private static final double LOAD_THRESHOLD = 0.5;
+    private static final int DEFAULT_EXPECTED_KEYS = 8;
+    private static final int INITIAL_VALUES_CAPACITY = 2;
+
+    /**
+     * The values of one key; never empty while it is in the table.
+     */
+    private static final class Values {
+        Object[] elements = new Object[INITIAL_VALUES_CAPACITY];
+        int size;
+
+        void add(Object value) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = value;
+        }
+
+        boolean remove(Object value) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i].equals(value)) {
+                    System.arraycopy(elements, i + 1, elements, i, size - i - 1);
+                    elements[--size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private LinearProbingTable table;
+    private int nKeys;
+    private int nValues;
+
+    public MultimapArrayBased() {
+        this(DEFAULT_EXPECTED_KEYS);
+    }
+
+    /**
+     * Allocates enough memory for {@code expectedKeys} keys, so that no resize happens before that.
+     */
+    public MultimapArrayBased(int expectedKeys) {
+        table = new LinearProbingTable(Hashing.capacityFor(expectedKeys, LOAD_THRESHOLD), true);
+    }
+
+    /**
+     * @return the number of (key, value) pairs
+     */
+    public int size() {
+        return nValues;
+    }
+
+    public int keyCount() {
+        return nKeys;
+    }
+
+    public boolean isEmpty() {
+        return nValues == 0;
+    }
+
+    private Values valuesOf(Object key) {
+        final int slot = key == null ? -1 : table.findSlotWithKey(key, LinearProbingTable.computeHashCode(key));
+        return slot >= 0 ? (Values) table.values[slot] : null;
+    }
+
+    public boolean containsKey(K key) {
+        return valuesOf(key) != null;
+    }
+
+    public boolean contains(K key, V value) {
+        final Values values = valuesOf(key);
+        if (values != null) {
+            for (int i = 0; i < values.size; i++) {
+                if (values.elements[i].equals(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return an unmodifiable view of the values of the key, in insertion order; empty if the key is not contained.
+     * The view reflects later additions to the key but not its removal.
+     */
+    public List<V> get(K key) {
+        final Values values = valuesOf(key);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        return new AbstractList<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public V get(int index) {
+                if (index < 0 || index >= values.size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return (V) values.elements[index];
+            }
+
+            @Override
+            public int size() {
+                return values.size;
+            }
+        };
+    }
+
+    /**
+     * Appends the value to the values of the key, even if it is already one of them. Null values are not allowed.
+     */
+    public void add(K key, V value) {
+        Objects.requireNonNull(value);
+        final int hashCode = LinearProbingTable.computeHashCode(key);
+        final int slot = table.findSlotWithKey(key, hashCode);
+        final Values values;
+        if (slot >= 0) {
+            values = (Values) table.values[slot];
+        } else {
+            ++nKeys;
+            if (Double.compare((double) nKeys / table.capacity, LOAD_THRESHOLD) > 0) {
+                resizeMemory();
+            }
+            values = new Values();
+            table.insertAbsent(key, values, hashCode);
+        }
+        values.add(value);
+        ++nValues;
+    }
+
+    private void resizeMemory() {
+        if (table.capacity >= Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final LinearProbingTable oldTable = table;
+        table = new LinearProbingTable(oldTable.capacity * 2, true);
+        table.insertAll(oldTable);
+    }
+
+    /**
+     * Removes the first occurrence of the value from the values of the key; the key goes when its last value does.
+     *
+     * @return whether the value was found
+     */
+    public boolean remove(K key, V value) {
+        if (key == null) {
+            return false;
+        }
+        final int slot = table.findSlotWithKey(key, LinearProbingTable.computeHashCode(key));
+        if (slot < 0 || !((Values) table.values[slot]).remove(value)) {
+            return false;
+        }
+        --nValues;
+        if (((Values) table.values[slot]).size == 0) {
+            table.shiftBackInto(slot);
+            --nKeys;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the key with all its values; if the key is not contained, nothing is done.
+     */
+    public void removeAll(K key) {
+        final int slot = key == null ? -1 : table.findSlotWithKey(key, LinearProbingTable.computeHashCode(key));
+        if (slot >= 0) {
+            nValues -= ((Values) table.values[slot]).size;
+            table.shiftBackInto(slot);
+            --nKeys;
+        }
+    }
+
+    /**
+     * Calls the action for every (key, value) pair: keys in no particular order, the values of a key in insertion
+     * order. The multimap must not be modified by the action.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int slot = 0; slot < table.capacity; slot++) {
+            if (table.keys[slot] != null) {
+                final Values values = (Values) table.values[slot];
+                for (int i = 0; i < values.size; i++) {
+                    action.accept((K) table.keys[slot], (V) values.elements[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package map;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map: {@link PersistentHashMap#assoc(Object, Object)} and
+ * {@link PersistentHashMap#dissoc(Object)} return a new version and leave this one untouched, so a reader holding a
+ * version always sees a consistent snapshot without any locking or copying.
+ * <br>
+ * The map is a hash array mapped trie (HAMT): every level consumes 5 bits of the (mixed) hash code of a key, so a node
+ * has up to 32 children. A node does not allocate 32 slots but only one per present child; two bitmaps tell which of
+ * the 32 positions hold an entry stored inline and which hold a sub node, and the position of a child in the compact
+ * array is the number of set bits below its own ({@link Integer#bitCount(int)}). Keys whose full hash codes are equal
+ * end up in a collision node that is searched linearly.
+ * <br>
+ * An update copies only the nodes on the path from the root to the changed entry (at most 7 levels of at most 64
+ * references) and shares all others with the previous version, so publishing a new version after a handful of updates
+ * costs a few kilobytes, no matter how large the map is. Removal keeps the trie canonical: a sub node that is left with
+ * a single entry is inlined into its parent, so that the trie of a map does not depend on its history.
+ * <br>
+ * For building a map with many updates, {@link PersistentHashMap#asTransient()} returns a mutable builder whose updates
+ * modify the nodes it created itself in place instead of copying them again for every update.
+ * Null keys and values are not allowed.
+ *
+ * <ul>
+ *     <li>Optional&lt;V&gt; get(K key) in O(log32 n)</li>
+ *     <li>PersistentHashMap&lt;K, V&gt; assoc(K key, V value) in O(log32 n)</li>
+ *     <li>PersistentHashMap&lt;K, V&gt; dissoc(K key) in O(log32 n)</li>
+ * </ul>
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+    private static final Object NOT_FOUND = new Object();
+
+    private static final PersistentHashMap<?, ?> EMPTY =
+        new PersistentHashMap<>(new BitmapNode(null, 0, 0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the value of the key inside an Optional, or an empty Optional if the key is null or not contained
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        final Object value = root.find(key, hash(key), 0);
+        return value == NOT_FOUND ? Optional.empty() : Optional.of((V) value);
+    }
+
+    public boolean contains(K key) {
+        return key != null && root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    /**
+     * @return a version that maps the key to the value; this version if it already did
+     */
+    public PersistentHashMap<K, V> assoc(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        final Change change = new Change();
+        final Node newRoot = root.assoc(null, key, value, hash(key), 0, change);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, change.sizeChanged ? size + 1 : size);
+    }
+
+    /**
+     * @return a version without the key; this version if the key is null or not contained
+     */
+    public PersistentHashMap<K, V> dissoc(K key) {
+        if (key == null) {
+            return this;
+        }
+        final Node newRoot = root.dissoc(null, key, hash(key), 0, new Change());
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Calls the action for every entry, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach((key, value) -> action.accept((K) key, (V) value));
+    }
+
+    /**
+     * @return a mutable builder that starts from this version; this version is not affected by its updates
+     */
+    public Transient<K, V> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    /**
+     * A mutable view for batch updates. Every node carries the token of the transient that created it (persistent
+     * versions use none), and a transient only modifies nodes with its own token in place: all nodes it shares with
+     * persistent versions are copied on first write, as in the persistent map, but only once.
+     * <br>
+     * {@link Transient#persistent()} ends the batch; the transient must not be used afterwards, since its nodes now
+     * belong to an immutable version. A transient must not be shared between threads.
+     */
+    public static final class Transient<K, V> {
+
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Transient(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        private void throwIfPersistent() {
+            if (owner == null) {
+                throw new IllegalStateException("The transient was already turned into a persistent map.");
+            }
+        }
+
+        public int size() {
+            throwIfPersistent();
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Optional<V> get(K key) {
+            throwIfPersistent();
+            if (key == null) {
+                return Optional.empty();
+            }
+            final Object value = root.find(key, hash(key), 0);
+            return value == NOT_FOUND ? Optional.empty() : Optional.of((V) value);
+        }
+
+        public boolean contains(K key) {
+            throwIfPersistent();
+            return key != null && root.find(key, hash(key), 0) != NOT_FOUND;
+        }
+
+        public Transient<K, V> assoc(K key, V value) {
+            throwIfPersistent();
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            final Change change = new Change();
+            root = root.assoc(owner, key, value, hash(key), 0, change);
+            if (change.sizeChanged) {
+                ++size;
+            }
+            return this;
+        }
+
+        public Transient<K, V> dissoc(K key) {
+            throwIfPersistent();
+            if (key != null) {
+                final Change change = new Change();
+                root = root.dissoc(owner, key, hash(key), 0, change);
+                if (change.sizeChanged) {
+                    --size;
+                }
+            }
+            return this;
+        }
+
+        public PersistentHashMap<K, V> persistent() {
+            throwIfPersistent();
+            owner = null;
+            return new PersistentHashMap<>(root, size);
+        }
+    }
+
+    private static int hash(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    private static int bitAt(int hash, int shift) {
+        return 1 << ((hash >>> shift) & LEVEL_MASK);
+    }
+
+    /**
+     * Whether an update added or removed an entry (as opposed to replacing a value or finding nothing to remove).
+     */
+    private static final class Change {
+        boolean sizeChanged;
+    }
+
+    private abstract static class Node {
+        // the transient that may modify this node in place; null for nodes of persistent versions
+        final Object owner;
+
+        Node(Object owner) {
+            this.owner = owner;
+        }
+
+        boolean isEditableBy(Object editor) {
+            return editor != null && editor == owner;
+        }
+
+        /**
+         * @return the value of the key, or NOT_FOUND
+         */
+        abstract Object find(Object key, int hash, int shift);
+
+        /**
+         * @return this node if nothing changed, else the updated node (this node itself if it is editable)
+         */
+        abstract Node assoc(Object editor, Object key, Object value, int hash, int shift, Change change);
+
+        abstract Node dissoc(Object editor, Object key, int hash, int shift, Change change);
+
+        abstract boolean hasSingleEntry();
+
+        abstract Object singleKey();
+
+        abstract Object singleValue();
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * The array holds the inline entries as key-value pairs first, then the sub nodes, each group in bit order.
+     */
+    private static final class BitmapNode extends Node {
+        private int dataMap;
+        private int nodeMap;
+        private Object[] array;
+
+        BitmapNode(Object owner, int dataMap, int nodeMap, Object[] array) {
+            super(owner);
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+        }
+
+        private int dataIndex(int bit) {
+            return 2 * Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return 2 * Integer.bitCount(dataMap) + Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private BitmapNode editableCopy(Object editor) {
+            return isEditableBy(editor) ? this : new BitmapNode(editor, dataMap, nodeMap, array.clone());
+        }
+
+        private BitmapNode with(Object editor, int newDataMap, int newNodeMap, Object[] newArray) {
+            if (!isEditableBy(editor)) {
+                return new BitmapNode(editor, newDataMap, newNodeMap, newArray);
+            }
+            dataMap = newDataMap;
+            nodeMap = newNodeMap;
+            array = newArray;
+            return this;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            final int bit = bitAt(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int i = dataIndex(bit);
+                return array[i].equals(key) ? array[i + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return ((Node) array[nodeIndex(bit)]).find(key, hash, shift + BITS_PER_LEVEL);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(Object editor, Object key, Object value, int hash, int shift, Change change) {
+            final int bit = bitAt(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int i = dataIndex(bit);
+                final Object existingKey = array[i];
+                if (existingKey.equals(key)) {
+                    if (array[i + 1] == value) {
+                        return this;
+                    }
+                    final BitmapNode node = editableCopy(editor);
+                    node.array[i + 1] = value;
+                    return node;
+                }
+                change.sizeChanged = true;
+                final Node subNode = mergeTwo(
+                    editor, existingKey, array[i + 1], hash(existingKey), key, value, hash, shift + BITS_PER_LEVEL
+                );
+                return with(editor, dataMap ^ bit, nodeMap | bit, replaceDataByNode(i, bit, subNode));
+            }
+            if ((nodeMap & bit) != 0) {
+                final int j = nodeIndex(bit);
+                final Node subNode = (Node) array[j];
+                final Node newSubNode = subNode.assoc(editor, key, value, hash, shift + BITS_PER_LEVEL, change);
+                if (newSubNode == subNode) {
+                    return this;
+                }
+                final BitmapNode node = editableCopy(editor);
+                node.array[j] = newSubNode;
+                return node;
+            }
+            change.sizeChanged = true;
+            final int i = dataIndex(bit);
+            final Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            System.arraycopy(array, i, newArray, i + 2, array.length - i);
+            return with(editor, dataMap | bit, nodeMap, newArray);
+        }
+
+        @Override
+        Node dissoc(Object editor, Object key, int hash, int shift, Change change) {
+            final int bit = bitAt(hash, shift);
+            if ((dataMap & bit) != 0) {
+                final int i = dataIndex(bit);
+                if (!array[i].equals(key)) {
+                    return this;
+                }
+                change.sizeChanged = true;
+                final Object[] newArray = new Object[array.length - 2];
+                System.arraycopy(array, 0, newArray, 0, i);
+                System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+                return with(editor, dataMap ^ bit, nodeMap, newArray);
+            }
+            if ((nodeMap & bit) != 0) {
+                final int j = nodeIndex(bit);
+                final Node subNode = (Node) array[j];
+                final Node newSubNode = subNode.dissoc(editor, key, hash, shift + BITS_PER_LEVEL, change);
+                if (newSubNode == subNode) {
+                    return this;
+                }
+                if (newSubNode.hasSingleEntry()) {
+                    final Object[] newArray =
+                        replaceNodeByData(j, bit, newSubNode.singleKey(), newSubNode.singleValue());
+                    return with(editor, dataMap | bit, nodeMap ^ bit, newArray);
+                }
+                final BitmapNode node = editableCopy(editor);
+                node.array[j] = newSubNode;
+                return node;
+            }
+            return this;
+        }
+
+        // the entry at data index i moves into a sub node, which takes its place among the sub nodes
+        private Object[] replaceDataByNode(int i, int bit, Node subNode) {
+            final Object[] newArray = new Object[array.length - 1];
+            final int j = 2 * (Integer.bitCount(dataMap) - 1) + Integer.bitCount(nodeMap & (bit - 1));
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, j - i);
+            newArray[j] = subNode;
+            System.arraycopy(array, j + 2, newArray, j + 1, array.length - j - 2);
+            return newArray;
+        }
+
+        // the inverse of replaceDataByNode: the sub node at index j is replaced by its single entry
+        private Object[] replaceNodeByData(int j, int bit, Object key, Object value) {
+            final Object[] newArray = new Object[array.length + 1];
+            final int i = dataIndex(bit);
+            System.arraycopy(array, 0, newArray, 0, i);
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            System.arraycopy(array, i, newArray, i + 2, j - i);
+            System.arraycopy(array, j + 1, newArray, j + 2, array.length - j - 1);
+            return newArray;
+        }
+
+        @Override
+        boolean hasSingleEntry() {
+            return nodeMap == 0 && Integer.bitCount(dataMap) == 1;
+        }
+
+        @Override
+        Object singleKey() {
+            return array[0];
+        }
+
+        @Override
+        Object singleValue() {
+            return array[1];
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            final int nData = 2 * Integer.bitCount(dataMap);
+            for (int i = 0; i < nData; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+            for (int j = nData; j < array.length; j++) {
+                ((Node) array[j]).forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Entries whose keys have the same full hash code, as key-value pairs; always at least two of them.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private Object[] array;
+
+        CollisionNode(Object owner, int hash, Object[] array) {
+            super(owner);
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private CollisionNode with(Object editor, Object[] newArray) {
+            if (!isEditableBy(editor)) {
+                return new CollisionNode(editor, hash, newArray);
+            }
+            array = newArray;
+            return this;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            final int i = hash == this.hash ? indexOf(key) : -1;
+            return i >= 0 ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(Object editor, Object key, Object value, int hash, int shift, Change change) {
+            if (hash != this.hash) {
+                // the hash codes share the path so far: continue the trie with this node as one of the children
+                final BitmapNode parent = new BitmapNode(editor, 0, bitAt(this.hash, shift), new Object[]{this});
+                return parent.assoc(editor, key, value, hash, shift, change);
+            }
+            final int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                final Object[] newArray = isEditableBy(editor) ? array : array.clone();
+                newArray[i + 1] = value;
+                return with(editor, newArray);
+            }
+            change.sizeChanged = true;
+            final Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            return with(editor, newArray);
+        }
+
+        @Override
+        Node dissoc(Object editor, Object key, int hash, int shift, Change change) {
+            final int i = hash == this.hash ? indexOf(key) : -1;
+            if (i < 0) {
+                return this;
+            }
+            change.sizeChanged = true;
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return with(editor, newArray);
+        }
+
+        @Override
+        boolean hasSingleEntry() {
+            return array.length == 2;
+        }
+
+        @Override
+        Object singleKey() {
+            return array[0];
+        }
+
+        @Override
+        Object singleValue() {
+            return array[1];
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Creates the node at the given level that holds the two entries, nesting further while their hash codes agree.
+     */
+    private static Node mergeTwo(
+        Object editor, Object key1, Object value1, int hash1, Object key2, Object value2, int hash2, int shift
+    ) {
+        if (hash1 == hash2) {
+            return new CollisionNode(editor, hash1, new Object[]{key1, value1, key2, value2});
+        }
+        final int bit1 = bitAt(hash1, shift);
+        final int bit2 = bitAt(hash2, shift);
+        if (bit1 == bit2) {
+            final Node subNode = mergeTwo(editor, key1, value1, hash1, key2, value2, hash2, shift + BITS_PER_LEVEL);
+            return new BitmapNode(editor, 0, bit1, new Object[]{subNode});
+        }
+        final Object[] array = Integer.compareUnsigned(bit1, bit2) < 0
+            ? new Object[]{key1, value1, key2, value2}
+            : new Object[]{key2, value2, key1, value1};
+        return new BitmapNode(editor, bit1 | bit2, 0, array);
+    }
+}
@@ -0,0 +1,252 @@
+package map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A hash map with the API of {@link HashMapArrayBased} in the layout of Google's "Swiss tables": next to the keys and
+ * values there is one control byte per slot, which is either {@link SwissHashMap#EMPTY}, {@link SwissHashMap#DELETED}
+ * or, for a used slot, the lowest 7 bits of the key's hash ("h2"). The other bits ("h1") select where probing starts.
+ * <br>
+ * Probing looks at groups of 8 control bytes, read as one long, and finds all slots of the group whose control byte
+ * equals h2 with a few arithmetic operations (SWAR, "SIMD within a register"). Only those slots - on average far less
+ * than one per lookup for a missing key - are compared with {@link Object#equals(Object)}; a group with an empty slot
+ * ends the search. So lookups touch one or two cache lines of control bytes and rarely a key, even at a load of 7/8.
+ * <br>
+ * Groups start at any slot, so the first 8 control bytes are mirrored behind the last one and a group read never
+ * wraps around. Groups are probed in triangular steps (8, 16, 24, ... slots ahead), which visits every group once for
+ * power-of-two capacities.
+ * <br>
+ * Removal leaves a {@link SwissHashMap#DELETED} marker (tombstone) unless no probe sequence can have passed the slot;
+ * tombstones count against the load until the next rehash drops them.
+ *
+ * <ul>
+ *     <li>V get(K key) in O(1)</li>
+ *     <li>boolean contains(K key) in O(1)</li>
+ *     <li>void add(K key, V value) in O(1) amortized</li>
+ *     <li>V remove(K key) in O(1)</li>
+ * </ul>
+ */
+public class SwissHashMap<K, V> {
+
+    static final byte EMPTY = (byte) 0x80;
+    static final byte DELETED = (byte) 0xFE;
+    private static final int GROUP_WIDTH = 8;
+    private static final double LOAD_THRESHOLD = 0.875;
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // 'capacity' control bytes followed by a copy of the first GROUP_WIDTH of them
+    private byte[] control;
+    private Object[] keys;
+    private Object[] values;
+    private int capacity;
+    private int nElements;
+    private int nDeleted;
+
+    public SwissHashMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocates enough memory for {@code expectedSize} entries, so that no resize happens before that.
+     */
+    public SwissHashMap(int expectedSize) {
+        allocateNewMemory(Math.max(2 * GROUP_WIDTH, Hashing.capacityFor(expectedSize, LOAD_THRESHOLD)));
+    }
+
+    public int size() {
+        return nElements;
+    }
+
+    private void allocateNewMemory(int newCapacity) {
+        capacity = newCapacity;
+        control = new byte[newCapacity + GROUP_WIDTH];
+        Arrays.fill(control, EMPTY);
+        keys = new Object[newCapacity];
+        values = new Object[newCapacity];
+        nDeleted = 0;
+    }
+
+    private static int computeHashCode(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    private static byte h2(int hashCode) {
+        return (byte) (hashCode & 0x7F);
+    }
+
+    private int h1(int hashCode) {
+        return (hashCode >>> 7) & (capacity - 1);
+    }
+
+    private long group(int position) {
+        return (long) LONG_VIEW.get(control, position);
+    }
+
+    /**
+     * A bit mask with the highest bit of every byte set whose byte equals h2. The classic "has zero byte" trick on
+     * {@code group ^ (h2 * 0x0101...)}: it can report a false positive next to a true match, which the key comparison
+     * catches anyway.
+     */
+    private static long matchByte(long group, byte h2) {
+        final long x = group ^ (LSBS * (h2 & 0xFF));
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * EMPTY is the only control byte with the highest bit set and bit 1 unset.
+     */
+    private static long matchEmpty(long group) {
+        return group & ~(group << 6) & MSBS;
+    }
+
+    /**
+     * EMPTY and DELETED are the only control bytes with the highest bit set and bit 0 unset.
+     */
+    private static long matchEmptyOrDeleted(long group) {
+        return group & ~(group << 7) & MSBS;
+    }
+
+    // the slot of the lowest matching byte of a group mask
+    private int slotOf(int position, long mask) {
+        return (position + (Long.numberOfTrailingZeros(mask) >>> 3)) & (capacity - 1);
+    }
+
+    private void setControl(int slot, byte value) {
+        control[slot] = value;
+        if (slot < GROUP_WIDTH) {
+            control[capacity + slot] = value;
+        }
+    }
+
+    /**
+     * Returns the slot of the key, or -1 if the key is not contained.
+     */
+    private int findSlotWithKey(Object key, int hashCode) {
+        final byte h2 = h2(hashCode);
+        int position = h1(hashCode);
+        for (int step = GROUP_WIDTH; ; step += GROUP_WIDTH) {
+            final long group = group(position);
+            for (long matches = matchByte(group, h2); matches != 0; matches &= matches - 1) {
+                final int slot = slotOf(position, matches);
+                if (keys[slot].equals(key)) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(group) != 0) {
+                return -1;
+            }
+            position = (position + step) & (capacity - 1);
+        }
+    }
+
+    private int findFreeSlot(int hashCode) {
+        int position = h1(hashCode);
+        for (int step = GROUP_WIDTH; ; step += GROUP_WIDTH) {
+            final long free = matchEmptyOrDeleted(group(position));
+            if (free != 0) {
+                return slotOf(position, free);
+            }
+            position = (position + step) & (capacity - 1);
+        }
+    }
+
+    /**
+     * if the key was previously assigned to another value, that value is replaced (no duplicates allowed in this map)
+     */
+    public void add(K key, V value) {
+        final int hashCode = computeHashCode(key);
+        final int existing = findSlotWithKey(key, hashCode);
+        if (existing >= 0) {
+            values[existing] = value;
+            return;
+        }
+        if (resizeNeeded()) {
+            resizeMemory();
+        }
+        final int slot = findFreeSlot(hashCode);
+        if (control[slot] == DELETED) {
+            --nDeleted;
+        }
+        setControl(slot, h2(hashCode));
+        keys[slot] = key;
+        values[slot] = value;
+        ++nElements;
+    }
+
+    // tombstones lengthen probe sequences just like entries, so they count
+    private boolean resizeNeeded() {
+        return Double.compare((double) (nElements + nDeleted + 1) / capacity, LOAD_THRESHOLD) > 0;
+    }
+
+    /**
+     * Doubles the capacity, or - if mostly tombstones fill the table - rehashes at the same capacity to drop them.
+     */
+    private void resizeMemory() {
+        final int newCapacity = nElements + 1 <= capacity * LOAD_THRESHOLD / 2 ? capacity : capacity * 2;
+        if (newCapacity > Hashing.MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond %s slots.".formatted(Hashing.MAX_CAPACITY));
+        }
+        final byte[] oldControl = control;
+        final Object[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int oldCapacity = capacity;
+        allocateNewMemory(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            if (oldControl[i] >= 0) {
+                final int hashCode = computeHashCode(oldKeys[i]);
+                final int slot = findFreeSlot(hashCode);
+                setControl(slot, h2(hashCode));
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * @param key if this hash map contains the key, the value is returned  inside an Optional;
+     *           if not, an empty Optional is returned; if the key is null, an empty Optional is returned
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<V> get(K key) {
+        final int slot = key == null ? -1 : findSlotWithKey(key, computeHashCode(key));
+        return slot >= 0 ? Optional.of((V) values[slot]) : Optional.empty();
+    }
+
+    public boolean contains(K key) {
+        return key != null && findSlotWithKey(key, computeHashCode(key)) >= 0;
+    }
+
+    /**
+     * if the key is null or not contained in the hash map, nothing is done
+     */
+    public void remove(K key) {
+        final int slot = key == null ? -1 : findSlotWithKey(key, computeHashCode(key));
+        if (slot < 0) {
+            return;
+        }
+        // if the empty slots around this one are less than a group apart, every group containing this slot has an
+        // empty slot, so no probe sequence ever continued past it and it can become empty again
+        final long emptyBefore = matchEmpty(group((slot - GROUP_WIDTH) & (capacity - 1)));
+        final long emptyAfter = matchEmpty(group(slot));
+        final boolean wasNeverFull = emptyBefore != 0 && emptyAfter != 0
+            && (Long.numberOfLeadingZeros(emptyBefore) >>> 3) + (Long.numberOfTrailingZeros(emptyAfter) >>> 3) < GROUP_WIDTH;
+        if (wasNeverFull) {
+            setControl(slot, EMPTY);
+        } else {
+            setControl(slot, DELETED);
+            ++nDeleted;
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        --nElements;
+    }
+
+}
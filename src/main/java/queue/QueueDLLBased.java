@@ -1,11 +1,12 @@
 package queue;
 
-import list.DoublyLinkedList;
+import list.UnrolledLinkedList;
 
 import java.util.List;
 
 /**
- * A Queue data structure that is based on a doubly linked list.
+ * A Queue data structure that is based on a doubly linked list, an unrolled one ({@link UnrolledLinkedList}) whose
+ * nodes hold blocks of elements, so that enqueueing does not allocate a node per element.
  * <br>
  * <ul>
  *     <li>enqueue(T value) in O(1)</li>
@@ -16,10 +17,10 @@ import java.util.List;
  */
 public class QueueDLLBased<T> {
 
-    private final DoublyLinkedList<T> memory;
+    private final UnrolledLinkedList<T> memory;
 
     public QueueDLLBased() {
-        memory = new DoublyLinkedList<>();
+        memory = new UnrolledLinkedList<>();
     }
 
     public void enqueue(T value) {
@@ -1,11 +1,12 @@
 package stack;
 
-import list.DoublyLinkedList;
+import list.UnrolledLinkedList;
 
 import java.util.EmptyStackException;
 
 /**
- * A stack data structure based on a doubly-linked list. No capacity limit is imposed (except physical memory).
+ * A stack data structure based on a doubly-linked list, an unrolled one ({@link UnrolledLinkedList}) whose nodes hold
+ * blocks of elements. No capacity limit is imposed (except physical memory).
  * <br>
  * <ul>
  *     <li>void push(T value) in O(1)</li>
@@ -17,10 +18,10 @@ import java.util.EmptyStackException;
  */
 public class StackDLLBased<T> {
 
-    private final DoublyLinkedList<T> memory;
+    private final UnrolledLinkedList<T> memory;
 
     public StackDLLBased() {
-        memory = new DoublyLinkedList<>();
+        memory = new UnrolledLinkedList<>();
     }
 
     public void push(T value) {
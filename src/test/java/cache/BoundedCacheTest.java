@@ -0,0 +1,214 @@
+package cache;
+
+import cache.BoundedCache.EvictionPolicy;
+import cache.BoundedCache.Settings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private static final class FakeTicker {
+        long nanos;
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    void never_exceeds_maximum_size(EvictionPolicy policy) {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(Settings.of(100, policy));
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            int key = random.nextInt(1_000);
+            if (cache.get(key).isEmpty()) {
+                cache.add(key, key * 2);
+            }
+            assertTrue(cache.size() <= 100);
+        }
+
+        for (int key = 0; key < 1_000; key++) {
+            Optional<Integer> value = cache.get(key);
+            assertTrue(value.isEmpty() || value.get() == key * 2);
+        }
+        assertEquals(100, cache.size());
+        CacheStats stats = cache.stats();
+        assertEquals(11_000, stats.requestCount());
+        assertTrue(stats.evictionCount() > 0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    void add_get_replace_remove(EvictionPolicy policy) {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(Settings.of(10, policy));
+        cache.add("Enno", 1);
+        cache.add("Max", 2);
+        cache.add("Enno", 3);
+        cache.remove("Max");
+        cache.remove("Moritz");
+
+        assertEquals(Optional.of(3), cache.get("Enno"));
+        assertEquals(Optional.empty(), cache.get("Max"));
+        assertFalse(cache.contains("Max"));
+        assertEquals(1, cache.size());
+        assertEquals(new CacheStats(1, 1, 0, 0), cache.stats());
+    }
+
+    @Test
+    void lru_evicts_least_recently_used() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(Settings.of(2, EvictionPolicy.LRU));
+        cache.add("Enno", 1);
+        cache.add("Max", 2);
+        cache.get("Enno");
+        cache.add("Moritz", 3);
+
+        assertTrue(cache.contains("Enno"));
+        assertFalse(cache.contains("Max"));
+        assertTrue(cache.contains("Moritz"));
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    @Test
+    void lfu_evicts_least_frequently_used() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(Settings.of(2, EvictionPolicy.LFU));
+        cache.add("Enno", 1);
+        cache.add("Max", 2);
+        cache.get("Enno");
+        cache.get("Enno");
+        cache.get("Max");
+        cache.add("Moritz", 3);
+        cache.add("Cori", 4);
+
+        // Max has a lower count than Enno, and then the new Moritz has the lowest count
+        assertTrue(cache.contains("Enno"));
+        assertFalse(cache.contains("Max"));
+        assertFalse(cache.contains("Moritz"));
+        assertTrue(cache.contains("Cori"));
+    }
+
+    @Test
+    void windowTinyLfu_keeps_hot_keys_during_a_scan() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(Settings.of(100, EvictionPolicy.WINDOW_TINY_LFU));
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                if (cache.get(hot).isEmpty()) {
+                    cache.add(hot, hot);
+                }
+            }
+        }
+        // every key of the scan is used once only; five times the capacity, but short enough that the aging of the
+        // sketch does not forget the hot keys yet
+        for (int cold = 1_000; cold < 1_500; cold++) {
+            cache.add(cold, cold);
+        }
+
+        for (int hot = 0; hot < 50; hot++) {
+            assertTrue(cache.contains(hot));
+        }
+    }
+
+    @Test
+    void lru_loses_hot_keys_during_a_scan() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(Settings.of(100, EvictionPolicy.LRU));
+        for (int hot = 0; hot < 50; hot++) {
+            cache.add(hot, hot);
+        }
+        for (int cold = 1_000; cold < 1_100; cold++) {
+            cache.add(cold, cold);
+        }
+
+        for (int hot = 0; hot < 50; hot++) {
+            assertFalse(cache.contains(hot));
+        }
+    }
+
+    @Test
+    void windowTinyLfu_has_higher_hit_rate_than_lru_for_skewed_access() {
+        double lru = zipfHitRate(EvictionPolicy.LRU);
+        double tinyLfu = zipfHitRate(EvictionPolicy.WINDOW_TINY_LFU);
+
+        assertTrue(tinyLfu > lru, "W-TinyLFU %s vs LRU %s".formatted(tinyLfu, lru));
+    }
+
+    private static double zipfHitRate(EvictionPolicy policy) {
+        int nKeys = 10_000;
+        double[] cumulative = new double[nKeys];
+        double sum = 0;
+        for (int k = 0; k < nKeys; k++) {
+            sum += 1.0 / (k + 1);
+            cumulative[k] = sum;
+        }
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(Settings.of(200, policy));
+        Random random = new Random(3);
+        for (int i = 0; i < 200_000; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            int key = index >= 0 ? index : -index - 1;
+            // interleave a scan of keys that are never requested again
+            int requested = i % 3 == 0 ? nKeys + i : key;
+            if (cache.get(requested).isEmpty()) {
+                cache.add(requested, requested);
+            }
+        }
+        return cache.stats().hitRate();
+    }
+
+    @Test
+    void expire_after_write() {
+        FakeTicker ticker = new FakeTicker();
+        Settings settings = Settings.of(10, EvictionPolicy.LRU).withExpireAfterWrite(Duration.ofSeconds(10));
+        BoundedCache<String, Integer> cache = new BoundedCache<>(settings, () -> ticker.nanos);
+        cache.add("Enno", 1);
+        ticker.advance(Duration.ofSeconds(6));
+        cache.add("Max", 2);
+        cache.get("Enno"); // reading does not extend the lifetime
+        ticker.advance(Duration.ofSeconds(5));
+
+        assertEquals(Optional.empty(), cache.get("Enno"));
+        assertEquals(Optional.of(2), cache.get("Max"));
+        assertEquals(1, cache.stats().expirationCount());
+
+        cache.add("Max", 3); // replacing does
+        ticker.advance(Duration.ofSeconds(9));
+        assertEquals(Optional.of(3), cache.get("Max"));
+    }
+
+    @Test
+    void expire_after_access() {
+        FakeTicker ticker = new FakeTicker();
+        Settings settings = Settings.of(10, EvictionPolicy.WINDOW_TINY_LFU).withExpireAfterAccess(Duration.ofSeconds(10));
+        BoundedCache<String, Integer> cache = new BoundedCache<>(settings, () -> ticker.nanos);
+        cache.add("Enno", 1);
+        cache.add("Max", 2);
+        ticker.advance(Duration.ofSeconds(6));
+        cache.get("Enno");
+        ticker.advance(Duration.ofSeconds(6));
+
+        cache.cleanUp();
+        assertEquals(1, cache.size());
+        assertEquals(Optional.of(1), cache.get("Enno"));
+        assertEquals(1, cache.stats().expirationCount());
+    }
+
+    @Test
+    void invalid_settings_throw() {
+        assertThrows(IllegalArgumentException.class, () -> Settings.of(0, EvictionPolicy.LRU));
+        assertThrows(IllegalArgumentException.class,
+            () -> Settings.of(1, EvictionPolicy.LRU).withExpireAfterWrite(Duration.ZERO));
+        assertThrows(NullPointerException.class, () -> Settings.of(1, null));
+    }
+
+    @Test
+    void stats_hit_rate() {
+        assertEquals(1, new CacheStats(0, 0, 0, 0).hitRate());
+        assertEquals(0.75, new CacheStats(3, 1, 0, 0).hitRate());
+    }
+}
@@ -0,0 +1,52 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencySketchTest {
+
+    @Test
+    void counts_and_saturates() {
+        FrequencySketch sketch = new FrequencySketch(1_000);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("Enno");
+        }
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("Max");
+        }
+
+        assertTrue(sketch.frequency("Enno") >= 5);
+        assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency("Max"));
+        assertEquals(0, sketch.frequency("Moritz"));
+    }
+
+    @Test
+    void estimates_are_never_too_low() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        for (int key = 0; key < 500; key++) {
+            for (int i = 0; i < key % 10; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        for (int key = 0; key < 500; key++) {
+            assertTrue(sketch.frequency(key) >= key % 10);
+        }
+    }
+
+    @Test
+    void counters_are_halved_after_sample_size() {
+        FrequencySketch sketch = new FrequencySketch(10);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("Enno");
+        }
+        int before = sketch.frequency("Enno");
+        // 10 * maximumSize increments in total trigger the aging
+        for (int key = 0; key < 92; key++) {
+            sketch.increment(key);
+        }
+
+        assertTrue(sketch.frequency("Enno") <= before / 2 + 1);
+    }
+}
@@ -0,0 +1,141 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentUnweightedGraphTest {
+
+    @Test
+    void add_duplicate_throws() {
+        ConcurrentUnweightedGraph<String> g = new ConcurrentUnweightedGraph<>();
+        g.addNode("Enno");
+
+        assertThrows(IllegalArgumentException.class, () -> g.addNode("Enno"));
+    }
+
+    @Test
+    void edge_to_unknown_node_throws() {
+        ConcurrentUnweightedGraph<String> g = new ConcurrentUnweightedGraph<>();
+        g.addNode("Enno");
+
+        assertThrows(IllegalArgumentException.class, () -> g.addDirectedEdge("Enno", "Cori"));
+        assertThrows(IllegalArgumentException.class, () -> g.addDirectedEdge("Cori", "Enno"));
+        assertThrows(IllegalArgumentException.class, () -> g.neighbors("Cori"));
+    }
+
+    @Test
+    void shortest_path_works_like_unweighted_graph() {
+        ConcurrentUnweightedGraph<String> g = new ConcurrentUnweightedGraph<>();
+        g.addNodes(List.of("Cori", "Enno", "Max", "Moritz"));
+        g.addUndirectedEdge("Cori", "Enno");
+        g.addUndirectedEdge("Enno", "Max");
+        g.addDirectedEdge("Max", "Moritz");
+
+        assertEquals(List.of("Cori", "Enno", "Max", "Moritz"), g.shortestPath("Cori", "Moritz"));
+        assertEquals(emptyList(), g.shortestPath("Moritz", "Cori"));
+        assertEquals(Set.of("Cori", "Max"), g.neighbors("Enno"));
+        assertEquals(Set.of("Enno"), g.allUpstreamNeighbors("Cori"));
+    }
+
+    @Test
+    void adding_an_existing_edge_has_no_effect() {
+        ConcurrentUnweightedGraph<Integer> g = new ConcurrentUnweightedGraph<>();
+        g.addNodes(List.of(0, 1));
+        g.addDirectedEdge(0, 1);
+        g.addDirectedEdge(0, 1);
+
+        assertEquals(1, g.neighbors(0).size());
+        assertEquals(1, g.edges().size());
+    }
+
+    @Test
+    void neighbors_is_a_snapshot_that_does_not_change() {
+        ConcurrentUnweightedGraph<Integer> g = new ConcurrentUnweightedGraph<>();
+        g.addNodes(List.of(0, 1, 2, 3));
+        g.addDirectedEdge(0, 1);
+        Set<Integer> before = g.neighbors(0);
+
+        g.addDirectedEdge(0, 2);
+        g.addDirectedEdge(0, 3);
+        g.removeDirectedEdge(0, 1);
+
+        assertEquals(Set.of(1), before);
+        assertEquals(Set.of(2, 3), g.neighbors(0));
+        assertThrows(UnsupportedOperationException.class, () -> before.add(2));
+    }
+
+    @Test
+    void snapshot_and_copy_contain_same_edges() {
+        ConcurrentUnweightedGraph<Integer> g = new ConcurrentUnweightedGraph<>();
+        g.addNodes(List.of(0, 1, 2));
+        g.addDirectedEdge(0, 1);
+        g.addUndirectedEdge(1, 2);
+
+        assertEquals(g.edges(), g.snapshot().edges());
+        assertEquals(g.edges(), g.copy().edges());
+        assertTrue(g.isDirected());
+    }
+
+    @Test
+    void concurrent_writers_lose_no_edges_while_readers_run_bfs() throws Exception {
+        int nNodes = 200;
+        int nWriters = 8;
+        ConcurrentUnweightedGraph<Integer> g = new ConcurrentUnweightedGraph<>();
+        for (int i = 0; i < nNodes; i++) {
+            g.addNode(i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(nWriters + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger bfsRuns = new AtomicInteger();
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < nWriters; w++) {
+            int writer = w;
+            writers.add(executor.submit(() -> {
+                start.await();
+                // every writer adds a disjoint set of edges, all writers hammer the same source nodes
+                for (int from = 0; from < nNodes; from++) {
+                    for (int to = writer; to < nNodes; to += nWriters) {
+                        g.addDirectedEdge(from, to);
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    List<Integer> path = g.bfsPath(0, nNodes - 1);
+                    assertTrue(path.isEmpty() || path.get(path.size() - 1) == nNodes - 1);
+                    bfsRuns.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < nNodes; i++) {
+            assertEquals(nNodes, g.neighbors(i).size());
+        }
+        assertTrue(bfsRuns.get() > 0);
+    }
+}
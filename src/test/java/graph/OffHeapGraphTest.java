@@ -0,0 +1,181 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGraphTest {
+
+    /*
+        0 --1--> 1 --1--> 2
+        |                 ^
+        ------- 5 --------|
+
+        3 <--> 4
+     */
+    private static OffHeapGraph exampleGraph() {
+        int[] from = {0, 1, 0, 3, 4};
+        int[] to = {1, 2, 2, 4, 3};
+        int[] weights = {1, 1, 5, 2, 2};
+        return OffHeapGraph.fromEdges(5, from, to, weights, from.length);
+    }
+
+    @Test
+    void nodes_are_zero_to_n_minus_one() {
+        OffHeapGraph g = exampleGraph();
+
+        assertEquals(5, g.size());
+        assertEquals(Set.of(0, 1, 2, 3, 4), g.nodes());
+        assertTrue(g.contains(4));
+        assertFalse(g.contains(5));
+        assertFalse(g.contains(-1));
+    }
+
+    @Test
+    void neighbors_and_weights_are_read_from_off_heap_memory() {
+        OffHeapGraph g = exampleGraph();
+
+        assertEquals(Set.of(1, 2), g.neighbors(0));
+        assertEquals(Set.of(), g.neighbors(2));
+        assertEquals(5, g.weight(0, 2));
+        assertTrue(g.hasEdge(3, 4));
+        assertFalse(g.hasEdge(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> g.weight(2, 0));
+        assertEquals(Set.of(0, 1), g.allUpstreamNeighbors(2));
+    }
+
+    @Test
+    void duplicate_edges_keep_last_weight() {
+        OffHeapGraph g = OffHeapGraph.fromEdges(2, new int[]{0, 0}, new int[]{1, 1}, new int[]{3, 7}, 2);
+
+        assertEquals(1, g.numberEdges());
+        assertEquals(7, g.weight(0, 1));
+    }
+
+    @Test
+    void invalid_input_throws() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> OffHeapGraph.fromEdges(2, new int[]{0}, new int[]{2}, new int[]{1}, 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> OffHeapGraph.fromEdges(2, new int[]{0}, new int[]{1}, new int[]{-1}, 1));
+    }
+
+    @Test
+    void graph_is_immutable() {
+        OffHeapGraph g = exampleGraph();
+
+        assertThrows(UnsupportedOperationException.class, () -> g.addNode(5));
+        assertThrows(UnsupportedOperationException.class,
+                     () -> g.addDirectedEdge(new Edge.WeightedEdge<>(0, 3, 1)));
+    }
+
+    @Test
+    void memory_footprint_counts_offsets_targets_and_weights() {
+        OffHeapGraph g = exampleGraph();
+
+        assertEquals((6 + 5 + 5) * Integer.BYTES, g.memoryFootprint());
+    }
+
+    @Test
+    void bfs_path_minimises_number_of_hops() {
+        OffHeapGraph g = exampleGraph();
+
+        assertEquals(List.of(0, 2), g.bfsPath(0, 2));
+        assertEquals(List.of(3), g.bfsPath(3, 3));
+        assertEquals(emptyList(), g.bfsPath(0, 3));
+    }
+
+    @Test
+    void shortest_path_minimises_weight() {
+        OffHeapGraph g = exampleGraph();
+
+        assertEquals(List.of(0, 1, 2), g.shortestPath(0, 2));
+        assertEquals(emptyList(), g.shortestPath(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> g.shortestPath(0, 42));
+    }
+
+    @Test
+    void shortest_path_agrees_with_weighted_graph() {
+        WeightedGraph<Integer> weighted = new WeightedGraph<>();
+        for (int i = 0; i < 6; i++) {
+            weighted.addNode(i);
+        }
+        weighted.addUndirectedEdge(0, 1, 7);
+        weighted.addUndirectedEdge(0, 2, 9);
+        weighted.addUndirectedEdge(0, 5, 14);
+        weighted.addUndirectedEdge(1, 2, 10);
+        weighted.addUndirectedEdge(1, 3, 15);
+        weighted.addUndirectedEdge(2, 3, 11);
+        weighted.addUndirectedEdge(2, 5, 2);
+        weighted.addUndirectedEdge(3, 4, 6);
+        weighted.addUndirectedEdge(4, 5, 9);
+
+        OffHeapGraph offHeap = OffHeapGraph.of(weighted);
+
+        assertEquals(weighted.shortestPath(0, 4), offHeap.shortestPath(0, 4));
+        assertEquals(weighted.edges(), offHeap.edges());
+        assertTrue(offHeap.isUndirected());
+    }
+
+    @Test
+    void topological_sort_respects_edges() {
+        /* 3 -> 1 -> 0, 3 -> 2 -> 0 */
+        OffHeapGraph g = OffHeapGraph.fromEdges(4, new int[]{3, 1, 3, 2}, new int[]{1, 0, 2, 0},
+                                                new int[]{1, 1, 1, 1}, 4);
+
+        List<Integer> sorted = g.topologicalSort();
+
+        assertEquals(4, sorted.size());
+        assertEquals(3, sorted.get(0));
+        assertEquals(0, sorted.get(3));
+    }
+
+    @Test
+    void topological_sort_of_cyclic_graph_throws() {
+        OffHeapGraph g = OffHeapGraph.fromEdges(3, new int[]{0, 1, 2}, new int[]{1, 2, 0}, new int[]{1, 1, 1}, 3);
+
+        assertThrows(IllegalStateException.class, g::topologicalSort);
+    }
+
+    @Test
+    void strongly_connected_components_agree_with_graph_implementation() {
+        /* cycle 0 -> 1 -> 2 -> 0, then 2 -> 3, cycle 3 <-> 4, and 5 alone */
+        int[] from = {0, 1, 2, 2, 3, 4};
+        int[] to = {1, 2, 0, 3, 4, 3};
+        OffHeapGraph g = OffHeapGraph.fromEdges(6, from, to, new int[]{1, 1, 1, 1, 1, 1}, from.length);
+
+        Set<Set<Integer>> expected = Set.of(Set.of(0, 1, 2), Set.of(3, 4), Set.of(5));
+        assertEquals(expected, g.stronglyConnectedComponents());
+        assertEquals(expected, g.copy().stronglyConnectedComponents());
+    }
+
+    @Test
+    void transpose_reverses_all_edges() {
+        OffHeapGraph transposed = exampleGraph().transpose();
+
+        assertEquals(Set.of(0, 1), transposed.neighbors(2));
+        assertEquals(5, transposed.weight(2, 0));
+        assertEquals(Set.of(), transposed.neighbors(0));
+    }
+
+    @Test
+    void long_path_does_not_overflow_the_stack() {
+        int n = 200_000;
+        int[] from = new int[n - 1];
+        int[] to = new int[n - 1];
+        int[] weights = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+            weights[i] = 1;
+        }
+        OffHeapGraph g = OffHeapGraph.fromEdges(n, from, to, weights, n - 1);
+
+        assertEquals(n, g.stronglyConnectedComponents().size());
+        assertEquals(n, g.shortestPath(0, n - 1).size());
+    }
+}
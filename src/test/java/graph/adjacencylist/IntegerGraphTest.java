@@ -7,6 +7,7 @@ import java.util.List;
 
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class IntegerGraphTest {
 
@@ -121,4 +122,23 @@ class IntegerGraphTest {
 
         assertEquals(List.of(0, 2, 4, 1, 3), g.dfs());
     }
-}
\ No newline at end of file
+
+    @Test
+    void from_edges_builds_adjacency_lists_in_edge_order() {
+        int[] from = {0, 2, 0, 4};
+        int[] to = {2, 1, 3, 0};
+
+        IntegerGraph g = IntegerGraph.fromEdges(5, from, to, from.length);
+
+        assertEquals(List.of(2, 3), g.neighbors(0));
+        assertEquals(List.of(1), g.neighbors(2));
+        assertEquals(List.of(), g.neighbors(3));
+        assertEquals(List.of(0, 2, 1, 3, 4), g.dfs());
+    }
+
+    @Test
+    void from_edges_with_node_out_of_range_throws() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> IntegerGraph.fromEdges(2, new int[]{0}, new int[]{2}, 1));
+    }
+}
@@ -0,0 +1,165 @@
+package graph.analytics;
+
+import graph.UnweightedGraph;
+import graph.WeightedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentralityTest {
+
+    private static UnweightedGraph<String> undirectedPath() {
+        /* a - b - c */
+        UnweightedGraph<String> g = new UnweightedGraph<>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addUndirectedEdge("a", "b");
+        g.addUndirectedEdge("b", "c");
+        return g;
+    }
+
+    @Test
+    void degree_is_normalised_by_n_minus_one() {
+        Centrality<String> centrality = new Centrality<>(undirectedPath());
+
+        assertEquals(Map.of("a", 0.5, "b", 1.0, "c", 0.5), centrality.outDegree().toMap());
+        assertEquals(Map.of("a", 0.5, "b", 1.0, "c", 0.5), centrality.inDegree().toMap());
+    }
+
+    @Test
+    void closeness_of_path_is_highest_in_the_middle() {
+        Scores<String> closeness = new Centrality<>(undirectedPath()).closeness();
+
+        assertEquals(1.0, closeness.score("b"), 1e-12);
+        assertEquals(2.0 / 3, closeness.score("a"), 1e-12);
+    }
+
+    @Test
+    void closeness_of_node_that_reaches_nothing_is_zero() {
+        UnweightedGraph<String> g = new UnweightedGraph<>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addDirectedEdge("a", "b");
+
+        Scores<String> closeness = new Centrality<>(g).closeness();
+
+        assertEquals(1.0, closeness.score("a"), 1e-12);
+        assertEquals(0.0, closeness.score("b"));
+    }
+
+    @Test
+    void betweenness_of_undirected_path_counts_each_pair_once() {
+        Scores<String> betweenness = new Centrality<>(undirectedPath()).betweenness();
+
+        assertEquals(Map.of("a", 0.0, "b", 1.0, "c", 0.0), betweenness.toMap());
+    }
+
+    @Test
+    void betweenness_of_directed_path() {
+        UnweightedGraph<String> g = new UnweightedGraph<>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addDirectedEdge("a", "b");
+        g.addDirectedEdge("b", "c");
+
+        assertEquals(Map.of("a", 0.0, "b", 1.0, "c", 0.0), new Centrality<>(g).betweenness().toMap());
+    }
+
+    @Test
+    void betweenness_splits_over_multiple_shortest_paths() {
+        /*
+              b
+            /   \
+           a     d
+            \   /
+              c
+         */
+        WeightedGraph<String> g = new WeightedGraph<>();
+        for (String node : new String[]{"a", "b", "c", "d"}) {
+            g.addNode(node);
+        }
+        g.addUndirectedEdge("a", "b", 1);
+        g.addUndirectedEdge("a", "c", 1);
+        g.addUndirectedEdge("b", "d", 1);
+        g.addUndirectedEdge("c", "d", 1);
+
+        Scores<String> betweenness = new Centrality<>(g).betweenness();
+
+        assertEquals(0.5, betweenness.score("a"), 1e-12);
+        assertEquals(0.5, betweenness.score("b"), 1e-12);
+        assertEquals(0.5, betweenness.score("c"), 1e-12);
+        assertEquals(0.5, betweenness.score("d"), 1e-12);
+    }
+
+    @Test
+    void betweenness_of_star_center_counts_all_leaf_pairs() {
+        UnweightedGraph<Integer> g = new UnweightedGraph<>();
+        for (int i = 0; i < 6; i++) {
+            g.addNode(i);
+        }
+        for (int leaf = 1; leaf < 6; leaf++) {
+            g.addUndirectedEdge(0, leaf);
+        }
+
+        Scores<Integer> betweenness = new Centrality<>(g).betweenness();
+
+        assertEquals(10.0, betweenness.score(0), 1e-12);
+        assertEquals(0.0, betweenness.score(3), 1e-12);
+    }
+
+    @Test
+    void unknown_node_throws() {
+        Scores<String> closeness = new Centrality<>(undirectedPath()).closeness();
+
+        assertThrows(IllegalArgumentException.class, () -> closeness.score("z"));
+    }
+
+    @Test
+    void betweenness_of_grid_does_not_overflow_path_counts() {
+        // a 40 x 40 grid has more shortest paths between opposite corners (78 choose 39) than a long can count
+        int side = 40;
+        UnweightedGraph<Integer> g = new UnweightedGraph<>();
+        for (int id = 0; id < side * side; id++) {
+            g.addNode(id);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int id = row * side + column;
+                if (column + 1 < side) {
+                    g.addUndirectedEdge(id, id + 1);
+                }
+                if (row + 1 < side) {
+                    g.addUndirectedEdge(id, id + side);
+                }
+            }
+        }
+
+        Scores<Integer> betweenness = new Centrality<>(g).betweenness();
+
+        for (int id = 0; id < side * side; id++) {
+            assertTrue(betweenness.score(id) >= 0, "negative betweenness of node " + id);
+        }
+        // a corner is on 1 of the (i + j choose i) shortest paths between the border nodes (0, j) and (i, 0)
+        double expectedCorner = 0;
+        for (int i = 1; i < side; i++) {
+            double binomial = 1; // (i + j choose i), starting at j = 0
+            for (int j = 1; j < side; j++) {
+                binomial = binomial * (i + j) / j;
+                expectedCorner += 1 / binomial;
+            }
+        }
+        assertEquals(expectedCorner, betweenness.score(0), 1e-9);
+        // every shortest s-t path has d(s, t) - 1 inner nodes, so the scores sum to that over all pairs
+        double expectedSum = 0;
+        for (int s = 0; s < side * side; s++) {
+            for (int t = s + 1; t < side * side; t++) {
+                expectedSum += Math.abs(s / side - t / side) + Math.abs(s % side - t % side) - 1;
+            }
+        }
+        assertEquals(expectedSum, betweenness.sum(), expectedSum * 1e-12);
+    }
+}
@@ -0,0 +1,127 @@
+package graph.analytics;
+
+import graph.UnweightedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageRankTest {
+
+    private static UnweightedGraph<Integer> graphWithNodes(int n) {
+        UnweightedGraph<Integer> g = new UnweightedGraph<>();
+        for (int i = 0; i < n; i++) {
+            g.addNode(i);
+        }
+        return g;
+    }
+
+    @Test
+    void empty_graph_gives_no_scores() {
+        Scores<Integer> scores = new PageRank<>(new UnweightedGraph<Integer>()).compute();
+
+        assertTrue(scores.toMap().isEmpty());
+        assertTrue(scores.converged());
+    }
+
+    @Test
+    void cycle_gives_uniform_ranks() {
+        UnweightedGraph<Integer> g = graphWithNodes(4);
+        g.addDirectedEdge(0, 1);
+        g.addDirectedEdge(1, 2);
+        g.addDirectedEdge(2, 3);
+        g.addDirectedEdge(3, 0);
+
+        Scores<Integer> scores = new PageRank<>(g).compute();
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0.25, scores.score(i), 1e-9);
+        }
+        assertTrue(scores.converged());
+    }
+
+    @Test
+    void node_pointed_to_by_all_others_ranks_highest() {
+        UnweightedGraph<Integer> g = graphWithNodes(5);
+        for (int i = 1; i < 5; i++) {
+            g.addDirectedEdge(i, 0);
+        }
+        g.addDirectedEdge(0, 1);
+
+        Scores<Integer> scores = new PageRank<>(g).compute();
+
+        assertEquals(List.of(0, 1), scores.top(2));
+        assertEquals(1.0, scores.sum(), 1e-6);
+    }
+
+    @Test
+    void rank_of_dangling_nodes_is_redistributed() {
+        /* 0 -> 1, 1 has no outgoing edge */
+        UnweightedGraph<Integer> g = graphWithNodes(2);
+        g.addDirectedEdge(0, 1);
+
+        Scores<Integer> scores = new PageRank<>(g).compute();
+
+        assertEquals(1.0, scores.sum(), 1e-6);
+        assertTrue(scores.score(1) > scores.score(0));
+    }
+
+    @Test
+    void float_precision_agrees_with_double_precision() {
+        UnweightedGraph<Integer> g = graphWithNodes(50);
+        for (int i = 0; i < 50; i++) {
+            g.addDirectedEdge(i, (i * 7 + 3) % 50);
+            g.addDirectedEdge(i, (i * 13 + 1) % 50);
+        }
+        IndexedGraph<Integer> indexed = IndexedGraph.of(g);
+        PageRank<Integer> pageRank = new PageRank<>(indexed, ForkJoinPool.commonPool());
+
+        Scores<Integer> doubles = pageRank.compute();
+        Scores<Integer> floats = pageRank.compute(PageRank.Settings.DEFAULT.withPrecision(PageRank.Precision.FLOAT));
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(doubles.score(i), floats.score(i), 1e-5);
+        }
+    }
+
+    @Test
+    void max_iterations_limits_the_computation() {
+        UnweightedGraph<Integer> g = graphWithNodes(3);
+        g.addDirectedEdge(0, 1);
+        g.addDirectedEdge(1, 2);
+        g.addDirectedEdge(0, 2);
+
+        Scores<Integer> scores = new PageRank<>(g).compute(
+            new PageRank.Settings(0.85, 0, 2, PageRank.Precision.DOUBLE));
+
+        assertEquals(2, scores.iterations());
+        assertFalse(scores.converged());
+    }
+
+    @Test
+    void invalid_settings_throw() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PageRank.Settings(1.5, 1e-6, 10, PageRank.Precision.DOUBLE));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PageRank.Settings(0.85, 1e-6, 0, PageRank.Precision.DOUBLE));
+    }
+
+    @Test
+    void parallel_blocks_give_same_result_as_single_thread() {
+        UnweightedGraph<Integer> g = graphWithNodes(5000);
+        for (int i = 0; i < 5000; i++) {
+            g.addDirectedEdge(i, (i * 31 + 7) % 5000);
+            g.addDirectedEdge(i, (i + 1) % 5000);
+        }
+        IndexedGraph<Integer> indexed = IndexedGraph.of(g);
+
+        Scores<Integer> parallel = new PageRank<>(indexed, new ForkJoinPool(4)).compute();
+        Scores<Integer> sequential = new PageRank<>(indexed, new ForkJoinPool(1)).compute();
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(sequential.score(i), parallel.score(i), 1e-12);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package graph.edgelist;
+
+import graph.WeightedGraph;
+import graph.adjacencylist.IntegerGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeListParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("edges.txt"), content);
+    }
+
+    @Test
+    void empty_file_gives_no_nodes_and_no_edges() throws IOException {
+        EdgeList edges = new EdgeListParser(EdgeListParser.Format.EDGE_LIST).parse(write(""));
+
+        assertEquals(0, edges.numberNodes());
+        assertEquals(0, edges.numberEdges());
+    }
+
+    @Test
+    void unweighted_edges_get_default_weight() throws IOException {
+        EdgeList edges = new EdgeListParser(EdgeListParser.Format.EDGE_LIST).parse(write("0 1\n1 2\n"));
+
+        assertEquals(3, edges.numberNodes());
+        assertEquals(2, edges.numberEdges());
+        assertEquals(1, edges.from(1));
+        assertEquals(2, edges.to(1));
+        assertEquals(EdgeList.DEFAULT_WEIGHT, edges.weight(1));
+    }
+
+    @Test
+    void comments_blank_lines_and_separators_are_handled() throws IOException {
+        String content = """
+            # a SNAP style comment
+            0\t1\t7
+
+            1,2,8\r
+            % another comment
+            2  0 9""";
+
+        WeightedGraph<Integer> graph = new EdgeListParser(EdgeListParser.Format.EDGE_LIST).parse(write(content))
+            .toWeightedGraph();
+
+        assertEquals(Set.of(0, 1, 2), graph.nodes());
+        assertEquals(Map.of(1, 7), graph.allEdges(0));
+        assertEquals(Map.of(2, 8), graph.allEdges(1));
+        assertEquals(Map.of(0, 9), graph.allEdges(2));
+    }
+
+    @Test
+    void matrix_market_is_one_based_and_header_defines_number_nodes() throws IOException {
+        String content = """
+            %%MatrixMarket matrix coordinate integer general
+            % comment
+            4 4 2
+            1 2 5
+            3 1 6
+            """;
+
+        EdgeList edges = new EdgeListParser(EdgeListParser.Format.MATRIX_MARKET).parse(write(content));
+
+        assertEquals(4, edges.numberNodes());
+        assertEquals(2, edges.numberEdges());
+        assertEquals(0, edges.from(0));
+        assertEquals(1, edges.to(0));
+        assertEquals(5, edges.weight(0));
+        assertEquals(2, edges.from(1));
+        assertEquals(0, edges.to(1));
+    }
+
+    @Test
+    void adjacency_list_format_gives_neighbors_in_order() throws IOException {
+        IntegerGraph graph = new EdgeListParser(EdgeListParser.Format.ADJACENCY_LIST)
+            .parse(write("0 4 2\n1\n2 1 3\n"))
+            .toIntegerGraph();
+
+        assertEquals(5, graph.numberNodes());
+        assertEquals(List.of(4, 2), graph.neighbors(0));
+        assertEquals(List.of(), graph.neighbors(1));
+        assertEquals(List.of(1, 3), graph.neighbors(2));
+    }
+
+    @Test
+    void numbers_split_across_chunks_are_parsed_correctly() throws IOException {
+        EdgeList edges = new EdgeListParser(EdgeListParser.Format.EDGE_LIST, 3, false)
+            .parse(write("12345 67890 42\n"));
+
+        assertEquals(12345, edges.from(0));
+        assertEquals(67890, edges.to(0));
+        assertEquals(42, edges.weight(0));
+    }
+
+    @Test
+    void invalid_character_throws() throws IOException {
+        Path file = write("0 1\n1 x\n");
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> new EdgeListParser(EdgeListParser.Format.EDGE_LIST).parse(file));
+    }
+
+    @Test
+    void too_many_values_on_a_line_throws() throws IOException {
+        Path file = write("0 1 2 3\n");
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> new EdgeListParser(EdgeListParser.Format.EDGE_LIST).parse(file));
+    }
+
+    @Test
+    void number_overflow_throws() throws IOException {
+        Path file = write("0 99999999999\n");
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> new EdgeListParser(EdgeListParser.Format.EDGE_LIST).parse(file));
+    }
+
+    @Test
+    void parallel_parsing_gives_same_edges_in_same_order_as_sequential() throws IOException {
+        StringBuilder content = new StringBuilder("# header\n");
+        for (int i = 0; i < 100_000; i++) {
+            content.append(i).append(' ').append((i * 31) % 100_000).append(' ').append(i % 97).append('\n');
+        }
+        Path file = write(content.toString());
+
+        EdgeList sequential = new EdgeListParser(EdgeListParser.Format.EDGE_LIST, 4096, false).parse(file);
+        EdgeList parallel = new EdgeListParser(EdgeListParser.Format.EDGE_LIST, 4096, true).parse(file);
+
+        assertEquals(100_000, parallel.numberEdges());
+        assertEquals(sequential.numberNodes(), parallel.numberNodes());
+        for (int i = 0; i < sequential.numberEdges(); i++) {
+            assertEquals(sequential.from(i), parallel.from(i));
+            assertEquals(sequential.to(i), parallel.to(i));
+            assertEquals(sequential.weight(i), parallel.weight(i));
+        }
+    }
+}
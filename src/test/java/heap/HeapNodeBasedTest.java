@@ -2,6 +2,9 @@ package heap;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -79,4 +82,39 @@ class HeapNodeBasedTest {
         assertThrows(HeapNodeBased.HeapUnderflowException.class, heap::pop);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void nodePool_steadyChurn_reusesNodes() {
+        HeapNodeBased<Integer> heap = new HeapNodeBased<>(16);
+        PriorityQueue<Integer> expected = new PriorityQueue<>(Comparator.reverseOrder());
+        for (int i = 0; i < 10; i++) {
+            heap.add(i);
+            expected.add(i);
+        }
+        for (int round = 0; round < 1000; round++) {
+            int max = heap.pop();
+            assertEquals(expected.poll(), max);
+            heap.add(max - 7);
+            expected.add(max - 7);
+        }
+
+        assertEquals(10, heap.allocatedNodes());
+        assertEquals(1000, heap.reusedNodes());
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll(), heap.pop());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new HeapNodeBased<Integer>(-1));
+    }
+
+    @Test
+    public void withoutNodePool_everyAddAllocates() {
+        HeapNodeBased<Integer> heap = new HeapNodeBased<>();
+        for (int round = 0; round < 100; round++) {
+            heap.add(round);
+            heap.pop();
+        }
+
+        assertEquals(100, heap.allocatedNodes());
+        assertEquals(0, heap.reusedNodes());
+    }
+
+}
@@ -0,0 +1,139 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigArrayTest {
+
+    @Test
+    void emptyArray_isEmpty() {
+        BigArray<Integer> numbers = new BigArray<>();
+
+        assertTrue(numbers.isEmpty());
+        assertEquals(0, numbers.size());
+        assertFalse(numbers.contains(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(0));
+        assertThrows(NoSuchElementException.class, numbers::removeLast);
+    }
+
+    @Test
+    void add_acrossChunks_keepsOrder() {
+        BigArray<Integer> numbers = new BigArray<>(2);
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+
+        assertEquals(100, numbers.size());
+        for (long i = 0; i < 100; i++) {
+            assertEquals((int) i, numbers.get(i));
+        }
+        assertEquals(57, numbers.find(57));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.set(-1, 0));
+    }
+
+    @Test
+    void set_replacesValue() {
+        BigArray<String> words = new BigArray<>(1);
+        words.add("a");
+        words.add("b");
+        words.add("c");
+
+        words.set(2, "z");
+
+        assertEquals("z", words.get(2));
+    }
+
+    @Test
+    void removeAt_shiftsAcrossChunks() {
+        BigArray<Integer> numbers = new BigArray<>(2);
+        for (int i = 0; i < 10; i++) {
+            numbers.add(i);
+        }
+
+        numbers.removeAt(1);
+        numbers.removeAt(8);
+        numbers.removeAt(42);
+
+        List<Integer> remaining = new ArrayList<>();
+        numbers.forEach(remaining::add);
+        assertEquals(List.of(0, 2, 3, 4, 5, 6, 7, 8), remaining);
+    }
+
+    @Test
+    void removeLast_andClear() {
+        BigArray<Integer> numbers = new BigArray<>(2);
+        for (int i = 0; i < 10; i++) {
+            numbers.add(i);
+        }
+
+        assertEquals(9, numbers.removeLast());
+        assertEquals(8, numbers.removeLast());
+        assertEquals(8, numbers.size());
+
+        numbers.clear();
+
+        assertTrue(numbers.isEmpty());
+        numbers.add(42);
+        assertEquals(42, numbers.get(0));
+    }
+
+    @Test
+    void iterator_failsFast() {
+        BigArray<Integer> numbers = new BigArray<>(2);
+        numbers.add(1);
+        numbers.add(2);
+        Iterator<Integer> iterator = numbers.iterator();
+        iterator.next();
+
+        numbers.add(3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void illegalChunkBits_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new BigArray<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new BigArray<>(31));
+    }
+
+    @Test
+    void randomOperations_behaveLikeArrayList() {
+        BigArray<Integer> numbers = new BigArray<>(3);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(29);
+        for (int i = 0; i < 20_000; i++) {
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    numbers.add(i);
+                    expected.add(i);
+                }
+                case 2 -> {
+                    if (!expected.isEmpty()) {
+                        assertEquals(expected.remove(expected.size() - 1), numbers.removeLast());
+                    }
+                }
+                default -> {
+                    int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+                    numbers.removeAt(index);
+                    if (!expected.isEmpty()) {
+                        expected.remove(index);
+                    }
+                }
+            }
+        }
+
+        assertEquals(expected.size(), numbers.size());
+        List<Integer> actual = new ArrayList<>();
+        numbers.forEach(actual::add);
+        assertEquals(expected, actual);
+    }
+}
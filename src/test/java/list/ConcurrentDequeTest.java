@@ -0,0 +1,353 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentDequeTest {
+
+    private static final int N_THREADS = 4;
+
+    @Test
+    void emptyDeque_pollsEmpty_andThrowsOnRemove() {
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+
+        assertTrue(deque.isEmpty());
+        assertEquals(Optional.empty(), deque.pollFirst());
+        assertEquals(Optional.empty(), deque.pollLast());
+        assertEquals(Optional.empty(), deque.peekFirst());
+        assertThrows(IllegalStateException.class, deque::removeFirst);
+        assertThrows(IllegalStateException.class, deque::removeLast);
+        assertThrows(IllegalStateException.class, deque::getFirst);
+        assertThrows(IllegalStateException.class, deque::getLast);
+        assertThrows(NullPointerException.class, () -> deque.addLast(null));
+    }
+
+    @Test
+    void addFirst_addLast_endsSeeEachOther() {
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        deque.addLast(2);
+        deque.addLast(3);
+        deque.addFirst(1);
+
+        assertEquals(1, deque.getFirst());
+        assertEquals(3, deque.getLast());
+        assertEquals(3, deque.removeLast());
+        assertEquals(2, deque.removeLast());
+        assertEquals(1, deque.removeLast());
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    void randomOperations_singleThreaded_matchArrayDeque() {
+        Random random = new Random(48);
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        Deque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 20_000; i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    deque.addFirst(i);
+                    expected.addFirst(i);
+                }
+                case 1 -> {
+                    deque.addLast(i);
+                    expected.addLast(i);
+                }
+                case 2 -> assertEquals(Optional.ofNullable(expected.pollFirst()), deque.pollFirst());
+                case 3 -> assertEquals(Optional.ofNullable(expected.pollLast()), deque.pollLast());
+                case 4 -> assertEquals(Optional.ofNullable(expected.peekFirst()), deque.peekFirst());
+                default -> assertEquals(Optional.ofNullable(expected.peekLast()), deque.peekLast());
+            }
+            assertEquals(expected.size(), deque.size());
+        }
+    }
+
+    @Test
+    void producersAndConsumers_handOffEveryElementExactlyOnce_inProducerOrder() throws Exception {
+        int perProducer = 50_000;
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2 * N_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean producing = new AtomicBoolean(true);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            int producer = t;
+            producers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    deque.addLast(i * N_THREADS + producer);
+                }
+                return null;
+            }));
+        }
+        List<Future<List<Integer>>> consumers = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            consumers.add(executor.submit(() -> {
+                start.await();
+                List<Integer> consumed = new ArrayList<>();
+                while (producing.get() || !deque.isEmpty()) {
+                    deque.pollFirst().ifPresent(consumed::add);
+                }
+                return consumed;
+            }));
+        }
+        start.countDown();
+        for (Future<?> producer : producers) {
+            producer.get(30, TimeUnit.SECONDS);
+        }
+        producing.set(false);
+        boolean[] seen = new boolean[N_THREADS * perProducer];
+        for (Future<List<Integer>> consumer : consumers) {
+            int[] lastOfProducer = new int[N_THREADS];
+            Arrays.fill(lastOfProducer, -1);
+            for (int value : consumer.get(30, TimeUnit.SECONDS)) {
+                assertFalse(seen[value], "consumed twice - " + value);
+                seen[value] = true;
+                // a FIFO queue hands the elements of one producer to one consumer in production order
+                assertTrue(value > lastOfProducer[value % N_THREADS]);
+                lastOfProducer[value % N_THREADS] = value;
+            }
+        }
+        executor.shutdown();
+
+        for (int value = 0; value < seen.length; value++) {
+            assertTrue(seen[value], "lost - " + value);
+        }
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    void ownerAndThieves_workStealing_losesNothing() throws Exception {
+        int nTasks = 100_000;
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        ExecutorService executor = Executors.newFixedThreadPool(N_THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean owning = new AtomicBoolean(true);
+        // the owner pushes and pops at the back, thieves steal from the front
+        Future<List<Integer>> owner = executor.submit(() -> {
+            start.await();
+            List<Integer> done = new ArrayList<>();
+            for (int i = 0; i < nTasks; i++) {
+                deque.addLast(i);
+                if (i % 3 == 0) {
+                    deque.pollLast().ifPresent(done::add);
+                }
+            }
+            while (!deque.isEmpty()) {
+                deque.pollLast().ifPresent(done::add);
+            }
+            owning.set(false);
+            return done;
+        });
+        List<Future<List<Integer>>> thieves = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            thieves.add(executor.submit(() -> {
+                start.await();
+                List<Integer> stolen = new ArrayList<>();
+                while (owning.get()) {
+                    deque.pollFirst().ifPresent(stolen::add);
+                }
+                return stolen;
+            }));
+        }
+        start.countDown();
+        boolean[] seen = new boolean[nTasks];
+        List<Future<List<Integer>>> all = new ArrayList<>(thieves);
+        all.add(owner);
+        for (Future<List<Integer>> worker : all) {
+            for (int task : worker.get(30, TimeUnit.SECONDS)) {
+                assertFalse(seen[task], "done twice - " + task);
+                seen[task] = true;
+            }
+        }
+        executor.shutdown();
+
+        for (int task = 0; task < nTasks; task++) {
+            assertTrue(seen[task], "lost - " + task);
+        }
+    }
+
+    @Test
+    void thievesStealFromLargeDeque_whileOwnerKeepsOperatingOnTheOtherEnd() throws Exception {
+        int prefilled = 1_000_000;
+        int stealsPerThief = 100_000;
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        for (int i = 0; i < prefilled; i++) {
+            deque.addLast(i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(N_THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean stealing = new AtomicBoolean(true);
+        // the owner pushes and pops new tasks at the back for as long as the thieves work the front
+        Future<List<Integer>> owner = executor.submit(() -> {
+            start.await();
+            List<Integer> done = new ArrayList<>();
+            for (int next = prefilled; stealing.get(); next++) {
+                deque.addLast(next);
+                done.add(deque.removeLast());
+            }
+            return done;
+        });
+        List<Future<List<Integer>>> thieves = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            thieves.add(executor.submit(() -> {
+                start.await();
+                List<Integer> stolen = new ArrayList<>();
+                while (stolen.size() < stealsPerThief) {
+                    stolen.add(deque.removeFirst());
+                }
+                return stolen;
+            }));
+        }
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        for (Future<List<Integer>> thief : thieves) {
+            // the front never runs empty, so every thief must make progress despite the owner
+            for (int task : thief.get(10, TimeUnit.SECONDS)) {
+                assertTrue(task < prefilled, "stole a task of the owner - " + task);
+                assertTrue(seen.add(task), "stolen twice - " + task);
+            }
+        }
+        stealing.set(false);
+        List<Integer> ownersTasks = owner.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        for (int i = 0; i < ownersTasks.size(); i++) {
+            assertEquals(prefilled + i, ownersTasks.get(i));
+        }
+        assertEquals(prefilled - N_THREADS * stealsPerThief, deque.size());
+        while (!deque.isEmpty()) {
+            assertTrue(seen.add(deque.removeFirst()));
+        }
+        assertEquals(prefilled, seen.size());
+    }
+
+    @Test
+    void mixedOperationsAtBothEnds_conserveElements() throws Exception {
+        int perThread = 100_000;
+        ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+        ExecutorService executor = Executors.newFixedThreadPool(N_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> workers = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            int thread = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                Random random = new Random(thread);
+                List<Integer> removed = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    int value = i * N_THREADS + thread;
+                    switch (random.nextInt(4)) {
+                        case 0 -> deque.addFirst(value);
+                        case 1 -> deque.addLast(value);
+                        case 2 -> {
+                            deque.addLast(value);
+                            deque.pollFirst().ifPresent(removed::add);
+                        }
+                        default -> {
+                            deque.addFirst(value);
+                            deque.pollLast().ifPresent(removed::add);
+                        }
+                    }
+                }
+                return removed;
+            }));
+        }
+        start.countDown();
+        boolean[] seen = new boolean[N_THREADS * perThread];
+        for (Future<List<Integer>> worker : workers) {
+            for (int value : worker.get(30, TimeUnit.SECONDS)) {
+                assertFalse(seen[value], "removed twice - " + value);
+                seen[value] = true;
+            }
+        }
+        executor.shutdown();
+        for (Optional<Integer> value = deque.pollLast(); value.isPresent(); value = deque.pollLast()) {
+            assertFalse(seen[value.get()], "removed twice - " + value.get());
+            seen[value.get()] = true;
+        }
+
+        for (int value = 0; value < seen.length; value++) {
+            assertTrue(seen[value], "lost - " + value);
+        }
+    }
+
+    /**
+     * In the style of a JCStress test: two actors race on each of many fresh deques, and every observed outcome must
+     * be one that some sequential order of the two operations produces.
+     */
+    @Test
+    void racingPolls_onOneElement_exactlyOneWins() throws Exception {
+        int rounds = 20_000;
+        List<ConcurrentDeque<Integer>> deques = new ArrayList<>();
+        for (int i = 0; i < rounds; i++) {
+            ConcurrentDeque<Integer> deque = new ConcurrentDeque<>();
+            deque.addLast(i);
+            deques.add(deque);
+        }
+        List<Optional<Integer>> firsts = new ArrayList<>();
+        List<Optional<Integer>> lasts = new ArrayList<>();
+
+        runActors(
+            () -> deques.forEach(deque -> firsts.add(deque.pollFirst())),
+            () -> deques.forEach(deque -> lasts.add(deque.pollLast())));
+
+        for (int i = 0; i < rounds; i++) {
+            assertTrue(firsts.get(i).isPresent() != lasts.get(i).isPresent(), "outcome of round " + i);
+            int round = i;
+            assertEquals(i, firsts.get(i).or(() -> lasts.get(round)).orElseThrow());
+            assertTrue(deques.get(i).isEmpty());
+        }
+    }
+
+    @Test
+    void racingAddAndPoll_onEmptyDeque_outcomeIsSequential() throws Exception {
+        int rounds = 20_000;
+        List<ConcurrentDeque<Integer>> deques = new ArrayList<>();
+        for (int i = 0; i < rounds; i++) {
+            deques.add(new ConcurrentDeque<>());
+        }
+        List<Optional<Integer>> polled = new ArrayList<>();
+
+        runActors(
+            () -> deques.forEach(deque -> deque.addFirst(1)),
+            () -> deques.forEach(deque -> polled.add(deque.pollLast())));
+
+        for (int i = 0; i < rounds; i++) {
+            // either the poll came first and saw nothing, or it took the added element
+            int expectedSize = polled.get(i).isPresent() ? 0 : 1;
+            assertEquals(expectedSize, deques.get(i).size(), "outcome of round " + i);
+            polled.get(i).ifPresent(value -> assertEquals(1, value));
+        }
+    }
+
+    private static void runActors(Runnable first, Runnable second) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier start = new CyclicBarrier(2);
+        Future<?> a = executor.submit(() -> {
+            start.await();
+            first.run();
+            return null;
+        });
+        Future<?> b = executor.submit(() -> {
+            start.await();
+            second.run();
+            return null;
+        });
+        a.get(30, TimeUnit.SECONDS);
+        b.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,49 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleArrayListTest {
+
+    @Test
+    void add_growsBeyondInitialCapacity() {
+        DoubleArrayList list = new DoubleArrayList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i / 2.0);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(4.5, list.get(9));
+        assertEquals(9, list.find(4.5));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    void find_comparesLikeDoubleCompare() {
+        DoubleArrayList list = DoubleArrayList.of(0.0, Double.NaN);
+
+        assertEquals(1, list.find(Double.NaN));
+        assertEquals(-1, list.find(-0.0));
+    }
+
+    @Test
+    void sort_thenBinarySearch() {
+        DoubleArrayList list = DoubleArrayList.of(2.5, Double.NaN, -1, 0);
+        list.sort();
+
+        assertArrayEquals(new double[]{-1, 0, 2.5, Double.NaN}, list.toArray());
+        assertEquals(2, list.binarySearch(2.5));
+        assertEquals(3, list.binarySearch(Double.NaN));
+    }
+
+    @Test
+    void addAllAndStream() {
+        DoubleArrayList list = new DoubleArrayList();
+        list.addAll(new double[]{1.5, 2.5});
+        list.addAll(DoubleArrayList.of(3));
+
+        assertEquals(7, list.stream().sum());
+        assertEquals(3, list.size());
+    }
+}
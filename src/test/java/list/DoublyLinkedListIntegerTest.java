@@ -2,11 +2,14 @@ package list;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DoublyLinkedListIntegerTest {
 
@@ -164,4 +167,111 @@ class DoublyLinkedListIntegerTest {
         assertEquals(List.of(1, 2, 3), list.getAll());
     }
 
-}
\ No newline at end of file
+    @Test
+    void remove_byHandle_unlinksElement() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        DoublyLinkedList.Node<Integer> first = list.addLast(1);
+        DoublyLinkedList.Node<Integer> middle = list.addLast(2);
+        DoublyLinkedList.Node<Integer> last = list.addLast(3);
+
+        assertEquals(2, list.remove(middle));
+        assertEquals(List.of(1, 3), list.getAll());
+        assertEquals(3, list.remove(last));
+        assertEquals(1, list.remove(first));
+        assertTrue(list.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> list.remove(middle));
+    }
+
+    @Test
+    void moveToFront_moveToBack_reorderWithoutSearch() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        DoublyLinkedList.Node<Integer> one = list.addLast(1);
+        list.addLast(2);
+        DoublyLinkedList.Node<Integer> three = list.addLast(3);
+
+        list.moveToFront(three);
+        assertEquals(List.of(3, 1, 2), list.getAll());
+        list.moveToBack(one);
+        assertEquals(List.of(3, 2, 1), list.getAll());
+        list.moveToFront(three);
+        one.setValue(4);
+
+        assertEquals(List.of(3, 2, 4), list.getAll());
+        assertEquals(4, list.getLast());
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void splice_appendsOtherListAndEmptiesIt() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        list.addLast(1);
+        DoublyLinkedList<Integer> other = new DoublyLinkedList<>();
+        DoublyLinkedList.Node<Integer> two = other.addLast(2);
+        other.addLast(3);
+
+        list.splice(other);
+        list.moveToFront(two);
+
+        assertEquals(List.of(2, 1, 3), list.getAll());
+        assertEquals(3, list.size());
+        assertTrue(other.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> list.splice(list));
+    }
+
+    @Test
+    void split_atHandle_countsBothParts() {
+        for (int at = 0; at < 5; at++) {
+            DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+            List<DoublyLinkedList.Node<Integer>> handles = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                handles.add(list.addLast(i));
+            }
+
+            DoublyLinkedList<Integer> suffix = list.split(handles.get(at));
+
+            assertEquals(at, list.size());
+            assertEquals(5 - at, suffix.size());
+            assertEquals(List.of(0, 1, 2, 3, 4).subList(0, at), list.getAll());
+            assertEquals(List.of(0, 1, 2, 3, 4).subList(at, 5), suffix.getAll());
+            list.addLast(9);
+            suffix.addFirst(8);
+            assertEquals(at + 1, list.getAll().size());
+            assertEquals(8, suffix.getFirst());
+        }
+    }
+
+    @Test
+    void equals_hashCode_compareElements_withoutRecursion() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        DoublyLinkedList<Integer> same = new DoublyLinkedList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            list.addLast(i);
+            same.addLast(i);
+        }
+
+        assertEquals(list, same);
+        assertEquals(list.hashCode(), same.hashCode());
+        same.removeLast();
+        same.addLast(-1);
+        assertNotEquals(list, same);
+    }
+
+    @Test
+    void nodePool_steadyChurn_stopsAllocating() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>(8);
+        for (int i = 0; i < 8; i++) {
+            list.addLast(i);
+        }
+        for (int i = 8; i < 1000; i++) {
+            DoublyLinkedList.Node<Integer> handle = list.addFirst(i);
+            list.moveToBack(handle);
+            assertEquals(i - 8, list.removeFirst());
+        }
+
+        assertEquals(9, list.allocatedNodes());
+        assertEquals(1000 - 9, list.reusedNodes());
+        assertEquals(List.of(992, 993, 994, 995, 996, 997, 998, 999), list.getAll());
+        assertThrows(IllegalArgumentException.class, () -> new DoublyLinkedList<Integer>(-1));
+    }
+
+}
@@ -0,0 +1,112 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GapBufferTest {
+
+    @Test
+    void emptyBuffer_isEmpty() {
+        GapBuffer<Integer> numbers = new GapBuffer<>(0);
+
+        assertTrue(numbers.isEmpty());
+        assertEquals(0, numbers.size());
+        assertEquals("[]", numbers.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.insert(1, 0));
+    }
+
+    @Test
+    void negativeCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new GapBuffer<>(-1));
+    }
+
+    @Test
+    void add_growsAndKeepsOrder() {
+        GapBuffer<Integer> numbers = new GapBuffer<>(1);
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+
+        assertEquals(100, numbers.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, numbers.get(i));
+        }
+    }
+
+    @Test
+    void insert_atCursor_typesInOrder() {
+        GapBuffer<Character> text = new GapBuffer<>();
+        for (char c : "helld".toCharArray()) {
+            text.add(c);
+        }
+
+        text.insert(3, 'l');
+        text.insert(4, 'o');
+        text.insert(5, ' ');
+        text.insert(6, 'w');
+        text.insert(7, 'o');
+        text.insert(8, 'r');
+
+        assertEquals("[h, e, l, l, o,  , w, o, r, l, d]", text.toString());
+    }
+
+    @Test
+    void set_beforeAndAfterGap_replacesValue() {
+        GapBuffer<String> words = new GapBuffer<>();
+        words.add("a");
+        words.add("b");
+        words.add("c");
+        words.insert(1, "x");
+
+        words.set(0, "y");
+        words.set(3, "z");
+
+        assertEquals("[y, x, b, z]", words.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> words.set(4, "w"));
+    }
+
+    @Test
+    void removeAt_outOfBounds_doesNothing() {
+        GapBuffer<Integer> numbers = new GapBuffer<>();
+        numbers.add(1);
+
+        numbers.removeAt(-1);
+        numbers.removeAt(1);
+
+        assertEquals(1, numbers.size());
+    }
+
+    @Test
+    void randomEdits_matchArrayList() {
+        Random random = new Random(45);
+        GapBuffer<Integer> buffer = new GapBuffer<>(2);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                buffer.insert(index, i);
+                expected.add(index, i);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                buffer.removeAt(index);
+                expected.remove(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                buffer.set(index, -i);
+                expected.set(index, -i);
+            }
+        }
+
+        assertEquals(expected.size(), buffer.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), buffer.get(i));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntArrayListTest {
+
+    @Test
+    void emptyList_isEmpty() {
+        IntArrayList list = new IntArrayList();
+
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        assertFalse(list.contains(0));
+        assertArrayEquals(new int[0], list.toArray());
+    }
+
+    @Test
+    void emptyList_get_throws() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntArrayList().get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntArrayList().get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> new IntArrayList().set(0, 1));
+    }
+
+    @Test
+    void add_growsBeyondInitialCapacity() {
+        IntArrayList list = new IntArrayList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i * i);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(81, list.get(9));
+        assertEquals(9, list.find(81));
+        assertEquals(-1, list.find(82));
+    }
+
+    @Test
+    void set_replacesElement() {
+        IntArrayList list = IntArrayList.of(1, 2, 3);
+        list.set(1, 20);
+
+        assertArrayEquals(new int[]{1, 20, 3}, list.toArray());
+    }
+
+    @Test
+    void addAll_appendsArraysAndLists() {
+        IntArrayList list = IntArrayList.of(1);
+        list.addAll(new int[]{2, 3});
+        list.addAll(new int[]{0, 4, 5, 0}, 1, 3);
+        list.addAll(IntArrayList.of(6, 7));
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7}, list.toArray());
+    }
+
+    @Test
+    void removeAt_andRemoveFirst() {
+        IntArrayList list = IntArrayList.of(5, 6, 7, 6);
+        list.removeAt(0);
+        list.removeAt(42);
+        list.removeFirst(6);
+        list.removeFirst(42);
+
+        assertArrayEquals(new int[]{7, 6}, list.toArray());
+    }
+
+    @Test
+    void sort_thenBinarySearch() {
+        IntArrayList list = IntArrayList.of(5, -1, 3, 9, 0);
+        list.sort();
+
+        assertArrayEquals(new int[]{-1, 0, 3, 5, 9}, list.toArray());
+        assertEquals(2, list.binarySearch(3));
+        assertEquals(-4, list.binarySearch(4));
+    }
+
+    @Test
+    void binarySearch_ignoresUnusedCapacity() {
+        IntArrayList list = new IntArrayList(16);
+        list.addAll(new int[]{1, 2, 3});
+
+        assertEquals(-4, list.binarySearch(10));
+    }
+
+    @Test
+    void wrap_sharesTheArray() {
+        int[] array = {1, 2, 3};
+        IntArrayList list = IntArrayList.wrap(array);
+        array[0] = 10;
+
+        assertEquals(10, list.get(0));
+        assertSame(array, list.buffer());
+
+        list.add(4);
+
+        assertNotSame(array, list.buffer());
+        assertArrayEquals(new int[]{10, 2, 3, 4}, list.toArray());
+    }
+
+    @Test
+    void of_copiesTheArray() {
+        int[] array = {1, 2, 3};
+        IntArrayList list = IntArrayList.of(array);
+        array[0] = 10;
+
+        assertEquals(1, list.get(0));
+    }
+
+    @Test
+    void streamAndForEach_seeOnlyTheElements() {
+        IntArrayList list = new IntArrayList(16);
+        list.addAll(new int[]{1, 2, 3});
+        List<Integer> visited = new ArrayList<>();
+        list.forEach(visited::add);
+
+        assertEquals(6, list.stream().sum());
+        assertEquals(List.of(1, 2, 3), visited);
+        assertEquals("[1, 2, 3]", list.toString());
+    }
+
+    @Test
+    void clear_keepsTheMemory() {
+        IntArrayList list = IntArrayList.of(1, 2, 3);
+        int[] buffer = list.buffer();
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        list.add(4);
+        assertSame(buffer, list.buffer());
+    }
+
+    @Test
+    void illegalCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new IntArrayList(-1));
+    }
+
+    @Test
+    void randomOperations_behaveLikeArrayList() {
+        IntArrayList list = new IntArrayList();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(23);
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(100);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    list.add(value);
+                    expected.add(value);
+                }
+                case 1 -> {
+                    list.removeFirst(value);
+                    expected.remove(Integer.valueOf(value));
+                }
+                default -> assertEquals(expected.indexOf(value), list.find(value));
+            }
+        }
+
+        assertEquals(expected, list.stream().boxed().toList());
+    }
+}
@@ -0,0 +1,52 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongArrayListTest {
+
+    @Test
+    void add_growsBeyondInitialCapacity() {
+        LongArrayList list = new LongArrayList(0);
+        for (long i = 0; i < 100; i++) {
+            list.add(i << 40);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(9L << 40, list.get(9));
+        assertEquals(9, list.find(9L << 40));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    void sort_thenBinarySearch() {
+        LongArrayList list = LongArrayList.of(5, Long.MIN_VALUE, 3, Long.MAX_VALUE);
+        list.sort();
+
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 3, 5, Long.MAX_VALUE}, list.toArray());
+        assertEquals(1, list.binarySearch(3));
+        assertEquals(-3, list.binarySearch(4));
+    }
+
+    @Test
+    void addAllAndRemove() {
+        LongArrayList list = new LongArrayList();
+        list.addAll(new long[]{1, 2, 3, 2});
+        list.removeFirst(2);
+        list.removeAt(0);
+
+        assertArrayEquals(new long[]{3, 2}, list.toArray());
+        assertEquals(5, list.stream().sum());
+    }
+
+    @Test
+    void wrap_sharesTheArray() {
+        long[] array = {1, 2};
+        LongArrayList list = LongArrayList.wrap(array);
+        list.set(0, 10);
+
+        assertEquals(10, array[0]);
+        assertSame(array, list.buffer());
+    }
+}
@@ -0,0 +1,130 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PieceTableTest {
+
+    @Test
+    void emptyTable_isEmpty() {
+        PieceTable<Integer> numbers = new PieceTable<>();
+
+        assertTrue(numbers.isEmpty());
+        assertEquals(0, numbers.size());
+        assertEquals(0, numbers.pieceCount());
+        assertEquals("[]", numbers.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.insert(1, 0));
+    }
+
+    @Test
+    void initialElements_areCopied() {
+        Integer[] initial = {1, 2, 3};
+        PieceTable<Integer> numbers = new PieceTable<>(initial);
+
+        initial[0] = 7;
+
+        assertEquals("[1, 2, 3]", numbers.toString());
+        assertEquals(1, numbers.pieceCount());
+    }
+
+    @Test
+    void consecutiveInserts_extendOnePiece() {
+        PieceTable<Character> text = new PieceTable<>(new Character[]{'h', 'e', 'l', 'l', 'd'});
+
+        text.insert(3, 'l');
+        text.insert(4, 'o');
+        text.insert(5, ' ');
+        text.insert(6, 'w');
+        text.insert(7, 'o');
+        text.insert(8, 'r');
+
+        assertEquals("[h, e, l, l, o,  , w, o, r, l, d]", text.toString());
+        assertEquals(3, text.pieceCount());
+    }
+
+    @Test
+    void insertAtFront_andAppend_addPieces() {
+        PieceTable<Integer> numbers = new PieceTable<>(new Integer[]{2, 3});
+
+        numbers.insert(0, 1);
+        numbers.add(4);
+        numbers.add(5);
+
+        assertEquals("[1, 2, 3, 4, 5]", numbers.toString());
+        assertEquals(3, numbers.pieceCount());
+    }
+
+    @Test
+    void removeAt_splitsAndShrinksPieces() {
+        PieceTable<Integer> numbers = new PieceTable<>(new Integer[]{0, 1, 2, 3, 4});
+
+        numbers.removeAt(2);
+        assertEquals(2, numbers.pieceCount());
+        numbers.removeAt(0);
+        numbers.removeAt(2);
+        numbers.removeAt(-1);
+        numbers.removeAt(2);
+
+        assertEquals("[1, 3]", numbers.toString());
+        numbers.removeAt(0);
+        numbers.removeAt(0);
+        assertTrue(numbers.isEmpty());
+        assertEquals(0, numbers.pieceCount());
+    }
+
+    @Test
+    void set_replacesValue() {
+        PieceTable<String> words = new PieceTable<>(new String[]{"a", "b"});
+        words.add("c");
+
+        words.set(0, "x");
+        words.set(2, "z");
+
+        assertEquals("[x, b, z]", words.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> words.set(3, "w"));
+    }
+
+    @Test
+    void randomEdits_matchArrayList() {
+        Random random = new Random(45);
+        Integer[] initial = new Integer[100];
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = i;
+            expected.add(i);
+        }
+        PieceTable<Integer> table = new PieceTable<>(initial);
+        int cursor = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            // mostly edits near a moving cursor, sometimes a jump
+            cursor = random.nextInt(10) == 0 ? random.nextInt(expected.size() + 1) : cursor;
+            cursor = Math.min(cursor, expected.size());
+            if (operation < 5 || expected.isEmpty()) {
+                table.insert(cursor, i);
+                expected.add(cursor, i);
+                cursor++;
+            } else if (operation < 8) {
+                int index = Math.min(cursor, expected.size() - 1);
+                table.removeAt(index);
+                expected.remove(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                table.set(index, -i);
+                expected.set(index, -i);
+                assertEquals(expected.get(index), table.get(index));
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), table.get(i));
+        }
+    }
+}
@@ -2,6 +2,14 @@ package list;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ResizingArrayTest {
@@ -183,4 +191,268 @@ class ResizingArrayTest {
         assertEquals(5, numbers.get(1));
         assertEquals(42, numbers.get(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void presized_doesNotGrow() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 100);
+        for (int i = 0; i < 100; ++i) {
+            numbers.add(i);
+        }
+
+        assertEquals(100, numbers.capacity());
+    }
+
+    @Test
+    void growthFactor_isApplied() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 4, 1.5, 0);
+        for (int i = 0; i < 5; ++i) {
+            numbers.add(i);
+        }
+
+        assertEquals(6, numbers.capacity());
+    }
+
+    @Test
+    void fromZeroCapacity_grows() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 0);
+        numbers.add(1);
+        numbers.add(2);
+
+        assertEquals(2, numbers.size());
+        assertEquals(2, numbers.get(1));
+    }
+
+    @Test
+    void removals_shrinkWithHysteresis() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 8, 2, 0.25);
+        for (int i = 0; i < 1024; ++i) {
+            numbers.add(i);
+        }
+        assertEquals(1024, numbers.capacity());
+
+        numbers.removeRange(256, 1024);
+        assertEquals(1024, numbers.capacity());
+        numbers.removeAt(0);
+        assertEquals(510, numbers.capacity());
+
+        // right after shrinking, neither one add nor one removal resizes again
+        numbers.add(-1);
+        assertEquals(510, numbers.capacity());
+        numbers.removeAt(0);
+        numbers.removeAt(0);
+        assertEquals(510, numbers.capacity());
+        assertEquals(254, numbers.size());
+        assertEquals(3, numbers.get(0));
+    }
+
+    @Test
+    void removals_neverShrinkBelowInitialCapacity() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 64);
+        for (int i = 0; i < 200; ++i) {
+            numbers.add(i);
+        }
+
+        numbers.clear();
+
+        assertEquals(64, numbers.capacity());
+        assertTrue(numbers.isEmpty());
+    }
+
+    @Test
+    void zeroShrinkThreshold_neverShrinks() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 2, 2, 0);
+        for (int i = 0; i < 100; ++i) {
+            numbers.add(i);
+        }
+
+        numbers.clear();
+
+        assertEquals(128, numbers.capacity());
+    }
+
+    @Test
+    void trimToSize_shrinksToTheElements() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class);
+        numbers.add(1);
+        numbers.add(2);
+        numbers.add(3);
+
+        numbers.trimToSize();
+
+        assertEquals(3, numbers.capacity());
+        numbers.add(4);
+        assertEquals(4, numbers.get(3));
+    }
+
+    @Test
+    void ensureCapacity_growsOnce() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class);
+
+        numbers.ensureCapacity(1_000);
+
+        assertEquals(1_000, numbers.capacity());
+    }
+
+    @Test
+    void addAllAndInsertAll_keepOrder() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 0);
+        numbers.addAll(new Integer[]{1, 5});
+        numbers.insertAll(1, new Integer[]{2, 3, 4});
+        numbers.insertAll(0, new Integer[]{0});
+        numbers.addAll(numbers);
+
+        assertEquals(12, numbers.size());
+        for (int i = 0; i < 12; ++i) {
+            assertEquals(i % 6, numbers.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.insertAll(13, new Integer[]{0}));
+    }
+
+    @Test
+    void removeRange_removesTheRange() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class);
+        numbers.addAll(new Integer[]{0, 1, 2, 3, 4});
+
+        numbers.removeRange(1, 3);
+
+        assertEquals(3, numbers.size());
+        assertEquals(0, numbers.get(0));
+        assertEquals(3, numbers.get(1));
+        assertEquals(4, numbers.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.removeRange(2, 4));
+    }
+
+    @Test
+    void removeIf_keepsOrderOfTheOthers() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class);
+        for (int i = 0; i < 10; ++i) {
+            numbers.add(i);
+        }
+
+        assertTrue(numbers.removeIf(i -> i % 3 == 0));
+        assertFalse(numbers.removeIf(i -> i > 100));
+
+        assertEquals(6, numbers.size());
+        assertEquals(1, numbers.get(0));
+        assertEquals(2, numbers.get(1));
+        assertEquals(4, numbers.get(2));
+        assertEquals(8, numbers.get(5));
+    }
+
+    @Test
+    void illegalSettings_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new ResizingArray<>(Integer.class, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ResizingArray<>(Integer.class, 8, 1.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ResizingArray<>(Integer.class, 8, 2, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ResizingArray<>(Integer.class, 8, 2, -0.1));
+    }
+
+    private static ResizingArray<Integer> range(int n) {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, n);
+        for (int i = 0; i < n; ++i) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+
+    @Test
+    void iterator_visitsInOrder_andFailsFast() {
+        ResizingArray<Integer> numbers = range(3);
+        List<Integer> visited = new ArrayList<>();
+        for (int number : numbers) {
+            visited.add(number);
+        }
+        assertEquals(List.of(0, 1, 2), visited);
+
+        Iterator<Integer> iterator = numbers.iterator();
+        iterator.next();
+        numbers.add(3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void spliterator_isSizedAndSplitsEvenly() {
+        Spliterator<Integer> spliterator = range(100).spliterator();
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = spliterator.trySplit();
+
+        assertEquals(50, prefix.estimateSize());
+        assertEquals(50, spliterator.estimateSize());
+        List<Integer> firstHalf = new ArrayList<>();
+        prefix.forEachRemaining(firstHalf::add);
+        assertEquals(range(50).stream().toList(), firstHalf);
+    }
+
+    @Test
+    void spliterator_bindsLazily() {
+        ResizingArray<Integer> numbers = range(3);
+        Spliterator<Integer> spliterator = numbers.spliterator();
+        numbers.add(3);
+
+        assertEquals(4, spliterator.estimateSize());
+    }
+
+    @Test
+    void stream_failsFastOnModification() {
+        ResizingArray<Integer> numbers = range(10);
+
+        assertThrows(ConcurrentModificationException.class, () -> numbers.stream().forEach(numbers::add));
+    }
+
+    @Test
+    void parallelStream_seesEveryElementOnce() {
+        ResizingArray<Integer> numbers = range(100_000);
+
+        assertEquals(100_000L * 99_999 / 2, numbers.parallelStream().mapToLong(i -> i).sum());
+        assertEquals(numbers.stream().toList(), numbers.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void parallelFind_returnsFirstMatch() {
+        ResizingArray<Integer> numbers = range(100_000);
+        numbers.set(70_000, 12);
+
+        assertEquals(12, numbers.parallelFind(12));
+        assertEquals(99_999, numbers.parallelFind(99_999));
+        assertEquals(-1, numbers.parallelFind(-5));
+        assertEquals(1, range(5).parallelFind(1));
+    }
+
+    @Test
+    void sort_isStable() {
+        ResizingArray<String> words = new ResizingArray<>(String.class);
+        for (String word : new String[]{"bb", "a", "cc", "b", "aa"}) {
+            words.add(word);
+        }
+
+        words.sort(Comparator.comparing(String::length));
+
+        assertEquals(List.of("a", "b", "bb", "cc", "aa"), words.stream().toList());
+    }
+
+    @Test
+    void parallelSort_sortsLargeArrays() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class);
+        for (int i = 0; i < 100_000; ++i) {
+            numbers.add((i * 7_919) % 100_000);
+        }
+
+        numbers.parallelSort(null);
+
+        assertEquals(range(100_000).stream().toList(), numbers.stream().toList());
+    }
+
+    @Test
+    void binarySearch_onSortedArray() {
+        ResizingArray<Integer> numbers = new ResizingArray<>(Integer.class, 16);
+        for (int i = 0; i < 5; ++i) {
+            numbers.add(2 * i);
+        }
+
+        assertEquals(2, numbers.binarySearch(4, null));
+        assertEquals(-3, numbers.binarySearch(3, Comparator.naturalOrder()));
+        assertEquals(-6, numbers.binarySearch(100, null));
+    }
+}
@@ -2,11 +2,15 @@ package list;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SinglyLinkedListTest {
 
@@ -164,7 +168,7 @@ class SinglyLinkedListTest {
     }
 
     @Test
-    void zip_empty_list_with_non_empty_other_list_effectively_makes_both_lists_identical() {
+    void zip_empty_list_with_non_empty_other_list_moves_all_nodes_to_this_list() {
         SinglyLinkedList<Integer> l1 = new SinglyLinkedList<>();
         SinglyLinkedList<Integer> l2 = new SinglyLinkedList<>();
         l2.addLast(1);
@@ -174,7 +178,9 @@ class SinglyLinkedListTest {
         l1.zipInPlace(l2);
 
         assertEquals(List.of(1, 2, 3), l1.getAll());
-        assertEquals(List.of(1, 2, 3), l2.getAll());
+        assertEquals(3, l1.size());
+        assertEquals(3, l1.getLast());
+        assertTrue(l2.isEmpty());
     }
 
     @Test
@@ -201,7 +207,8 @@ class SinglyLinkedListTest {
         l1.zipInPlace(l2);
 
         assertEquals(List.of(42, 43), l1.getAll());
-        assertEquals(List.of(43), l2.getAll());
+        assertEquals(43, l1.getLast());
+        assertTrue(l2.isEmpty());
     }
 
     @Test
@@ -218,7 +225,8 @@ class SinglyLinkedListTest {
         l1.zipInPlace(l2);
 
         assertEquals(List.of(1, 4, 2, 5, 3, 6), l1.getAll());
-        assertEquals(List.of(4, 2, 5, 3, 6), l2.getAll());
+        assertEquals(6, l1.getLast());
+        assertTrue(l2.isEmpty());
     }
 
     @Test
@@ -237,7 +245,9 @@ class SinglyLinkedListTest {
         l1.zipInPlace(l2);
 
         assertEquals(List.of(1, 4, 2, 5, 3, 6, 7, 8), l1.getAll());
-        assertEquals(List.of(4, 2, 5, 3, 6, 7, 8), l2.getAll());
+        assertEquals(8, l1.size());
+        assertEquals(8, l1.getLast());
+        assertTrue(l2.isEmpty());
     }
 
     @Test
@@ -256,7 +266,160 @@ class SinglyLinkedListTest {
         l1.zipInPlace(l2);
 
         assertEquals(List.of(1, 4, 2, 5, 3, 6, 7, 8), l1.getAll());
-        assertEquals(List.of(4, 2, 5, 3, 6, 7, 8), l2.getAll());
+        assertEquals(8, l1.size());
+        assertEquals(8, l1.getLast());
+        assertTrue(l2.isEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    void zip_then_sort_sorts_all_nodes_of_both_lists() {
+        SinglyLinkedList<Integer> l1 = new SinglyLinkedList<>();
+        l1.addLast(3);
+        SinglyLinkedList<Integer> l2 = new SinglyLinkedList<>();
+        l2.addLast(2);
+        l2.addLast(1);
+
+        l1.zipInPlace(l2);
+        l1.sort(Integer::compare);
+
+        assertEquals(List.of(1, 2, 3), l1.getAll());
+        assertEquals(3, l1.size());
+        assertEquals(3, l1.getLast());
+    }
+
+    @Test
+    void sort_random_list_matches_stable_sort_and_keeps_tail() {
+        Random random = new Random(49);
+        for (int n : new int[]{0, 1, 2, 3, 7, 64, 1000}) {
+            SinglyLinkedList<int[]> list = new SinglyLinkedList<>();
+            List<int[]> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                // few distinct keys, so that stability matters
+                int[] element = {random.nextInt(10), i};
+                list.addLast(element);
+                expected.add(element);
+            }
+            Comparator<int[]> byKey = Comparator.comparingInt(element -> element[0]);
+
+            list.sort(byKey);
+            expected.sort(byKey);
+
+            assertEquals(expected, list.getAll());
+            assertEquals(n, list.size());
+            list.addLast(new int[]{-1, -1});
+            assertEquals(-1, list.getLast()[0]);
+        }
+    }
+
+    @Test
+    void mergeSorted_interleaves_and_empties_other_list() {
+        SinglyLinkedList<Integer> l1 = new SinglyLinkedList<>();
+        l1.addLast(1);
+        l1.addLast(4);
+        l1.addLast(9);
+        SinglyLinkedList<Integer> l2 = new SinglyLinkedList<>();
+        l2.addLast(2);
+        l2.addLast(4);
+        l2.addLast(10);
+        l2.addLast(11);
+
+        l1.mergeSorted(l2, Comparator.naturalOrder());
+
+        assertEquals(List.of(1, 2, 4, 4, 9, 10, 11), l1.getAll());
+        assertEquals(11, l1.getLast());
+        assertEquals(7, l1.size());
+        assertTrue(l2.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> l1.mergeSorted(l1, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void mergeSorted_into_empty_list_takes_other_list() {
+        SinglyLinkedList<Integer> l1 = new SinglyLinkedList<>();
+        SinglyLinkedList<Integer> l2 = new SinglyLinkedList<>();
+        l2.addLast(3);
+
+        l1.mergeSorted(l2, Comparator.naturalOrder());
+        l1.addLast(5);
+
+        assertEquals(List.of(3, 5), l1.getAll());
+        assertTrue(l2.isEmpty());
+    }
+
+    @Test
+    void mergeAll_of_sorted_lists_gives_one_sorted_list() {
+        Random random = new Random(49);
+        List<SinglyLinkedList<Integer>> lists = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int k = 0; k < 20; k++) {
+            SinglyLinkedList<Integer> list = new SinglyLinkedList<>();
+            int value = 0;
+            for (int i = 0; i < k * 7; i++) {
+                value += random.nextInt(5);
+                list.addLast(value);
+                expected.add(value);
+            }
+            lists.add(list);
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        SinglyLinkedList<Integer> merged = SinglyLinkedList.mergeAll(lists, Comparator.naturalOrder());
+
+        assertEquals(expected, merged.getAll());
+        assertEquals(expected.size(), merged.size());
+        assertEquals(expected.getLast(), merged.getLast());
+        assertTrue(lists.stream().allMatch(SinglyLinkedList::isEmpty));
+    }
+
+    @Test
+    void mergeAll_is_stable_across_lists() {
+        SinglyLinkedList<String> l1 = new SinglyLinkedList<>();
+        l1.addLast("a1");
+        l1.addLast("b1");
+        SinglyLinkedList<String> l2 = new SinglyLinkedList<>();
+        l2.addLast("a2");
+        l2.addLast("b2");
+
+        SinglyLinkedList<String> merged = SinglyLinkedList.mergeAll(
+            List.of(l1, l2, new SinglyLinkedList<>()), Comparator.comparing(s -> s.charAt(0)));
+
+        assertEquals(List.of("a1", "a2", "b1", "b2"), merged.getAll());
+    }
+
+    @Test
+    void node_pool_reuses_removed_nodes_up_to_its_capacity() {
+        SinglyLinkedList<Integer> list = new SinglyLinkedList<>(2);
+        for (int i = 0; i < 5; i++) {
+            list.addLast(i);
+        }
+        for (int i = 0; i < 5; i++) {
+            list.removeFirst();
+        }
+        for (int i = 0; i < 3; i++) {
+            list.addFirst(i);
+        }
+
+        // only 2 of the 5 removed nodes were kept
+        assertEquals(6, list.allocatedNodes());
+        assertEquals(2, list.reusedNodes());
+        assertEquals(List.of(2, 1, 0), list.getAll());
+        assertEquals(0, list.removeLast());
+        assertEquals(1, list.getLast());
+        assertThrows(IllegalArgumentException.class, () -> new SinglyLinkedList<Integer>(-1));
+    }
+
+    @Test
+    void node_pool_under_queue_churn_stops_allocating() {
+        SinglyLinkedList<Integer> list = new SinglyLinkedList<>(64);
+        for (int i = 0; i < 50; i++) {
+            list.addLast(i);
+        }
+        for (int i = 50; i < 10_000; i++) {
+            assertEquals(i - 50, list.removeFirst());
+            list.addLast(i);
+        }
+
+        assertEquals(50, list.allocatedNodes());
+        assertEquals(10_000 - 50, list.reusedNodes());
+    }
+
+}
@@ -0,0 +1,150 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnrolledLinkedListTest {
+
+    @Test
+    void emptyList_throws() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+
+        assertTrue(list.isEmpty());
+        assertEquals(emptyList(), list.getAll());
+        assertThrows(IllegalStateException.class, list::getFirst);
+        assertThrows(IllegalStateException.class, list::getLast);
+        assertThrows(IllegalStateException.class, list::removeFirst);
+        assertThrows(IllegalStateException.class, list::removeLast);
+    }
+
+    @Test
+    void tooSmallNodeCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledLinkedList<>(1));
+    }
+
+    @Test
+    void addFirst_addLast_acrossNodes_keepsOrder() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 10; i++) {
+            list.addLast(i);
+            list.addFirst(-i - 1);
+        }
+
+        assertEquals(20, list.size());
+        assertEquals(-10, list.getFirst());
+        assertEquals(9, list.getLast());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = -10; i < 10; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, list.getAll());
+    }
+
+    @Test
+    void removeFirst_removeLast_untilEmpty() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(2);
+        for (int i = 0; i < 5; i++) {
+            list.addLast(i);
+        }
+
+        assertEquals(0, list.removeFirst());
+        assertEquals(4, list.removeLast());
+        assertEquals(1, list.removeFirst());
+        assertEquals(3, list.removeLast());
+        assertEquals(2, list.removeLast());
+        assertTrue(list.isEmpty());
+
+        list.addFirst(7);
+        assertEquals(7, list.getLast());
+    }
+
+    @Test
+    void churnAtBlockBoundaries_reusesSpareNodes() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 8; i++) {
+            list.addLast(i);
+        }
+        long allocatedNodes = list.allocatedNodes();
+
+        for (int i = 0; i < 1_000; i++) {
+            list.addLast(8);
+            assertEquals(8, list.removeLast());
+            list.addFirst(-1);
+            assertEquals(-1, list.removeFirst());
+        }
+        assertEquals(allocatedNodes + 1, list.allocatedNodes());
+
+        // as a queue, a node emptied at the front is reused at the back
+        for (int i = 8; i < 1_000; i++) {
+            list.addLast(i);
+            assertEquals(i - 8, list.removeFirst());
+        }
+        assertEquals(allocatedNodes + 1, list.allocatedNodes());
+        assertEquals(List.of(992, 993, 994, 995, 996, 997, 998, 999), list.getAll());
+    }
+
+    @Test
+    void reverse_thenGrowAtBothEnds() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 6; i++) {
+            list.addLast(i);
+        }
+        list.addFirst(-1);
+
+        list.reverse();
+        list.addLast(-2);
+        list.addFirst(6);
+
+        assertEquals(List.of(6, 5, 4, 3, 2, 1, 0, -1, -2), list.getAll());
+    }
+
+    @Test
+    void iterator_failsFastOnModification() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        list.addLast(1);
+        list.addLast(2);
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+
+        list.addLast(3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void randomOperations_matchArrayDeque() {
+        Random random = new Random(46);
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(8);
+        Deque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(9);
+            if (operation < 3) {
+                list.addFirst(i);
+                expected.addFirst(i);
+            } else if (operation < 6) {
+                list.addLast(i);
+                expected.addLast(i);
+            } else if (operation == 6 && !expected.isEmpty()) {
+                assertEquals(expected.removeFirst(), list.removeFirst());
+            } else if (operation == 7 && !expected.isEmpty()) {
+                assertEquals(expected.removeLast(), list.removeLast());
+            } else if (operation == 8 && random.nextInt(100) == 0) {
+                list.reverse();
+                expected = new ArrayDeque<>(expected.reversed());
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        assertEquals(new ArrayList<>(expected), list.getAll());
+    }
+}
@@ -0,0 +1,198 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentHashMapArrayBasedTest {
+
+    private static final int N_THREADS = 8;
+
+    @Test
+    public void emptyMap_get_returnsEmptyOptional() {
+        ConcurrentHashMapArrayBased<String, Integer> map = new ConcurrentHashMapArrayBased<>();
+
+        assertEquals(Optional.empty(), map.get("Enno"));
+        assertEquals(Optional.empty(), map.get(null));
+        assertFalse(map.contains(null));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void add_get_replace_remove() {
+        ConcurrentHashMapArrayBased<String, Integer> map = new ConcurrentHashMapArrayBased<>();
+        map.add("Enno", 1);
+        map.add("Max", 2);
+        map.add("Enno", 4);
+        map.remove("Max");
+        map.remove("Moritz");
+        map.remove(null);
+
+        assertEquals(4, map.get("Enno").orElse(0));
+        assertFalse(map.contains("Max"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void null_key_or_value_throws() {
+        ConcurrentHashMapArrayBased<String, Integer> map = new ConcurrentHashMapArrayBased<>();
+
+        assertThrows(NullPointerException.class, () -> map.add(null, 1));
+        assertThrows(NullPointerException.class, () -> map.add("Enno", null));
+    }
+
+    @Test
+    public void computeIfAbsent_and_merge() {
+        ConcurrentHashMapArrayBased<String, Integer> map = new ConcurrentHashMapArrayBased<>();
+
+        assertEquals(4, map.computeIfAbsent("Enno", String::length));
+        assertEquals(4, map.computeIfAbsent("Enno", key -> 100));
+        assertNull(map.computeIfAbsent("Max", key -> null));
+        assertFalse(map.contains("Max"));
+
+        assertEquals(1, map.merge("Max", 1, Integer::sum));
+        assertEquals(3, map.merge("Max", 2, Integer::sum));
+        assertNull(map.merge("Max", 0, (a, b) -> null));
+        assertFalse(map.contains("Max"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void recursive_update_of_same_key_throws() {
+        ConcurrentHashMapArrayBased<String, Integer> map = new ConcurrentHashMapArrayBased<>();
+
+        assertThrows(IllegalStateException.class, () -> map.computeIfAbsent("Enno", key -> map.computeIfAbsent(key, k -> 1)));
+    }
+
+    @Test
+    public void random_operations_behave_like_java_hash_map() {
+        ConcurrentHashMapArrayBased<Integer, Integer> map = new ConcurrentHashMapArrayBased<>(1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 2_000; key++) {
+            assertEquals(Optional.ofNullable(expected.get(key)), map.get(key));
+        }
+    }
+
+    @Test
+    public void concurrent_adds_during_resizes_lose_no_entries_while_readers_run() throws Exception {
+        int perThread = 20_000;
+        ConcurrentHashMapArrayBased<Integer, Integer> map = new ConcurrentHashMapArrayBased<>(1);
+        for (int key = -100; key < 0; key++) {
+            map.add(key, key);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(N_THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    map.add(i * N_THREADS + thread, i);
+                }
+                return null;
+            }));
+        }
+        Future<?> reader = executor.submit(() -> {
+            start.await();
+            // keys added before the start must stay visible through all resizes
+            while (writing.get()) {
+                for (int key = -100; key < 0; key++) {
+                    assertEquals(key, map.get(key).orElseThrow());
+                }
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        reader.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(N_THREADS * perThread + 100, map.size());
+        for (int key = 0; key < N_THREADS * perThread; key++) {
+            assertEquals(key / N_THREADS, map.get(key).orElseThrow());
+        }
+    }
+
+    @Test
+    public void concurrent_merges_count_exactly() throws Exception {
+        int increments = 10_000;
+        int nKeys = 50;
+        ConcurrentHashMapArrayBased<Integer, Integer> counts = new ConcurrentHashMapArrayBased<>();
+        ExecutorService executor = Executors.newFixedThreadPool(N_THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < increments; i++) {
+                    counts.merge(i % nKeys, 1, Integer::sum);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (int key = 0; key < nKeys; key++) {
+            assertEquals(N_THREADS * increments / nKeys, counts.get(key).orElseThrow());
+        }
+    }
+
+    @Test
+    public void concurrent_computeIfAbsent_calls_function_once_per_key() throws Exception {
+        int nKeys = 5_000;
+        ConcurrentHashMapArrayBased<Integer, Integer> map = new ConcurrentHashMapArrayBased<>(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(N_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < N_THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int key = 0; key < nKeys; key++) {
+                    map.computeIfAbsent(key, k -> {
+                        calls.incrementAndGet();
+                        return -k;
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(nKeys, calls.get());
+        assertEquals(nKeys, map.size());
+    }
+}
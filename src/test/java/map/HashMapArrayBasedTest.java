@@ -3,7 +3,10 @@ package map;
 import map.HashMapArrayBased;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -99,4 +102,233 @@ class HashMapArrayBasedTest {
         assertEquals(Optional.empty(), stringToInteger.get("Moritz"));
     }
 
-}
\ No newline at end of file
+    private record CollidingKey(String name) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    public void collidingKeys_add_remove_get() {
+        HashMapArrayBased<CollidingKey, Integer> map = new HashMapArrayBased<>();
+        for (int i = 0; i < 20; i++) {
+            map.add(new CollidingKey("key" + i), i);
+        }
+
+        // removing from the middle of the probe sequence must keep all later keys reachable
+        map.remove(new CollidingKey("key3"));
+        map.remove(new CollidingKey("key10"));
+
+        assertEquals(18, map.size());
+        assertFalse(map.contains(new CollidingKey("key3")));
+        assertFalse(map.contains(new CollidingKey("key10")));
+        for (int i = 0; i < 20; i++) {
+            if (i != 3 && i != 10) {
+                assertEquals(i, map.get(new CollidingKey("key" + i)).orElse(-1));
+            }
+        }
+    }
+
+    @Test
+    public void remove_absentOrNullKey_doesNothing() {
+        HashMapArrayBased<String, Integer> map = new HashMapArrayBased<>();
+        map.add("Enno", 1);
+
+        map.remove("Max");
+        map.remove(null);
+
+        assertEquals(1, map.size());
+        assertFalse(map.contains(null));
+        assertEquals(Optional.empty(), map.get(null));
+    }
+
+    @Test
+    public void add_duplicatedKey_doesNotChangeSize() {
+        HashMapArrayBased<String, Integer> map = new HashMapArrayBased<>();
+        map.add("Enno", 1);
+        map.add("Enno", 2);
+
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void manyRandomOperations_behaveLikeJavaUtilHashMap() {
+        HashMapArrayBased<Integer, Integer> map = new HashMapArrayBased<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(5_000) * 1024; // multiples of the capacity collide without a mixing function
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 5_000 * 1024; key += 1024) {
+            assertEquals(Optional.ofNullable(expected.get(key)), map.get(key));
+        }
+    }
+
+    @Test
+    public void incrementalResizing_manyRandomOperations_behaveLikeJavaUtilHashMap() {
+        HashMapArrayBased<Integer, Integer> map = new HashMapArrayBased<>(0, 0.75, true);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        boolean sawResize = false;
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(20_000);
+            if (random.nextInt(4) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, i);
+                expected.put(key, i);
+            }
+            sawResize |= map.isResizing();
+            if (i % 1_000 == 0) {
+                // consult both tables in the middle of a migration
+                assertEquals(Optional.ofNullable(expected.get(key)), map.get(key));
+            }
+        }
+
+        assertTrue(sawResize);
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 20_000; key++) {
+            assertEquals(Optional.ofNullable(expected.get(key)), map.get(key));
+        }
+    }
+
+    @Test
+    public void incrementalResizing_collidingKeys_stayReachableDuringMigration() {
+        HashMapArrayBased<CollidingKey, Integer> map = new HashMapArrayBased<>(0, 0.5, true);
+        for (int i = 0; i < 100; i++) {
+            map.add(new CollidingKey("key" + i), i);
+            map.remove(new CollidingKey("key" + (i / 2)));
+            map.add(new CollidingKey("key" + (i / 2)), i / 2);
+        }
+
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get(new CollidingKey("key" + i)).orElse(-1));
+        }
+    }
+
+    @Test
+    public void incrementalResizing_migrationFinishes() {
+        HashMapArrayBased<Integer, Integer> map = new HashMapArrayBased<>(0, 0.5, true);
+        for (int i = 0; i < 1_000 && !map.isResizing(); i++) {
+            map.add(i, i);
+        }
+        assertTrue(map.isResizing());
+
+        for (int i = 0; i < 1_000 && map.isResizing(); i++) {
+            map.get(0);
+        }
+
+        assertFalse(map.isResizing());
+    }
+
+    @Test
+    public void presized_doesNotResize() {
+        HashMapArrayBased<Integer, Integer> map = new HashMapArrayBased<>(1_000, 0.9, true);
+        for (int i = 0; i < 1_000; i++) {
+            map.add(i, i);
+            assertFalse(map.isResizing());
+        }
+
+        assertEquals(1_000, map.size());
+    }
+
+    @Test
+    public void invalidArguments_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new HashMapArrayBased<>(10, 1.0, false));
+        assertThrows(IllegalArgumentException.class, () -> new HashMapArrayBased<>(10, 0.0, false));
+        assertThrows(IllegalArgumentException.class, () -> new HashMapArrayBased<>(-1));
+    }
+
+    @Test
+    public void stats_emptyMap() {
+        HashMapStats stats = new HashMapArrayBased<String, Integer>(100).stats();
+
+        assertEquals(0, stats.size());
+        assertEquals(0, stats.collisionRate());
+        assertEquals(0, stats.maxProbeLength());
+        assertEquals(0, stats.maxClusterLength());
+        assertEquals(0, stats.resizeCount());
+    }
+
+    @Test
+    public void stats_countResizesAndProbeLengths() {
+        HashMapArrayBased<Integer, Integer> map = new HashMapArrayBased<>();
+        for (int i = 0; i < 1_000; i++) {
+            map.add(i, i);
+        }
+
+        HashMapStats stats = map.stats();
+
+        assertEquals(1_000, stats.size());
+        assertEquals(2_048, stats.capacity());
+        assertEquals(1_000.0 / 2_048, stats.loadFactor());
+        assertEquals(10, stats.resizeCount());
+        assertEquals(1_000, stats.probeLengthCounts().stream().mapToLong(Long::longValue).sum());
+        assertTrue(stats.maxProbeLength() >= 1 && stats.maxClusterLength() >= stats.maxProbeLength());
+        assertTrue(stats.meanProbeLength() < 2 * stats.idealMeanProbeLength());
+        assertEquals(0, stats.sampledLookupCount());
+    }
+
+    @Test
+    public void stats_collidingKeys_revealPoorHash() {
+        HashMapArrayBased<CollidingKey, Integer> map = new HashMapArrayBased<>();
+        for (int i = 0; i < 20; i++) {
+            map.add(new CollidingKey("key" + i), i);
+        }
+
+        HashMapStats stats = map.stats();
+
+        assertEquals(20, stats.maxProbeLength());
+        assertEquals(20, stats.maxClusterLength());
+        assertEquals(19.0 / 20, stats.collisionRate());
+        assertEquals(10.5, stats.meanProbeLength());
+        assertTrue(stats.meanProbeLength() > 5 * stats.idealMeanProbeLength());
+    }
+
+    @Test
+    public void sampleLookups_measuresEveryNthLookup() {
+        HashMapArrayBased<CollidingKey, Integer> map = new HashMapArrayBased<>();
+        for (int i = 0; i < 10; i++) {
+            map.add(new CollidingKey("key" + i), i);
+        }
+        map.sampleLookups(4);
+
+        for (int i = 0; i < 8; i++) {
+            map.get(new CollidingKey("key9"));
+        }
+        map.contains(new CollidingKey("absent"));
+
+        HashMapStats stats = map.stats();
+        assertEquals(2, stats.sampledLookupCount());
+        assertEquals(2, stats.sampledProbeLengthCounts().get(9));
+        assertThrows(IllegalArgumentException.class, () -> map.sampleLookups(3));
+        assertThrows(IllegalArgumentException.class, () -> map.sampleLookups(0));
+    }
+
+    @Test
+    public void stats_duringIncrementalResize_seeBothTables() {
+        HashMapArrayBased<Integer, Integer> map = new HashMapArrayBased<>(0, 0.5, true);
+        int n = 0;
+        while (!map.isResizing()) {
+            map.add(n, n);
+            ++n;
+        }
+
+        HashMapStats stats = map.stats();
+
+        assertEquals(n, stats.size());
+        assertEquals(n, stats.probeLengthCounts().stream().mapToLong(Long::longValue).sum());
+    }
+}
@@ -0,0 +1,144 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashSetArrayBasedTest {
+
+    @Test
+    public void emptySet_containsNothing() {
+        HashSetArrayBased<String> set = new HashSetArrayBased<>();
+
+        assertFalse(set.contains("a"));
+        assertFalse(set.contains(null));
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    public void add_duplicate_returnsFalse() {
+        HashSetArrayBased<String> set = new HashSetArrayBased<>();
+
+        assertTrue(set.add("a"));
+        assertFalse(set.add("a"));
+        assertTrue(set.contains("a"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void remove_onlyContainedElements() {
+        HashSetArrayBased<Integer> set = new HashSetArrayBased<>();
+        set.add(1);
+        set.add(2);
+
+        assertTrue(set.remove(1));
+        assertFalse(set.remove(1));
+        assertFalse(set.remove(null));
+        assertEquals(Set.of(2), set);
+    }
+
+    @Test
+    public void isASet_equalToJdkSetWithSameElements() {
+        HashSetArrayBased<Integer> set = new HashSetArrayBased<>();
+        set.addAll(List.of(3, 1, 4, 1, 5, 9, 2, 6));
+
+        assertEquals(Set.of(1, 2, 3, 4, 5, 6, 9), set);
+        assertEquals(Set.of(1, 2, 3, 4, 5, 6, 9), new HashSet<>(set));
+        assertEquals(Set.of(1, 2, 3, 4, 5, 6, 9).hashCode(), set.hashCode());
+    }
+
+    private record CollidingKey(String name) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    public void collidingElements_allRemainReachableAfterRemovals() {
+        HashSetArrayBased<CollidingKey> set = new HashSetArrayBased<>();
+        for (int i = 0; i < 20; i++) {
+            set.add(new CollidingKey("key" + i));
+        }
+
+        set.remove(new CollidingKey("key3"));
+        set.remove(new CollidingKey("key10"));
+
+        assertEquals(18, set.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i != 3 && i != 10, set.contains(new CollidingKey("key" + i)));
+        }
+    }
+
+    @Test
+    public void bulkRemovals_workWithoutIteratorRemove() {
+        HashSetArrayBased<Integer> set = new HashSetArrayBased<>();
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+
+        assertTrue(set.removeIf(i -> i % 2 == 0));
+        assertTrue(set.removeAll(List.of(1, 3, 200)));
+        assertTrue(set.retainAll(List.of(5, 7, 8)));
+        assertFalse(set.retainAll(List.of(5, 7, 8)));
+
+        assertEquals(Set.of(5, 7), set);
+    }
+
+    @Test
+    public void iterator_failsFastOnModification() {
+        HashSetArrayBased<Integer> set = new HashSetArrayBased<>();
+        set.add(1);
+        set.add(2);
+        Iterator<Integer> iterator = set.iterator();
+        iterator.next();
+
+        set.add(3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    public void clear_emptiesTheSet() {
+        HashSetArrayBased<Integer> set = new HashSetArrayBased<>(100);
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(5));
+        set.add(5);
+        assertEquals(Set.of(5), set);
+    }
+
+    @Test
+    public void randomOperations_behaveLikeJdkHashSet() {
+        HashSetArrayBased<Integer> set = new HashSetArrayBased<>();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            int element = random.nextInt(2_000) * 1024;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(element), set.add(element));
+            } else {
+                assertEquals(expected.remove(element), set.remove(element));
+            }
+        }
+
+        assertEquals(expected, set);
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(expected.contains(i * 1024), set.contains(i * 1024));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntHashSetTest {
+
+    @Test
+    public void emptySet_containsNothing() {
+        IntHashSet set = new IntHashSet();
+
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(42));
+        assertTrue(set.isEmpty());
+        assertArrayEquals(new int[0], set.toArray());
+    }
+
+    @Test
+    public void zero_isAnOrdinaryElement() {
+        IntHashSet set = new IntHashSet();
+
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(1));
+        assertTrue(set.contains(0));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void forEachAndToArray_visitEveryElementOnce() {
+        IntHashSet set = new IntHashSet(2);
+        for (int element : new int[]{5, 0, -3, 5, 100}) {
+            set.add(element);
+        }
+
+        Set<Integer> visited = new HashSet<>();
+        set.forEach(visited::add);
+
+        assertEquals(Set.of(5, 0, -3, 100), visited);
+        int[] array = set.toArray();
+        Arrays.sort(array);
+        assertArrayEquals(new int[]{-3, 0, 5, 100}, array);
+    }
+
+    @Test
+    public void clear_emptiesTheSet() {
+        IntHashSet set = new IntHashSet();
+        set.add(0);
+        set.add(7);
+
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(7));
+    }
+
+    @Test
+    public void randomOperations_behaveLikeJdkHashSet() {
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            int element = (random.nextInt(2_000) - 1_000) * 1024;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(element), set.add(element));
+            } else {
+                assertEquals(expected.remove(element), set.remove(element));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertEquals(expected, Arrays.stream(set.toArray()).boxed().collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,131 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+
+    @Test
+    public void emptyMap_getOrDefault_returnsDefault() {
+        IntIntMap map = new IntIntMap();
+
+        assertEquals(-1, map.getOrDefault(0, -1));
+        assertEquals(-1, map.getOrDefault(42, -1));
+        assertEquals(OptionalInt.empty(), map.get(42));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void zeroKey_isAnOrdinaryKey() {
+        IntIntMap map = new IntIntMap();
+        map.add(0, 0);
+        map.add(1, 10);
+
+        assertTrue(map.contains(0));
+        assertEquals(0, map.getOrDefault(0, -1));
+        assertEquals(2, map.size());
+
+        map.remove(0);
+
+        assertFalse(map.contains(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void add_duplicatedKey_replacesOldValue() {
+        IntIntMap map = new IntIntMap();
+        map.add(-7, 1);
+        map.add(-7, 2);
+
+        assertEquals(2, map.getOrDefault(-7, 0));
+        assertEquals(OptionalInt.of(2), map.get(-7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void addTo_countsFromZero() {
+        IntIntMap counts = new IntIntMap();
+        for (int word : new int[]{3, 0, 3, 5, 3, 0}) {
+            counts.addTo(word, 1);
+        }
+
+        assertEquals(3, counts.getOrDefault(3, 0));
+        assertEquals(2, counts.getOrDefault(0, 0));
+        assertEquals(1, counts.getOrDefault(5, 0));
+        assertEquals(4, counts.addTo(5, 3));
+    }
+
+    @Test
+    public void forEach_visitsEveryEntryOnce() {
+        IntIntMap map = new IntIntMap();
+        for (int i = -50; i < 50; i++) {
+            map.add(i, i * 2);
+        }
+        int[] keySum = {0};
+        int[] valueSum = {0};
+        int[] count = {0};
+
+        map.forEach((key, value) -> {
+            keySum[0] += key;
+            valueSum[0] += value;
+            ++count[0];
+        });
+
+        assertEquals(100, count[0]);
+        assertEquals(-50, keySum[0]);
+        assertEquals(-100, valueSum[0]);
+    }
+
+    @Test
+    public void clear_removesEverything() {
+        IntIntMap map = new IntIntMap(100);
+        map.add(0, 1);
+        map.add(1, 1);
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.contains(0));
+        assertFalse(map.contains(1));
+    }
+
+    @Test
+    public void negativeExpectedSize_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap(-1));
+    }
+
+    @Test
+    public void manyRandomOperations_behaveLikeJavaUtilHashMap() {
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    map.remove(key);
+                    expected.remove(key);
+                }
+                case 1 -> {
+                    map.add(key, i);
+                    expected.put(key, i);
+                }
+                default -> {
+                    map.addTo(key, 5);
+                    expected.merge(key, 5, Integer::sum);
+                }
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -1_000; key < 1_000; key++) {
+            assertEquals(expected.containsKey(key), map.contains(key));
+            assertEquals(expected.getOrDefault(key, -1), map.getOrDefault(key, -1));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntObjectMapTest {
+
+    @Test
+    public void add_and_get() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.add(0, "Enno");
+        map.add(1, "Max");
+        map.add(-1, "Moritz");
+
+        assertEquals(Optional.of("Enno"), map.get(0));
+        assertEquals("Max", map.getOrDefault(1, "nobody"));
+        assertEquals("Moritz", map.getOrDefault(-1, "nobody"));
+        assertEquals("nobody", map.getOrDefault(2, "nobody"));
+        assertEquals(Optional.empty(), map.get(2));
+    }
+
+    @Test
+    public void nullValue_isDistinguishedFromAbsentKey() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.add(5, null);
+
+        assertTrue(map.contains(5));
+        assertEquals(Optional.empty(), map.get(5));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void remove_keepsCollidingKeysReachable() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(4);
+        for (int i = 0; i < 1_000; i++) {
+            map.add(i << 16, i);
+        }
+        for (int i = 0; i < 1_000; i += 3) {
+            map.remove(i << 16);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i % 3 == 0 ? null : i, map.getOrDefault(i << 16, null));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongMapTest {
+
+    @Test
+    public void keysThatDifferOnlyInTheHighBits_doNotCollide() {
+        LongLongMap map = new LongLongMap();
+        map.add(1L, 1);
+        map.add(1L << 32, 2);
+        map.add((1L << 32) | 1L, 3);
+
+        assertEquals(1, map.getOrDefault(1L, 0));
+        assertEquals(2, map.getOrDefault(1L << 32, 0));
+        assertEquals(3, map.getOrDefault((1L << 32) | 1L, 0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void zeroKey_and_addTo() {
+        LongLongMap map = new LongLongMap();
+        map.addTo(0L, Long.MAX_VALUE - 1);
+        map.addTo(0L, 1);
+
+        assertEquals(OptionalLong.of(Long.MAX_VALUE), map.get(0L));
+    }
+
+    @Test
+    public void add_remove_contains() {
+        LongLongMap map = new LongLongMap();
+        for (long key = 0; key < 1_000; key++) {
+            map.add(key * 1_000_003L, key);
+        }
+        for (long key = 0; key < 1_000; key += 2) {
+            map.remove(key * 1_000_003L);
+        }
+
+        assertEquals(500, map.size());
+        for (long key = 0; key < 1_000; key++) {
+            assertEquals(key % 2 == 1, map.contains(key * 1_000_003L));
+        }
+        long[] sum = {0};
+        map.forEach((key, value) -> sum[0] += value);
+        assertEquals(250_000, sum[0]);
+    }
+}
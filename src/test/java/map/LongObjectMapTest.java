@@ -0,0 +1,50 @@
+package map;
+
+import graph.maze.Cell;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    private static long pack(Cell cell) {
+        return ((long) cell.row() << 32) | (cell.col() & 0xffffffffL);
+    }
+
+    @Test
+    public void cellsPackedIntoLongs_canBeUsedAsKeys() {
+        LongObjectMap<Cell> map = new LongObjectMap<>();
+        for (int row = -10; row < 10; row++) {
+            for (int col = -10; col < 10; col++) {
+                Cell cell = new Cell(row, col);
+                map.add(pack(cell), cell);
+            }
+        }
+
+        assertEquals(400, map.size());
+        assertEquals(Optional.of(new Cell(0, 0)), map.get(0L));
+        assertEquals(new Cell(-3, 7), map.getOrDefault(pack(new Cell(-3, 7)), null));
+        assertFalse(map.contains(pack(new Cell(10, 0))));
+    }
+
+    @Test
+    public void forEach_and_clear() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.add(0L, "zero");
+        map.add(Long.MIN_VALUE, "min");
+        map.add(Long.MAX_VALUE, "max");
+        List<String> visited = new ArrayList<>();
+
+        map.forEach((key, value) -> visited.add(value));
+        map.clear();
+
+        assertEquals(3, visited.size());
+        assertTrue(visited.containsAll(List.of("zero", "min", "max")));
+        assertTrue(map.isEmpty());
+        assertEquals(Optional.empty(), map.get(Long.MAX_VALUE));
+    }
+}
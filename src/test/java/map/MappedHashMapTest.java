@@ -0,0 +1,244 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedHashMapTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedHashMap<String, String> open() {
+        return new MappedHashMap<>(directory, Codec.UTF_8, Codec.UTF_8);
+    }
+
+    @Test
+    public void emptyMap_containsNothing() {
+        MappedHashMap<String, String> map = open();
+
+        assertEquals(Optional.empty(), map.get("a"));
+        assertEquals(Optional.empty(), map.get(null));
+        assertFalse(map.contains("a"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void addGetRemove() {
+        MappedHashMap<String, String> map = open();
+        map.add("a", "1");
+        map.add("b", "2");
+        map.add("a", "10");
+        map.add("", "empty key");
+
+        assertEquals(Optional.of("10"), map.get("a"));
+        assertEquals(Optional.of("empty key"), map.get(""));
+        assertEquals(3, map.size());
+
+        map.remove("a");
+        map.remove("c");
+        map.remove(null);
+
+        assertFalse(map.contains("a"));
+        assertTrue(map.contains("b"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void reopen_afterClose_keepsEntries() {
+        MappedHashMap<String, String> map = open();
+        for (int i = 0; i < 1_000; i++) {
+            map.add("key" + i, "value" + i);
+        }
+        map.remove("key7");
+        map.close();
+
+        MappedHashMap<String, String> reopened = open();
+
+        assertEquals(999, reopened.size());
+        assertEquals(Optional.of("value42"), reopened.get("key42"));
+        assertFalse(reopened.contains("key7"));
+        assertThrows(IllegalStateException.class, () -> map.get("key42"));
+    }
+
+    @Test
+    public void reopen_withoutClose_replaysTheLog() {
+        MappedHashMap<String, String> map = open();
+        map.add("a", "1");
+        map.add("b", "2");
+        map.flush();
+        map.add("c", "3");
+        map.remove("a");
+        // no close: the header is still marked dirty, as after a crash
+
+        MappedHashMap<String, String> recovered = open();
+
+        assertEquals(2, recovered.size());
+        assertFalse(recovered.contains("a"));
+        assertEquals(Optional.of("2"), recovered.get("b"));
+        assertEquals(Optional.of("3"), recovered.get("c"));
+    }
+
+    @Test
+    public void reopen_withTornLastRecord_dropsOnlyThatRecord() throws IOException {
+        MappedHashMap<String, String> map = open();
+        map.add("a", "1");
+        map.add("b", "2");
+        long lengthBeforeLastRecord = 8 + 2 * (12 + 1 + 1);
+        // corrupt the value byte of the last record, as if its page had not been written
+        try (FileChannel log = FileChannel.open(directory.resolve("log"), StandardOpenOption.WRITE)) {
+            log.write(ByteBuffer.wrap(new byte[]{'x'}), lengthBeforeLastRecord - 1);
+        }
+
+        MappedHashMap<String, String> recovered = open();
+
+        assertEquals(Optional.of("1"), recovered.get("a"));
+        assertFalse(recovered.contains("b"));
+        recovered.add("c", "3");
+        recovered.close();
+        assertEquals(Optional.of("3"), open().get("c"));
+    }
+
+    @Test
+    public void reopen_withLostTable_rebuildsItFromTheLog() throws IOException {
+        MappedHashMap<String, String> map = open();
+        for (int i = 0; i < 100; i++) {
+            map.add("key" + i, "value" + i);
+        }
+        map.close();
+        Files.delete(directory.resolve("table"));
+
+        MappedHashMap<String, String> recovered = open();
+
+        assertEquals(100, recovered.size());
+        assertEquals(Optional.of("value99"), recovered.get("key99"));
+    }
+
+    @Test
+    public void reopen_withBothHeadersCorrupted_rebuildsTheTable() throws IOException {
+        MappedHashMap<String, String> map = open();
+        map.add("a", "1");
+        map.close();
+        try (FileChannel table = FileChannel.open(directory.resolve("table"), StandardOpenOption.WRITE)) {
+            table.write(ByteBuffer.wrap(new byte[128]), 0);
+        }
+
+        assertEquals(Optional.of("1"), open().get("a"));
+    }
+
+    @Test
+    public void reopen_withCleanHeaderPointingBeyondTheLog_rebuildsTheTable() throws IOException {
+        MappedHashMap<String, String> map = open();
+        map.add("a", "1");
+        map.close();
+        try (FileChannel table = FileChannel.open(
+            directory.resolve("table"), StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+            // overwrite the log end (offset 24) of the newer header copy and give it a matching checksum (offset 56)
+            ByteBuffer headers = ByteBuffer.allocate(128);
+            table.read(headers, 0);
+            int newer = headers.getLong(8) > headers.getLong(64 + 8) ? 0 : 64;
+            headers.putLong(newer + 24, Long.MAX_VALUE / 2);
+            CRC32 crc = new CRC32();
+            crc.update(headers.slice(newer, 56));
+            headers.putLong(newer + 56, crc.getValue());
+            table.write(headers.flip(), 0);
+        }
+
+        MappedHashMap<String, String> recovered = open();
+
+        assertEquals(Optional.of("1"), recovered.get("a"));
+        recovered.add("b", "2");
+        recovered.close();
+        assertEquals(Optional.of("2"), open().get("b"));
+    }
+
+    @Test
+    public void get_decodesOnlyTheMatchedValue() {
+        int[] decodedKeys = {0};
+        int[] decodedValues = {0};
+        Codec<String> countingKeys = new Codec<>() {
+            @Override
+            public byte[] encode(String value) {
+                return Codec.UTF_8.encode(value);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                ++decodedKeys[0];
+                return Codec.UTF_8.decode(bytes);
+            }
+        };
+        Codec<String> countingValues = new Codec<>() {
+            @Override
+            public byte[] encode(String value) {
+                return Codec.UTF_8.encode(value);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                ++decodedValues[0];
+                return Codec.UTF_8.decode(bytes);
+            }
+        };
+        MappedHashMap<String, String> map = new MappedHashMap<>(directory, countingKeys, countingValues);
+        for (int i = 0; i < 1_000; i++) {
+            map.add("key" + i, "value" + i);
+        }
+
+        map.get("key500");
+        map.get("absent");
+        map.contains("key1");
+
+        assertEquals(0, decodedKeys[0]);
+        assertEquals(1, decodedValues[0]);
+    }
+
+    @Test
+    public void notALog_throws() throws IOException {
+        Files.write(directory.resolve("log"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IllegalArgumentException.class, this::open);
+    }
+
+    @Test
+    public void randomOperations_behaveLikeJdkHashMap_acrossReopens() {
+        MappedHashMap<String, byte[]> map = new MappedHashMap<>(directory, Codec.UTF_8, Codec.BYTES);
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(19);
+        for (int i = 0; i < 20_000; i++) {
+            String key = "key" + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                int length = random.nextInt(100);
+                map.add(key, new byte[length]);
+                expected.put(key, length);
+            }
+            if (i % 5_000 == 0) {
+                map.close();
+                map = new MappedHashMap<>(directory, Codec.UTF_8, Codec.BYTES);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < 2_000; i++) {
+            String key = "key" + i;
+            assertEquals(Optional.ofNullable(expected.get(key)), map.get(key).map(bytes -> bytes.length));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultimapArrayBasedTest {
+
+    @Test
+    public void emptyMultimap_getReturnsEmptyList() {
+        MultimapArrayBased<String, Integer> multimap = new MultimapArrayBased<>();
+
+        assertEquals(List.of(), multimap.get("a"));
+        assertFalse(multimap.containsKey("a"));
+        assertTrue(multimap.isEmpty());
+    }
+
+    @Test
+    public void add_keepsDuplicatesInInsertionOrder() {
+        MultimapArrayBased<String, Integer> multimap = new MultimapArrayBased<>();
+        multimap.add("a", 1);
+        multimap.add("a", 2);
+        multimap.add("a", 1);
+        multimap.add("b", 3);
+
+        assertEquals(List.of(1, 2, 1), multimap.get("a"));
+        assertEquals(List.of(3), multimap.get("b"));
+        assertEquals(4, multimap.size());
+        assertEquals(2, multimap.keyCount());
+        assertTrue(multimap.contains("a", 2));
+        assertFalse(multimap.contains("b", 2));
+    }
+
+    @Test
+    public void add_nullValue_throws() {
+        MultimapArrayBased<String, Integer> multimap = new MultimapArrayBased<>();
+
+        assertThrows(NullPointerException.class, () -> multimap.add("a", null));
+    }
+
+    @Test
+    public void get_isAnUnmodifiableLiveView() {
+        MultimapArrayBased<String, Integer> multimap = new MultimapArrayBased<>();
+        multimap.add("a", 1);
+        List<Integer> values = multimap.get("a");
+
+        multimap.add("a", 2);
+
+        assertEquals(List.of(1, 2), values);
+        assertThrows(UnsupportedOperationException.class, () -> values.add(3));
+    }
+
+    @Test
+    public void remove_lastValue_removesTheKey() {
+        MultimapArrayBased<String, Integer> multimap = new MultimapArrayBased<>();
+        multimap.add("a", 1);
+        multimap.add("a", 2);
+
+        assertTrue(multimap.remove("a", 1));
+        assertFalse(multimap.remove("a", 1));
+        assertTrue(multimap.containsKey("a"));
+        assertTrue(multimap.remove("a", 2));
+
+        assertFalse(multimap.containsKey("a"));
+        assertEquals(0, multimap.keyCount());
+        assertTrue(multimap.isEmpty());
+    }
+
+    @Test
+    public void removeAll_removesKeyWithAllValues() {
+        MultimapArrayBased<String, Integer> multimap = new MultimapArrayBased<>();
+        multimap.add("a", 1);
+        multimap.add("a", 2);
+        multimap.add("b", 3);
+
+        multimap.removeAll("a");
+        multimap.removeAll("c");
+
+        assertEquals(List.of(), multimap.get("a"));
+        assertEquals(1, multimap.size());
+        assertEquals(1, multimap.keyCount());
+    }
+
+    @Test
+    public void randomOperations_behaveLikeMapOfLists() {
+        MultimapArrayBased<Integer, Integer> multimap = new MultimapArrayBased<>(1);
+        Map<Integer, List<Integer>> expected = new HashMap<>();
+        Random random = new Random(13);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(500) * 1024;
+            int value = random.nextInt(5);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    multimap.add(key, value);
+                    expected.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+                }
+                case 1 -> {
+                    List<Integer> values = expected.getOrDefault(key, new ArrayList<>());
+                    assertEquals(values.remove(Integer.valueOf(value)), multimap.remove(key, value));
+                    if (values.isEmpty()) {
+                        expected.remove(key);
+                    }
+                }
+                default -> {
+                    if (random.nextInt(10) == 0) {
+                        multimap.removeAll(key);
+                        expected.remove(key);
+                    }
+                }
+            }
+        }
+
+        assertEquals(expected.size(), multimap.keyCount());
+        Map<Integer, List<Integer>> actual = new HashMap<>();
+        multimap.forEach((key, value) -> actual.computeIfAbsent(key, k -> new ArrayList<>()).add(value));
+        assertEquals(expected, actual);
+    }
+}
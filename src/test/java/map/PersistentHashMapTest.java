@@ -0,0 +1,180 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    private static <K, V> Map<K, V> toJdkMap(PersistentHashMap<K, V> map) {
+        Map<K, V> result = new HashMap<>();
+        map.forEach(result::put);
+        return result;
+    }
+
+    @Test
+    public void emptyMap_containsNothing() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+
+        assertEquals(Optional.empty(), map.get("a"));
+        assertEquals(Optional.empty(), map.get(null));
+        assertFalse(map.contains("a"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void assoc_returnsNewVersion_oldVersionUnchanged() {
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty().assoc("a", 1);
+        PersistentHashMap<String, Integer> v2 = v1.assoc("b", 2).assoc("a", 10);
+
+        assertEquals(Map.of("a", 1), toJdkMap(v1));
+        assertEquals(Map.of("a", 10, "b", 2), toJdkMap(v2));
+        assertEquals(1, v1.size());
+        assertEquals(2, v2.size());
+    }
+
+    @Test
+    public void assoc_sameValue_returnsSameVersion() {
+        Integer value = 1;
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().assoc("a", value);
+
+        assertSame(map, map.assoc("a", value));
+    }
+
+    @Test
+    public void assoc_nullKeyOrValue_throws() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+
+        assertThrows(NullPointerException.class, () -> map.assoc(null, 1));
+        assertThrows(NullPointerException.class, () -> map.assoc("a", null));
+    }
+
+    @Test
+    public void dissoc_returnsNewVersion_oldVersionUnchanged() {
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty().assoc("a", 1).assoc("b", 2);
+        PersistentHashMap<String, Integer> v2 = v1.dissoc("a");
+
+        assertEquals(Map.of("a", 1, "b", 2), toJdkMap(v1));
+        assertEquals(Map.of("b", 2), toJdkMap(v2));
+        assertSame(v2, v2.dissoc("a"));
+        assertSame(v2, v2.dissoc(null));
+    }
+
+    private record CollidingKey(String name, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    public void collidingKeys_allRemainReachableAfterRemovals() {
+        PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 30; i++) {
+            map = map.assoc(new CollidingKey("key" + i, i % 3), i);
+        }
+
+        PersistentHashMap<CollidingKey, Integer> removed = map;
+        for (int i = 0; i < 30; i++) {
+            if (i != 4) {
+                removed = removed.dissoc(new CollidingKey("key" + i, i % 3));
+            }
+        }
+
+        assertEquals(30, map.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(Optional.of(i), map.get(new CollidingKey("key" + i, i % 3)));
+            assertFalse(map.contains(new CollidingKey("key" + i, (i + 1) % 3)));
+        }
+        assertEquals(Map.of(new CollidingKey("key4", 1), 4), toJdkMap(removed));
+    }
+
+    @Test
+    public void randomOperations_everyVersionBehavesLikeItsJdkCopy() {
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        Map<Integer, Integer> expected = new HashMap<>();
+        List<PersistentHashMap<Integer, Integer>> versions = new ArrayList<>();
+        List<Map<Integer, Integer>> expectedVersions = new ArrayList<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(3_000) * 1024;
+            if (random.nextInt(3) == 0) {
+                map = map.dissoc(key);
+                expected.remove(key);
+            } else {
+                map = map.assoc(key, i);
+                expected.put(key, i);
+            }
+            if (i % 5_000 == 0) {
+                versions.add(map);
+                expectedVersions.add(new HashMap<>(expected));
+            }
+        }
+        versions.add(map);
+        expectedVersions.add(expected);
+
+        for (int v = 0; v < versions.size(); v++) {
+            assertEquals(expectedVersions.get(v).size(), versions.get(v).size());
+            assertEquals(expectedVersions.get(v), toJdkMap(versions.get(v)));
+        }
+        for (int i = 0; i < 3_000; i++) {
+            assertEquals(Optional.ofNullable(expected.get(i * 1024)), map.get(i * 1024));
+        }
+    }
+
+    @Test
+    public void transient_buildsSameMapWithoutChangingTheSource() {
+        PersistentHashMap<Integer, Integer> source = PersistentHashMap.<Integer, Integer>empty().assoc(-1, -1);
+        PersistentHashMap<Integer, Integer> expected = source;
+        PersistentHashMap.Transient<Integer, Integer> builder = source.asTransient();
+        for (int i = 0; i < 10_000; i++) {
+            builder.assoc(i, i);
+            expected = expected.assoc(i, i);
+        }
+        for (int i = 0; i < 10_000; i += 3) {
+            builder.dissoc(i);
+            expected = expected.dissoc(i);
+        }
+
+        assertEquals(expected.size(), builder.size());
+        assertTrue(builder.contains(1));
+        assertEquals(Optional.of(2), builder.get(2));
+        PersistentHashMap<Integer, Integer> built = builder.persistent();
+
+        assertEquals(toJdkMap(expected), toJdkMap(built));
+        assertEquals(Map.of(-1, -1), toJdkMap(source));
+    }
+
+    @Test
+    public void transient_afterPersistent_throws() {
+        PersistentHashMap.Transient<Integer, Integer> builder = PersistentHashMap.<Integer, Integer>empty().asTransient();
+        PersistentHashMap<Integer, Integer> map = builder.assoc(1, 1).persistent();
+
+        assertThrows(IllegalStateException.class, () -> builder.assoc(2, 2));
+        assertThrows(IllegalStateException.class, builder::persistent);
+        assertEquals(Map.of(1, 1), toJdkMap(map));
+    }
+
+    @Test
+    public void transient_ofPublishedVersion_doesNotChangeIt() {
+        PersistentHashMap.Transient<Integer, Integer> builder = PersistentHashMap.<Integer, Integer>empty().asTransient();
+        for (int i = 0; i < 1_000; i++) {
+            builder.assoc(i, i);
+        }
+        PersistentHashMap<Integer, Integer> published = builder.persistent();
+
+        PersistentHashMap<Integer, Integer> next = published.asTransient().assoc(5, 50).dissoc(6).persistent();
+
+        assertEquals(Optional.of(5), published.get(5));
+        assertTrue(published.contains(6));
+        assertEquals(Optional.of(50), next.get(5));
+        assertFalse(next.contains(6));
+    }
+}
@@ -0,0 +1,96 @@
+package map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwissHashMapTest {
+
+    @Test
+    public void emptyMap_get_returnsEmptyOptional() {
+        assertEquals(Optional.empty(), new SwissHashMap<>().get(1));
+        assertEquals(Optional.empty(), new SwissHashMap<>().get("1"));
+        assertEquals(Optional.empty(), new SwissHashMap<>().get(null));
+        assertFalse(new SwissHashMap<>().contains(null));
+    }
+
+    @Test
+    public void add_get_replace_remove() {
+        SwissHashMap<String, Integer> map = new SwissHashMap<>();
+        map.add("Enno", 1);
+        map.add("Max", 2);
+        map.add("Moritz", 3);
+        map.add("Enno", 4);
+        map.remove("Max");
+        map.remove("Cori");
+        map.remove(null);
+
+        assertEquals(4, map.get("Enno").orElse(0));
+        assertEquals(3, map.get("Moritz").orElse(0));
+        assertFalse(map.contains("Max"));
+        assertEquals(2, map.size());
+    }
+
+    private record CollidingKey(String name) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    public void collidingKeys_add_remove_get() {
+        SwissHashMap<CollidingKey, Integer> map = new SwissHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            map.add(new CollidingKey("key" + i), i);
+        }
+        map.remove(new CollidingKey("key3"));
+        map.remove(new CollidingKey("key10"));
+
+        assertEquals(48, map.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i == 3 || i == 10 ? -1 : i, map.get(new CollidingKey("key" + i)).orElse(-1));
+        }
+    }
+
+    @Test
+    public void manyRandomOperations_behaveLikeJavaUtilHashMap() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) * 1024;
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 5_000 * 1024; key += 1024) {
+            assertEquals(Optional.ofNullable(expected.get(key)), map.get(key));
+            assertEquals(expected.containsKey(key), map.contains(key));
+        }
+    }
+
+    @Test
+    public void presized_holdsExpectedSize() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            map.add(i, -i);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(-i, map.get(i).orElseThrow());
+        }
+    }
+}